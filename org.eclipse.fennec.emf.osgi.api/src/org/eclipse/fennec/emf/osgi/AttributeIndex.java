@@ -0,0 +1,133 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi;
+
+import java.util.Collection;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.osgi.annotation.versioning.ProviderType;
+
+/**
+ * Secondary index over the values of an {@link EAttribute} of all instances of an {@link EClass} and its sub types,
+ * contained in the resources of a {@link org.eclipse.emf.ecore.resource.ResourceSet}. The index is updated with every
+ * change, so a lookup does not scan the contents. Values of many valued attributes are indexed one by one,
+ * <code>null</code> values are not indexed.
+ * <p>
+ * Query results are read only snapshots. Like the resource set, the index is not thread safe.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ * @see AttributeIndexProvider
+ */
+@ProviderType
+public interface AttributeIndex {
+
+	/**
+	 * The kind of storage of an index
+	 */
+	enum Type {
+		/** Hash based, supports equality lookups */
+		HASH,
+		/** Sorted by the natural order of the values, supports equality, range and prefix lookups */
+		SORTED
+	}
+
+	/**
+	 * Returns the indexed {@link EClass}
+	 * @return the {@link EClass}
+	 */
+	EClass getEClass();
+
+	/**
+	 * Returns the indexed {@link EAttribute}
+	 * @return the {@link EAttribute}
+	 */
+	EAttribute getEAttribute();
+
+	/**
+	 * Returns the type of the index
+	 * @return the type
+	 */
+	Type getType();
+
+	/**
+	 * Returns all objects with the given value
+	 * @param value the value
+	 * @return the objects, never <code>null</code>
+	 */
+	Collection<EObject> find(Object value);
+
+	/**
+	 * Returns all objects with a value within the given range, ordered by value. Only supported by
+	 * {@link Type#SORTED} indexes. The bounds must have the instance type of the attribute.
+	 * @param from the lower bound or <code>null</code> for no lower bound
+	 * @param fromInclusive <code>true</code>, to include the lower bound
+	 * @param to the upper bound or <code>null</code> for no upper bound
+	 * @param toInclusive <code>true</code>, to include the upper bound
+	 * @return the objects, never <code>null</code>
+	 * @throws UnsupportedOperationException for a {@link Type#HASH} index
+	 */
+	Collection<EObject> findRange(Object from, boolean fromInclusive, Object to, boolean toInclusive);
+
+	/**
+	 * Returns all objects with a value from the lower bound (inclusive) to the upper bound (exclusive)
+	 * @param from the lower bound or <code>null</code> for no lower bound
+	 * @param to the upper bound or <code>null</code> for no upper bound
+	 * @return the objects, never <code>null</code>
+	 * @throws UnsupportedOperationException for a {@link Type#HASH} index
+	 * @see #findRange(Object, boolean, Object, boolean)
+	 */
+	default Collection<EObject> findRange(Object from, Object to) {
+		return findRange(from, true, to, false);
+	}
+
+	/**
+	 * Returns all objects with a value starting with the given prefix, ordered by value. Only supported by
+	 * {@link Type#SORTED} indexes of {@link String} attributes.
+	 * @param prefix the prefix, must not be <code>null</code>
+	 * @return the objects, never <code>null</code>
+	 * @throws UnsupportedOperationException for a {@link Type#HASH} index or an attribute of another type
+	 */
+	Collection<EObject> findPrefix(String prefix);
+
+	/**
+	 * Returns the number of entries, one per indexed object and value
+	 * @return the number of entries
+	 */
+	int size();
+
+	/**
+	 * Returns the number of distinct values
+	 * @return the number of distinct values
+	 */
+	int getKeyCount();
+
+	/**
+	 * Returns an estimation of the memory in bytes, that is used by the index structure itself. The values
+	 * and objects are not taken into account.
+	 * @return the estimated memory in bytes
+	 */
+	long getEstimatedMemory();
+
+	/**
+	 * Returns the estimated memory in bytes per entry
+	 * @return the estimated bytes per entry or <code>0</code>, if the index is empty
+	 * @see #getEstimatedMemory()
+	 */
+	default double getEstimatedBytesPerEntry() {
+		int size = size();
+		return size == 0 ? 0.0d : (double) getEstimatedMemory() / size;
+	}
+}
@@ -0,0 +1,99 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi;
+
+import java.util.Collection;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.osgi.annotation.versioning.ProviderType;
+
+/**
+ * Manages the {@link AttributeIndex}es of a {@link ResourceSet}. The provider is attached as adapter to
+ * the {@link ResourceSet} and can be obtained with {@link #getProvider(ResourceSet)}.
+ * <p>
+ * Indexes are usually declared with the {@link org.eclipse.fennec.emf.osgi.constants.EMFNamespaces#EMF_INDEX_ANNOTATION_SOURCE}
+ * annotation on the {@link EAttribute} or by configuration and added, when the {@link ResourceSetFactory} creates the
+ * {@link ResourceSet}.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+@ProviderType
+public interface AttributeIndexProvider {
+
+	/**
+	 * Returns the {@link ResourceSet}, the indexes belong to
+	 * @return the {@link ResourceSet}
+	 */
+	ResourceSet getResourceSet();
+
+	/**
+	 * Adds an index and populates it with the current contents. If there is already an index for the
+	 * {@link EClass} and {@link EAttribute}, it is returned, unless a {@link AttributeIndex.Type#SORTED}
+	 * index is requested for an existing {@link AttributeIndex.Type#HASH} index, which is replaced then.
+	 * @param eClass the {@link EClass}, whose instances and sub type instances are indexed
+	 * @param attribute an {@link EAttribute} of the {@link EClass}
+	 * @param type the type of the index
+	 * @return the index, never <code>null</code>
+	 * @throws IllegalArgumentException if the attribute does not belong to the {@link EClass}, or a sorted
+	 * index is requested for values, that are not {@link Comparable}
+	 */
+	AttributeIndex addIndex(EClass eClass, EAttribute attribute, AttributeIndex.Type type);
+
+	/**
+	 * Removes an index
+	 * @param index the index to remove
+	 * @return <code>true</code>, if the index was removed
+	 */
+	boolean removeIndex(AttributeIndex index);
+
+	/**
+	 * Returns the index for the {@link EClass} and {@link EAttribute}
+	 * @param eClass the {@link EClass}
+	 * @param attribute the {@link EAttribute}
+	 * @return the index or <code>null</code>
+	 */
+	AttributeIndex getIndex(EClass eClass, EAttribute attribute);
+
+	/**
+	 * Returns the index for the {@link EAttribute} and its containing {@link EClass}
+	 * @param attribute the {@link EAttribute}
+	 * @return the index or <code>null</code>
+	 */
+	default AttributeIndex getIndex(EAttribute attribute) {
+		return getIndex(attribute.getEContainingClass(), attribute);
+	}
+
+	/**
+	 * Returns all indexes
+	 * @return the indexes, never <code>null</code>
+	 */
+	Collection<AttributeIndex> getIndexes();
+
+	/**
+	 * Returns the provider attached to the {@link ResourceSet}
+	 * @param resourceSet the {@link ResourceSet}
+	 * @return the provider or <code>null</code>, if no index was added to the {@link ResourceSet}
+	 */
+	static AttributeIndexProvider getProvider(ResourceSet resourceSet) {
+		for (Adapter adapter : resourceSet.eAdapters()) {
+			if (adapter instanceof AttributeIndexProvider provider && provider.getResourceSet() == resourceSet) {
+				return provider;
+			}
+		}
+		return null;
+	}
+}
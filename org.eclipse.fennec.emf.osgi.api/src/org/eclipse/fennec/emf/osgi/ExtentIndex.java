@@ -0,0 +1,66 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.osgi.annotation.versioning.ProviderType;
+
+/**
+ * Index of all {@link EObject}s contained in the resources of a {@link HughDataResourceSet}, by {@link EClass}.
+ * The index is updated with every change of the containment trees, so querying an extent does not traverse
+ * the contents.
+ * <p>
+ * The returned collections are read only views, that reflect later changes. Like the {@link HughDataResourceSet}
+ * itself, the index is not thread safe.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+@ProviderType
+public interface ExtentIndex {
+
+	/**
+	 * Returns all instances of the {@link EClass} and its sub types
+	 * @param eClass the {@link EClass}, must not be <code>null</code>
+	 * @return the instances, never <code>null</code>
+	 */
+	default Collection<EObject> getExtent(EClass eClass) {
+		return getExtent(eClass, true);
+	}
+
+	/**
+	 * Returns all instances of the {@link EClass}
+	 * @param eClass the {@link EClass}, must not be <code>null</code>
+	 * @param includeSubTypes <code>true</code>, to include the instances of all sub types
+	 * @return the instances, never <code>null</code>
+	 */
+	Collection<EObject> getExtent(EClass eClass, boolean includeSubTypes);
+
+	/**
+	 * Returns the {@link EClass}es, that currently have instances
+	 * @return the {@link EClass}es, never <code>null</code>
+	 */
+	Set<EClass> getIndexedEClasses();
+
+	/**
+	 * Sets the function, that returns the sub types of an {@link EClass}, e.g. <code>EMFModelInfo::getAllSubTypes</code>.
+	 * Without a resolver, the sub types are determined from the super types of the indexed {@link EClass}es.
+	 * @param subTypeResolver the resolver or <code>null</code> to reset it
+	 */
+	void setSubTypeResolver(Function<EClass, ? extends Collection<EClass>> subTypeResolver);
+}
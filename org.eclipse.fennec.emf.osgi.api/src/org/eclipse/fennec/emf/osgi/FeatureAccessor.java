@@ -0,0 +1,139 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.osgi.annotation.versioning.ProviderType;
+
+/**
+ * Fast access to the value of one {@link EStructuralFeature}. The accessor is bound to the feature and resolves
+ * its position in the {@link EObject} once per {@link org.eclipse.emf.ecore.EClass}, instead of on every call like
+ * the reflective {@link EObject#eGet(EStructuralFeature)}.
+ * <p>
+ * The results are the same as those of the reflective API, including notifications on modification. The primitive
+ * getters and setters avoid boxing, where the storage of the object supports it.
+ * <p>
+ * Accessors are thread safe, the accessed objects are not.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+@ProviderType
+public interface FeatureAccessor {
+
+	/**
+	 * Returns the feature this accessor is bound to
+	 * @return the feature
+	 */
+	EStructuralFeature getFeature();
+
+	/**
+	 * Returns the resolved value, like {@link EObject#eGet(EStructuralFeature)}
+	 * @param eObject the object, must have the feature
+	 * @return the value
+	 */
+	Object get(EObject eObject);
+
+	/**
+	 * Sets the value, like {@link EObject#eSet(EStructuralFeature, Object)}
+	 * @param eObject the object, must have the feature
+	 * @param value the new value
+	 */
+	void set(EObject eObject, Object value);
+
+	/**
+	 * Returns <code>true</code>, if the feature is set, like {@link EObject#eIsSet(EStructuralFeature)}
+	 * @param eObject the object, must have the feature
+	 * @return <code>true</code>, if the feature is set
+	 */
+	boolean isSet(EObject eObject);
+
+	/**
+	 * Unsets the feature, like {@link EObject#eUnset(EStructuralFeature)}
+	 * @param eObject the object, must have the feature
+	 */
+	void unset(EObject eObject);
+
+	/**
+	 * Returns the value of an <code>int</code> feature
+	 * @param eObject the object, must have the feature
+	 * @return the value
+	 */
+	default int getInt(EObject eObject) {
+		return ((Number) get(eObject)).intValue();
+	}
+
+	/**
+	 * Sets the value of an <code>int</code> feature
+	 * @param eObject the object, must have the feature
+	 * @param value the new value
+	 */
+	default void setInt(EObject eObject, int value) {
+		set(eObject, Integer.valueOf(value));
+	}
+
+	/**
+	 * Returns the value of a <code>long</code> feature
+	 * @param eObject the object, must have the feature
+	 * @return the value
+	 */
+	default long getLong(EObject eObject) {
+		return ((Number) get(eObject)).longValue();
+	}
+
+	/**
+	 * Sets the value of a <code>long</code> feature
+	 * @param eObject the object, must have the feature
+	 * @param value the new value
+	 */
+	default void setLong(EObject eObject, long value) {
+		set(eObject, Long.valueOf(value));
+	}
+
+	/**
+	 * Returns the value of a <code>double</code> feature
+	 * @param eObject the object, must have the feature
+	 * @return the value
+	 */
+	default double getDouble(EObject eObject) {
+		return ((Number) get(eObject)).doubleValue();
+	}
+
+	/**
+	 * Sets the value of a <code>double</code> feature
+	 * @param eObject the object, must have the feature
+	 * @param value the new value
+	 */
+	default void setDouble(EObject eObject, double value) {
+		set(eObject, Double.valueOf(value));
+	}
+
+	/**
+	 * Returns the value of a <code>boolean</code> feature
+	 * @param eObject the object, must have the feature
+	 * @return the value
+	 */
+	default boolean getBoolean(EObject eObject) {
+		return ((Boolean) get(eObject)).booleanValue();
+	}
+
+	/**
+	 * Sets the value of a <code>boolean</code> feature
+	 * @param eObject the object, must have the feature
+	 * @param value the new value
+	 */
+	default void setBoolean(EObject eObject, boolean value) {
+		set(eObject, Boolean.valueOf(value));
+	}
+}
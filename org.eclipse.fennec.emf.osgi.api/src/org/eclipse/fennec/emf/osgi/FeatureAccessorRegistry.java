@@ -0,0 +1,61 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi;
+
+import java.util.List;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.osgi.annotation.versioning.ProviderType;
+
+/**
+ * Service, that provides {@link FeatureAccessor}s. Serializers and query code should look up the accessors
+ * once and keep them, instead of using the reflective API per value.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+@ProviderType
+public interface FeatureAccessorRegistry {
+
+	/**
+	 * Returns the accessor for the given feature
+	 * @param feature the feature, must not be <code>null</code>
+	 * @return the accessor, never <code>null</code>
+	 */
+	FeatureAccessor getAccessor(EStructuralFeature feature);
+
+	/**
+	 * Returns the accessor for the feature with the given name
+	 * @param eClass the {@link EClass}, must not be <code>null</code>
+	 * @param featureName the name of the feature
+	 * @return the accessor, never <code>null</code>
+	 * @throws IllegalArgumentException if the {@link EClass} has no feature with that name
+	 */
+	default FeatureAccessor getAccessor(EClass eClass, String featureName) {
+		EStructuralFeature feature = eClass.getEStructuralFeature(featureName);
+		if (feature == null) {
+			throw new IllegalArgumentException("EClass '" + eClass.getName() + "' has no feature '" + featureName + "'");
+		}
+		return getAccessor(feature);
+	}
+
+	/**
+	 * Returns the accessors of all features of the {@link EClass}, in the order of {@link EClass#getEAllStructuralFeatures()}
+	 * @param eClass the {@link EClass}, must not be <code>null</code>
+	 * @return the accessors, never <code>null</code>
+	 */
+	default List<FeatureAccessor> getAccessors(EClass eClass) {
+		return eClass.getEAllStructuralFeatures().stream().map(this::getAccessor).toList();
+	}
+}
@@ -12,6 +12,8 @@
  ********************************************************************/
 package org.eclipse.fennec.emf.osgi;
 
+import java.util.Collection;
+
 import org.eclipse.emf.common.notify.Notification;
 import org.eclipse.emf.common.util.ResourceLocator;
 import org.eclipse.emf.ecore.resource.Resource;
@@ -57,5 +59,77 @@ public interface HughDataResourceSet extends ResourceSet {
 	 * @return <code>true</code>, if notifications are de-activated
 	 */
 	public boolean isSuppressNotification();
+	
+	/**
+	 * Set to <code>true</code>, to maintain an {@link ExtentIndex} of all objects contained in the resources. 
+	 * Enabling it indexes the current contents once. While notifications are suppressed, added and removed 
+	 * resources are indexed in one batch, when the suppression ends or the index is queried.
+	 * @param useExtentIndex set to <code>true</code>, to enable the {@link ExtentIndex}
+	 * @since 1.1
+	 */
+	public void setUseExtentIndex(boolean useExtentIndex);
+	
+	/**
+	 * Returns <code>true</code>, if the {@link ExtentIndex} is maintained
+	 * @return <code>true</code>, if the {@link ExtentIndex} is maintained
+	 * @since 1.1
+	 */
+	public boolean isUseExtentIndex();
+	
+	/**
+	 * Returns the {@link ExtentIndex}
+	 * @return the {@link ExtentIndex} or <code>null</code>, if it is not enabled
+	 * @since 1.1
+	 */
+	public ExtentIndex getExtentIndex();
+	
+	/**
+	 * Set to <code>true</code>, to maintain an {@link InverseReferenceIndex} of the cross references between the
+	 * objects contained in the resources. Like the {@link ExtentIndex}, it is updated in batches while notifications
+	 * are suppressed.
+	 * @param useInverseReferenceIndex set to <code>true</code>, to enable the {@link InverseReferenceIndex}
+	 * @since 1.1
+	 */
+	public void setUseInverseReferenceIndex(boolean useInverseReferenceIndex);
+	
+	/**
+	 * Returns <code>true</code>, if the {@link InverseReferenceIndex} is maintained
+	 * @return <code>true</code>, if the {@link InverseReferenceIndex} is maintained
+	 * @since 1.1
+	 */
+	public boolean isUseInverseReferenceIndex();
+	
+	/**
+	 * Returns the {@link InverseReferenceIndex}
+	 * @return the {@link InverseReferenceIndex} or <code>null</code>, if it is not enabled
+	 * @since 1.1
+	 */
+	public InverseReferenceIndex getInverseReferenceIndex();
+	
+	/**
+	 * Set to <code>true</code>, to resolve <code>uri#id</code> lookups of {@link #getEObject} with a concurrent
+	 * index of the IDs of all resources. Resources are indexed, when they are loaded by the resource set,
+	 * or on the first ID lookup. Intrinsic IDs and the extrinsic IDs of XML resources are indexed.
+	 * @param useIdIndex set to <code>true</code>, to enable the ID index
+	 * @since 1.1
+	 */
+	public void setUseIdIndex(boolean useIdIndex);
+	
+	/**
+	 * Returns <code>true</code>, if the ID index is used
+	 * @return <code>true</code>, if the ID index is used
+	 * @since 1.1
+	 */
+	public boolean isUseIdIndex();
+	
+	/**
+	 * Appends a batch of resources at once. Resources, that are already contained or occur more than once in the
+	 * batch, are skipped in a single pass over an identity set, instead of a uniqueness check per added resource.
+	 * The resources are added with at most one aggregate notification, that also updates the {@link ResourceLocator}.
+	 * @param resources the resources to add, must not be <code>null</code>
+	 * @return the number of added resources
+	 * @since 1.1
+	 */
+	public int attachResources(Collection<? extends Resource> resources);
 
 }
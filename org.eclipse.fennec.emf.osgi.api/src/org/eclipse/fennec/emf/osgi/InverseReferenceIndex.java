@@ -0,0 +1,63 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi;
+
+import java.util.Collection;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.osgi.annotation.versioning.ProviderType;
+
+/**
+ * Index of the cross references between the objects contained in the resources of a {@link HughDataResourceSet}.
+ * All non containment, non derived references of the contained objects are indexed, proxies are not resolved.
+ * The index is updated with every reference change, so looking up the referencing objects of a target takes time
+ * proportional to the number of references to it, instead of a scan of the contents like
+ * {@link org.eclipse.emf.ecore.util.EcoreUtil.UsageCrossReferencer}.
+ * <p>
+ * Query results are read only snapshots. Like the {@link HughDataResourceSet} itself, the index is not thread safe.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+@ProviderType
+public interface InverseReferenceIndex {
+
+	/**
+	 * Returns the settings of all references to the target, one per reference. A non unique list referencing
+	 * the target several times, contributes a setting for each occurrence.
+	 * @param target the referenced object, must not be <code>null</code>
+	 * @return the settings, never <code>null</code>
+	 */
+	Collection<EStructuralFeature.Setting> getInverseReferences(EObject target);
+
+	/**
+	 * Returns all objects referencing the target
+	 * @param target the referenced object, must not be <code>null</code>
+	 * @return the referencing objects, never <code>null</code>
+	 */
+	Collection<EObject> getReferencingObjects(EObject target);
+
+	/**
+	 * Returns the number of references to the target
+	 * @param target the referenced object, must not be <code>null</code>
+	 * @return the number of references
+	 */
+	int getReferenceCount(EObject target);
+
+	/**
+	 * Returns the number of indexed references
+	 * @return the number of references
+	 */
+	int size();
+}
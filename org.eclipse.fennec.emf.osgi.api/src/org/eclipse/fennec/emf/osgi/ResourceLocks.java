@@ -0,0 +1,91 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi;
+
+import java.util.Collection;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+import org.eclipse.emf.ecore.resource.Resource;
+import org.osgi.annotation.versioning.ProviderType;
+
+/**
+ * Read write locks per {@link Resource}, so that the contents of different resources can be changed in parallel.
+ * Every resource has its own {@link StampedLock}. Multiple resources are always locked in the same global order,
+ * so locking overlapping sets of resources cannot deadlock.
+ * <p>
+ * The locks are not reentrant. Locking a resource again in the same thread, e.g. a read inside a write, would block
+ * forever, so implementations reject it with an {@link IllegalStateException}. Nesting the locks of different
+ * resources is not supported either, because two threads nesting them in opposite order would deadlock. The default
+ * implementation rejects it with an {@link IllegalStateException}; resources needed together are locked at once.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+@ProviderType
+public interface ResourceLocks {
+
+	/**
+	 * Returns the lock of the resource, e.g. to convert or try locks
+	 * @param resource the resource, must not be <code>null</code>
+	 * @return the lock, never <code>null</code>
+	 */
+	StampedLock getLock(Resource resource);
+
+	/**
+	 * Executes the reader while holding the read lock of the resource
+	 * @param <T> the result type
+	 * @param resource the resource, must not be <code>null</code>
+	 * @param reader the reader, must not be <code>null</code>
+	 * @return the result of the reader
+	 */
+	<T> T withRead(Resource resource, Supplier<T> reader);
+
+	/**
+	 * Executes the reader without locking and validates, that no writer interfered. Otherwise, the reader is
+	 * executed again while holding the read lock. The reader must not have side effects and must cope with
+	 * inconsistent state, e.g. by failing with a {@link RuntimeException}, that is ignored, if a writer interfered.
+	 * @param <T> the result type
+	 * @param resource the resource, must not be <code>null</code>
+	 * @param reader the reader, must not be <code>null</code>
+	 * @return the result of the reader
+	 */
+	<T> T withOptimisticRead(Resource resource, Supplier<T> reader);
+
+	/**
+	 * Executes the writer while holding the write lock of the resource
+	 * @param <T> the result type
+	 * @param resource the resource, must not be <code>null</code>
+	 * @param writer the writer, must not be <code>null</code>
+	 * @return the result of the writer
+	 */
+	<T> T withWrite(Resource resource, Supplier<T> writer);
+
+	/**
+	 * Executes the reader while holding the read locks of all resources, acquired in the global order
+	 * @param <T> the result type
+	 * @param resources the resources, must not be <code>null</code>
+	 * @param reader the reader, must not be <code>null</code>
+	 * @return the result of the reader
+	 */
+	<T> T withRead(Collection<? extends Resource> resources, Supplier<T> reader);
+
+	/**
+	 * Executes the writer while holding the write locks of all resources, acquired in the global order
+	 * @param <T> the result type
+	 * @param resources the resources, must not be <code>null</code>
+	 * @param writer the writer, must not be <code>null</code>
+	 * @return the result of the writer
+	 */
+	<T> T withWrite(Collection<? extends Resource> resources, Supplier<T> writer);
+}
@@ -12,12 +12,19 @@
  ********************************************************************/
 package org.eclipse.fennec.emf.osgi;
 
+import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.osgi.annotation.versioning.ProviderType;
 
 /**
  * The ResourceSet from this service is not thread safe. This service
  * is intended to be used on the UI thread.
+ * <p>
+ * To share the resource set between threads, writers change it in {@link #write(Runnable)} and readers
+ * work on a {@link ResourceSetSnapshot}. In the optional write behind mode, changed resources are saved
+ * in the background. The saves exclude the writers, so in this mode the contents must only be changed in
+ * {@link #write(Runnable)}; a change outside of it is saved as well, but logged and counted in the
+ * {@link WriteBehindMetrics#getUnguardedChangeCount()}.
  * 
  * @author bhunt
  * @author Mark Hoffmann
@@ -33,4 +40,42 @@ public interface ResourceSetCache {
 	 * @return the {@link ResourceSet} instance
 	 */
 	public ResourceSet getResourceSet();
-}
\ No newline at end of file
+
+	/**
+	 * Executes a change of the cached resource set. Writers are executed one at a time and never concurrently
+	 * to the creation of a snapshot. Changes made outside of this method are not visible to snapshots reliably.
+	 * @param writer the writer, must not be <code>null</code>
+	 * @since 1.1
+	 */
+	public void write(Runnable writer);
+
+	/**
+	 * Takes a snapshot of all resources of the cached resource set
+	 * @return the snapshot, that must be closed after use
+	 * @since 1.1
+	 */
+	public ResourceSetSnapshot snapshot();
+
+	/**
+	 * Takes a snapshot of a single resource of the cached resource set
+	 * @param resource the resource of the cached resource set, must not be <code>null</code>
+	 * @return the snapshot, that must be closed after use
+	 * @since 1.1
+	 */
+	public ResourceSetSnapshot snapshot(Resource resource);
+
+	/**
+	 * Saves all resources, that were changed since their last save in the write behind mode, immediately.
+	 * Without write behind mode, nothing happens.
+	 * @return the number of saved resources
+	 * @since 1.1
+	 */
+	public int flush();
+
+	/**
+	 * Returns the metrics of the write behind mode
+	 * @return the metrics or <code>null</code>, if the write behind mode is not enabled
+	 * @since 1.1
+	 */
+	public WriteBehindMetrics getWriteBehindMetrics();
+}
@@ -0,0 +1,79 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi;
+
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.osgi.annotation.versioning.ProviderType;
+
+/**
+ * Immutable point in time view of resources of a shared {@link ResourceSet}. The snapshot contains frozen copies
+ * of the resources, so it can be read from any number of threads, while writers keep changing the shared
+ * resource set. Frozen copies of unchanged resources are shared between snapshots.
+ * <p>
+ * The copies are read only: changing their contents or objects throws an {@link UnsupportedOperationException}.
+ * References to objects outside of the snapshot are unresolvable proxies.
+ * A snapshot must be closed, when it is not needed anymore, to release its copies.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+@ProviderType
+public interface ResourceSetSnapshot extends AutoCloseable {
+
+	/**
+	 * Returns the write version of the shared resource set, this snapshot was taken at
+	 * @return the version
+	 */
+	long getVersion();
+
+	/**
+	 * Returns the frozen copies of the resources in the order of the shared resource set
+	 * @return the read only list of resources, never <code>null</code>
+	 * @throws IllegalStateException if the snapshot is closed
+	 */
+	List<Resource> getResources();
+
+	/**
+	 * Returns the frozen copy of the resource with the given {@link URI}
+	 * @param uri the resource {@link URI}, must not be <code>null</code>
+	 * @return the resource or <code>null</code>, if the snapshot doesn't contain it
+	 * @throws IllegalStateException if the snapshot is closed
+	 */
+	Resource getResource(URI uri);
+
+	/**
+	 * Returns the frozen copy of the object with the given {@link URI}
+	 * @param uri the object {@link URI} with fragment, must not be <code>null</code>
+	 * @return the object or <code>null</code>, if the snapshot doesn't contain it
+	 * @throws IllegalStateException if the snapshot is closed
+	 */
+	EObject getEObject(URI uri);
+
+	/**
+	 * Returns <code>true</code>, if the snapshot was closed
+	 * @return <code>true</code>, if the snapshot was closed
+	 */
+	boolean isClosed();
+
+	/**
+	 * Releases the frozen copies of this snapshot. Copies, that are not used by any other snapshot, are unloaded
+	 * immediately. Closing a snapshot more than once has no effect.
+	 */
+	@Override
+	void close();
+}
@@ -0,0 +1,71 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi;
+
+import java.time.Duration;
+
+import org.osgi.annotation.versioning.ProviderType;
+
+/**
+ * Metrics of the write behind mode of a {@link ResourceSetCache}. Changed resources are queued and saved
+ * by a background flusher. The flush latency is the time from the first change of a resource to its save.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+@ProviderType
+public interface WriteBehindMetrics {
+
+	/**
+	 * Returns the number of changed resources, that wait for their save
+	 * @return the queue depth
+	 */
+	int getQueueDepth();
+
+	/**
+	 * Returns the number of flushes, that saved at least one resource
+	 * @return the number of flushes
+	 */
+	long getFlushCount();
+
+	/**
+	 * Returns the number of saved resources
+	 * @return the number of saves
+	 */
+	long getSaveCount();
+
+	/**
+	 * Returns the number of failed saves. Failed resources stay queued for the next flush.
+	 * @return the number of failed saves
+	 */
+	long getFailedSaveCount();
+
+	/**
+	 * Returns the number of changes, that were made outside of {@link ResourceSetCache#write(Runnable)}. These
+	 * changes are saved as well, but race with the background saves.
+	 * @return the number of unguarded changes
+	 */
+	long getUnguardedChangeCount();
+
+	/**
+	 * Returns the average time from the first change of a resource to its save
+	 * @return the average flush latency, {@link Duration#ZERO} before the first save
+	 */
+	Duration getAverageFlushLatency();
+
+	/**
+	 * Returns the maximum time from the first change of a resource to its save
+	 * @return the maximum flush latency, {@link Duration#ZERO} before the first save
+	 */
+	Duration getMaxFlushLatency();
+}
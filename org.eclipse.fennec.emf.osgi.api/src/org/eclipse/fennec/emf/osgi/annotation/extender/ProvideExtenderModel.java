@@ -29,6 +29,7 @@ import org.osgi.namespace.extender.ExtenderNamespace;
  * <p>
  * This annotation allows users to define custom locations that should be
  * searched for EMF ecore files using {@link ProvideExtenderModel#value()}
+ * and to defer the parsing of these files using {@link ProvideExtenderModel#lazy()}
  * 
  * @author Mark Hoffmann
  * @since 13.10.2022
@@ -55,4 +56,16 @@ public @interface ProvideExtenderModel {
 	@Attribute("models")
 	String[] value() default {};
 
+	/**
+	 * If set to <code>true</code>, the EMF model extender does not parse the
+	 * ecore files when the bundle starts. It only reads the name and namespace
+	 * URI from the root element of each ecore file and registers an
+	 * {@link org.eclipse.emf.ecore.EPackage.Descriptor}. The ecore file is
+	 * parsed on the first access to the package.
+	 * 
+	 * @return <code>true</code> to register the models lazily
+	 */
+	@Attribute(EMFNamespaces.EMF_MODEL_EXTENDER_PROP_LAZY_NAME)
+	boolean lazy() default false;
+
 }
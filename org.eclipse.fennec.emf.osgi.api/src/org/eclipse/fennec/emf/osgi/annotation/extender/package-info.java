@@ -16,5 +16,5 @@
  * @since 15.12.2023
  */
 @org.osgi.annotation.bundle.Export
-@org.osgi.annotation.versioning.Version("1.0")
+@org.osgi.annotation.versioning.Version("1.1")
 package org.eclipse.fennec.emf.osgi.annotation.extender;
\ No newline at end of file
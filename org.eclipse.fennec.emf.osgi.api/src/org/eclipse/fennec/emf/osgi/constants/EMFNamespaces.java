@@ -69,6 +69,16 @@ public class EMFNamespaces {
 	public static final String EMF_MODEL_FEATURE = EMF_PREFIX + "feature";
 	// Attribute name for the EMF dynamic model configurator ecore path '<bsn>:(<version>)/(<path>)/<file>.ecore'
 	public static final String EMF_MODEL_DYNAMIC_URI = EMF_PREFIX + "dynamicEcoreUri";
+	// Attribute name to reload a dynamic model from a 'file:' URI, whenever the file changes
+	public static final String EMF_MODEL_DYNAMIC_WATCH = EMF_PREFIX + "dynamicWatch";
+	// Attribute name for the time in milliseconds to wait for further changes, before a watched dynamic model is reloaded
+	public static final String EMF_MODEL_DYNAMIC_WATCH_DEBOUNCE = EMF_PREFIX + "dynamicWatchDebounce";
+	// Attribute name for the directory or jar file, the dynamic model directory loader scans for ecore files
+	public static final String EMF_MODEL_DYNAMIC_LOCATION = EMF_PREFIX + "dynamicEcoreLocation";
+	// Attribute name for the glob pattern, the ecore files of a dynamic model directory have to match
+	public static final String EMF_MODEL_DYNAMIC_GLOB = EMF_PREFIX + "dynamicEcoreGlob";
+	// Attribute name to create the instances of a dynamic model with compact, unboxed storage
+	public static final String EMF_MODEL_DYNAMIC_COMPACT = EMF_PREFIX + "dynamicCompactObjects";
 	
 	/**
 	 * Constants for the isolated configurable resource set factory
@@ -88,6 +98,12 @@ public class EMFNamespaces {
 	public static final String ISOLATED_RESOURCE_SET_FACTORY_CONFIG_NAME = "IsolatedResourceSetFactory";
 	// Configuration pid for the dynamic EPackage and ResourceFactory configurator registry 
 	public static final String DYNAMIC_MODEL_CONFIGURATOR_CONFIG_NAME = "DynamicModelConfigurator";
+	// Configuration pid for the dynamic EPackage loader, that registers all ecore files of a directory or jar 
+	public static final String DYNAMIC_MODEL_DIRECTORY_CONFIG_NAME = "DynamicModelDirectoryConfigurator";
+	// Configuration pid for the resource set configurator, that adds attribute indexes 
+	public static final String ATTRIBUTE_INDEX_CONFIG_NAME = "AttributeIndexConfigurator";
+	// Configuration pid for the URI handler provider, that reads and writes files through NIO channels 
+	public static final String MAPPED_FILE_URI_HANDLER_CONFIG_NAME = "MappedFileUriHandler";
 	// Configuration target filter property for the EPackage registry 
 	public static final String EPACKAGE_REGISTRY_TARGET = "ePackageRegistry.target";
 	// Configuration target filter property for the ResourceFactory registry 
@@ -103,6 +119,13 @@ public class EMFNamespaces {
 	public static final String EMF_MODEL_EXTENDER_PROP_MODELS_NAME = "models";
 	// Default model path to look into
 	public static final String EMF_MODEL_EXTENDER_DEFAULT_PATH = "model";
+	// Requirement property to register the models lazily as EPackage.Descriptor
+	public static final String EMF_MODEL_EXTENDER_PROP_LAZY_NAME = "lazy";
+	
+	// Source of the EAnnotation, that declares an attribute index on an EAttribute
+	public static final String EMF_INDEX_ANNOTATION_SOURCE = "http://www.eclipse.org/fennec/emf/index";
+	// Detail key of the index EAnnotation for the index type 'hash' (default) or 'sorted'
+	public static final String EMF_INDEX_ANNOTATION_TYPE = "type";
 	
 	// Types for the EMF model registration information
 	// The registration happened with generated code / a provided bundle
@@ -33,6 +33,12 @@ public interface EMFUriHandlerConstants {
 	 */
 	String OPTION_HTTP_HEADERS = "headers";
 	
+	/**
+	 * The chunk size in bytes to stream the body of an output stream to the server in chunks, instead of buffering it
+	 * completely before sending it. Values less than 1 use the default chunk size of the connection
+	 */
+	String OPTION_HTTP_CHUNK_SIZE = "chunk.size";
+	
 	/**
 	 * If a complex Object in response is expected the Reponse will be feed as input stream to the given {@link Resource}
 	 */
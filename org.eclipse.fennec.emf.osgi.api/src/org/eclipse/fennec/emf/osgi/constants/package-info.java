@@ -15,6 +15,6 @@
  * @author Mark Hoffmann
  * @since 15.12.2023
  */
-@org.osgi.annotation.versioning.Version("1.0")
+@org.osgi.annotation.versioning.Version("1.2")
 @org.osgi.annotation.bundle.Export
 package org.eclipse.fennec.emf.osgi.constants;
\ No newline at end of file
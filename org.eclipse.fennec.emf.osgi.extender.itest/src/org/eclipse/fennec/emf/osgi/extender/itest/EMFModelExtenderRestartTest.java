@@ -21,6 +21,9 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Dictionary;
+import java.util.Hashtable;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EFactory;
@@ -35,8 +38,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.BundleException;
+import org.osgi.framework.Constants;
 import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceEvent;
+import org.osgi.framework.ServiceListener;
 import org.osgi.framework.ServiceReference;
+import org.osgi.service.cm.Configuration;
+import org.osgi.service.cm.ConfigurationAdmin;
 import org.osgi.test.common.annotation.InjectBundleContext;
 import org.osgi.test.common.annotation.InjectService;
 import org.osgi.test.common.service.ServiceAware;
@@ -61,6 +69,7 @@ public class EMFModelExtenderRestartTest {
 	private static final String MANUAL_MODEL_NSURI = "http://fennec.eclipse.org/example/model/manual/1.0";
 	private static final String MANUAL_FILTER = "(" + EMFNamespaces.EMF_NAME + "=manual)";
 	private static final long BUNDLE_SETTLE_MS = 1000L;
+	private static final String EXTENDER_PID = "EMFModelExtender";
 
 	private BundleContext ctx;
 
@@ -141,6 +150,59 @@ public class EMFModelExtenderRestartTest {
 		assertEquals(EXTENDER_TEST_MODEL_BSN, ref.getBundle().getSymbolicName());
 	}
 
+	/**
+	 * Verifies that with an update grace period, updating the model bundle with unchanged
+	 * content keeps the existing {@link EPackage} service registration.
+	 */
+	@Test
+	public void updateKeepsUnchangedRegistrationTest(@InjectService ConfigurationAdmin configAdmin) throws Exception {
+		Configuration configuration = configAdmin.getConfiguration(EXTENDER_PID, "?");
+		try {
+			Dictionary<String, Object> props = new Hashtable<>();
+			props.put("updateGracePeriod", Long.valueOf(5000L));
+			configuration.update(props);
+			Thread.sleep(BUNDLE_SETTLE_MS);
+
+			ServiceReference<EPackage> before = getManualEPackageReference();
+			AtomicInteger unregistrations = new AtomicInteger();
+			ServiceListener listener = event -> {
+				if (event.getType() == ServiceEvent.UNREGISTERING) {
+					unregistrations.incrementAndGet();
+				}
+			};
+			ctx.addServiceListener(listener, "(&(objectClass=" + EPackage.class.getName() + ")" + MANUAL_FILTER + ")");
+			try {
+				findModelBundleBySymbolicName().update();
+				Thread.sleep(BUNDLE_SETTLE_MS);
+			} finally {
+				ctx.removeServiceListener(listener);
+			}
+
+			ServiceReference<EPackage> after = getManualEPackageReference();
+			assertEquals(before.getProperty(Constants.SERVICE_ID), after.getProperty(Constants.SERVICE_ID),
+					"Unchanged model should keep its service registration");
+			assertEquals(0, unregistrations.get(), "Unchanged model should not be unregistered during the update");
+		} finally {
+			configuration.delete();
+			Thread.sleep(BUNDLE_SETTLE_MS);
+		}
+	}
+
+	private ServiceReference<EPackage> getManualEPackageReference() throws InvalidSyntaxException {
+		Collection<ServiceReference<EPackage>> refs = ctx.getServiceReferences(EPackage.class, MANUAL_FILTER);
+		assertEquals(1, refs.size(), "Exactly one manual EPackage expected");
+		return refs.iterator().next();
+	}
+
+	private Bundle findModelBundleBySymbolicName() {
+		for (Bundle b : ctx.getBundles()) {
+			if (EXTENDER_TEST_MODEL_BSN.equals(b.getSymbolicName())) {
+				return b;
+			}
+		}
+		return fail("Model bundle " + EXTENDER_TEST_MODEL_BSN + " not found");
+	}
+
 	/**
 	 * Asserts that the model services are initially available and the model
 	 * content is correct (Foo classifier exists, Bar does not).
@@ -0,0 +1,149 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.extender.perftest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collection;
+import java.util.Dictionary;
+import java.util.Hashtable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.fennec.emf.osgi.configurator.EPackageConfigurator;
+import org.eclipse.fennec.emf.osgi.constants.EMFNamespaces;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleException;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceEvent;
+import org.osgi.framework.ServiceListener;
+import org.osgi.framework.ServiceReference;
+import org.osgi.service.cm.Configuration;
+import org.osgi.service.cm.ConfigurationAdmin;
+import org.osgi.test.common.annotation.InjectBundleContext;
+import org.osgi.test.common.annotation.InjectService;
+import org.osgi.test.junit5.context.BundleContextExtension;
+import org.osgi.test.junit5.service.ServiceExtension;
+
+/**
+ * Benchmark for the restart of a model bundle.
+ * <p>
+ * Measures the time to restart the example model bundle until its {@link EPackage} is
+ * registered again, once with ecore XML parsing and once with the persistent model cache
+ * of the extender. Results are logged, not asserted.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+@Tag("perf")
+@ExtendWith(ServiceExtension.class)
+@ExtendWith(BundleContextExtension.class)
+public class EMFModelExtenderRestartBenchmarkTest {
+
+	private static final Logger logger = Logger.getLogger(EMFModelExtenderRestartBenchmarkTest.class.getName());
+	private static final String EXTENDER_TEST_MODEL_BSN = "org.eclipse.fennec.emf.osgi.example.model.extender";
+	private static final String MANUAL_FILTER = "(" + EMFNamespaces.EMF_NAME + "=manual)";
+	private static final String EXTENDER_PID = "EMFModelExtender";
+	private static final long BUNDLE_SETTLE_MS = 1000L;
+	private static final int RESTART_ROUNDS = 20;
+
+	private BundleContext ctx;
+
+	@BeforeEach
+	public void before(@InjectBundleContext BundleContext ctx) {
+		this.ctx = ctx;
+	}
+
+	/**
+	 * Ensures the model bundle is active again after the benchmark.
+	 */
+	@AfterEach
+	public void after() throws BundleException, InterruptedException {
+		for (Bundle b : ctx.getBundles()) {
+			if (EXTENDER_TEST_MODEL_BSN.equals(b.getSymbolicName()) && b.getState() != Bundle.ACTIVE) {
+				b.start();
+				Thread.sleep(BUNDLE_SETTLE_MS);
+			}
+		}
+	}
+
+	@Test
+	public void restartTimeWithModelCache(@InjectService ConfigurationAdmin configAdmin) throws Exception {
+		Configuration configuration = configAdmin.getConfiguration(EXTENDER_PID, "?");
+		try {
+			Dictionary<String, Object> props = new Hashtable<>();
+			props.put("modelCache", Boolean.FALSE);
+			configuration.update(props);
+			Thread.sleep(BUNDLE_SETTLE_MS);
+			long parseNanos = measureRestart(findModelBundle());
+
+			// Re-activating the extender with the cache enabled fills the cache
+			props.put("modelCache", Boolean.TRUE);
+			configuration.update(props);
+			Thread.sleep(BUNDLE_SETTLE_MS);
+			long cacheNanos = measureRestart(findModelBundle());
+
+			logger.info(() -> String.format("EMF model extender restart: parsing %.3f ms, model cache %.3f ms, reduction %.1f%%",
+					parseNanos / 1_000_000.0, cacheNanos / 1_000_000.0,
+					100.0 * (parseNanos - cacheNanos) / parseNanos));
+		} finally {
+			configuration.delete();
+			Thread.sleep(BUNDLE_SETTLE_MS);
+		}
+	}
+
+	/**
+	 * Returns the average time of {@value #RESTART_ROUNDS} restarts of the given model bundle,
+	 * measured from the start of the bundle until its {@link EPackage} service is registered.
+	 */
+	private long measureRestart(Bundle bundle) throws Exception {
+		long total = 0;
+		for (int i = 0; i < RESTART_ROUNDS; i++) {
+			bundle.stop();
+			CountDownLatch latch = new CountDownLatch(1);
+			ServiceListener listener = event -> {
+				if (event.getType() == ServiceEvent.REGISTERED) {
+					latch.countDown();
+				}
+			};
+			ctx.addServiceListener(listener, "(&(objectClass=" + EPackage.class.getName() + ")" + MANUAL_FILTER + ")");
+			try {
+				long start = System.nanoTime();
+				bundle.start();
+				assertTrue(latch.await(10, TimeUnit.SECONDS), "EPackage should be registered after restart");
+				total += System.nanoTime() - start;
+			} finally {
+				ctx.removeServiceListener(listener);
+			}
+		}
+		return total / RESTART_ROUNDS;
+	}
+
+	private Bundle findModelBundle() throws InvalidSyntaxException {
+		Collection<ServiceReference<EPackageConfigurator>> configurators =
+				ctx.getServiceReferences(EPackageConfigurator.class, MANUAL_FILTER);
+		assertEquals(1, configurators.size(), "Exactly one manual configurator expected");
+		Bundle origin = configurators.iterator().next().getBundle();
+		assertEquals(EXTENDER_TEST_MODEL_BSN, origin.getSymbolicName());
+		return origin;
+	}
+}
@@ -0,0 +1,207 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.extender.perftest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Dictionary;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.logging.Logger;
+
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.fennec.emf.osgi.constants.EMFNamespaces;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleException;
+import org.osgi.framework.ServiceEvent;
+import org.osgi.framework.ServiceListener;
+import org.osgi.service.cm.Configuration;
+import org.osgi.service.cm.ConfigurationAdmin;
+import org.osgi.test.common.annotation.InjectBundleContext;
+import org.osgi.test.common.annotation.InjectService;
+import org.osgi.test.junit5.context.BundleContextExtension;
+import org.osgi.test.junit5.service.ServiceExtension;
+
+/**
+ * Benchmark for the startup of many model bundles.
+ * <p>
+ * Generates {@value #BUNDLE_COUNT} model bundles, each with its own ecore model, starts
+ * them all and measures the time until every {@link EPackage} service is registered.
+ * The measurement is done with the synchronous default mode and with the asynchronous
+ * worker pool mode of the extender. Results are logged, not asserted.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+@Tag("perf")
+@ExtendWith(ServiceExtension.class)
+@ExtendWith(BundleContextExtension.class)
+public class EMFModelExtenderStartupBenchmarkTest {
+
+	private static final Logger logger = Logger.getLogger(EMFModelExtenderStartupBenchmarkTest.class.getName());
+	private static final int BUNDLE_COUNT = 50;
+	private static final int CLASSES_PER_MODEL = 40;
+	private static final String EXTENDER_PID = "EMFModelExtender";
+	private static final String BENCH_FILTER = "(&(objectClass=" + EPackage.class.getName() + ")("
+			+ EMFNamespaces.EMF_MODEL_REGISTRATION + "=" + EMFNamespaces.MODEL_REGISTRATION_EXTENDER + ")("
+			+ EMFNamespaces.EMF_NAME + "=bench*))";
+	private static final long SETTLE_MS = 1000L;
+
+	private BundleContext ctx;
+	private ConfigurationAdmin configAdmin;
+	private final List<Bundle> benchBundles = new ArrayList<>();
+
+	@BeforeEach
+	public void before(@InjectBundleContext BundleContext ctx,
+			@InjectService ConfigurationAdmin configAdmin) {
+		this.ctx = ctx;
+		this.configAdmin = configAdmin;
+	}
+
+	/**
+	 * Uninstalls the generated bundles and restores the default extender configuration.
+	 */
+	@AfterEach
+	public void after() throws BundleException, IOException, InterruptedException {
+		for (Bundle b : benchBundles) {
+			b.uninstall();
+		}
+		benchBundles.clear();
+		Configuration configuration = configAdmin.getConfiguration(EXTENDER_PID, "?");
+		configuration.delete();
+		Thread.sleep(SETTLE_MS);
+	}
+
+	@Test
+	public void startupSynchronous() throws Exception {
+		long nanos = measureStartup(0);
+		report("synchronous", nanos);
+	}
+
+	@Test
+	public void startupAsynchronous() throws Exception {
+		int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+		long nanos = measureStartup(threads);
+		report("asynchronous (" + threads + " workers)", nanos);
+	}
+
+	/**
+	 * Configures the extender, installs the model bundles and measures the time from starting
+	 * the first bundle until all {@link EPackage} services are registered.
+	 */
+	private long measureStartup(int workerThreads) throws Exception {
+		configureExtender(workerThreads);
+		for (int i = 0; i < BUNDLE_COUNT; i++) {
+			benchBundles.add(ctx.installBundle("bench:model:" + i, new ByteArrayInputStream(createModelBundle(i))));
+		}
+
+		CountDownLatch latch = new CountDownLatch(BUNDLE_COUNT);
+		ServiceListener listener = event -> {
+			if (event.getType() == ServiceEvent.REGISTERED) {
+				latch.countDown();
+			}
+		};
+		ctx.addServiceListener(listener, BENCH_FILTER);
+		try {
+			long start = System.nanoTime();
+			for (Bundle b : benchBundles) {
+				b.start();
+			}
+			assertTrue(latch.await(60, TimeUnit.SECONDS), "Not all benchmark EPackages were registered");
+			long duration = System.nanoTime() - start;
+			assertTrue(ctx.getServiceReferences(EPackage.class, "(" + EMFNamespaces.EMF_NAME + "=bench*)").size() >= BUNDLE_COUNT);
+			return duration;
+		} finally {
+			ctx.removeServiceListener(listener);
+		}
+	}
+
+	private void configureExtender(int workerThreads) throws IOException, InterruptedException {
+		Configuration configuration = configAdmin.getConfiguration(EXTENDER_PID, "?");
+		Dictionary<String, Object> props = new Hashtable<>();
+		props.put("workerThreads", workerThreads);
+		configuration.update(props);
+		// Wait for the extender component to be re-activated with the new configuration
+		Thread.sleep(SETTLE_MS);
+	}
+
+	private void report(String mode, long nanos) {
+		logger.info(() -> String.format("EMF model extender startup, %s: %d bundles registered in %.2f ms",
+				mode, BUNDLE_COUNT, nanos / 1_000_000.0));
+	}
+
+	/**
+	 * Creates a model bundle jar that requires the EMF model extender and contains
+	 * a single ecore file in the default {@code model/} folder.
+	 */
+	private static byte[] createModelBundle(int index) throws IOException {
+		Manifest manifest = new Manifest();
+		Attributes attributes = manifest.getMainAttributes();
+		attributes.put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		attributes.putValue("Bundle-ManifestVersion", "2");
+		attributes.putValue("Bundle-SymbolicName", "org.eclipse.fennec.emf.osgi.bench.model" + index);
+		attributes.putValue("Bundle-Version", "1.0.0");
+		attributes.putValue("Require-Capability", "osgi.extender;filter:=\"(osgi.extender="
+				+ EMFNamespaces.EMF_MODEL_EXTENDER_NAME + ")\"");
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		try (JarOutputStream jar = new JarOutputStream(baos, manifest)) {
+			jar.putNextEntry(new JarEntry("model/bench" + index + ".ecore"));
+			jar.write(createEcore(index).getBytes(StandardCharsets.UTF_8));
+			jar.closeEntry();
+		}
+		return baos.toByteArray();
+	}
+
+	private static String createEcore(int index) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+			.append("<ecore:EPackage xmi:version=\"2.0\" xmlns:xmi=\"http://www.omg.org/XMI\"")
+			.append(" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"")
+			.append(" xmlns:ecore=\"http://www.eclipse.org/emf/2002/Ecore\"")
+			.append(" name=\"bench").append(index).append("\"")
+			.append(" nsURI=\"http://fennec.eclipse.org/bench/").append(index).append("\"")
+			.append(" nsPrefix=\"bench").append(index).append("\">\n");
+		for (int c = 0; c < CLASSES_PER_MODEL; c++) {
+			sb.append("  <eClassifiers xsi:type=\"ecore:EClass\" name=\"Type").append(c).append("\"");
+			if (c > 0) {
+				sb.append(" eSuperTypes=\"#//Type").append(c - 1).append("\"");
+			}
+			sb.append(">\n")
+				.append("    <eStructuralFeatures xsi:type=\"ecore:EAttribute\" name=\"name").append(c)
+				.append("\" eType=\"ecore:EDataType http://www.eclipse.org/emf/2002/Ecore#//EString\"/>\n")
+				.append("    <eStructuralFeatures xsi:type=\"ecore:EReference\" name=\"next").append(c)
+				.append("\" eType=\"#//Type").append(c).append("\" containment=\"true\" upperBound=\"-1\"/>\n")
+				.append("  </eClassifiers>\n");
+		}
+		sb.append("</ecore:EPackage>\n");
+		return sb.toString();
+	}
+}
@@ -18,7 +18,13 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -32,6 +38,7 @@ import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.BundleEvent;
 import org.osgi.framework.Constants;
+import org.osgi.framework.ServiceFactory;
 import org.osgi.framework.ServiceRegistration;
 import org.osgi.namespace.extender.ExtenderNamespace;
 import org.osgi.util.tracker.BundleTracker;
@@ -50,8 +57,29 @@ import org.osgi.util.tracker.BundleTrackerCustomizer;
  * registered as both an {@link EPackage} service and an {@link EPackageConfigurator}
  * service, enabling dynamic model availability in the OSGi service registry.
  * <p>
- * Service registrations are performed in the model bundle's own {@link BundleContext}
+ * By default, service registrations are performed in the model bundle's own {@link BundleContext}
  * so that they are automatically cleaned up when the model bundle is stopped.
+ * <p>
+ * By default, ecore files are parsed synchronously within the {@link BundleTracker}
+ * callback. When {@link #setWorkerThreads(int, int) worker threads} are configured,
+ * bundles are queued to a bounded worker pool instead. Each bundle is parsed with its
+ * own {@link EcoreHelper} ResourceSet. The bundles are parsed in parallel, but their
+ * services are registered in the order the bundles were added, and the models of a bundle
+ * in their model order, just like in the synchronous mode; see {@link RegistrationSequence}.
+ * A bundle that is removed while its models are still being parsed has its pending load
+ * cancelled, so no services are registered for a stopped bundle, and the later bundles
+ * no longer wait for it.
+ * <p>
+ * Bundles that set the {@code lazy} attribute on their extender requirement get their
+ * models registered without parsing them. The ecore files are only scanned for the package
+ * name and namespace URI; a {@link LazyEPackageDescriptor} parses them on first access.
+ * With worker threads, this scan runs on the worker pool as well.
+ * <p>
+ * With an {@link #setUpdateGracePeriod(long) update grace period}, the services of a stopped
+ * model bundle are kept for a while. When an updated or refreshed bundle comes back, only the
+ * ecore entries whose content changed are registered again; see {@link IncrementalModelRegistry}.
+ * The incremental update mode always loads synchronously, configured worker threads are not
+ * started in that mode.
  *
  * @author Mark Hoffmann
  * @since 13.10.2022
@@ -68,6 +96,20 @@ public class EMFModelExtender {
 
 	/** Service registrations indexed by bundle ID, for cleanup on bundle removal. */
 	private final Map<Long, List<ServiceRegistration<?>>> registrations = new ConcurrentHashMap<>();
+	/** Asynchronous model loads that have not registered their services yet, indexed by bundle ID. */
+	private final Map<Long, ModelLoadTask> pendingLoads = new ConcurrentHashMap<>();
+	/** Keeps the registrations of asynchronous model loads in the order the bundles were added. */
+	private final RegistrationSequence registrationSequence = new RegistrationSequence();
+
+	private int workerThreads = 0;
+	private int workerQueueCapacity = DEFAULT_WORKER_QUEUE_CAPACITY;
+	private ThreadPoolExecutor executor;
+	private ModelCache modelCache;
+	private long updateGracePeriod = 0;
+	private IncrementalModelRegistry incrementalRegistry;
+
+	/** Default number of bundles that can wait for a worker thread before the tracker thread parses itself. */
+	public static final int DEFAULT_WORKER_QUEUE_CAPACITY = 256;
 
 	/**
 	 * Creates a new model extender.
@@ -99,11 +141,91 @@ public class EMFModelExtender {
 				});
 	}
 
+	/**
+	 * Enables the asynchronous loading mode. Must be called before {@link #start()}.
+	 * <p>
+	 * With {@code threads > 0}, model bundles are parsed on a pool of at most {@code threads}
+	 * worker threads. Up to {@code queueCapacity} bundles can wait for a free worker; if the
+	 * queue is full, the bundle is parsed on the calling tracker thread, which throttles the
+	 * framework event delivery instead of growing the queue without bounds.
+	 *
+	 * @param threads       the number of worker threads, {@code 0} for synchronous loading
+	 * @param queueCapacity the maximum number of queued bundles, must be positive
+	 * @throws IllegalArgumentException if {@code threads} is negative or {@code queueCapacity} is not positive
+	 * @throws IllegalStateException if the extender has already been started
+	 */
+	public void setWorkerThreads(int threads, int queueCapacity) {
+		if (threads < 0) {
+			throw new IllegalArgumentException("Worker thread count must not be negative: " + threads);
+		}
+		if (queueCapacity <= 0) {
+			throw new IllegalArgumentException("Worker queue capacity must be positive: " + queueCapacity);
+		}
+		if (tracker.getTrackingCount() >= 0) {
+			throw new IllegalStateException("Worker threads must be configured before the extender is started");
+		}
+		this.workerThreads = threads;
+		this.workerQueueCapacity = queueCapacity;
+	}
+
+	/**
+	 * Sets the persistent {@link ModelCache} used to avoid parsing unchanged ecore files on every
+	 * start. Must be called before {@link #start()}.
+	 *
+	 * @param modelCache the model cache, {@code null} to always parse the ecore XML
+	 * @throws IllegalStateException if the extender has already been started
+	 */
+	public void setModelCache(ModelCache modelCache) {
+		if (tracker.getTrackingCount() >= 0) {
+			throw new IllegalStateException("The model cache must be configured before the extender is started");
+		}
+		this.modelCache = modelCache;
+	}
+
+	/**
+	 * Enables the incremental update mode. Must be called before {@link #start()}.
+	 * <p>
+	 * With a positive grace period, the services are registered in the extender's context
+	 * instead of the model bundle's context. When a model bundle is stopped, e.g. for an update
+	 * or refresh, its services are kept for the grace period. If the bundle starts again within
+	 * that time, only the ecore entries whose content hash changed are loaded and re-registered.
+	 * Unchanged entries keep their {@link ServiceRegistration}.
+	 *
+	 * @param gracePeriod the time in milliseconds the services of a stopped bundle are kept,
+	 *                    {@code 0} to unregister them immediately
+	 * @throws IllegalArgumentException if {@code gracePeriod} is negative
+	 * @throws IllegalStateException if the extender has already been started
+	 */
+	public void setUpdateGracePeriod(long gracePeriod) {
+		if (gracePeriod < 0) {
+			throw new IllegalArgumentException("Update grace period must not be negative: " + gracePeriod);
+		}
+		if (tracker.getTrackingCount() >= 0) {
+			throw new IllegalStateException("The update grace period must be configured before the extender is started");
+		}
+		this.updateGracePeriod = gracePeriod;
+	}
+
 	/**
 	 * Start tracking bundles. The tracker will scan all existing active
 	 * bundles and then continue tracking new ones.
 	 */
 	public void start() {
+		if (workerThreads > 0 && updateGracePeriod > 0) {
+			logger.warning(() -> "The incremental update mode loads models synchronously, the " + workerThreads
+					+ " configured worker thread(s) are not used");
+		} else if (workerThreads > 0) {
+			executor = new ThreadPoolExecutor(workerThreads, workerThreads, 30L, TimeUnit.SECONDS,
+					new ArrayBlockingQueue<>(workerQueueCapacity), new WorkerThreadFactory(),
+					new ThreadPoolExecutor.CallerRunsPolicy());
+			executor.allowCoreThreadTimeOut(true);
+		}
+		if (modelCache != null) {
+			modelCache.prune(id -> bundleContext.getBundle(id) != null);
+		}
+		if (updateGracePeriod > 0) {
+			incrementalRegistry = new IncrementalModelRegistry(updateGracePeriod, this::registerInExtenderContext);
+		}
 		this.tracker.open();
 	}
 
@@ -111,7 +233,23 @@ public class EMFModelExtender {
 	 * Stop tracking and unregister all services.
 	 */
 	public void shutdown() {
+		// Closing the tracker removes every bundle, which cancels all pending loads
 		this.tracker.close();
+		if (executor != null) {
+			executor.shutdownNow();
+			try {
+				if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+					logger.warning("EMF model extender workers did not terminate in time");
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			executor = null;
+		}
+		if (incrementalRegistry != null) {
+			incrementalRegistry.close();
+			incrementalRegistry = null;
+		}
 		// Unregister any remaining services
 		registrations.values().forEach(regs -> regs.forEach(reg -> {
 			try {
@@ -132,67 +270,158 @@ public class EMFModelExtender {
 		}
 
 		try {
-			Set<String> paths = ModelHelper.isModelBundle(bundle, bundleContext.getBundle().getBundleId());
+			long extenderBundleId = bundleContext.getBundle().getBundleId();
+			Set<String> paths = ModelHelper.isModelBundle(bundle, extenderBundleId);
 			if (paths.isEmpty()) {
 				registrations.remove(bundleId);
 				return;
 			}
-
-			EcoreHelper ecoreHelper = new EcoreHelper();
-			List<Model> models;
-			try {
-				ModelHelper.Diagnostic diagnostic = new ModelHelper.Diagnostic();
-				models = ModelHelper.readModelsFromBundle(bundle, ecoreHelper.getResourceSet(), paths, diagnostic);
-
-				diagnostic.warnings.forEach(w -> logger.log(Level.WARNING, w));
-				diagnostic.errors.forEach(e -> logger.log(Level.SEVERE, e));
-			} finally {
-				// M1 fix: release ResourceSet resources after loading
-				ecoreHelper.releaseAll();
+			boolean lazy = ModelHelper.isLazyModelBundle(bundle, extenderBundleId);
+			if (incrementalRegistry != null) {
+				registerIncrementally(bundle, paths, lazy);
+				return;
 			}
-
-			if (models.isEmpty()) {
-				registrations.remove(bundleId);
+			if (executor != null) {
+				scheduleModelLoad(bundle, paths, lazy);
 				return;
 			}
+			registerModels(bundle, lazy ? loadLazyModels(bundle, paths) : loadModels(bundle, paths));
+		} catch (IllegalStateException e) {
+			registrations.remove(bundleId);
+			logger.log(Level.SEVERE, e, () -> "Error processing bundle " + getBundleIdentity(bundle));
+		}
+	}
 
-			List<ServiceRegistration<?>> bundleRegs = new ArrayList<>();
-			try {
-				for (Model model : models) {
-					registerModel(bundle, model, bundleRegs);
-				}
-			} catch (RuntimeException e) {
-				// M2 fix: on partial failure, unregister already-registered services
-				for (ServiceRegistration<?> reg : bundleRegs) {
-					try {
-						reg.unregister();
-					} catch (IllegalStateException ise) {
-						// already unregistered
-					}
+	/**
+	 * Queues the model loading of a bundle to the worker pool. The task is tracked in
+	 * {@link #pendingLoads} until its services are registered, so that a removal of the
+	 * bundle in the meantime can cancel it. The task takes the next step in the
+	 * {@link #registrationSequence}, so that its services are registered after the ones of
+	 * all bundles queued before.
+	 */
+	private void scheduleModelLoad(Bundle bundle, Set<String> paths, boolean lazy) {
+		ModelLoadTask task = new ModelLoadTask(bundle, paths, lazy, registrationSequence.append());
+		pendingLoads.put(bundle.getBundleId(), task);
+		task.submit(executor);
+	}
+
+	/**
+	 * Parses all ecore files at the given paths using a dedicated {@link EcoreHelper} ResourceSet.
+	 */
+	private List<Model> loadModels(Bundle bundle, Set<String> paths) {
+		EcoreHelper ecoreHelper = new EcoreHelper();
+		try {
+			ModelHelper.Diagnostic diagnostic = new ModelHelper.Diagnostic();
+			List<Model> models = ModelHelper.readModelsFromBundle(bundle, ecoreHelper.getResourceSet(), paths, modelCache, diagnostic);
+
+			diagnostic.warnings.forEach(w -> logger.log(Level.WARNING, w));
+			diagnostic.errors.forEach(e -> logger.log(Level.SEVERE, e));
+			return models;
+		} finally {
+			// M1 fix: release ResourceSet resources after loading
+			ecoreHelper.releaseAll();
+		}
+	}
+
+	/**
+	 * Registers the models of a bundle in the incremental update mode. Only entries whose content
+	 * hash differs from the retained registrations of the bundle are loaded.
+	 */
+	private void registerIncrementally(Bundle bundle, Set<String> paths, boolean lazy) {
+		ModelHelper.Diagnostic diagnostic = new ModelHelper.Diagnostic();
+		List<ModelHelper.ModelEntry> entries = ModelHelper.findModelEntries(bundle, paths, diagnostic);
+		EcoreHelper ecoreHelper = new EcoreHelper();
+		try {
+			incrementalRegistry.update(bundle.getBundleId(), entries, entry -> lazy
+					? ModelHelper.createLazyModel(bundle, entry.url(), entry.properties(), modelCache, diagnostic)
+					: ModelHelper.loadModelInstance(bundle, ecoreHelper.getResourceSet(), entry.url(),
+							entry.properties(), modelCache, diagnostic),
+					diagnostic);
+		} finally {
+			// M1 fix: release ResourceSet resources after loading
+			ecoreHelper.releaseAll();
+		}
+		diagnostic.warnings.forEach(w -> logger.log(Level.WARNING, w));
+		diagnostic.errors.forEach(e -> logger.log(Level.SEVERE, e));
+	}
+
+	/**
+	 * Registers the services of a model in the extender's context, so that they outlive a
+	 * restart of the model bundle. Used by the incremental update mode.
+	 */
+	private List<ServiceRegistration<?>> registerInExtenderContext(Model model) {
+		List<ServiceRegistration<?>> regs = new ArrayList<>();
+		try {
+			registerModel(bundleContext, model, regs);
+		} catch (RuntimeException e) {
+			regs.forEach(ServiceRegistration::unregister);
+			throw e;
+		}
+		return regs;
+	}
+
+	/**
+	 * Creates lazy models for all ecore files at the given paths, without parsing them.
+	 */
+	private List<Model> loadLazyModels(Bundle bundle, Set<String> paths) {
+		ModelHelper.Diagnostic diagnostic = new ModelHelper.Diagnostic();
+		List<Model> models = ModelHelper.readLazyModelsFromBundle(bundle, paths, modelCache, diagnostic);
+
+		diagnostic.warnings.forEach(w -> logger.log(Level.WARNING, w));
+		diagnostic.errors.forEach(e -> logger.log(Level.SEVERE, e));
+		return models;
+	}
+
+	/**
+	 * Registers the services for all loaded models of a bundle and stores the registrations.
+	 * On partial failure, the already registered services are unregistered again.
+	 */
+	private void registerModels(Bundle bundle, List<Model> models) {
+		long bundleId = bundle.getBundleId();
+		if (models.isEmpty()) {
+			registrations.remove(bundleId);
+			return;
+		}
+
+		List<ServiceRegistration<?>> bundleRegs = new ArrayList<>();
+		try {
+			for (Model model : models) {
+				registerModel(getModelBundleContext(model.getBundleId()), model, bundleRegs);
+			}
+		} catch (RuntimeException e) {
+			// M2 fix: on partial failure, unregister already-registered services
+			for (ServiceRegistration<?> reg : bundleRegs) {
+				try {
+					reg.unregister();
+				} catch (IllegalStateException ise) {
+					// already unregistered
 				}
-				registrations.remove(bundleId);
-				throw e;
 			}
-			registrations.put(bundleId, bundleRegs);
-
-			logger.fine(() -> "Registered " + models.size() + " EMF model(s) from " + getBundleIdentity(bundle));
-		} catch (IllegalStateException e) {
 			registrations.remove(bundleId);
-			logger.log(Level.SEVERE, e, () -> "Error processing bundle " + getBundleIdentity(bundle));
+			throw e;
 		}
+		registrations.put(bundleId, bundleRegs);
+
+		logger.fine(() -> "Registered " + models.size() + " EMF model(s) from " + getBundleIdentity(bundle));
 	}
 
 	/**
 	 * Registers a single model as both an {@link EPackageConfigurator} and
-	 * an {@link EPackage} service in the model bundle's context.
+	 * an {@link EPackage} service in the given context.
 	 */
-	private void registerModel(Bundle modelBundle, Model model, List<ServiceRegistration<?>> regs) {
-		EPackage ePackage = model.getEPackage();
+	private void registerModel(BundleContext modelBundleContext, Model model, List<ServiceRegistration<?>> regs) {
 		var properties = model.getProperties();
 
+		if (model.isLazy()) {
+			EPackage.Descriptor descriptor = model.getDescriptor();
+			ModelExtenderConfigurator configurator = new ModelExtenderConfigurator(model.getNsURI(), descriptor);
+			regs.add(modelBundleContext.registerService(EPackageConfigurator.class.getName(), configurator, properties));
+			// The package is loaded, when the EPackage service is requested for the first time
+			regs.add(modelBundleContext.registerService(EPackage.class.getName(), new LazyEPackageServiceFactory(descriptor), properties));
+			return;
+		}
+		EPackage ePackage = model.getEPackage();
 		ModelExtenderConfigurator configurator = new ModelExtenderConfigurator(ePackage);
-
-		BundleContext modelBundleContext = getModelBundleContext(model.getBundleId());
 		regs.add(modelBundleContext.registerService(EPackageConfigurator.class.getName(), configurator, properties));
 		regs.add(modelBundleContext.registerService(EPackage.class, ePackage, properties));
 	}
@@ -227,6 +456,14 @@ public class EMFModelExtender {
 	}
 
 	private void processRemoveBundle(long bundleId) {
+		ModelLoadTask pending = pendingLoads.remove(bundleId);
+		if (pending != null) {
+			// After cancel() returns, the task either has registered its services already or never will
+			pending.cancel();
+		}
+		if (incrementalRegistry != null) {
+			incrementalRegistry.retain(bundleId);
+		}
 		List<ServiceRegistration<?>> regs = registrations.remove(bundleId);
 		if (regs == null) {
 			return;
@@ -248,4 +485,130 @@ public class EMFModelExtender {
 		}
 		return bundle.getSymbolicName() + ":" + bundle.getVersion() + " (" + bundle.getBundleId() + ")";
 	}
+
+	/**
+	 * Asynchronous model load of a single bundle.
+	 * <p>
+	 * Parsing runs without holding any lock. The registration waits for the tasks queued
+	 * before in the {@link RegistrationSequence}. The registration and {@link #cancel()}
+	 * synchronize on the task, so a bundle removal either happens before the services are
+	 * registered (and the registration is skipped) or after it (and the removal finds the
+	 * registrations to unregister). A failed or cancelled task skips its step, so it never
+	 * holds back the later bundles.
+	 */
+	private final class ModelLoadTask implements Runnable {
+
+		private final Bundle bundle;
+		private final Set<String> paths;
+		private final boolean lazy;
+		private final RegistrationSequence.Step step;
+		private boolean cancelled = false;
+		private Future<?> future;
+
+		ModelLoadTask(Bundle bundle, Set<String> paths, boolean lazy, RegistrationSequence.Step step) {
+			this.bundle = bundle;
+			this.paths = paths;
+			this.lazy = lazy;
+			this.step = step;
+		}
+
+		synchronized void submit(ThreadPoolExecutor workers) {
+			if (!cancelled) {
+				future = workers.submit(this);
+			}
+		}
+
+		void cancel() {
+			synchronized (this) {
+				cancelled = true;
+				if (future != null) {
+					future.cancel(false);
+				}
+			}
+			// Outside of the task monitor, the sequence is always locked before the task
+			step.skip();
+		}
+
+		private synchronized boolean isCancelled() {
+			return cancelled;
+		}
+
+		@Override
+		public void run() {
+			if (isCancelled()) {
+				return;
+			}
+			try {
+				List<Model> models = lazy ? loadLazyModels(bundle, paths) : loadModels(bundle, paths);
+				step.complete(() -> register(models));
+			} catch (RuntimeException e) {
+				failed(e);
+			} finally {
+				// Does nothing if the step is completed already
+				step.skip();
+			}
+		}
+
+		/**
+		 * Registers the loaded models, once all bundles queued before are registered.
+		 */
+		private synchronized void register(List<Model> models) {
+			if (cancelled) {
+				return;
+			}
+			pendingLoads.remove(bundle.getBundleId(), this);
+			try {
+				registerModels(bundle, models);
+			} catch (RuntimeException e) {
+				failed(e);
+			}
+		}
+
+		private void failed(RuntimeException e) {
+			long bundleId = bundle.getBundleId();
+			synchronized (this) {
+				if (!cancelled) {
+					pendingLoads.remove(bundleId, this);
+					registrations.remove(bundleId);
+				}
+			}
+			logger.log(Level.SEVERE, e, () -> "Error processing bundle " + getBundleIdentity(bundle));
+		}
+	}
+
+	/**
+	 * Provides the {@link EPackage} service of a lazy model. All consumers share the package
+	 * of the descriptor, which is loaded on the first {@code getService} call.
+	 */
+	private static final class LazyEPackageServiceFactory implements ServiceFactory<Object> {
+
+		private final EPackage.Descriptor descriptor;
+
+		LazyEPackageServiceFactory(EPackage.Descriptor descriptor) {
+			this.descriptor = descriptor;
+		}
+
+		@Override
+		public Object getService(Bundle bundle, ServiceRegistration<Object> registration) {
+			return descriptor.getEPackage();
+		}
+
+		@Override
+		public void ungetService(Bundle bundle, ServiceRegistration<Object> registration, Object service) {
+			// the package is shared and stays loaded
+		}
+	}
+
+	/** Creates named daemon threads for the asynchronous loading mode. */
+	private static final class WorkerThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread thread = new Thread(r, "EMF Model Extender Worker-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
 }
@@ -12,6 +12,7 @@
  ********************************************************************/
 package org.eclipse.fennec.emf.osgi.extender;
 
+import java.io.File;
 import java.util.logging.Logger;
 
 import org.osgi.service.component.ComponentContext;
@@ -25,14 +26,19 @@ import org.osgi.service.component.annotations.Deactivate;
  * On activation, creates and starts an {@link EMFModelExtender} that begins
  * tracking bundles for EMF model content. On deactivation, the extender is
  * shut down and all model service registrations are cleaned up.
+ * <p>
+ * The extender can be configured with the PID {@value EMFModelExtenderConfig#PID},
+ * e.g. to enable the asynchronous loading mode, the persistent model cache or
+ * to enable the incremental update mode.
  *
  * @author Mark Hoffmann
  * @since 13.10.2022
  */
-@Component
+@Component(configurationPid = EMFModelExtenderConfig.PID)
 public class EMFModelExtenderComponent {
 
 	private static final Logger logger = Logger.getLogger(EMFModelExtenderComponent.class.getName());
+	private static final String MODEL_CACHE_DIR = "model-cache";
 
 	private EMFModelExtender modelExtender;
 
@@ -40,12 +46,24 @@ public class EMFModelExtenderComponent {
 	 * Activates the component by creating and starting the model extender.
 	 *
 	 * @param ctx the component context providing access to the bundle context
+	 * @param config the extender configuration
 	 */
 	@Activate
-	public void activate(ComponentContext ctx) {
+	public void activate(ComponentContext ctx, EMFModelExtenderConfig config) {
 		modelExtender = new EMFModelExtender(ctx.getBundleContext());
+		modelExtender.setWorkerThreads(config.workerThreads(), config.workerQueueCapacity());
+		modelExtender.setUpdateGracePeriod(config.updateGracePeriod());
+		if (config.modelCache()) {
+			File cacheDir = ctx.getBundleContext().getDataFile(MODEL_CACHE_DIR);
+			if (cacheDir != null) {
+				modelExtender.setModelCache(new ModelCache(cacheDir.toPath()));
+			} else {
+				logger.warning("No persistent storage available, the EMF model cache is disabled");
+			}
+		}
 		modelExtender.start();
-		logger.info("Started EMF Model Extender");
+		logger.info(() -> "Started EMF Model Extender" + (config.workerThreads() > 0 && config.updateGracePeriod() == 0
+				? " with " + config.workerThreads() + " worker thread(s)" : ""));
 	}
 
 	/**
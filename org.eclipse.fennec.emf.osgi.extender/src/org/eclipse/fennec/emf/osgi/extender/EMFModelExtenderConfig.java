@@ -0,0 +1,64 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.extender;
+
+/**
+ * Optional configuration of the {@link EMFModelExtenderComponent}.
+ * <p>
+ * Without a configuration for {@link #PID}, the extender parses all model bundles
+ * synchronously and does not cache the parsed models.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public @interface EMFModelExtenderConfig {
+
+	/** Configuration PID of the model extender component */
+	String PID = "EMFModelExtender";
+
+	/**
+	 * Number of worker threads used to parse model bundles asynchronously.
+	 * {@code 0} disables the asynchronous mode. Not used in the incremental update mode,
+	 * see {@link #updateGracePeriod()}.
+	 *
+	 * @return the number of worker threads
+	 */
+	int workerThreads() default 0;
+
+	/**
+	 * Maximum number of model bundles waiting for a worker thread. Only used
+	 * if {@link #workerThreads()} is greater than {@code 0}.
+	 *
+	 * @return the worker queue capacity
+	 */
+	int workerQueueCapacity() default EMFModelExtender.DEFAULT_WORKER_QUEUE_CAPACITY;
+
+	/**
+	 * Enables the persistent binary cache of parsed ecore models in the extender's
+	 * bundle data area. Disabled by default, as it writes to the bundle data area.
+	 *
+	 * @return {@code true} to cache parsed models across restarts
+	 */
+	boolean modelCache() default false;
+
+	/**
+	 * Time in milliseconds the services of a stopped model bundle are kept. If the bundle
+	 * starts again within that time, e.g. after an update or refresh, only the models whose
+	 * content changed are registered again. The services are then registered in the
+	 * extender's context. {@code 0} disables the incremental update mode. This mode always
+	 * loads synchronously, {@link #workerThreads()} are ignored with a warning.
+	 *
+	 * @return the update grace period in milliseconds
+	 */
+	long updateGracePeriod() default 0;
+}
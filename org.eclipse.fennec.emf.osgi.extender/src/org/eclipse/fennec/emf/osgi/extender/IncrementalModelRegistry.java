@@ -0,0 +1,189 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.extender;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import org.eclipse.fennec.emf.osgi.extender.model.Model;
+import org.osgi.framework.ServiceRegistration;
+
+/**
+ * Keeps the service registrations of model bundles per ecore entry, so that an updated or
+ * refreshed bundle only re-registers the models whose content changed.
+ * <p>
+ * When a bundle is removed, its registrations are retained for a grace period instead of being
+ * unregistered. If the bundle comes back within that period, the content hash of each entry is
+ * compared: unchanged entries keep their {@link ServiceRegistration}, changed and new entries are
+ * loaded and registered, and entries that no longer exist are unregistered. If the bundle does
+ * not come back, all retained registrations are unregistered when the grace period expires.
+ * <p>
+ * The services must therefore be registered in a context that outlives the model bundle, i.e.
+ * the extender's own context.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+final class IncrementalModelRegistry {
+
+	private static final Logger logger = Logger.getLogger(IncrementalModelRegistry.class.getName());
+
+	/**
+	 * Loads the model of a changed or new entry.
+	 */
+	@FunctionalInterface
+	interface ModelLoader {
+		Model load(ModelHelper.ModelEntry entry) throws IOException;
+	}
+
+	/** The services of a single ecore entry and the content hash they were created from. */
+	private record EntryRegistration(String hash, List<ServiceRegistration<?>> registrations) {
+
+		void unregister() {
+			for (ServiceRegistration<?> reg : registrations) {
+				try {
+					reg.unregister();
+				} catch (IllegalStateException e) {
+					// already unregistered
+				}
+			}
+		}
+	}
+
+	/** Registrations of a removed bundle, waiting for the bundle to come back. */
+	private record RetainedModels(Map<String, EntryRegistration> entries, ScheduledFuture<?> expiry) {
+	}
+
+	private final long gracePeriod;
+	private final Function<Model, List<ServiceRegistration<?>>> registrar;
+	private final ScheduledExecutorService scheduler;
+	private final Map<Long, Map<String, EntryRegistration>> active = new ConcurrentHashMap<>();
+	private final Map<Long, RetainedModels> retained = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a new registry.
+	 *
+	 * @param gracePeriod the time in milliseconds, the registrations of a removed bundle are kept
+	 * @param registrar   registers the services of a model and returns their registrations
+	 */
+	IncrementalModelRegistry(long gracePeriod, Function<Model, List<ServiceRegistration<?>>> registrar) {
+		if (gracePeriod <= 0) {
+			throw new IllegalArgumentException("Grace period must be positive: " + gracePeriod);
+		}
+		this.gracePeriod = gracePeriod;
+		this.registrar = requireNonNull(registrar, "Registrar must not be null");
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "EMF Model Extender Update Grace Period");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Registers the models of an added bundle. Registrations retained from a previous
+	 * incarnation of the bundle are reused for all entries with an unchanged hash.
+	 *
+	 * @param bundleId   the ID of the bundle
+	 * @param entries    the current ecore entries of the bundle
+	 * @param loader     loads the model of changed and new entries
+	 * @param diagnostic collects errors during loading
+	 */
+	void update(long bundleId, List<ModelHelper.ModelEntry> entries, ModelLoader loader,
+			ModelHelper.Diagnostic diagnostic) {
+		Map<String, EntryRegistration> previous = takeRetained(bundleId);
+		Map<String, EntryRegistration> current = new HashMap<>();
+		int reused = 0;
+		for (ModelHelper.ModelEntry entry : entries) {
+			EntryRegistration old = previous.remove(entry.key());
+			if (old != null && old.hash().equals(entry.hash())) {
+				current.put(entry.key(), old);
+				reused++;
+				continue;
+			}
+			if (old != null) {
+				old.unregister();
+			}
+			try {
+				Model model = loader.load(entry);
+				current.put(entry.key(), new EntryRegistration(entry.hash(), registrar.apply(model)));
+			} catch (IOException | RuntimeException e) {
+				diagnostic.errors.add("Unable to load ecore " + entry.url() + " : " + e.getMessage());
+			}
+		}
+		// Entries that no longer exist in the bundle
+		previous.values().forEach(EntryRegistration::unregister);
+		active.put(bundleId, current);
+
+		int kept = reused;
+		logger.fine(() -> "Bundle " + bundleId + ": kept " + kept + " and registered "
+				+ (current.size() - kept) + " EMF model(s)");
+	}
+
+	/**
+	 * Retains the registrations of a removed bundle for the grace period.
+	 *
+	 * @param bundleId the ID of the removed bundle
+	 */
+	void retain(long bundleId) {
+		Map<String, EntryRegistration> current = active.remove(bundleId);
+		if (current == null || current.isEmpty()) {
+			return;
+		}
+		ScheduledFuture<?> expiry = scheduler.schedule(() -> expire(bundleId), gracePeriod, TimeUnit.MILLISECONDS);
+		retained.put(bundleId, new RetainedModels(current, expiry));
+	}
+
+	/**
+	 * Unregisters all active and retained registrations and stops the grace period timer.
+	 */
+	void close() {
+		scheduler.shutdownNow();
+		active.values().forEach(entries -> entries.values().forEach(EntryRegistration::unregister));
+		active.clear();
+		retained.values().forEach(r -> r.entries().values().forEach(EntryRegistration::unregister));
+		retained.clear();
+	}
+
+	/**
+	 * Removes the retained registrations of a bundle that came back. The removal from the map
+	 * decides between this method and {@link #expire(long)}, so each retained registration is
+	 * either reused or unregistered, never both.
+	 */
+	private Map<String, EntryRegistration> takeRetained(long bundleId) {
+		RetainedModels models = retained.remove(bundleId);
+		if (models == null) {
+			return new HashMap<>();
+		}
+		models.expiry().cancel(false);
+		return new HashMap<>(models.entries());
+	}
+
+	private void expire(long bundleId) {
+		RetainedModels models = retained.remove(bundleId);
+		if (models != null) {
+			logger.fine(() -> "Bundle " + bundleId + " did not come back, unregistering its EMF models");
+			models.entries().values().forEach(EntryRegistration::unregister);
+		}
+	}
+}
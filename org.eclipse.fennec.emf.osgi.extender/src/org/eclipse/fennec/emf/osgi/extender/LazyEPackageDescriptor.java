@@ -0,0 +1,126 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.extender;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.emf.ecore.EFactory;
+import org.eclipse.emf.ecore.EPackage;
+
+/**
+ * {@link EPackage.Descriptor} that parses its ecore file on the first call of {@link #getEPackage()}.
+ * <p>
+ * The package is loaded exactly once, even if several threads access the descriptor at the same time.
+ * If loading fails, the failure is logged once and {@link #getEPackage()} returns {@code null}
+ * from then on.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class LazyEPackageDescriptor implements EPackage.Descriptor {
+
+	private static final Logger logger = Logger.getLogger(LazyEPackageDescriptor.class.getName());
+
+	/**
+	 * Loads the {@link EPackage} of a {@link LazyEPackageDescriptor}.
+	 */
+	@FunctionalInterface
+	public interface Loader {
+
+		/**
+		 * Loads the package.
+		 *
+		 * @return the loaded package, never {@code null}
+		 * @throws IOException if the ecore file cannot be read
+		 */
+		EPackage load() throws IOException;
+	}
+
+	private final String nsURI;
+	private final Loader loader;
+	private final Object lock = new Object();
+	private volatile boolean loaded = false;
+	private EPackage ePackage;
+
+	/**
+	 * Creates a new lazy descriptor.
+	 *
+	 * @param nsURI  the namespace URI the package is expected to have, must not be {@code null}
+	 * @param loader loads the package on first access, must not be {@code null}
+	 */
+	public LazyEPackageDescriptor(String nsURI, Loader loader) {
+		this.nsURI = requireNonNull(nsURI, "Namespace URI must not be null");
+		this.loader = requireNonNull(loader, "Loader must not be null");
+	}
+
+	/**
+	 * Returns the namespace URI this descriptor is registered for.
+	 *
+	 * @return the namespace URI, never {@code null}
+	 */
+	public String getNsURI() {
+		return nsURI;
+	}
+
+	/**
+	 * Returns {@code true}, if the package has already been loaded, or loading has failed.
+	 *
+	 * @return {@code true}, if no further loading attempt will happen
+	 */
+	public boolean isLoaded() {
+		return loaded;
+	}
+
+	@Override
+	public EPackage getEPackage() {
+		if (!loaded) {
+			synchronized (lock) {
+				if (!loaded) {
+					ePackage = doLoad();
+					// the volatile write publishes ePackage to all readers
+					loaded = true;
+				}
+			}
+		}
+		return ePackage;
+	}
+
+	@Override
+	public EFactory getEFactory() {
+		EPackage result = getEPackage();
+		return result == null ? null : result.getEFactoryInstance();
+	}
+
+	private EPackage doLoad() {
+		try {
+			EPackage result = requireNonNull(loader.load(), "Loader returned no EPackage");
+			if (!nsURI.equals(result.getNsURI())) {
+				logger.warning(() -> "Lazily loaded EPackage has the namespace URI " + result.getNsURI()
+						+ " instead of " + nsURI);
+			}
+			return result;
+		} catch (IOException | RuntimeException e) {
+			logger.log(Level.SEVERE, e, () -> "Unable to lazily load EPackage " + nsURI);
+			return null;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "LazyEPackageDescriptor [nsURI=" + nsURI + ", loaded=" + loaded + "]";
+	}
+}
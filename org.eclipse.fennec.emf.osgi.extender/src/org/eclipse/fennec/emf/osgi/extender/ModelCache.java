@@ -0,0 +1,342 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.extender;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.LongPredicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.emf.ecore.util.InternalEList;
+
+/**
+ * Persistent cache of parsed ecore models.
+ * <p>
+ * Each model is stored in the EMF binary resource format in its own file below
+ * {@code <directory>/<bundleId>/}, named by the SHA-256 digest of the bundle ID, the bundle's
+ * last modified timestamp and the bundle entry path. The file starts with a header containing
+ * these three values. An entry is only used if all three match the requested model, so an
+ * updated bundle never gets an outdated model. Unreadable or invalid entries are deleted and
+ * reported as cache miss, so that the caller falls back to parsing the XML and stores the
+ * result again. Storing an entry removes the entries of older versions of the bundle.
+ * <p>
+ * References into other files of the same bundle are stored with the bundle location at the
+ * time of storing, e.g. a {@code bundleentry} URI, whose authority changes with a framework
+ * restart. On load, these references are moved to the current location of the entry. Models
+ * referencing the files of other bundles by their location are not cached.
+ * <p>
+ * Entries are written to a temporary file first and then moved into place, so concurrent
+ * readers never see a partially written entry.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class ModelCache {
+
+	private static final Logger logger = Logger.getLogger(ModelCache.class.getName());
+	/** Marks a model cache file: "EMFC" */
+	private static final int MAGIC = 0x454D4643;
+	/** Version of the cache file layout, increment on incompatible changes */
+	private static final int FORMAT_VERSION = 2;
+	private static final String ENTRY_SUFFIX = ".bin";
+
+	private final Path directory;
+
+	/**
+	 * Creates a model cache that stores its entries in the given directory.
+	 *
+	 * @param directory the cache directory, created on demand
+	 */
+	public ModelCache(Path directory) {
+		this.directory = requireNonNull(directory, "Cache directory must not be null");
+	}
+
+	/**
+	 * Returns the directory of this cache.
+	 *
+	 * @return the cache directory
+	 */
+	public Path getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * Loads a cached {@link EPackage} into the given {@link ResourceSet}.
+	 * <p>
+	 * Like {@code EcoreHelper#loadEcore}, the URI of the resulting resource is set to
+	 * the package's {@code nsURI}.
+	 *
+	 * @param bundleId     the ID of the bundle providing the model
+	 * @param lastModified the last modified timestamp of that bundle
+	 * @param entryPath    the path of the {@code .ecore} entry in the bundle
+	 * @param uri          the current URI of the {@code .ecore} entry, the initial URI of the resource to load into
+	 * @param resourceSet  the resource set to load into
+	 * @return the cached EPackage or {@code null} on a cache miss
+	 */
+	public EPackage load(long bundleId, long lastModified, String entryPath, URI uri, ResourceSet resourceSet) {
+		requireNonNull(entryPath, "Entry path must not be null");
+		requireNonNull(uri, "URI must not be null");
+		requireNonNull(resourceSet, "ResourceSet must not be null");
+		Path file = getEntryFile(bundleId, lastModified, entryPath);
+		if (!Files.isRegularFile(file)) {
+			return null;
+		}
+		Resource resource = new BinaryResourceImpl(uri);
+		try (InputStream is = new BufferedInputStream(Files.newInputStream(file))) {
+			DataInputStream header = new DataInputStream(is);
+			if (header.readInt() != MAGIC
+					|| header.readInt() != FORMAT_VERSION
+					|| header.readLong() != bundleId
+					|| header.readLong() != lastModified
+					|| !entryPath.equals(header.readUTF())) {
+				logger.fine(() -> "Discarding mismatching model cache entry " + file);
+				delete(file);
+				return null;
+			}
+			URI storedURI = URI.createURI(header.readUTF());
+			resourceSet.getResources().add(resource);
+			resource.load(is, Collections.emptyMap());
+			relocateProxies(resource, storedURI, uri);
+			List<EObject> contents = resource.getContents();
+			if (!contents.isEmpty() && contents.get(0) instanceof EPackage ePackage) {
+				if (ePackage.getNsURI() != null) {
+					resource.setURI(URI.createURI(ePackage.getNsURI()));
+				}
+				return ePackage;
+			}
+			logger.warning(() -> "Model cache entry " + file + " does not contain an EPackage");
+		} catch (IOException | RuntimeException e) {
+			logger.log(Level.WARNING, e, () -> "Unable to read model cache entry " + file);
+		}
+		resourceSet.getResources().remove(resource);
+		delete(file);
+		return null;
+	}
+
+	/**
+	 * Stores the resource of the given {@link EPackage} in the cache. Failures are logged and
+	 * leave no entry behind.
+	 *
+	 * @param bundleId     the ID of the bundle providing the model
+	 * @param lastModified the last modified timestamp of that bundle
+	 * @param entryPath    the path of the {@code .ecore} entry in the bundle
+	 * @param uri          the URI of the {@code .ecore} entry, the package was loaded from
+	 * @param ePackage     the loaded EPackage, must be contained in a resource
+	 */
+	public void store(long bundleId, long lastModified, String entryPath, URI uri, EPackage ePackage) {
+		requireNonNull(entryPath, "Entry path must not be null");
+		requireNonNull(uri, "URI must not be null");
+		requireNonNull(ePackage, "EPackage must not be null");
+		Resource resource = ePackage.eResource();
+		if (resource == null) {
+			return;
+		}
+		if (referencesOtherLocation(resource, uri)) {
+			logger.fine(() -> "Not caching " + uri + ", it references the files of another bundle");
+			return;
+		}
+		Path file = getEntryFile(bundleId, lastModified, entryPath);
+		Path tmp = null;
+		try {
+			Files.createDirectories(file.getParent());
+			deleteOutdated(file.getParent(), lastModified);
+			tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+			try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(tmp))) {
+				DataOutputStream header = new DataOutputStream(os);
+				header.writeInt(MAGIC);
+				header.writeInt(FORMAT_VERSION);
+				header.writeLong(bundleId);
+				header.writeLong(lastModified);
+				header.writeUTF(entryPath);
+				header.writeUTF(uri.toString());
+				header.flush();
+				BinaryResourceImpl.EObjectOutputStream eos = new BinaryResourceImpl.EObjectOutputStream(os, Collections.emptyMap());
+				eos.saveResource(resource);
+				eos.flush();
+			}
+			move(tmp, file);
+		} catch (IOException | RuntimeException e) {
+			logger.log(Level.WARNING, e, () -> "Unable to write model cache entry " + file);
+			if (tmp != null) {
+				delete(tmp);
+			}
+		}
+	}
+
+	/**
+	 * Removes the entries of all bundles that are no longer installed.
+	 *
+	 * @param isInstalled returns {@code true} for the IDs of installed bundles
+	 */
+	public void prune(LongPredicate isInstalled) {
+		requireNonNull(isInstalled, "Predicate must not be null");
+		if (!Files.isDirectory(directory)) {
+			return;
+		}
+		try (DirectoryStream<Path> bundleDirs = Files.newDirectoryStream(directory, Files::isDirectory)) {
+			for (Path bundleDir : bundleDirs) {
+				String name = bundleDir.getFileName().toString();
+				if (!name.chars().allMatch(Character::isDigit) || !isInstalled.test(Long.parseLong(name))) {
+					deleteRecursively(bundleDir);
+				}
+			}
+		} catch (IOException | RuntimeException e) {
+			logger.log(Level.WARNING, e, () -> "Unable to prune model cache " + directory);
+		}
+	}
+
+	/**
+	 * Returns {@code true}, if the resource references an object by a location with the scheme of
+	 * the entry URI, but in another authority, i.e. in another bundle. References by namespace URI
+	 * or into the same bundle are portable.
+	 */
+	private static boolean referencesOtherLocation(Resource resource, URI uri) {
+		for (TreeIterator<EObject> contents = resource.getAllContents(); contents.hasNext();) {
+			for (Iterator<EObject> targets = crossReferences(contents.next()); targets.hasNext();) {
+				EObject target = targets.next();
+				URI targetURI = target.eIsProxy() ? ((InternalEObject) target).eProxyURI()
+						: target.eResource() != null ? target.eResource().getURI() : null;
+				if (targetURI != null && targetURI.isHierarchical() && !targetURI.isRelative()
+						&& Objects.equals(targetURI.scheme(), uri.scheme())
+						&& !Objects.equals(targetURI.authority(), uri.authority())) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Moves the proxies, that point into the bundle location the entry was stored from, to the
+	 * current location of the entry.
+	 */
+	private static void relocateProxies(Resource resource, URI from, URI to) {
+		if (from.equals(to) || !from.isHierarchical() || !to.isHierarchical()) {
+			return;
+		}
+		for (TreeIterator<EObject> contents = resource.getAllContents(); contents.hasNext();) {
+			for (Iterator<EObject> targets = crossReferences(contents.next()); targets.hasNext();) {
+				if (targets.next() instanceof InternalEObject proxy && proxy.eIsProxy()) {
+					URI proxyURI = proxy.eProxyURI();
+					if (proxyURI.isHierarchical() && Objects.equals(proxyURI.scheme(), from.scheme())
+							&& Objects.equals(proxyURI.authority(), from.authority())
+							&& Objects.equals(proxyURI.device(), from.device())) {
+						proxy.eSetProxyURI(URI.createHierarchicalURI(to.scheme(), to.authority(), to.device(),
+								proxyURI.segments(), proxyURI.query(), proxyURI.fragment()));
+					}
+				}
+			}
+		}
+	}
+
+	/** Iterates the cross references of an object without resolving proxies. */
+	private static Iterator<EObject> crossReferences(EObject eObject) {
+		return ((InternalEList<EObject>) eObject.eCrossReferences()).basicIterator();
+	}
+
+	/**
+	 * Returns the cache file for a bundle entry. The file name is the SHA-256 digest of the key;
+	 * the key itself is verified against the header on load.
+	 */
+	Path getEntryFile(long bundleId, long lastModified, String entryPath) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			byte[] hash = digest.digest((bundleId + "\n" + lastModified + "\n" + entryPath).getBytes(StandardCharsets.UTF_8));
+			return directory.resolve(Long.toString(bundleId)).resolve(HexFormat.of().formatHex(hash) + ENTRY_SUFFIX);
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform has to support SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Deletes the entries of a bundle directory, that were written for another last modified
+	 * timestamp of the bundle. Only called on a cache miss, so reading the headers is cheap enough.
+	 */
+	private static void deleteOutdated(Path bundleDir, long lastModified) {
+		try (DirectoryStream<Path> entries = Files.newDirectoryStream(bundleDir, "*" + ENTRY_SUFFIX)) {
+			for (Path entry : entries) {
+				if (readLastModified(entry) != lastModified) {
+					delete(entry);
+				}
+			}
+		} catch (IOException e) {
+			logger.log(Level.FINE, e, () -> "Unable to clean up model cache " + bundleDir);
+		}
+	}
+
+	/** Returns the last modified timestamp of an entry header or {@code -1} if it is invalid. */
+	private static long readLastModified(Path entry) {
+		try (DataInputStream header = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry)))) {
+			if (header.readInt() != MAGIC || header.readInt() != FORMAT_VERSION) {
+				return -1;
+			}
+			header.readLong();
+			return header.readLong();
+		} catch (IOException e) {
+			return -1;
+		}
+	}
+
+	private static void move(Path source, Path target) throws IOException {
+		try {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private static void delete(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			logger.log(Level.FINE, e, () -> "Unable to delete model cache file " + file);
+		}
+	}
+
+	private static void deleteRecursively(Path dir) throws IOException {
+		try (Stream<Path> files = Files.walk(dir)) {
+			files.sorted(Collections.reverseOrder()).forEach(ModelCache::delete);
+		}
+	}
+}
@@ -20,7 +20,8 @@ import org.eclipse.fennec.emf.osgi.configurator.EPackageConfigurator;
 /**
  * {@link EPackageConfigurator} implementation used by the EMF model extender.
  * <p>
- * Wraps a single {@link EPackage} and registers/unregisters it in an
+ * Wraps a single {@link EPackage}, or an {@link EPackage.Descriptor} of a lazily
+ * loaded package, and registers/unregisters it in an
  * {@link EPackage.Registry} by its namespace URI. This allows the extender
  * to integrate discovered ecore models into the EMF package registry
  * through the OSGi whiteboard pattern.
@@ -31,7 +32,8 @@ import org.eclipse.fennec.emf.osgi.configurator.EPackageConfigurator;
  */
 public class ModelExtenderConfigurator implements EPackageConfigurator {
 
-	private final EPackage ePackage;
+	/** Either an {@link EPackage} or an {@link EPackage.Descriptor} */
+	private final Object registryEntry;
 	private final String nsURI;
 
 	/**
@@ -41,13 +43,25 @@ public class ModelExtenderConfigurator implements EPackageConfigurator {
 	 * @throws NullPointerException if {@code ePackage} or its nsURI is {@code null}
 	 */
 	public ModelExtenderConfigurator(EPackage ePackage) {
-		this.ePackage = requireNonNull(ePackage, "EPackage must not be null");
+		this.registryEntry = requireNonNull(ePackage, "EPackage must not be null");
 		this.nsURI = requireNonNull(ePackage.getNsURI(), "EPackage nsURI must not be null");
 	}
 
+	/**
+	 * Creates a new configurator that registers a descriptor for a lazily loaded package.
+	 *
+	 * @param nsURI      the namespace URI to register the descriptor for, must not be {@code null}
+	 * @param descriptor the package descriptor, must not be {@code null}
+	 * @throws NullPointerException if {@code nsURI} or {@code descriptor} is {@code null}
+	 */
+	public ModelExtenderConfigurator(String nsURI, EPackage.Descriptor descriptor) {
+		this.registryEntry = requireNonNull(descriptor, "EPackage descriptor must not be null");
+		this.nsURI = requireNonNull(nsURI, "Namespace URI must not be null");
+	}
+
 	@Override
 	public void configureEPackage(EPackage.Registry registry) {
-		registry.put(nsURI, ePackage);
+		registry.put(nsURI, registryEntry);
 	}
 
 	@Override
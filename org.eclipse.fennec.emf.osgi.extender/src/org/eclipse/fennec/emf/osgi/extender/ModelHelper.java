@@ -14,22 +14,34 @@ package org.eclipse.fennec.emf.osgi.extender;
 
 import static java.util.Objects.requireNonNull;
 import static org.eclipse.fennec.emf.osgi.constants.EMFNamespaces.EMF_MODEL_EXTENDER_DEFAULT_PATH;
+import static org.eclipse.fennec.emf.osgi.constants.EMFNamespaces.EMF_MODEL_EXTENDER_PROP_LAZY_NAME;
 import static org.eclipse.fennec.emf.osgi.constants.EMFNamespaces.EMF_MODEL_EXTENDER_PROP_MODELS_NAME;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Dictionary;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.logging.Logger;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EPackage;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
@@ -50,6 +62,7 @@ import org.osgi.namespace.extender.ExtenderNamespace;
  *   <li>Check if a bundle declares an EMF model extender requirement via its wiring</li>
  *   <li>Extract model paths from the extender requirement attributes</li>
  *   <li>Load {@code .ecore} files from bundle entries and create {@link Model} instances</li>
+ *   <li>Create lazy {@link Model} instances from the root element of {@code .ecore} files</li>
  *   <li>Parse inline properties from path strings (semicolon-separated key=value pairs)</li>
  * </ul>
  *
@@ -84,12 +97,31 @@ public class ModelHelper {
 			final ResourceSet resourceSet,
 			final Set<String> paths,
 			final Diagnostic diagnostic) {
+		return readModelsFromBundle(bundle, resourceSet, paths, null, diagnostic);
+	}
+
+	/**
+	 * Reads all EMF models from a bundle by scanning the given paths for {@code .ecore} files,
+	 * using the given {@link ModelCache} to avoid parsing unchanged models again.
+	 *
+	 * @param bundle      the bundle to scan
+	 * @param resourceSet the {@link ResourceSet} used to load ecore resources
+	 * @param paths       the set of bundle-relative paths to scan (may include inline properties)
+	 * @param modelCache  the model cache, may be {@code null} to always parse the XML
+	 * @param diagnostic  collects errors and warnings during loading
+	 * @return list of successfully loaded models, never {@code null}
+	 */
+	public static List<Model> readModelsFromBundle(final Bundle bundle,
+			final ResourceSet resourceSet,
+			final Set<String> paths,
+			final ModelCache modelCache,
+			final Diagnostic diagnostic) {
 		if (paths == null) {
 			return List.of();
 		}
 		// J1: use .toList() instead of Collectors.toList()
 		return paths.stream()
-				.map(path -> readModel(bundle, resourceSet, path, diagnostic))
+				.map(path -> readModel(bundle, resourceSet, path, modelCache, diagnostic))
 				.flatMap(List::stream)
 				.toList();
 	}
@@ -111,6 +143,26 @@ public class ModelHelper {
 			final ResourceSet resourceSet,
 			final String path,
 			final Diagnostic diagnostic) {
+		return readModel(bundle, resourceSet, path, null, diagnostic);
+	}
+
+	/**
+	 * Reads all {@code .ecore} model files from a single path in the bundle, using the given
+	 * {@link ModelCache} to avoid parsing unchanged models again.
+	 *
+	 * @param bundle      the bundle to load models from
+	 * @param resourceSet the {@link ResourceSet} used to load ecore resources
+	 * @param path        the model path in the bundle, optionally with inline properties
+	 * @param modelCache  the model cache, may be {@code null} to always parse the XML
+	 * @param diagnostic  collects errors and warnings during loading
+	 * @return list of loaded models from this path
+	 * @see #readModel(Bundle, ResourceSet, String, Diagnostic)
+	 */
+	public static List<Model> readModel(final Bundle bundle,
+			final ResourceSet resourceSet,
+			final String path,
+			final ModelCache modelCache,
+			final Diagnostic diagnostic) {
 		final List<Model> models = new ArrayList<>();
 		Map<String, String> properties = new HashMap<>();
 		String plainPath = extractProperties(path, properties);
@@ -119,32 +171,250 @@ public class ModelHelper {
 			diagnostic.errors.add("Model path is null");
 			return models;
 		}
-		final Enumeration<URL> urls;
+		final Enumeration<URL> urls = findModelUrls(bundle, plainPath);
+		loadModelsFromUrls(bundle, resourceSet, modelCache, path, diagnostic, models, properties, plainPath, urls);
+		return models;
+	}
+
+	/**
+	 * Returns the URLs of the {@code .ecore} files at the given plain path, which is either
+	 * a single {@code .ecore} file or a directory.
+	 */
+	private static Enumeration<URL> findModelUrls(final Bundle bundle, final String plainPath) {
 		if (plainPath.endsWith(".ecore")) {
 			URL url = bundle.getEntry(plainPath);
-			if (url == null) {
-				urls = bundle.findEntries(plainPath, "*.ecore", false);
-			} else {
-				urls = Collections.enumeration(List.of(url));
+			if (url != null) {
+				return Collections.enumeration(List.of(url));
+			}
+		}
+		return bundle.findEntries(plainPath, "*.ecore", false);
+	}
+
+	/**
+	 * Creates lazy models for all {@code .ecore} files at the given paths of a bundle.
+	 * <p>
+	 * The ecore files are not parsed. Only the root element of each file is read to get the
+	 * package name and namespace URI for the service properties. Each model gets a
+	 * {@link LazyEPackageDescriptor} that parses the file on first access. Files whose root
+	 * element is no {@code EPackage} with a namespace URI, e.g. XMI files with several
+	 * packages, are loaded eagerly.
+	 *
+	 * @param bundle      the bundle to scan
+	 * @param paths       the set of bundle-relative paths to scan (may include inline properties)
+	 * @param modelCache  the model cache used when a package is loaded, may be {@code null}
+	 * @param diagnostic  collects errors and warnings during scanning
+	 * @return list of lazy, or eagerly loaded, models, never {@code null}
+	 */
+	public static List<Model> readLazyModelsFromBundle(final Bundle bundle,
+			final Set<String> paths,
+			final ModelCache modelCache,
+			final Diagnostic diagnostic) {
+		if (paths == null) {
+			return List.of();
+		}
+		final List<Model> models = new ArrayList<>();
+		for (String path : paths) {
+			Map<String, String> properties = new HashMap<>();
+			String plainPath = extractProperties(path, properties);
+			if (plainPath == null) {
+				diagnostic.errors.add("Model path is null");
+				continue;
+			}
+			Enumeration<URL> urls = findModelUrls(bundle, plainPath);
+			if (urls == null) {
+				diagnostic.errors.add("No ecore models found at path " + path);
+				continue;
+			}
+			while (urls.hasMoreElements()) {
+				URL url = urls.nextElement();
+				try {
+					models.add(createLazyModel(bundle, url, properties, modelCache, diagnostic));
+				} catch (IOException ioe) {
+					diagnostic.errors.add("Unable to load ecore " + plainPath + " : " + ioe.getMessage());
+				}
 			}
-		} else {
-			urls = bundle.findEntries(plainPath, "*.ecore", false);
 		}
-		loadModelsFromUrls(bundle.getBundleId(), resourceSet, path, diagnostic, models, properties, plainPath, urls);
 		return models;
 	}
 
+	/**
+	 * Creates a lazy model from the header of the given ecore file, or loads the model eagerly
+	 * if the header contains no namespace URI.
+	 *
+	 * @param bundle     the bundle that provides this model
+	 * @param url        the URL of the {@code .ecore} file
+	 * @param properties additional properties extracted from the path, may be {@code null}
+	 * @param modelCache the model cache used when the package is loaded, may be {@code null}
+	 * @param diagnostic collects errors and warnings during scanning
+	 * @return the lazy model, never {@code null}
+	 * @throws IOException if the ecore file cannot be read
+	 */
+	public static Model createLazyModel(final Bundle bundle, final URL url, final Map<String, String> properties,
+			final ModelCache modelCache, final Diagnostic diagnostic) throws IOException {
+		EcoreHeader header = scanEcoreHeader(url);
+		if (header == null || header.nsURI() == null) {
+			diagnostic.warnings.add("Ecore " + url + " has no EPackage header with a nsURI, loading it eagerly");
+			ResourceSet resourceSet = EcoreHelper.createResourceSet();
+			return loadModelInstance(bundle, resourceSet, url, properties, modelCache, diagnostic);
+		}
+		LazyEPackageDescriptor descriptor = new LazyEPackageDescriptor(header.nsURI(),
+				() -> loadLazyEPackage(bundle, url, modelCache));
+		Dictionary<String, Object> serviceProperties = createServiceProperties(header.name(), header.nsURI(),
+				url, properties, diagnostic);
+		return new Model(header.nsURI(), descriptor, serviceProperties, bundle.getBundleId());
+	}
+
+	/**
+	 * Loads the package of a lazy model into its own {@link ResourceSet}, which is kept as long
+	 * as the package is used.
+	 */
+	private static EPackage loadLazyEPackage(final Bundle bundle, final URL url, final ModelCache modelCache)
+			throws IOException {
+		Diagnostic diagnostic = new Diagnostic();
+		Model model = loadModelInstance(bundle, EcoreHelper.createResourceSet(), url, null, modelCache, diagnostic);
+		diagnostic.warnings.forEach(logger::warning);
+		diagnostic.errors.forEach(logger::severe);
+		return model.getEPackage();
+	}
+
+	/**
+	 * A single {@code .ecore} file of a model bundle together with the hash of its content.
+	 *
+	 * @param key        identifies the entry within the bundle, the entry path of the URL
+	 * @param url        the URL of the {@code .ecore} file
+	 * @param properties the inline properties of the model path
+	 * @param hash       the content hash, see {@link #hashModelEntry(String, URL)}
+	 */
+	public record ModelEntry(String key, URL url, Map<String, String> properties, String hash) {
+	}
+
+	/**
+	 * Finds all {@code .ecore} files at the given paths of a bundle and hashes their content,
+	 * without parsing them.
+	 *
+	 * @param bundle      the bundle to scan
+	 * @param paths       the set of bundle-relative paths to scan (may include inline properties)
+	 * @param diagnostic  collects errors and warnings during scanning
+	 * @return list of model entries, never {@code null}
+	 */
+	public static List<ModelEntry> findModelEntries(final Bundle bundle,
+			final Set<String> paths,
+			final Diagnostic diagnostic) {
+		if (paths == null) {
+			return List.of();
+		}
+		final List<ModelEntry> entries = new ArrayList<>();
+		for (String path : paths) {
+			Map<String, String> properties = new HashMap<>();
+			String plainPath = extractProperties(path, properties);
+			if (plainPath == null) {
+				diagnostic.errors.add("Model path is null");
+				continue;
+			}
+			Enumeration<URL> urls = findModelUrls(bundle, plainPath);
+			if (urls == null) {
+				diagnostic.errors.add("No ecore models found at path " + path);
+				continue;
+			}
+			while (urls.hasMoreElements()) {
+				URL url = urls.nextElement();
+				try {
+					entries.add(new ModelEntry(url.getPath(), url, Map.copyOf(properties), hashModelEntry(path, url)));
+				} catch (IOException ioe) {
+					diagnostic.errors.add("Unable to read ecore " + plainPath + " : " + ioe.getMessage());
+				}
+			}
+		}
+		return entries;
+	}
+
+	/**
+	 * Computes the SHA-256 hash of an ecore file. The model path including its inline
+	 * properties is part of the hash, because the properties end up in the service properties.
+	 *
+	 * @param path the model path in the bundle, optionally with inline properties
+	 * @param url  the URL of the {@code .ecore} file
+	 * @return the hash as hex string
+	 * @throws IOException if the file cannot be read
+	 */
+	public static String hashModelEntry(final String path, final URL url) throws IOException {
+		requireNonNull(url, "URL must not be null");
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+		if (path != null) {
+			digest.update(path.getBytes(StandardCharsets.UTF_8));
+		}
+		digest.update((byte) 0);
+		try (InputStream is = url.openStream()) {
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = is.read(buffer)) != -1) {
+				digest.update(buffer, 0, read);
+			}
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	/**
+	 * Name and namespace URI from the root element of an ecore file.
+	 *
+	 * @param name     the package name, may be {@code null}
+	 * @param nsURI    the namespace URI, may be {@code null}
+	 * @param nsPrefix the namespace prefix, may be {@code null}
+	 */
+	public record EcoreHeader(String name, String nsURI, String nsPrefix) {
+	}
+
+	/**
+	 * Reads the name, namespace URI and prefix from the root element of an ecore file, without
+	 * parsing the rest of the document.
+	 *
+	 * @param url the URL of the {@code .ecore} file
+	 * @return the header, or {@code null} if the root element is no {@code EPackage}
+	 * @throws IOException if the file cannot be read or is no XML document
+	 */
+	public static EcoreHeader scanEcoreHeader(final URL url) throws IOException {
+		requireNonNull(url, "URL must not be null");
+		XMLInputFactory factory = XMLInputFactory.newFactory();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		try (InputStream is = url.openStream()) {
+			XMLStreamReader reader = factory.createXMLStreamReader(is);
+			try {
+				while (reader.hasNext()) {
+					if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+						if (!"EPackage".equals(reader.getLocalName())) {
+							return null;
+						}
+						return new EcoreHeader(reader.getAttributeValue(null, "name"),
+								reader.getAttributeValue(null, "nsURI"),
+								reader.getAttributeValue(null, "nsPrefix"));
+					}
+				}
+				return null;
+			} finally {
+				reader.close();
+			}
+		} catch (XMLStreamException e) {
+			throw new IOException("Unable to read the header of " + url, e);
+		}
+	}
+
 	/**
 	 * Iterates over the given URLs, loading each as an ecore model instance.
 	 */
-	private static void loadModelsFromUrls(final long bundleId, final ResourceSet resourceSet, final String path,
-			final Diagnostic diagnostic, final List<Model> models, Map<String, String> properties, String plainPath,
-			final Enumeration<URL> urls) {
+	private static void loadModelsFromUrls(final Bundle bundle, final ResourceSet resourceSet, final ModelCache modelCache,
+			final String path, final Diagnostic diagnostic, final List<Model> models, Map<String, String> properties,
+			String plainPath, final Enumeration<URL> urls) {
 		if (urls != null) {
 			while (urls.hasMoreElements()) {
 				final URL url = urls.nextElement();
 				try {
-					final Model model = loadModelInstance(bundleId, resourceSet, url, properties, diagnostic);
+					final Model model = loadModelInstance(bundle, resourceSet, url, properties, modelCache, diagnostic);
 					if (model != null) {
 						models.add(model);
 					}
@@ -191,29 +461,61 @@ public class ModelHelper {
 			final Map<String, String> properties,
 			final Diagnostic diagnostic) throws IOException {
 		EPackage ePackage = EcoreHelper.loadEcore(url, resourceSet);
+		return createModel(bundleId, ePackage, url, properties, diagnostic);
+	}
+
+	/**
+	 * Loads a single ecore file of a bundle and creates a {@link Model} instance.
+	 * <p>
+	 * If a {@link ModelCache} is given, the {@link EPackage} is read from the cache as long as the
+	 * cached entry matches the bundle's last modified timestamp. Otherwise the ecore XML is parsed
+	 * and the result is stored in the cache for the next start.
+	 *
+	 * @param bundle      the bundle that provides this model
+	 * @param resourceSet the {@link ResourceSet} used to load the ecore resource
+	 * @param url         the URL of the {@code .ecore} file
+	 * @param properties  additional properties extracted from the path, may be {@code null}
+	 * @param modelCache  the model cache, may be {@code null} to always parse the XML
+	 * @param diagnostic  collects errors and warnings during loading
+	 * @return the loaded model, never {@code null}
+	 * @throws IOException if the ecore file cannot be read or is empty
+	 * @see #loadModelInstance(long, ResourceSet, URL, Map, Diagnostic)
+	 */
+	public static Model loadModelInstance(final Bundle bundle,
+			final ResourceSet resourceSet,
+			final URL url,
+			final Map<String, String> properties,
+			final ModelCache modelCache,
+			final Diagnostic diagnostic) throws IOException {
+		long bundleId = bundle.getBundleId();
+		if (modelCache == null) {
+			return loadModelInstance(bundleId, resourceSet, url, properties, diagnostic);
+		}
+		long lastModified = bundle.getLastModified();
+		String entryPath = url.getPath();
+		URI uri = URI.createURI(url.toExternalForm());
+		EPackage ePackage = modelCache.load(bundleId, lastModified, entryPath, uri, resourceSet);
+		if (ePackage == null) {
+			ePackage = EcoreHelper.loadEcore(url, resourceSet);
+			if (ePackage.eResource() == null || ePackage.eResource().getErrors().isEmpty()) {
+				modelCache.store(bundleId, lastModified, entryPath, uri, ePackage);
+			}
+		}
+		return createModel(bundleId, ePackage, url, properties, diagnostic);
+	}
+
+	/**
+	 * Creates the {@link Model} for a loaded {@link EPackage} and reports the resource diagnostics.
+	 */
+	private static Model createModel(final long bundleId,
+			final EPackage ePackage,
+			final URL url,
+			final Map<String, String> properties,
+			final Diagnostic diagnostic) {
 		Resource r = ePackage.eResource();
 		try {
-			Dictionary<String, Object> serviceProperties = new Hashtable<>();
-			if (properties != null) {
-				properties.forEach(serviceProperties::put);
-			}
-			// N4 fix: guard against null name/nsURI which would cause Hashtable NPE
-			String name = ePackage.getName();
-			if (name != null) {
-				serviceProperties.put(EMFNamespaces.EMF_NAME, name);
-			} else {
-				diagnostic.warnings.add("EPackage at " + url + " has no name");
-			}
-			String nsURI = ePackage.getNsURI();
-			if (nsURI != null) {
-				serviceProperties.put(EMFNamespaces.EMF_MODEL_NSURI, nsURI);
-			} else {
-				diagnostic.warnings.add("EPackage at " + url + " has no nsURI");
-			}
-			serviceProperties.put(EMFNamespaces.EMF_MODEL_REGISTRATION, EMFNamespaces.MODEL_REGISTRATION_EXTENDER);
-			if (properties == null || !properties.containsKey(EMFNamespaces.EMF_MODEL_SCOPE)) {
-				serviceProperties.put(EMFNamespaces.EMF_MODEL_SCOPE, EMFNamespaces.EMF_MODEL_SCOPE_STATIC);
-			}
+			Dictionary<String, Object> serviceProperties = createServiceProperties(ePackage.getName(),
+					ePackage.getNsURI(), url, properties, diagnostic);
 			return new Model(ePackage, serviceProperties, bundleId);
 		} finally {
 			if (r != null) {
@@ -227,6 +529,37 @@ public class ModelHelper {
 		}
 	}
 
+	/**
+	 * Creates the service properties of a model from the package name and namespace URI and the
+	 * additional properties of the model path.
+	 */
+	private static Dictionary<String, Object> createServiceProperties(final String name,
+			final String nsURI,
+			final URL url,
+			final Map<String, String> properties,
+			final Diagnostic diagnostic) {
+		Dictionary<String, Object> serviceProperties = new Hashtable<>();
+		if (properties != null) {
+			properties.forEach(serviceProperties::put);
+		}
+		// N4 fix: guard against null name/nsURI which would cause Hashtable NPE
+		if (name != null) {
+			serviceProperties.put(EMFNamespaces.EMF_NAME, name);
+		} else {
+			diagnostic.warnings.add("EPackage at " + url + " has no name");
+		}
+		if (nsURI != null) {
+			serviceProperties.put(EMFNamespaces.EMF_MODEL_NSURI, nsURI);
+		} else {
+			diagnostic.warnings.add("EPackage at " + url + " has no nsURI");
+		}
+		serviceProperties.put(EMFNamespaces.EMF_MODEL_REGISTRATION, EMFNamespaces.MODEL_REGISTRATION_EXTENDER);
+		if (properties == null || !properties.containsKey(EMFNamespaces.EMF_MODEL_SCOPE)) {
+			serviceProperties.put(EMFNamespaces.EMF_MODEL_SCOPE, EMFNamespaces.EMF_MODEL_SCOPE_STATIC);
+		}
+		return serviceProperties;
+	}
+
 	/**
 	 * Checks if a bundle has an EMF model extender requirement wired to the given extender bundle.
 	 * <p>
@@ -239,28 +572,58 @@ public class ModelHelper {
 	 * @return set of model paths from the requirement attributes, or empty set if not a model bundle
 	 */
 	public static Set<String> isModelBundle(final Bundle bundle, final long extenderBundleId) {
+		final BundleWire wire = findExtenderWire(bundle, extenderBundleId);
+		return wire == null ? Set.of() : extractModelPath(wire);
+	}
+
+	/**
+	 * Checks if a model bundle requests the lazy registration of its models, using the
+	 * {@code lazy} attribute of its EMF model extender requirement.
+	 *
+	 * @param bundle           the bundle to check
+	 * @param extenderBundleId the bundle ID of this extender bundle
+	 * @return {@code true}, if the models of the bundle should be registered lazily
+	 */
+	public static boolean isLazyModelBundle(final Bundle bundle, final long extenderBundleId) {
+		final BundleWire wire = findExtenderWire(bundle, extenderBundleId);
+		if (wire == null) {
+			return false;
+		}
+		final Object val = wire.getRequirement().getAttributes().get(EMF_MODEL_EXTENDER_PROP_LAZY_NAME);
+		if (val instanceof Boolean b) {
+			return b;
+		}
+		return val != null && Boolean.parseBoolean(val.toString());
+	}
+
+	/**
+	 * Returns the wire of the bundle's {@code osgi.extender} requirement to the given extender bundle.
+	 *
+	 * @return the wire, or {@code null} if the bundle is not wired to the extender
+	 */
+	private static BundleWire findExtenderWire(final Bundle bundle, final long extenderBundleId) {
 		final BundleWiring bundleWiring = bundle.adapt(BundleWiring.class);
 		if (bundleWiring == null) {
-			return Set.of();
+			return null;
 		}
 
 		final List<BundleRequirement> requirements = bundleWiring.getRequirements(ExtenderNamespace.EXTENDER_NAMESPACE);
 		if (requirements == null || requirements.isEmpty()) {
-			return Set.of();
+			return null;
 		}
 
 		// N2 fix: getRequiredWires() can return null per OSGi spec
 		final List<BundleWire> wires = bundleWiring.getRequiredWires(ExtenderNamespace.EXTENDER_NAMESPACE);
 		if (wires == null) {
-			return Set.of();
+			return null;
 		}
 		for (final BundleWire wire : wires) {
 			if (wire.getProviderWiring() != null
 					&& wire.getProviderWiring().getBundle().getBundleId() == extenderBundleId) {
-				return extractModelPath(wire);
+				return wire;
 			}
 		}
-		return Set.of();
+		return null;
 	}
 
 	/**
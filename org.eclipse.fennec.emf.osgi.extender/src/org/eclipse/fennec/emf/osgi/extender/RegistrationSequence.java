@@ -0,0 +1,123 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.extender;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs actions that complete in arbitrary order in the order their steps were appended.
+ * <p>
+ * The asynchronous mode of the {@link EMFModelExtender} parses bundles in parallel, but
+ * registers their services in the order the bundles were added. Each bundle appends a
+ * {@link Step} when it is queued. A finished bundle {@link Step#complete(Runnable) completes}
+ * its step with the registration action, which runs as soon as all earlier steps are completed
+ * or {@link Step#skip() skipped}.
+ * <p>
+ * Actions run on the thread that completes the last missing step, while holding the monitor of
+ * the sequence. An action must therefore not wait for another thread that appends or completes
+ * a step.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public final class RegistrationSequence {
+
+	private static final Logger logger = Logger.getLogger(RegistrationSequence.class.getName());
+
+	private final Deque<Step> steps = new ArrayDeque<>();
+
+	/**
+	 * Appends a new step at the end of the sequence.
+	 *
+	 * @return the step, never {@code null}
+	 */
+	public synchronized Step append() {
+		Step step = new Step();
+		steps.addLast(step);
+		return step;
+	}
+
+	/**
+	 * Returns the number of steps that are not run or skipped yet.
+	 *
+	 * @return the number of waiting steps
+	 */
+	public synchronized int size() {
+		return steps.size();
+	}
+
+	/**
+	 * Runs the actions of all completed steps at the head of the sequence. A re-entrant call
+	 * from within an action continues with the next step.
+	 */
+	private synchronized void drain() {
+		while (!steps.isEmpty() && steps.peekFirst().done) {
+			Runnable action = steps.pollFirst().action;
+			if (action == null) {
+				continue;
+			}
+			try {
+				action.run();
+			} catch (RuntimeException e) {
+				logger.log(Level.SEVERE, e, () -> "Error running a registration step");
+			}
+		}
+	}
+
+	/**
+	 * A position in the {@link RegistrationSequence}. A step is completed or skipped at most
+	 * once, later calls are ignored.
+	 */
+	public final class Step {
+
+		private Runnable action;
+		private boolean done = false;
+
+		private Step() {
+		}
+
+		/**
+		 * Completes the step. The action runs when all earlier steps are done, possibly on this
+		 * thread before the call returns.
+		 *
+		 * @param action the action to run, must not be {@code null}
+		 */
+		public void complete(Runnable action) {
+			requireNonNull(action);
+			finish(action);
+		}
+
+		/**
+		 * Skips the step, so that it no longer holds back the later steps.
+		 */
+		public void skip() {
+			finish(null);
+		}
+
+		private void finish(Runnable finishAction) {
+			synchronized (RegistrationSequence.this) {
+				if (done) {
+					return;
+				}
+				action = finishAction;
+				done = true;
+			}
+			drain();
+		}
+	}
+}
@@ -25,7 +25,8 @@ import org.osgi.framework.FrameworkUtil;
 /**
  * Immutable data holder for a discovered EMF model.
  * <p>
- * Encapsulates an {@link EPackage} loaded from a bundle together with the OSGi
+ * Encapsulates an {@link EPackage} loaded from a bundle, or an {@link EPackage.Descriptor}
+ * for a package that is loaded on first access, together with the OSGi
  * service properties to be used when registering the model as a service, and
  * the originating bundle ID for proper service lifecycle management.
  *
@@ -35,6 +36,8 @@ import org.osgi.framework.FrameworkUtil;
 public class Model {
 
 	private final EPackage ePackage;
+	private final EPackage.Descriptor descriptor;
+	private final String nsURI;
 	private final Map<String, Object> properties;
 	private final long bundleId;
 
@@ -48,18 +51,65 @@ public class Model {
 	 */
 	public Model(EPackage ePackage, Dictionary<String, Object> properties, long bundleId) {
 		this.ePackage = requireNonNull(ePackage, "EPackage must not be null");
+		this.descriptor = null;
+		this.nsURI = ePackage.getNsURI();
 		requireNonNull(properties, "Properties must not be null");
 		this.bundleId = bundleId;
 		this.properties = new HashMap<>(FrameworkUtil.asMap(properties));
 	}
 
 	/**
-	 * Returns the loaded EMF package.
+	 * Creates a new lazy model instance, whose package is loaded on first access.
 	 *
-	 * @return the EPackage, never {@code null}
+	 * @param nsURI      the namespace URI of the package, must not be {@code null}
+	 * @param descriptor the descriptor that loads the package, must not be {@code null}
+	 * @param properties the OSGi service properties for registration, must not be {@code null}
+	 * @param bundleId   the ID of the bundle that provides this model
+	 * @throws NullPointerException if any of {@code nsURI}, {@code descriptor} or {@code properties} is {@code null}
+	 */
+	public Model(String nsURI, EPackage.Descriptor descriptor, Dictionary<String, Object> properties, long bundleId) {
+		this.ePackage = null;
+		this.descriptor = requireNonNull(descriptor, "EPackage descriptor must not be null");
+		this.nsURI = requireNonNull(nsURI, "Namespace URI must not be null");
+		requireNonNull(properties, "Properties must not be null");
+		this.bundleId = bundleId;
+		this.properties = new HashMap<>(FrameworkUtil.asMap(properties));
+	}
+
+	/**
+	 * Returns the EMF package. For a {@link #isLazy() lazy} model, this loads the package.
+	 *
+	 * @return the EPackage, only {@code null} if a lazy model failed to load
 	 */
 	public EPackage getEPackage() {
-		return ePackage;
+		return descriptor == null ? ePackage : descriptor.getEPackage();
+	}
+
+	/**
+	 * Returns the descriptor of a lazy model.
+	 *
+	 * @return the descriptor, or {@code null} if the package was loaded eagerly
+	 */
+	public EPackage.Descriptor getDescriptor() {
+		return descriptor;
+	}
+
+	/**
+	 * Returns {@code true}, if the package of this model is loaded on first access.
+	 *
+	 * @return {@code true} for lazy models
+	 */
+	public boolean isLazy() {
+		return descriptor != null;
+	}
+
+	/**
+	 * Returns the namespace URI of the package, without loading a lazy package.
+	 *
+	 * @return the namespace URI
+	 */
+	public String getNsURI() {
+		return nsURI;
 	}
 
 	/**
@@ -85,7 +135,8 @@ public class Model {
 
 	@Override
 	public String toString() {
-		return "Model [namespace=" + ePackage.getNsURI()
+		return "Model [namespace=" + nsURI
+				+ ", lazy=" + isLazy()
 				+ ", bundleId=" + bundleId
 				+ ", properties=" + properties + "]";
 	}
@@ -0,0 +1,121 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.gecko.emf.osgi.extender;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.fennec.emf.osgi.extender.LazyEPackageDescriptor;
+import org.eclipse.fennec.emf.osgi.helper.EcoreHelper;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link LazyEPackageDescriptor}.
+ */
+class LazyEPackageDescriptorTest {
+
+	private static final String NS_URI = "http://fennec.eclipse.org/example/model/manual/1.0";
+
+	@Test
+	void constructorRejectsNull() {
+		assertThrows(NullPointerException.class, () -> new LazyEPackageDescriptor(null, () -> null));
+		assertThrows(NullPointerException.class, () -> new LazyEPackageDescriptor(NS_URI, null));
+	}
+
+	@Test
+	void loadsOnFirstAccessOnly() {
+		AtomicInteger loads = new AtomicInteger();
+		URL url = getClass().getResource("manual.ecore");
+		assertNotNull(url);
+		LazyEPackageDescriptor descriptor = new LazyEPackageDescriptor(NS_URI, () -> {
+			loads.incrementAndGet();
+			return EcoreHelper.loadEcore(url, EcoreHelper.createResourceSet());
+		});
+
+		assertFalse(descriptor.isLoaded());
+		assertEquals(0, loads.get());
+
+		EPackage ePackage = descriptor.getEPackage();
+		assertNotNull(ePackage);
+		assertEquals(NS_URI, ePackage.getNsURI());
+		assertSame(ePackage, descriptor.getEPackage());
+		assertSame(ePackage.getEFactoryInstance(), descriptor.getEFactory());
+		assertTrue(descriptor.isLoaded());
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void concurrentAccessLoadsOnce() throws Exception {
+		AtomicInteger loads = new AtomicInteger();
+		EPackage expected = EcoreFactory.eINSTANCE.createEPackage();
+		expected.setNsURI(NS_URI);
+		LazyEPackageDescriptor descriptor = new LazyEPackageDescriptor(NS_URI, () -> {
+			loads.incrementAndGet();
+			// give the other threads time to arrive at the descriptor
+			LockSupport.parkNanos(20_000_000L);
+			return expected;
+		});
+
+		int threads = 8;
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<EPackage>> results = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				results.add(executor.submit(() -> {
+					start.await();
+					return descriptor.getEPackage();
+				}));
+			}
+			start.countDown();
+			for (Future<EPackage> result : results) {
+				assertSame(expected, result.get());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void failedLoadIsNotRetried() {
+		AtomicInteger loads = new AtomicInteger();
+		LazyEPackageDescriptor descriptor = new LazyEPackageDescriptor(NS_URI, () -> {
+			loads.incrementAndGet();
+			throw new IOException("broken");
+		});
+
+		assertNull(descriptor.getEPackage());
+		assertNull(descriptor.getEFactory());
+		assertTrue(descriptor.isLoaded());
+		assertEquals(1, loads.get());
+	}
+}
@@ -0,0 +1,188 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.gecko.emf.osgi.extender;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.util.InternalEList;
+import org.eclipse.fennec.emf.osgi.extender.ModelCache;
+import org.eclipse.fennec.emf.osgi.helper.EcoreHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link ModelCache} using the {@code manual.ecore} test resource.
+ */
+class ModelCacheTest {
+
+	private static final long BUNDLE_ID = 42L;
+	private static final long LAST_MODIFIED = 1_000L;
+	private static final String ENTRY = "/model/manual.ecore";
+
+	@TempDir
+	Path cacheDir;
+
+	private ModelCache cache;
+	private URL url;
+
+	@BeforeEach
+	void before() {
+		cache = new ModelCache(cacheDir);
+		url = getClass().getResource("manual.ecore");
+		assertNotNull(url, "manual.ecore test resource not found on classpath");
+	}
+
+	private EPackage parse() throws IOException {
+		return EcoreHelper.loadEcore(url, EcoreHelper.createResourceSet());
+	}
+
+	private EPackage loadCached(long lastModified) {
+		return cache.load(BUNDLE_ID, lastModified, ENTRY, URI.createURI(url.toExternalForm()), EcoreHelper.createResourceSet());
+	}
+
+	@Test
+	void loadWithoutEntryIsMiss() {
+		assertNull(loadCached(LAST_MODIFIED));
+	}
+
+	@Test
+	void storeAndLoadRoundTrip() throws IOException {
+		EPackage parsed = parse();
+		cache.store(BUNDLE_ID, LAST_MODIFIED, ENTRY, URI.createURI(url.toExternalForm()), parsed);
+
+		ResourceSet rs = EcoreHelper.createResourceSet();
+		EPackage cached = cache.load(BUNDLE_ID, LAST_MODIFIED, ENTRY, URI.createURI(url.toExternalForm()), rs);
+		assertNotNull(cached);
+		assertEquals(parsed.getName(), cached.getName());
+		assertEquals(parsed.getNsURI(), cached.getNsURI());
+		assertEquals(parsed.getNsPrefix(), cached.getNsPrefix());
+		assertEquals(parsed.getEClassifiers().size(), cached.getEClassifiers().size());
+		assertTrue(cached.getEClassifier("Foo") instanceof EClass);
+		// Same resource URI convention as EcoreHelper#loadEcore
+		assertEquals(URI.createURI(cached.getNsURI()), cached.eResource().getURI());
+		assertTrue(rs.getResources().contains(cached.eResource()));
+	}
+
+	@Test
+	void staleEntryIsDiscarded() throws IOException {
+		cache.store(BUNDLE_ID, LAST_MODIFIED, ENTRY, URI.createURI(url.toExternalForm()), parse());
+
+		assertNull(loadCached(LAST_MODIFIED + 1));
+		cache.store(BUNDLE_ID, LAST_MODIFIED + 1, ENTRY, URI.createURI(url.toExternalForm()), parse());
+		assertNotNull(loadCached(LAST_MODIFIED + 1));
+		assertNull(loadCached(LAST_MODIFIED), "Stale entry should have been deleted");
+	}
+
+	@Test
+	void entriesDoNotCollide() throws IOException {
+		// both paths have the same String hash code
+		String other = "/model/Aa.ecore";
+		String colliding = "/model/BB.ecore";
+		assertEquals(other.hashCode(), colliding.hashCode());
+		cache.store(BUNDLE_ID, LAST_MODIFIED, other, URI.createURI(url.toExternalForm()), parse());
+		cache.store(BUNDLE_ID, LAST_MODIFIED, colliding, URI.createURI(url.toExternalForm()), parse());
+
+		ResourceSet rs = EcoreHelper.createResourceSet();
+		assertNotNull(cache.load(BUNDLE_ID, LAST_MODIFIED, other, URI.createURI(url.toExternalForm()), rs));
+		assertNotNull(cache.load(BUNDLE_ID, LAST_MODIFIED, colliding, URI.createURI(url.toExternalForm()), rs));
+	}
+
+	@Test
+	void corruptEntryIsDiscarded() throws IOException {
+		cache.store(BUNDLE_ID, LAST_MODIFIED, ENTRY, URI.createURI(url.toExternalForm()), parse());
+		try (var files = Files.walk(cacheDir)) {
+			Path entry = files.filter(Files::isRegularFile).findFirst().orElseThrow();
+			Files.writeString(entry, "no model", StandardCharsets.UTF_8);
+		}
+
+		ResourceSet rs = EcoreHelper.createResourceSet();
+		assertNull(cache.load(BUNDLE_ID, LAST_MODIFIED, ENTRY, URI.createURI(url.toExternalForm()), rs));
+		assertTrue(rs.getResources().isEmpty());
+
+		// The entry can be rewritten afterwards
+		cache.store(BUNDLE_ID, LAST_MODIFIED, ENTRY, URI.createURI(url.toExternalForm()), parse());
+		assertNotNull(loadCached(LAST_MODIFIED));
+	}
+
+	@Test
+	void proxiesIntoTheBundleAreRelocated() {
+		URI storedEntry = URI.createURI("bundleentry://42.fwk1/model/derived.ecore");
+		URI currentEntry = URI.createURI("bundleentry://42.fwk2/model/derived.ecore");
+		EPackage ePackage = createDerivedPackage(URI.createURI("bundleentry://42.fwk1/model/base.ecore#//Base"));
+		cache.store(BUNDLE_ID, LAST_MODIFIED, ENTRY, storedEntry, ePackage);
+
+		EPackage cached = cache.load(BUNDLE_ID, LAST_MODIFIED, ENTRY, currentEntry, EcoreHelper.createResourceSet());
+		assertNotNull(cached);
+		EClass derived = (EClass) cached.getEClassifier("Derived");
+		InternalEObject proxy = (InternalEObject) ((InternalEList<EClass>) derived.getESuperTypes()).basicGet(0);
+		assertTrue(proxy.eIsProxy());
+		assertEquals(URI.createURI("bundleentry://42.fwk2/model/base.ecore#//Base"), proxy.eProxyURI());
+	}
+
+	@Test
+	void referencesIntoOtherBundlesAreNotCached() {
+		URI entry = URI.createURI("bundleentry://42.fwk1/model/derived.ecore");
+		EPackage ePackage = createDerivedPackage(URI.createURI("bundleentry://7.fwk1/model/base.ecore#//Base"));
+		cache.store(BUNDLE_ID, LAST_MODIFIED, ENTRY, entry, ePackage);
+
+		assertNull(cache.load(BUNDLE_ID, LAST_MODIFIED, ENTRY, entry, EcoreHelper.createResourceSet()));
+	}
+
+	/* a package with a class, whose super type is a proxy with the given URI */
+	private EPackage createDerivedPackage(URI baseURI) {
+		EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setName("derived");
+		ePackage.setNsURI("http://fennec.eclipse.org/test/derived");
+		ePackage.setNsPrefix("derived");
+		EClass base = EcoreFactory.eINSTANCE.createEClass();
+		((InternalEObject) base).eSetProxyURI(baseURI);
+		EClass derived = EcoreFactory.eINSTANCE.createEClass();
+		derived.setName("Derived");
+		derived.getESuperTypes().add(base);
+		ePackage.getEClassifiers().add(derived);
+		Resource resource = new ResourceImpl(URI.createURI(ePackage.getNsURI()));
+		resource.getContents().add(ePackage);
+		return ePackage;
+	}
+
+	@Test
+	void pruneRemovesUninstalledBundles() throws IOException {
+		cache.store(BUNDLE_ID, LAST_MODIFIED, ENTRY, URI.createURI(url.toExternalForm()), parse());
+		cache.store(BUNDLE_ID + 1, LAST_MODIFIED, ENTRY, URI.createURI(url.toExternalForm()), parse());
+
+		cache.prune(id -> id == BUNDLE_ID);
+
+		assertTrue(Files.isDirectory(cacheDir.resolve(Long.toString(BUNDLE_ID))));
+		assertFalse(Files.exists(cacheDir.resolve(Long.toString(BUNDLE_ID + 1))));
+		assertNotNull(loadCached(LAST_MODIFIED));
+	}
+}
@@ -22,6 +22,7 @@ import org.eclipse.emf.ecore.EPackage;
 import org.eclipse.emf.ecore.EcoreFactory;
 import org.eclipse.emf.ecore.EcorePackage;
 import org.eclipse.emf.ecore.impl.EPackageRegistryImpl;
+import org.eclipse.fennec.emf.osgi.extender.LazyEPackageDescriptor;
 import org.eclipse.fennec.emf.osgi.extender.ModelExtenderConfigurator;
 import org.junit.jupiter.api.Test;
 
@@ -158,4 +159,32 @@ class ModelExtenderConfiguratorTest {
 		// Last one wins
 		assertEquals(replacement, registry.getEPackage("http://test.org/shared"));
 	}
+
+	// --- Lazy descriptor ---
+
+	@Test
+	void constructorRejectsNullDescriptor() {
+		assertThrows(NullPointerException.class, () -> new ModelExtenderConfigurator("http://test.org/lazy", null));
+	}
+
+	@Test
+	void configureRegistersDescriptorWithoutLoading() {
+		EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setNsURI("http://test.org/lazy");
+		LazyEPackageDescriptor descriptor = new LazyEPackageDescriptor("http://test.org/lazy", () -> ePackage);
+
+		ModelExtenderConfigurator configurator = new ModelExtenderConfigurator("http://test.org/lazy", descriptor);
+		EPackage.Registry registry = new EPackageRegistryImpl();
+		configurator.configureEPackage(registry);
+
+		assertEquals(descriptor, registry.get("http://test.org/lazy"));
+		assertFalse(descriptor.isLoaded());
+
+		// The registry resolves the descriptor on access
+		assertEquals(ePackage, registry.getEPackage("http://test.org/lazy"));
+		assertTrue(descriptor.isLoaded());
+
+		configurator.unconfigureEPackage(registry);
+		assertFalse(registry.containsKey("http://test.org/lazy"));
+	}
 }
@@ -253,4 +253,51 @@ class ModelHelperTest {
 		assertFalse(diagnostic.errors.isEmpty());
 		assertTrue(diagnostic.errors.get(0).contains("null"));
 	}
+
+	// ===== scanEcoreHeader (lazy mode) =====
+
+	@Test
+	void scanEcoreHeaderReadsRootAttributes() throws IOException {
+		ModelHelper.EcoreHeader header = ModelHelper.scanEcoreHeader(getManualEcoreUrl());
+		assertNotNull(header);
+		assertEquals("manual", header.name());
+		assertEquals("http://fennec.eclipse.org/example/model/manual/1.0", header.nsURI());
+		assertEquals("manual", header.nsPrefix());
+	}
+
+	@Test
+	void scanEcoreHeaderInvalidUrlThrowsIOException() {
+		assertThrows(IOException.class, () ->
+			ModelHelper.scanEcoreHeader(new URL("file:///nonexistent/path/does_not_exist.ecore")));
+	}
+
+	@Test
+	void readLazyModelsWithNullPathsReturnsEmpty() {
+		ModelHelper.Diagnostic diagnostic = new ModelHelper.Diagnostic();
+		assertTrue(ModelHelper.readLazyModelsFromBundle(null, null, null, diagnostic).isEmpty());
+		assertTrue(diagnostic.errors.isEmpty());
+	}
+
+	// ===== hashModelEntry (incremental updates) =====
+
+	@Test
+	void hashModelEntryIsStable() throws IOException {
+		URL url = getManualEcoreUrl();
+		String hash = ModelHelper.hashModelEntry("model", url);
+		assertEquals(64, hash.length());
+		assertEquals(hash, ModelHelper.hashModelEntry("model", url));
+	}
+
+	@Test
+	void hashModelEntryIncludesPathProperties() throws IOException {
+		URL url = getManualEcoreUrl();
+		assertFalse(ModelHelper.hashModelEntry("model", url)
+				.equals(ModelHelper.hashModelEntry("model;foo=bar", url)));
+	}
+
+	@Test
+	void findModelEntriesWithNullPathsReturnsEmpty() {
+		ModelHelper.Diagnostic diagnostic = new ModelHelper.Diagnostic();
+		assertTrue(ModelHelper.findModelEntries(null, null, diagnostic).isEmpty());
+	}
 }
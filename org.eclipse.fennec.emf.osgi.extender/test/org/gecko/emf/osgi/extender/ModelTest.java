@@ -13,6 +13,7 @@
 package org.gecko.emf.osgi.extender;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -24,6 +25,7 @@ import java.util.Hashtable;
 import org.eclipse.emf.ecore.EPackage;
 import org.eclipse.emf.ecore.EcoreFactory;
 import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.fennec.emf.osgi.extender.LazyEPackageDescriptor;
 import org.eclipse.fennec.emf.osgi.extender.model.Model;
 import org.junit.jupiter.api.Test;
 
@@ -163,4 +165,30 @@ class ModelTest {
 		assertEquals("ecore", model.getProperties().get("emf.name"));
 		assertTrue(model.toString().contains(EcorePackage.eNS_URI));
 	}
+
+	// --- lazy models ---
+
+	@Test
+	void lazyModelDoesNotLoadUntilAccessed() {
+		EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setNsURI("http://example.org/lazy");
+		LazyEPackageDescriptor descriptor = new LazyEPackageDescriptor("http://example.org/lazy", () -> ePackage);
+
+		Model model = new Model("http://example.org/lazy", descriptor, new Hashtable<>(), 3L);
+
+		assertTrue(model.isLazy());
+		assertEquals("http://example.org/lazy", model.getNsURI());
+		assertEquals(descriptor, model.getDescriptor());
+		assertTrue(model.toString().contains("http://example.org/lazy"));
+		assertFalse(descriptor.isLoaded());
+
+		assertEquals(ePackage, model.getEPackage());
+		assertTrue(descriptor.isLoaded());
+	}
+
+	@Test
+	void lazyModelRejectsNullDescriptor() {
+		Dictionary<String, Object> props = new Hashtable<>();
+		assertThrows(NullPointerException.class, () -> new Model("http://example.org/lazy", null, props, 0L));
+	}
 }
@@ -0,0 +1,120 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.gecko.emf.osgi.extender;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.fennec.emf.osgi.extender.RegistrationSequence;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link RegistrationSequence}.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+class RegistrationSequenceTest {
+
+	@Test
+	void testActionsRunInAppendOrder() {
+		RegistrationSequence sequence = new RegistrationSequence();
+		List<String> order = new ArrayList<>();
+		RegistrationSequence.Step first = sequence.append();
+		RegistrationSequence.Step second = sequence.append();
+		RegistrationSequence.Step third = sequence.append();
+
+		third.complete(() -> order.add("third"));
+		second.complete(() -> order.add("second"));
+		assertTrue(order.isEmpty());
+		assertEquals(3, sequence.size());
+
+		first.complete(() -> order.add("first"));
+		assertEquals(List.of("first", "second", "third"), order);
+		assertEquals(0, sequence.size());
+	}
+
+	@Test
+	void testSkippedStepReleasesLaterSteps() {
+		RegistrationSequence sequence = new RegistrationSequence();
+		List<String> order = new ArrayList<>();
+		RegistrationSequence.Step first = sequence.append();
+		RegistrationSequence.Step second = sequence.append();
+
+		second.complete(() -> order.add("second"));
+		first.skip();
+		assertEquals(List.of("second"), order);
+
+		// A step is finished only once
+		first.complete(() -> order.add("first"));
+		second.complete(() -> order.add("again"));
+		assertEquals(List.of("second"), order);
+	}
+
+	@Test
+	void testFailingActionDoesNotStopSequence() {
+		RegistrationSequence sequence = new RegistrationSequence();
+		List<String> order = new ArrayList<>();
+		RegistrationSequence.Step first = sequence.append();
+		RegistrationSequence.Step second = sequence.append();
+
+		second.complete(() -> order.add("second"));
+		first.complete(() -> {
+			throw new IllegalStateException("test");
+		});
+		assertEquals(List.of("second"), order);
+	}
+
+	@Test
+	void testConcurrentCompletion() throws InterruptedException {
+		RegistrationSequence sequence = new RegistrationSequence();
+		int count = 200;
+		List<RegistrationSequence.Step> steps = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			steps.add(sequence.append());
+		}
+		List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+		CountDownLatch done = new CountDownLatch(count);
+		ExecutorService workers = Executors.newFixedThreadPool(8);
+		try {
+			for (int i = 0; i < count; i++) {
+				int index = i;
+				workers.execute(() -> {
+					try {
+						Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					steps.get(index).complete(() -> order.add(index));
+					done.countDown();
+				});
+			}
+			assertTrue(done.await(10, TimeUnit.SECONDS));
+		} finally {
+			workers.shutdownNow();
+		}
+		assertEquals(count, order.size());
+		for (int i = 0; i < count; i++) {
+			assertEquals(i, order.get(i).intValue());
+		}
+	}
+}
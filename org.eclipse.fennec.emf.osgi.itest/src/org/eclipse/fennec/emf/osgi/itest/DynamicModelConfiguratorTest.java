@@ -21,8 +21,15 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Dictionary;
 import java.util.Hashtable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.emf.common.util.URI;
@@ -36,17 +43,22 @@ import org.eclipse.emf.ecore.resource.Resource.IOWrappedException;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.fennec.emf.osgi.ResourceSetFactory;
+import org.eclipse.fennec.emf.osgi.configurator.EPackageConfigurator;
 import org.eclipse.fennec.emf.osgi.constants.EMFNamespaces;
 import org.eclipse.fennec.emf.osgi.example.model.basic.Person;
 import org.eclipse.fennec.emf.osgi.example.model.manual.configuration.ManualPackageConfigurator;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceEvent;
+import org.osgi.framework.ServiceListener;
 import org.osgi.framework.ServiceReference;
 import org.osgi.service.cm.Configuration;
 import org.osgi.service.cm.ConfigurationAdmin;
 import org.osgi.test.assertj.dictionary.DictionaryAssert;
 import org.osgi.test.assertj.monitoring.MonitoringAssertion;
+import org.osgi.test.common.annotation.InjectBundleContext;
 import org.osgi.test.common.annotation.InjectService;
 import org.osgi.test.common.service.ServiceAware;
 import org.osgi.test.junit5.context.BundleContextExtension;
@@ -325,5 +337,122 @@ public class DynamicModelConfiguratorTest {
 			assertThat(arr).doesNotContain("manual");
 		});
 	}
-	
+
+	/**
+	 * Watches a copy of the manual ecore. Saving unchanged content keeps the registration, a changed
+	 * model is registered before the old one is unregistered.
+	 * 
+	 * @throws Exception
+	 */
+	@Test
+	public void testDynamicModelWatch(@InjectBundleContext BundleContext ctx,
+			@InjectService(cardinality = 0, filter = "(" + EMFNamespaces.EMF_NAME + "=manual)") ServiceAware<EPackage> manualAware,
+			@InjectService(cardinality = 0, filter = "(" + EMFNamespaces.EMF_NAME + "=manualReloaded)") ServiceAware<EPackage> reloadedAware)
+			throws Exception {
+		String property = System.getProperty("ecoreBase");
+		assertNotNull(property);
+		Path source = Paths.get(property, "..", "org.eclipse.fennec.emf.osgi.example.model.manual", "model", "manual.ecore");
+		Path directory = Files.createTempDirectory("dynamic-watch");
+		Path ecore = directory.resolve("manual.ecore");
+		Files.copy(source, ecore);
+
+		Dictionary<String, Object> properties = new Hashtable<>();
+		properties.put(EMFNamespaces.EMF_MODEL_DYNAMIC_URI, ecore.toUri().toString());
+		properties.put(EMFNamespaces.EMF_MODEL_DYNAMIC_WATCH, Boolean.TRUE);
+		properties.put(EMFNamespaces.EMF_MODEL_DYNAMIC_WATCH_DEBOUNCE, 200L);
+		Configuration configuration = ca.getFactoryConfiguration(EMFNamespaces.DYNAMIC_MODEL_CONFIGURATOR_CONFIG_NAME, "watch", "?");
+		configuration.update(properties);
+		String filter = "(&(objectClass=" + EPackage.class.getName() + ")(" + EMFNamespaces.EMF_MODEL_REGISTRATION + "=" 
+				+ EMFNamespaces.MODEL_REGISTRATION_DYNAMIC + "))";
+		AtomicBoolean missing = new AtomicBoolean(false);
+		CountDownLatch unregistered = new CountDownLatch(1);
+		ServiceListener listener = event -> {
+			if (event.getType() == ServiceEvent.UNREGISTERING) {
+				try {
+					// the reloaded package must already be there
+					ServiceReference<?>[] refs = ctx.getServiceReferences(EPackage.class.getName(), filter);
+					if (refs == null || refs.length < 2) {
+						missing.set(true);
+					}
+				} catch (Exception e) {
+					missing.set(true);
+				}
+				unregistered.countDown();
+			}
+		};
+		try {
+			assertNotNull(manualAware.waitForService(5000));
+			ServiceReference<EPackage> initial = manualAware.getServiceReference();
+			ctx.addServiceListener(listener, filter);
+
+			// same content, no reload
+			Files.write(ecore, Files.readAllBytes(ecore));
+			Thread.sleep(1000);
+			assertEquals(initial.getProperty("service.id"), manualAware.getServiceReference().getProperty("service.id"));
+			assertEquals(1, unregistered.getCount());
+
+			String content = Files.readString(ecore, StandardCharsets.UTF_8).replace("name=\"manual\"", "name=\"manualReloaded\"");
+			Files.writeString(ecore, content, StandardCharsets.UTF_8);
+			assertNotNull(reloadedAware.waitForService(5000));
+			assertThat(unregistered.await(5, TimeUnit.SECONDS)).isTrue();
+			assertFalse(missing.get());
+			assertThat(manualAware.isEmpty()).isTrue();
+		} finally {
+			ctx.removeServiceListener(listener);
+			configuration.delete();
+			Thread.sleep(1000);
+			Files.deleteIfExists(ecore);
+			Files.deleteIfExists(directory);
+		}
+	}
+
+	/**
+	 * Loads all ecore files of the manual model directory with one configuration. Both packages are registered
+	 * as services and a single configurator provides them to the {@link ResourceSetFactory}.
+	 * 
+	 * @throws Exception
+	 */
+	@Test
+	public void testDynamicModelDirectory(@InjectBundleContext BundleContext ctx,
+			@InjectService(cardinality = 1) ServiceAware<ResourceSetFactory> resourceSetFactory,
+			@InjectService(cardinality = 0, filter = "(" + EMFNamespaces.EMF_NAME + "=manual2)") ServiceAware<EPackage> manual2Aware)
+			throws Exception {
+		String property = System.getProperty("ecoreBase");
+		assertNotNull(property);
+		Dictionary<String, Object> properties = new Hashtable<>();
+		properties.put(EMFNamespaces.EMF_MODEL_DYNAMIC_LOCATION,
+				"file:///" + property + "/../org.eclipse.fennec.emf.osgi.example.model.manual/model");
+		properties.put(EMFNamespaces.EMF_MODEL_DYNAMIC_GLOB, "*.ecore");
+
+		AtomicReference<Configuration> refConfig = new AtomicReference<>();
+		MonitoringAssertion.executeAndObserve(() -> {
+
+			Configuration c = ca.getFactoryConfiguration(EMFNamespaces.DYNAMIC_MODEL_DIRECTORY_CONFIG_NAME, "test", "?");
+			c.update(properties);
+			refConfig.set(c);
+
+		}).untilNoMoreServiceEventModifiedWithin(1000, ResourceSetFactory.class).assertWithTimeoutThat(10000)
+				.isNotTimedOut().hasAtLeastOneServiceEventModifiedWith(ResourceSetFactory.class);
+
+		try {
+			DictionaryAssert.assertThat(resourceSetFactory.getServiceReference().getProperties()).containsKey(EMFNamespaces.EMF_NAME)
+					.extractingByKey(EMFNamespaces.EMF_NAME).isNotNull()
+					.isInstanceOfSatisfying(String[].class, arr -> {
+						assertThat(arr).contains("ecore", "manual", "manual2");
+					});
+			assertNotNull(manual2Aware.waitForService(5000));
+
+			String filter = "(&(" + EMFNamespaces.EMF_MODEL_REGISTRATION + "=" + EMFNamespaces.MODEL_REGISTRATION_DYNAMIC + ")("
+					+ EMFNamespaces.EMF_NAME + "=manual*))";
+			assertThat(ctx.getServiceReferences(EPackage.class, filter)).hasSize(2);
+			assertThat(ctx.getServiceReferences(EPackageConfigurator.class, filter)).hasSize(1);
+
+			ResourceSet rs = resourceSetFactory.getService().createResourceSet();
+			EPackage manual2 = rs.getPackageRegistry().getEPackage("http://fennec.eclipse.org/example/model/manual2/1.0");
+			assertNotNull(manual2);
+			assertInstanceOf(EClass.class, manual2.getEClassifier("Foo"));
+		} finally {
+			refConfig.get().delete();
+		}
+	}
 }
@@ -12,8 +12,14 @@
  ********************************************************************/
 package org.eclipse.fennec.emf.osgi.model.info;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EClassifier;
@@ -54,5 +60,43 @@ public interface EMFModelInfo {
 	 * @param eClass the EClass to get the hirachy for
 	 * @return The {@link List} of upper elements. 
 	 */
-	public List<EClass> getUpperTypeHierarchyForEClass(EClass eClass);	
+	public List<EClass> getUpperTypeHierarchyForEClass(EClass eClass);
+
+	/**
+	 * Looks up the {@link EClassifier}s for several full qualified class names at once. Class names
+	 * without a known classifier are not contained in the result.
+	 * @param fullQualifiedClassNames the full qualified class names to look for
+	 * @return a {@link Map} from class name to {@link EClassifier}, never <code>null</code>
+	 * @since 1.1
+	 */
+	public default Map<String, EClassifier> getEClassifiersForClassNames(Collection<String> fullQualifiedClassNames) {
+		Map<String, EClassifier> result = new HashMap<>();
+		for (String name : fullQualifiedClassNames) {
+			getEClassifierForClass(name).ifPresent(ec -> result.put(name, ec));
+		}
+		return result;
+	}
+
+	/**
+	 * Returns all known {@link EClass}es, that directly or transitively inherit from the given {@link EClass}.
+	 * This is the same content as {@link #getUpperTypeHierarchyForEClass(EClass)}, but as a {@link Set} with fast lookups.
+	 * @param eClass the EClass to get the sub types for
+	 * @return an unmodifiable {@link Set} of sub types, never <code>null</code>
+	 * @since 1.1
+	 */
+	public default Set<EClass> getAllSubTypes(EClass eClass) {
+		return Collections.unmodifiableSet(new LinkedHashSet<>(getUpperTypeHierarchyForEClass(eClass)));
+	}
+
+	/**
+	 * Returns <code>true</code>, if instances of the sub type can be assigned to the super type, i.e. if both
+	 * are the same {@link EClass} or the sub type inherits from the super type.
+	 * @param superType the {@link EClass} to assign to
+	 * @param subType the {@link EClass} to check
+	 * @return <code>true</code>, if the sub type is assignable to the super type
+	 * @since 1.1
+	 */
+	public default boolean isAssignableFrom(EClass superType, EClass subType) {
+		return superType.isSuperTypeOf(subType);
+	}
 }
@@ -12,16 +12,26 @@
  ********************************************************************/
 package org.eclipse.fennec.emf.osgi.model.info.impl;
 
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EClassifier;
@@ -30,6 +40,7 @@ import org.eclipse.emf.ecore.EPackage;
 import org.eclipse.emf.ecore.EcorePackage;
 import org.eclipse.emf.ecore.impl.DynamicEObjectImpl;
 import org.eclipse.fennec.emf.osgi.configurator.EPackageConfigurator;
+import org.eclipse.fennec.emf.osgi.constants.EMFNamespaces;
 import org.eclipse.fennec.emf.osgi.model.info.EMFModelInfo;
 import org.osgi.annotation.bundle.Capability;
 import org.osgi.service.component.annotations.Component;
@@ -40,7 +51,38 @@ import org.osgi.service.component.annotations.ReferencePolicyOption;
 
 /**
  * An implementation for the {@link EMFModelInfo} service
- * 
+ * <p>
+ * The index is maintained incrementally. Binding a configurator only adds the classifiers and
+ * hierarchy edges of the packages it registers, unbinding only removes them again. Packages are
+ * reference counted, so a package registered by several configurators stays indexed until the
+ * last of them is gone.
+ * <p>
+ * Readers never block and always see a consistent index. The index is an immutable snapshot, that a
+ * change copies, updates and publishes with a single volatile write, so a reader sees a change
+ * either completely or not at all. A change only copies the parts of the snapshot it modifies, the
+ * others are shared with the previous snapshot. Changes are serialized. The sub type sets returned
+ * by {@link #getAllSubTypes(EClass)} keep showing the snapshot they were read from.
+ * <p>
+ * Class names are looked up in a hash index. Each indexed {@link EClass} gets an integer id and
+ * its transitive sub types are stored as a {@link BitSet} of these ids, so sub type and
+ * assignability checks do not walk the hierarchy. The ids of removed EClasses are assigned again,
+ * lowest first, so the id range and the bit sets stay bounded by the number of indexed EClasses.
+ * A change that removes an EClass recomputes the bit sets of all its super types, so no bit set of
+ * a snapshot refers to an id that belongs to another EClass in that snapshot. Lookups by
+ * {@link Class} are additionally cached per class in a {@link ClassValue}.
+ * <p>
+ * Packages registered as {@link EPackage.Descriptor}, e.g. by the lazy mode of the model extender,
+ * are not loaded on registration. A lookup that finds no result only resolves the pending
+ * descriptors that can answer it, indexes their packages and is answered again. A lookup by
+ * {@link EClass} resolves the descriptor registered for the namespace URI of the EClass' package.
+ * A lookup by class or class name resolves the descriptors whose package name, the
+ * {@link EMFNamespaces#EMF_NAME} property of the configurator, equals the last segment of the Java
+ * package, as in generated EMF code. The candidates are part of the snapshot, so a miss without a
+ * candidate, e.g. for an Ecore type or a class that is not part of a model, resolves nothing and
+ * costs a single map lookup. Sub types in descriptors that are not resolved yet are not part of
+ * the hierarchy until a lookup resolves them. {@link #isAssignableFrom(EClass, EClass)} resolves
+ * nothing, it falls back to the model for EClasses that are not indexed.
+ *
  * @author Juergen Albert
  * @since 8 Nov 2018
  */
@@ -50,135 +92,681 @@ public class EMFModelInfoImpl extends HashMap<String, Object> implements EMFMode
 
 	/** serialVersionUID */
 	private static final long serialVersionUID = 7749336016374647599L;
+	private static final Logger logger = Logger.getLogger(EMFModelInfoImpl.class.getName());
+
+	/**
+	 * Immutable snapshot of the index. The maps and arrays are never modified once published.
+	 *
+	 * @param version        incremented with each change, invalidates the cached lookups by class
+	 * @param classes        instance class to classifier
+	 * @param classesByName  full qualified instance class name to classifier
+	 * @param upperHierarchy indexed EClass to all indexed EClasses inheriting from it
+	 * @param eClassIds      indexed EClass to its id
+	 * @param subTypeBits    indexed EClass to the ids of all indexed EClasses inheriting from it
+	 * @param eClassesById   indexed EClasses by id, free ids are <code>null</code>
+	 * @param pendingByNsURI pending descriptors by namespace URI
+	 * @param pendingByName  pending descriptors by lower case package name
+	 */
+	private record Index(long version, Map<Class<?>, EClassifier> classes, Map<String, EClassifier> classesByName,
+			Map<EClass, List<EClass>> upperHierarchy, Map<EClass, Integer> eClassIds, Map<EClass, BitSet> subTypeBits,
+			EClass[] eClassesById, Map<String, List<EPackage.Descriptor>> pendingByNsURI,
+			Map<String, List<EPackage.Descriptor>> pendingByName) {
+	}
+
+	/**
+	 * A descriptor that is not resolved yet.
+	 *
+	 * @param owner the configurator that registered it, or <code>null</code>
+	 * @param nsURI the namespace URI it is registered for
+	 * @param name  the lower case package name, or <code>null</code> if unknown
+	 */
+	private record PendingDescriptor(EPackageConfigurator owner, String nsURI, String name) {
+	}
+
+	/**
+	 * Result of a lookup by {@link Class}, valid for the index with the given version.
+	 */
+	private record CachedClassifier(long version, EClassifier classifier) {
+	}
 
-	private transient volatile Map<Class<?>, EClassifier> classes = new ConcurrentHashMap<>();
-	private transient volatile Map<EClass, List<EClass>> upperHierarchy = new ConcurrentHashMap<>();
-	private transient volatile Map<EClass, List<EClass>> needsRevisiting = new ConcurrentHashMap<>();
-	private transient List<EPackageConfigurator> list = new ArrayList<>();
-	
-	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	/**
+	 * Per class holder of the last lookup result.
+	 */
+	private static final class ClassifierSlot {
+		volatile CachedClassifier cached;
+	}
+
+	/**
+	 * What a single package contributed to the index, recorded when it was added so that
+	 * exactly these entries are removed again.
+	 *
+	 * @param classifiers the classifiers with an instance class
+	 * @param superTypes  the super types of each indexed EClass of the package
+	 */
+	private record PackageContribution(List<EClassifier> classifiers, Map<EClass, List<EClass>> superTypes) {
+	}
+
+	/** Lock object serializing all changes to the index */
+	private final transient Object writeLock = new Object();
+
+	/** The published index, read without locking and only replaced while holding writeLock */
+	private transient volatile Index index = new Index(0, Map.of(), Map.of(), Map.of(), Map.of(), Map.of(),
+			new EClass[0], Map.of(), Map.of());
+
+	// Writer state, only accessed while holding writeLock
+	/** Packages registered by each bound configurator */
+	private final transient Map<EPackageConfigurator, List<EPackage>> configuratorPackages = new IdentityHashMap<>();
+	/** Reference count of each indexed package */
+	private final transient Map<EPackage, Integer> packageReferences = new IdentityHashMap<>();
+	private final transient Map<EPackage, PackageContribution> contributions = new IdentityHashMap<>();
+	/** All classifiers per instance class in registration order, the last one is published */
+	private final transient Map<Class<?>, List<EClassifier>> classOwners = new HashMap<>();
+	/** Instance classes per class name, more than one if several class loaders provide the name */
+	private final transient Map<String, Set<Class<?>>> namedClasses = new HashMap<>();
+	/** Sub types per EClass, including EClasses that are not (yet) indexed themselves */
+	private final transient Map<EClass, Set<EClass>> subTypes = new HashMap<>();
+	private final transient Set<EClass> indexedEClasses = new HashSet<>();
+	/** Ids below this bound have been assigned at least once */
+	private transient int nextEClassId = 0;
+	/** Ids below {@link #nextEClassId} that are not assigned at the moment */
+	private final transient BitSet freeEClassIds = new BitSet();
+	/** Collects the packages put by the configurator that is currently being bound */
+	private transient List<EPackage> recording;
+	/** Collects the namespace URIs and descriptors put by the configurator that is currently being bound */
+	private transient Map<String, EPackage.Descriptor> recordingDescriptors;
+	/** Descriptors not resolved yet */
+	private final transient Map<EPackage.Descriptor, PendingDescriptor> pendingDescriptors = new IdentityHashMap<>();
+	/** Descriptors not resolved yet, per bound configurator */
+	private final transient Map<EPackageConfigurator, List<EPackage.Descriptor>> configuratorDescriptors = new IdentityHashMap<>();
+
+	private final transient ClassValue<ClassifierSlot> classifierCache = new ClassValue<>() {
+
+		@Override
+		protected ClassifierSlot computeValue(Class<?> type) {
+			return new ClassifierSlot();
+		}
+	};
 
 	/*
 	 * (non-Javadoc)
-	 * 
+	 *
 	 * @see
 	 * org.gecko.emf.osgi.model.info.EMFModelInfo#getEClassifierForClass(java.
 	 * lang.Class)
 	 */
 	@Override
 	public Optional<EClassifier> getEClassifierForClass(Class<?> clazz) {
-		lock.readLock().lock();
-		try {
-			return Optional.ofNullable(classes.get(clazz));
-		} finally {
-			lock.readLock().unlock();
+		if (clazz == null) {
+			return Optional.empty();
 		}
+		Optional<EClassifier> result = lookupClass(clazz);
+		if (result.isEmpty() && resolvePending(index.pendingByName().get(javaPackageName(clazz.getName())))) {
+			result = lookupClass(clazz);
+		}
+		return result;
+	}
+
+	private Optional<EClassifier> lookupClass(Class<?> clazz) {
+		// the version and the result are read from the same snapshot
+		Index current = index;
+		ClassifierSlot slot = classifierCache.get(clazz);
+		CachedClassifier cached = slot.cached;
+		if (cached == null || cached.version() != current.version()) {
+			cached = new CachedClassifier(current.version(), current.classes().get(clazz));
+			slot.cached = cached;
+		}
+		return Optional.ofNullable(cached.classifier());
 	}
 
 	/*
 	 * (non-Javadoc)
-	 * 
+	 *
 	 * @see
 	 * org.gecko.emf.osgi.model.info.EMFModelInfo#getEClassifierForClass(java.
 	 * lang.String)
 	 */
 	@Override
 	public Optional<EClassifier> getEClassifierForClass(String fullQualifiedClassName) {
-		lock.readLock().lock();
-		try {
-			return classes.entrySet().stream().filter(e -> e.getKey().getName().equals(fullQualifiedClassName))
-					.map(Entry::getValue).findFirst();
-		} finally {
-			lock.readLock().unlock();
+		if (fullQualifiedClassName == null) {
+			return Optional.empty();
 		}
+		EClassifier classifier = index.classesByName().get(fullQualifiedClassName);
+		if (classifier == null
+				&& resolvePending(index.pendingByName().get(javaPackageName(fullQualifiedClassName)))) {
+			classifier = index.classesByName().get(fullQualifiedClassName);
+		}
+		return Optional.ofNullable(classifier);
 	}
 
-	@Reference(cardinality = ReferenceCardinality.MULTIPLE, policy = ReferencePolicy.DYNAMIC, policyOption = ReferencePolicyOption.GREEDY)
-	public void bindEPackageConfigurator(EPackageConfigurator configurator) {
-		lock.writeLock().lock();
-		try {
-			list.add(configurator);
-			refresh();
-		} finally {
-			lock.writeLock().unlock();
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.eclipse.fennec.emf.osgi.model.info.EMFModelInfo#getEClassifiersForClassNames(
+	 * java.util.Collection)
+	 */
+	@Override
+	public Map<String, EClassifier> getEClassifiersForClassNames(Collection<String> fullQualifiedClassNames) {
+		Map<String, EClassifier> result = lookupClassNames(fullQualifiedClassNames);
+		if (result.size() < fullQualifiedClassNames.size()) {
+			Map<String, List<EPackage.Descriptor>> pendingByName = index.pendingByName();
+			Set<EPackage.Descriptor> candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+			for (String name : fullQualifiedClassNames) {
+				List<EPackage.Descriptor> named = name == null || result.containsKey(name) ? null
+						: pendingByName.get(javaPackageName(name));
+				if (named != null) {
+					candidates.addAll(named);
+				}
+			}
+			if (!candidates.isEmpty() && resolvePending(candidates)) {
+				result = lookupClassNames(fullQualifiedClassNames);
+			}
 		}
+		return result;
 	}
 
-	private void refresh() {
-		classes = new ConcurrentHashMap<>();
-		upperHierarchy = new ConcurrentHashMap<>();
-		needsRevisiting = new ConcurrentHashMap<>();
-
-		list.forEach(c -> c.configureEPackage(this));
+	private Map<String, EClassifier> lookupClassNames(Collection<String> fullQualifiedClassNames) {
+		Map<String, EClassifier> classesByName = index.classesByName();
+		Map<String, EClassifier> result = new HashMap<>();
+		for (String name : fullQualifiedClassNames) {
+			EClassifier classifier = name == null ? null : classesByName.get(name);
+			if (classifier != null) {
+				result.put(name, classifier);
+			}
+		}
+		return result;
+	}
 
+	/**
+	 * Indexes the packages of the configurator. The {@link EMFNamespaces#EMF_NAME} property names
+	 * the package of a configurator that registers a single descriptor, so that lookups by class
+	 * can resolve it.
+	 *
+	 * @param configurator the configurator
+	 * @param properties   the service properties of the configurator
+	 */
+	@Reference(cardinality = ReferenceCardinality.MULTIPLE, policy = ReferencePolicy.DYNAMIC, policyOption = ReferencePolicyOption.GREEDY)
+	public void bindEPackageConfigurator(EPackageConfigurator configurator, Map<String, Object> properties) {
+		synchronized (writeLock) {
+			List<EPackage> packages = new ArrayList<>();
+			Map<String, EPackage.Descriptor> descriptors = new LinkedHashMap<>();
+			recording = packages;
+			recordingDescriptors = descriptors;
+			try {
+				configurator.configureEPackage(this);
+			} finally {
+				recording = null;
+				recordingDescriptors = null;
+			}
+			configuratorPackages.put(configurator, packages);
+			IndexUpdate update = new IndexUpdate();
+			if (!descriptors.isEmpty()) {
+				configuratorDescriptors.put(configurator, new ArrayList<>(descriptors.values()));
+				Object name = descriptors.size() == 1 ? properties.get(EMFNamespaces.EMF_NAME) : null;
+				descriptors.forEach((nsURI, descriptor) -> pendingDescriptors.put(descriptor,
+						new PendingDescriptor(configurator, nsURI, name instanceof String s ? toKey(s) : null)));
+				update.pendingChanged = true;
+			}
+			packages.forEach(p -> acquire(p, update));
+			publish(update);
+		}
 	}
 
 	public void unbindEPackageConfigurator(EPackageConfigurator configurator) {
-		lock.writeLock().lock();
-		try {
-			list.remove(configurator);
+		synchronized (writeLock) {
 			configurator.unconfigureEPackage(this);
-			refresh();
-		} finally {
-			lock.writeLock().unlock();
+			IndexUpdate update = new IndexUpdate();
+			List<EPackage.Descriptor> descriptors = configuratorDescriptors.remove(configurator);
+			if (descriptors != null && !descriptors.isEmpty()) {
+				descriptors.forEach(pendingDescriptors::remove);
+				update.pendingChanged = true;
+			}
+			List<EPackage> packages = configuratorPackages.remove(configurator);
+			if (packages != null) {
+				packages.forEach(p -> release(p, update));
+			}
+			if (update.pendingChanged || !update.touched.isEmpty() || !update.changedClasses.isEmpty()) {
+				publish(update);
+			}
 		}
 	}
 
 	/*
 	 * (non-Javadoc)
-	 * 
+	 *
 	 * @see java.util.HashMap#put(java.lang.Object, java.lang.Object)
 	 */
 	@Override
 	public Object put(String uri, Object value) {
-		if (value instanceof EPackage ePackage) {
-			addEClassesOfEPackage(ePackage);
+		synchronized (writeLock) {
+			if (value instanceof EPackage ePackage) {
+				if (recording != null) {
+					recording.add(ePackage);
+				} else {
+					// Not registered by a configurator, stays indexed
+					IndexUpdate update = new IndexUpdate();
+					acquire(ePackage, update);
+					publish(update);
+				}
+			} else if (value instanceof EPackage.Descriptor descriptor) {
+				if (recordingDescriptors != null) {
+					recordingDescriptors.put(uri, descriptor);
+				} else {
+					pendingDescriptors.put(descriptor, new PendingDescriptor(null, uri, null));
+					IndexUpdate update = new IndexUpdate();
+					update.pendingChanged = true;
+					publish(update);
+				}
+			}
+			return super.put(uri, value);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.util.HashMap#remove(java.lang.Object)
+	 */
+	@Override
+	public Object remove(Object key) {
+		synchronized (writeLock) {
+			return super.remove(key);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.util.HashMap#remove(java.lang.Object, java.lang.Object)
+	 */
+	@Override
+	public boolean remove(Object key, Object value) {
+		synchronized (writeLock) {
+			return super.remove(key, value);
+		}
+	}
+
+	/**
+	 * Resolves the given pending descriptors and indexes their packages. The packages are loaded
+	 * without holding the write lock, as loading may register further packages. A descriptor that
+	 * fails to resolve is not tried again.
+	 *
+	 * @param candidates the descriptors that may answer a lookup, can be <code>null</code>
+	 * @return <code>true</code>, if the index changed
+	 */
+	private boolean resolvePending(Collection<EPackage.Descriptor> candidates) {
+		if (candidates == null || candidates.isEmpty()) {
+			return false;
+		}
+		Map<EPackage.Descriptor, EPackage> resolved = new IdentityHashMap<>();
+		for (EPackage.Descriptor descriptor : candidates) {
+			try {
+				resolved.put(descriptor, descriptor.getEPackage());
+			} catch (RuntimeException e) {
+				logger.log(Level.WARNING, e, () -> "Unable to resolve an EPackage descriptor for the model info");
+				resolved.put(descriptor, null);
+			}
+		}
+		synchronized (writeLock) {
+			IndexUpdate update = new IndexUpdate();
+			boolean changed = false;
+			for (Entry<EPackage.Descriptor, EPackage> entry : resolved.entrySet()) {
+				// unbound or resolved by another thread in the meantime
+				PendingDescriptor pending = pendingDescriptors.remove(entry.getKey());
+				if (pending == null) {
+					continue;
+				}
+				update.pendingChanged = true;
+				EPackageConfigurator owner = pending.owner();
+				EPackage ePackage = entry.getValue();
+				if (owner != null) {
+					configuratorDescriptors.get(owner).remove(entry.getKey());
+				}
+				if (ePackage == null) {
+					continue;
+				}
+				if (owner != null) {
+					// released again, when the configurator is unbound
+					configuratorPackages.get(owner).add(ePackage);
+				}
+				acquire(ePackage, update);
+				changed = true;
+			}
+			if (update.pendingChanged) {
+				publish(update);
+			}
+			return changed;
+		}
+	}
+
+	/**
+	 * Returns the pending descriptors registered for the namespace URI of the package of the
+	 * EClass.
+	 */
+	private List<EPackage.Descriptor> pendingFor(EClass eClass) {
+		EPackage ePackage = eClass.getEPackage();
+		String nsURI = ePackage == null ? null : ePackage.getNsURI();
+		return nsURI == null ? null : index.pendingByNsURI().get(nsURI);
+	}
+
+	/**
+	 * Returns the last segment of the Java package of a class name as key, or <code>null</code>
+	 * for a class in the default package.
+	 */
+	private static String javaPackageName(String className) {
+		int end = className.lastIndexOf('.');
+		if (end <= 0) {
+			return null;
+		}
+		return toKey(className.substring(className.lastIndexOf('.', end - 1) + 1, end));
+	}
+
+	private static String toKey(String packageName) {
+		return packageName.toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Publishes the snapshot of the update and drops the cached lookups of all changed classes, so
+	 * that the cache does not keep removed classifiers alive.
+	 */
+	private void publish(IndexUpdate update) {
+		index = update.build();
+		update.changedClasses.forEach(classifierCache::remove);
+	}
+
+	/**
+	 * Adds a reference to the package and indexes it, if it is the first one.
+	 */
+	private void acquire(EPackage ePackage, IndexUpdate update) {
+		if (packageReferences.merge(ePackage, 1, Integer::sum) == 1) {
+			PackageContribution contribution = addEClassesOfEPackage(ePackage, update);
+			contributions.put(ePackage, contribution);
 		}
-		return super.put(uri, value);
 	}
 
-	private void addEClassesOfEPackage(EPackage ePackage) {
+	/**
+	 * Removes a reference to the package and removes its contribution, if it was the last one.
+	 */
+	private void release(EPackage ePackage, IndexUpdate update) {
+		Integer count = packageReferences.get(ePackage);
+		if (count == null) {
+			return;
+		}
+		if (count > 1) {
+			packageReferences.put(ePackage, count - 1);
+			return;
+		}
+		packageReferences.remove(ePackage);
+		PackageContribution contribution = contributions.remove(ePackage);
+		if (contribution != null) {
+			removeContribution(contribution, update);
+		}
+	}
+
+	private PackageContribution addEClassesOfEPackage(EPackage ePackage, IndexUpdate update) {
+		List<EClassifier> classifiers = new ArrayList<>();
+		Map<EClass, List<EClass>> superTypes = new HashMap<>();
 		ePackage.getEClassifiers().stream().filter(ec -> ec.getInstanceClass() != null).forEach(ec -> {
-			analyseHirachy(ec);
+			classifiers.add(ec);
+			analyseHirachy(ec, superTypes, update);
 			Class<?> instanceClass = ec.getInstanceClass();
 			if (instanceClass != DynamicEObjectImpl.class) {
-				classes.put(instanceClass, ec);
+				classOwners.computeIfAbsent(instanceClass, k -> new ArrayList<>(1)).add(ec);
+				update.putClass(instanceClass, ec);
 			}
 		});
+		return new PackageContribution(classifiers, superTypes);
 	}
 
 	/**
 	 * @param ec EClass to analyze the Hierarchy for
 	 */
-	private void analyseHirachy(EClassifier ec) {
+	private void analyseHirachy(EClassifier ec, Map<EClass, List<EClass>> superTypes, IndexUpdate update) {
 		if (!(ec instanceof EClass eClass) || ec.getEPackage().equals(EcorePackage.eINSTANCE)) {
 			return;
 		}
-		List<EClass> thisHirachy = needsRevisiting.remove(eClass);
-		if (thisHirachy == null) {
-			thisHirachy = Collections.synchronizedList(new LinkedList<>());
-		}
-		upperHierarchy.put(eClass, thisHirachy);
+		indexedEClasses.add(eClass);
+		update.assignId(eClass);
+		update.touched.add(eClass);
+		List<EClass> supers = new ArrayList<>();
 		eClass.getEAllSuperTypes().forEach(superEClass -> {
 			if (superEClass.equals(EcorePackage.Literals.ECLASS)) {
 				return;
 			}
-			List<EClass> hierarchy = upperHierarchy.get(superEClass);
-			if (hierarchy != null) {
-				if (!hierarchy.contains(eClass)) {
-					hierarchy.add(eClass);
-				}
+			supers.add(superEClass);
+			subTypes.computeIfAbsent(superEClass, k -> new LinkedHashSet<>()).add(eClass);
+			update.touched.add(superEClass);
+		});
+		superTypes.put(eClass, supers);
+	}
+
+	private void removeContribution(PackageContribution contribution, IndexUpdate update) {
+		for (EClassifier ec : contribution.classifiers()) {
+			Class<?> instanceClass = ec.getInstanceClass();
+			List<EClassifier> owners = instanceClass == null ? null : classOwners.get(instanceClass);
+			if (owners == null || !owners.remove(ec)) {
+				continue;
+			}
+			if (owners.isEmpty()) {
+				classOwners.remove(instanceClass);
+				update.removeClass(instanceClass);
 			} else {
-				needsRevisiting.computeIfAbsent(superEClass,
-						k -> Collections.synchronizedList(new LinkedList<>())).add(eClass);
+				// fall back to the classifier registered before
+				update.putClass(instanceClass, owners.get(owners.size() - 1));
+			}
+		}
+		contribution.superTypes().forEach((eClass, supers) -> {
+			indexedEClasses.remove(eClass);
+			update.releaseId(eClass);
+			update.touched.add(eClass);
+			for (EClass superEClass : supers) {
+				Set<EClass> subs = subTypes.get(superEClass);
+				if (subs != null) {
+					subs.remove(eClass);
+					if (subs.isEmpty()) {
+						subTypes.remove(superEClass);
+					}
+				}
+				update.touched.add(superEClass);
 			}
 		});
+	}
+
+	/**
+	 * A single change, that copies the parts of the published index it modifies and builds the next
+	 * snapshot from them. The hierarchy of all touched EClasses is recomputed on build.
+	 */
+	private final class IndexUpdate {
+
+		private final Index base = index;
+		/** EClasses whose upper hierarchy has to be recomputed on build */
+		final Set<EClass> touched = new HashSet<>();
+		/** Instance classes whose classifier has been added, replaced or removed */
+		final Set<Class<?>> changedClasses = new HashSet<>();
+		// copies of the base snapshot, created on the first modification
+		private Map<Class<?>, EClassifier> classes;
+		private Map<String, EClassifier> classesByName;
+		private Map<EClass, Integer> eClassIds;
+		private EClass[] eClassesById;
+		/** Set, if the pending descriptors have changed */
+		boolean pendingChanged = false;
+
+		private Map<Class<?>, EClassifier> classes() {
+			if (classes == null) {
+				classes = new HashMap<>(base.classes());
+			}
+			return classes;
+		}
+
+		private Map<String, EClassifier> classesByName() {
+			if (classesByName == null) {
+				classesByName = new HashMap<>(base.classesByName());
+			}
+			return classesByName;
+		}
+
+		private Map<EClass, Integer> eClassIds() {
+			if (eClassIds == null) {
+				eClassIds = new HashMap<>(base.eClassIds());
+			}
+			return eClassIds;
+		}
+
+		private EClass[] eClassesById() {
+			if (eClassesById == null) {
+				eClassesById = base.eClassesById().clone();
+			}
+			return eClassesById;
+		}
+
+		void putClass(Class<?> instanceClass, EClassifier classifier) {
+			classes().put(instanceClass, classifier);
+			namedClasses.computeIfAbsent(instanceClass.getName(), k -> new LinkedHashSet<>()).add(instanceClass);
+			classesByName().put(instanceClass.getName(), classifier);
+			changedClasses.add(instanceClass);
+		}
+
+		void removeClass(Class<?> instanceClass) {
+			String name = instanceClass.getName();
+			classes().remove(instanceClass);
+			changedClasses.add(instanceClass);
+			Set<Class<?>> named = namedClasses.get(name);
+			if (named != null) {
+				named.remove(instanceClass);
+			}
+			if (named == null || named.isEmpty()) {
+				namedClasses.remove(name);
+				classesByName().remove(name);
+			} else {
+				// another class loader still provides a class with the same name
+				classesByName().put(name, classes().get(named.iterator().next()));
+			}
+		}
+
+		void assignId(EClass eClass) {
+			int id = freeEClassIds.nextSetBit(0);
+			if (id < 0) {
+				id = nextEClassId++;
+			} else {
+				freeEClassIds.clear(id);
+			}
+			EClass[] byId = eClassesById();
+			if (id >= byId.length) {
+				byId = Arrays.copyOf(byId, Math.max(16, byId.length * 2));
+				eClassesById = byId;
+			}
+			byId[id] = eClass;
+			eClassIds().put(eClass, id);
+		}
+
+		void releaseId(EClass eClass) {
+			Integer id = eClassIds().remove(eClass);
+			if (id != null) {
+				eClassesById()[id] = null;
+				freeEClassIds.set(id);
+			}
+		}
+
+		/**
+		 * Builds the next snapshot. Ids released by this update may already be assigned again, the
+		 * bit sets of the former super types are recomputed here, as they are touched.
+		 */
+		Index build() {
+			Map<EClass, List<EClass>> upperHierarchy = base.upperHierarchy();
+			Map<EClass, BitSet> subTypeBits = base.subTypeBits();
+			if (!touched.isEmpty()) {
+				upperHierarchy = new HashMap<>(upperHierarchy);
+				subTypeBits = new HashMap<>(subTypeBits);
+				Map<EClass, Integer> ids = eClassIds == null ? base.eClassIds() : eClassIds;
+				for (EClass eClass : touched) {
+					if (indexedEClasses.contains(eClass)) {
+						Set<EClass> subs = subTypes.get(eClass);
+						upperHierarchy.put(eClass, subs == null ? List.of() : List.copyOf(subs));
+						subTypeBits.put(eClass, toBits(subs, ids));
+					} else {
+						upperHierarchy.remove(eClass);
+						subTypeBits.remove(eClass);
+					}
+				}
+			}
+			Map<String, List<EPackage.Descriptor>> pendingByNsURI = base.pendingByNsURI();
+			Map<String, List<EPackage.Descriptor>> pendingByName = base.pendingByName();
+			if (pendingChanged) {
+				pendingByNsURI = new HashMap<>();
+				pendingByName = new HashMap<>();
+				for (Entry<EPackage.Descriptor, PendingDescriptor> entry : pendingDescriptors.entrySet()) {
+					PendingDescriptor pending = entry.getValue();
+					pendingByNsURI.computeIfAbsent(pending.nsURI(), k -> new ArrayList<>(1)).add(entry.getKey());
+					if (pending.name() != null) {
+						pendingByName.computeIfAbsent(pending.name(), k -> new ArrayList<>(1)).add(entry.getKey());
+					}
+				}
+			}
+			return new Index(base.version() + 1, classes == null ? base.classes() : classes,
+					classesByName == null ? base.classesByName() : classesByName, upperHierarchy,
+					eClassIds == null ? base.eClassIds() : eClassIds, subTypeBits,
+					eClassesById == null ? base.eClassesById() : eClassesById, pendingByNsURI, pendingByName);
+		}
+
+		private BitSet toBits(Set<EClass> subs, Map<EClass, Integer> ids) {
+			BitSet bits = new BitSet();
+			if (subs != null) {
+				for (EClass sub : subs) {
+					Integer id = ids.get(sub);
+					if (id != null) {
+						bits.set(id);
+					}
+				}
+			}
+			return bits;
+		}
+	}
 
+	/**
+	 * Read only view of the sub types of an EClass, backed by the bit set and the ids of a single
+	 * snapshot.
+	 */
+	private static final class SubTypeSet extends AbstractSet<EClass> {
+
+		private final Index snapshot;
+		private final BitSet bits;
+
+		SubTypeSet(Index snapshot, BitSet bits) {
+			this.snapshot = snapshot;
+			this.bits = bits;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			Integer id = o instanceof EClass ? snapshot.eClassIds().get(o) : null;
+			return id != null && bits.get(id);
+		}
+
+		@Override
+		public Iterator<EClass> iterator() {
+			EClass[] byId = snapshot.eClassesById();
+			return bits.stream().mapToObj(id -> byId[id]).iterator();
+		}
+
+		@Override
+		public int size() {
+			return bits.cardinality();
+		}
+	}
+
+	/**
+	 * Returns the number of EClass ids in use or free for reuse. Used by tests to check that ids
+	 * are reclaimed.
+	 */
+	int getEClassIdRange() {
+		synchronized (writeLock) {
+			return nextEClassId;
+		}
 	}
 
 	/*
 	 * (non-Javadoc)
-	 * 
+	 *
 	 * @see org.eclipse.emf.ecore.EPackage.Registry#getEFactory(java.lang.String)
 	 */
 	@Override
@@ -188,7 +776,7 @@ public class EMFModelInfoImpl extends HashMap<String, Object> implements EMFMode
 
 	/*
 	 * (non-Javadoc)
-	 * 
+	 *
 	 * @see org.eclipse.emf.ecore.EPackage.Registry#getEPackage(java.lang.String)
 	 */
 	@Override
@@ -199,22 +787,66 @@ public class EMFModelInfoImpl extends HashMap<String, Object> implements EMFMode
 
 	/*
 	 * (non-Javadoc)
-	 * 
+	 *
 	 * @see
 	 * org.gecko.emf.osgi.model.info.EMFModelInfo#getUpperTypeHierarchyForEClass(
 	 * org.eclipse.emf.ecore.EClass)
 	 */
 	@Override
 	public List<EClass> getUpperTypeHierarchyForEClass(EClass eClass) {
-		lock.readLock().lock();
-		try {
-			List<EClass> hierarchy = upperHierarchy.get(eClass);
-			if (hierarchy == null) {
-				return Collections.emptyList();
-			}
-			return List.copyOf(hierarchy);
-		} finally {
-			lock.readLock().unlock();
+		if (eClass == null) {
+			return List.of();
+		}
+		List<EClass> hierarchy = index.upperHierarchy().get(eClass);
+		if (hierarchy == null && resolvePending(pendingFor(eClass))) {
+			hierarchy = index.upperHierarchy().get(eClass);
+		}
+		return hierarchy == null ? List.of() : hierarchy;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.eclipse.fennec.emf.osgi.model.info.EMFModelInfo#getAllSubTypes(
+	 * org.eclipse.emf.ecore.EClass)
+	 */
+	@Override
+	public Set<EClass> getAllSubTypes(EClass eClass) {
+		if (eClass == null) {
+			return Set.of();
+		}
+		Index current = index;
+		BitSet bits = current.subTypeBits().get(eClass);
+		if (bits == null && resolvePending(pendingFor(eClass))) {
+			current = index;
+			bits = current.subTypeBits().get(eClass);
+		}
+		return bits == null || bits.isEmpty() ? Set.of() : new SubTypeSet(current, bits);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.eclipse.fennec.emf.osgi.model.info.EMFModelInfo#isAssignableFrom(
+	 * org.eclipse.emf.ecore.EClass, org.eclipse.emf.ecore.EClass)
+	 */
+	@Override
+	public boolean isAssignableFrom(EClass superType, EClass subType) {
+		if (superType == subType) {
+			return true;
+		}
+		if (superType == null || subType == null) {
+			return false;
+		}
+		Index current = index;
+		Integer subId = current.eClassIds().get(subType);
+		BitSet bits = current.subTypeBits().get(superType);
+		if (subId == null || bits == null) {
+			// at least one of them is not indexed, e.g. an Ecore class
+			return superType.isSuperTypeOf(subType);
 		}
+		return bits.get(subId);
 	}
-}
\ No newline at end of file
+}
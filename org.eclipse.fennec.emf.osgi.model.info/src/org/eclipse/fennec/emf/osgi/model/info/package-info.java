@@ -11,5 +11,5 @@
  *   Data In Motion Consulting - initial implementation
  ********************************************************************/
 @org.osgi.annotation.bundle.Export
-@org.osgi.annotation.versioning.Version("1.0.0")
+@org.osgi.annotation.versioning.Version("1.1.0")
 package org.eclipse.fennec.emf.osgi.model.info;
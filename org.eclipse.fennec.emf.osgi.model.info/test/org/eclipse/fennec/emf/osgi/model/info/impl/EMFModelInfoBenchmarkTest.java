@@ -0,0 +1,153 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.model.info.impl;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.logging.Logger;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.fennec.emf.osgi.configurator.EPackageConfigurator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Benchmark for the query methods of {@link EMFModelInfoImpl}.
+ * <p>
+ * Indexes {@value #PACKAGE_COUNT} packages with {@value #CLASSES_PER_PACKAGE} EClasses each,
+ * arranged in inheritance chains, and measures class name lookups and sub type checks against
+ * walking the hierarchy of the model. Results are logged, not asserted.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+@Tag("perf")
+class EMFModelInfoBenchmarkTest {
+
+	private static final Logger logger = Logger.getLogger(EMFModelInfoBenchmarkTest.class.getName());
+	private static final int PACKAGE_COUNT = 50;
+	private static final int CLASSES_PER_PACKAGE = 40;
+	private static final int CHAIN_LENGTH = 8;
+	private static final int WARMUP_ROUNDS = 5;
+	private static final int ROUNDS = 20;
+
+	/** Classes from the JDK used as instance classes, so that class name lookups hit the index */
+	private static final Class<?>[] INSTANCE_CLASSES = { String.class, Integer.class, Long.class, Double.class,
+			Float.class, Short.class, Byte.class, Character.class, Boolean.class, Number.class, StringBuilder.class,
+			java.util.ArrayList.class, java.util.LinkedList.class, java.util.HashMap.class, java.util.TreeMap.class,
+			java.util.HashSet.class, java.util.TreeSet.class, java.util.ArrayDeque.class, java.util.BitSet.class,
+			java.util.UUID.class, java.util.Date.class, java.util.Locale.class, java.math.BigDecimal.class,
+			java.math.BigInteger.class, java.net.URI.class, java.time.Instant.class, java.time.Duration.class,
+			java.time.LocalDate.class, java.time.LocalDateTime.class, java.time.ZonedDateTime.class };
+
+	private EMFModelInfoImpl modelInfo;
+	private final List<EClass> eClasses = new ArrayList<>();
+	private long sink;
+
+	@BeforeEach
+	void before() {
+		modelInfo = new EMFModelInfoImpl();
+		for (int p = 0; p < PACKAGE_COUNT; p++) {
+			EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+			ePackage.setName("bench" + p);
+			ePackage.setNsURI("http://test.org/bench" + p);
+			ePackage.setNsPrefix("bench" + p);
+			EClass parent = null;
+			for (int c = 0; c < CLASSES_PER_PACKAGE; c++) {
+				EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+				eClass.setName("Type" + c);
+				eClass.setInstanceClass(INSTANCE_CLASSES[(p * CLASSES_PER_PACKAGE + c) % INSTANCE_CLASSES.length]);
+				if (parent != null && c % CHAIN_LENGTH != 0) {
+					eClass.getESuperTypes().add(parent);
+				}
+				ePackage.getEClassifiers().add(eClass);
+				eClasses.add(eClass);
+				parent = eClass;
+			}
+			modelInfo.bindEPackageConfigurator(new EPackageConfigurator() {
+
+				@Override
+				public void configureEPackage(EPackage.Registry registry) {
+					registry.put(ePackage.getNsURI(), ePackage);
+				}
+
+				@Override
+				public void unconfigureEPackage(EPackage.Registry registry) {
+					registry.remove(ePackage.getNsURI());
+				}
+			}, Map.of());
+		}
+	}
+
+	@Test
+	void classLookups() {
+		long byName = measure(i -> modelInfo.getEClassifierForClass(
+				INSTANCE_CLASSES[i % INSTANCE_CLASSES.length].getName()).isPresent());
+		long byClass = measure(i -> modelInfo.getEClassifierForClass(
+				INSTANCE_CLASSES[i % INSTANCE_CLASSES.length]).isPresent());
+		report("class name lookup", byName);
+		report("class lookup", byClass);
+		assertTrue(sink > 0);
+	}
+
+	@Test
+	void subTypeChecks() {
+		int size = eClasses.size();
+		long walk = measure(i -> eClasses.get(i % size).isSuperTypeOf(eClasses.get((i * 31) % size)));
+		long indexed = measure(
+				i -> modelInfo.isAssignableFrom(eClasses.get(i % size), eClasses.get((i * 31) % size)));
+		long subTypes = measure(i -> modelInfo.getAllSubTypes(eClasses.get(i % size))
+				.contains(eClasses.get((i * 31) % size)));
+		report("EClass.isSuperTypeOf", walk);
+		report("isAssignableFrom", indexed);
+		report("getAllSubTypes().contains", subTypes);
+		assertTrue(sink > 0);
+	}
+
+	/**
+	 * Runs the operation {@link #ROUNDS} times over all EClasses after a warm up.
+	 *
+	 * @return the best time per operation in nanoseconds
+	 */
+	private long measure(IntPredicate operation) {
+		int operations = eClasses.size() * 10;
+		long best = Long.MAX_VALUE;
+		for (int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+			int hits = 0;
+			long start = System.nanoTime();
+			for (int i = 0; i < operations; i++) {
+				if (operation.test(i)) {
+					hits++;
+				}
+			}
+			long perOp = (System.nanoTime() - start) / operations;
+			// keeps the results alive
+			sink += hits;
+			if (round >= WARMUP_ROUNDS) {
+				best = Math.min(best, perOp);
+			}
+		}
+		return best;
+	}
+
+	private void report(String name, long nanosPerOp) {
+		logger.info(() -> String.format("EMFModelInfo %-28s %6d ns/op (%d EClasses)", name, nanosPerOp, eClasses.size()));
+	}
+}
@@ -0,0 +1,402 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.model.info.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EFactory;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.fennec.emf.osgi.configurator.EPackageConfigurator;
+import org.eclipse.fennec.emf.osgi.constants.EMFNamespaces;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the incremental index of {@link EMFModelInfoImpl}.
+ */
+class EMFModelInfoImplTest {
+
+	interface Animal {
+	}
+
+	interface Dog extends Animal {
+	}
+
+	interface Puppy extends Dog {
+	}
+
+	private EMFModelInfoImpl modelInfo;
+
+	@BeforeEach
+	void before() {
+		modelInfo = new EMFModelInfoImpl();
+	}
+
+	private static EClass createEClass(EPackage ePackage, String name, Class<?> instanceClass, EClass... superTypes) {
+		EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+		eClass.setName(name);
+		eClass.setInstanceClass(instanceClass);
+		eClass.getESuperTypes().addAll(List.of(superTypes));
+		ePackage.getEClassifiers().add(eClass);
+		return eClass;
+	}
+
+	private static EPackage createEPackage(String name) {
+		EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setName(name);
+		ePackage.setNsURI("http://test.org/" + name);
+		ePackage.setNsPrefix(name);
+		return ePackage;
+	}
+
+	private static EPackageConfigurator configurator(EPackage ePackage) {
+		return new EPackageConfigurator() {
+
+			@Override
+			public void configureEPackage(EPackage.Registry registry) {
+				registry.put(ePackage.getNsURI(), ePackage);
+			}
+
+			@Override
+			public void unconfigureEPackage(EPackage.Registry registry) {
+				registry.remove(ePackage.getNsURI());
+			}
+		};
+	}
+
+	@Test
+	void bindIndexesClassesAndHierarchy() {
+		EPackage base = createEPackage("base");
+		EClass animal = createEClass(base, "Animal", Animal.class);
+		EClass dog = createEClass(base, "Dog", Dog.class, animal);
+
+		modelInfo.bindEPackageConfigurator(configurator(base), Map.of());
+
+		assertEquals(animal, modelInfo.getEClassifierForClass(Animal.class).orElseThrow());
+		assertEquals(dog, modelInfo.getEClassifierForClass(Dog.class.getName()).orElseThrow());
+		assertEquals(List.of(dog), modelInfo.getUpperTypeHierarchyForEClass(animal));
+		assertTrue(modelInfo.getUpperTypeHierarchyForEClass(dog).isEmpty());
+	}
+
+	@Test
+	void subTypesBoundBeforeSuperTypeAreKept() {
+		EPackage base = createEPackage("base");
+		EClass animal = createEClass(base, "Animal", Animal.class);
+		EPackage ext = createEPackage("ext");
+		EClass dog = createEClass(ext, "Dog", Dog.class, animal);
+
+		modelInfo.bindEPackageConfigurator(configurator(ext), Map.of());
+		// Animal is not indexed yet
+		assertTrue(modelInfo.getUpperTypeHierarchyForEClass(animal).isEmpty());
+
+		modelInfo.bindEPackageConfigurator(configurator(base), Map.of());
+		assertEquals(List.of(dog), modelInfo.getUpperTypeHierarchyForEClass(animal));
+	}
+
+	@Test
+	void unbindRemovesOnlyThatPackage() {
+		EPackage base = createEPackage("base");
+		EClass animal = createEClass(base, "Animal", Animal.class);
+		EPackage ext = createEPackage("ext");
+		EClass dog = createEClass(ext, "Dog", Dog.class, animal);
+		EClass puppy = createEClass(ext, "Puppy", Puppy.class, dog);
+
+		EPackageConfigurator baseConfigurator = configurator(base);
+		EPackageConfigurator extConfigurator = configurator(ext);
+		modelInfo.bindEPackageConfigurator(baseConfigurator, Map.of());
+		modelInfo.bindEPackageConfigurator(extConfigurator, Map.of());
+		assertEquals(List.of(dog, puppy), modelInfo.getUpperTypeHierarchyForEClass(animal));
+
+		modelInfo.unbindEPackageConfigurator(extConfigurator);
+
+		assertTrue(modelInfo.getEClassifierForClass(Animal.class).isPresent());
+		assertFalse(modelInfo.getEClassifierForClass(Dog.class).isPresent());
+		assertFalse(modelInfo.getEClassifierForClass(Puppy.class.getName()).isPresent());
+		assertTrue(modelInfo.getUpperTypeHierarchyForEClass(animal).isEmpty());
+		assertTrue(modelInfo.getUpperTypeHierarchyForEClass(dog).isEmpty());
+		assertFalse(modelInfo.containsKey(ext.getNsURI()));
+
+		// Binding again restores the index
+		modelInfo.bindEPackageConfigurator(extConfigurator, Map.of());
+		assertEquals(List.of(dog, puppy), modelInfo.getUpperTypeHierarchyForEClass(animal));
+	}
+
+	private static EPackage.Descriptor countingDescriptor(EPackage ePackage, AtomicInteger loads) {
+		return new EPackage.Descriptor() {
+
+			@Override
+			public EPackage getEPackage() {
+				loads.incrementAndGet();
+				return ePackage;
+			}
+
+			@Override
+			public EFactory getEFactory() {
+				return ePackage.getEFactoryInstance();
+			}
+		};
+	}
+
+	private static EPackageConfigurator descriptorConfigurator(String nsURI, EPackage.Descriptor descriptor) {
+		return new EPackageConfigurator() {
+
+			@Override
+			public void configureEPackage(EPackage.Registry registry) {
+				registry.put(nsURI, descriptor);
+			}
+
+			@Override
+			public void unconfigureEPackage(EPackage.Registry registry) {
+				registry.remove(nsURI);
+			}
+		};
+	}
+
+	@Test
+	void descriptorsAreResolvedByNamespaceURI() {
+		EPackage base = createEPackage("base");
+		EClass animal = createEClass(base, "Animal", Animal.class);
+		EClass dog = createEClass(base, "Dog", Dog.class, animal);
+		EPackage other = createEPackage("other");
+		createEClass(other, "Puppy", Puppy.class);
+		AtomicInteger baseLoads = new AtomicInteger();
+		AtomicInteger otherLoads = new AtomicInteger();
+		EPackageConfigurator lazyConfigurator = descriptorConfigurator(base.getNsURI(),
+				countingDescriptor(base, baseLoads));
+		modelInfo.bindEPackageConfigurator(lazyConfigurator, Map.of());
+		modelInfo.bindEPackageConfigurator(
+				descriptorConfigurator(other.getNsURI(), countingDescriptor(other, otherLoads)), Map.of());
+
+		// misses without a candidate descriptor resolve nothing
+		assertFalse(modelInfo.getEClassifierForClass(Dog.class).isPresent());
+		assertFalse(modelInfo.getEClassifierForClass("org.example.Unknown").isPresent());
+		assertTrue(modelInfo.getUpperTypeHierarchyForEClass(EcorePackage.Literals.ECLASS).isEmpty());
+		assertTrue(modelInfo.isAssignableFrom(animal, dog));
+		assertEquals(0, baseLoads.get());
+
+		// the namespace URI of the EClass selects the descriptor
+		assertEquals(List.of(dog), modelInfo.getUpperTypeHierarchyForEClass(animal));
+		assertEquals(dog, modelInfo.getEClassifierForClass(Dog.class).orElseThrow());
+		assertEquals(1, baseLoads.get());
+		assertEquals(0, otherLoads.get());
+
+		modelInfo.unbindEPackageConfigurator(lazyConfigurator);
+		assertFalse(modelInfo.getEClassifierForClass(Dog.class).isPresent());
+		assertEquals(1, baseLoads.get());
+	}
+
+	@Test
+	void descriptorsAreResolvedByPackageName() {
+		EPackage base = createEPackage("base");
+		EClass animal = createEClass(base, "Animal", Animal.class);
+		EClass dog = createEClass(base, "Dog", Dog.class, animal);
+		EPackage other = createEPackage("other");
+		createEClass(other, "Puppy", Puppy.class);
+		AtomicInteger baseLoads = new AtomicInteger();
+		AtomicInteger otherLoads = new AtomicInteger();
+		// the test classes are in the Java package impl
+		modelInfo.bindEPackageConfigurator(descriptorConfigurator(base.getNsURI(),
+				countingDescriptor(base, baseLoads)), Map.of(EMFNamespaces.EMF_NAME, "Impl"));
+		modelInfo.bindEPackageConfigurator(descriptorConfigurator(other.getNsURI(),
+				countingDescriptor(other, otherLoads)), Map.of(EMFNamespaces.EMF_NAME, "other"));
+
+		assertEquals(Map.of(Dog.class.getName(), dog),
+				modelInfo.getEClassifiersForClassNames(List.of(Dog.class.getName(), "org.example.Unknown")));
+		assertEquals(animal, modelInfo.getEClassifierForClass(Animal.class).orElseThrow());
+		assertEquals(1, baseLoads.get());
+		assertEquals(0, otherLoads.get());
+	}
+
+	@Test
+	void failedDescriptorIsNotResolvedAgain() {
+		AtomicInteger loads = new AtomicInteger();
+		EPackage.Descriptor failing = new EPackage.Descriptor() {
+
+			@Override
+			public EPackage getEPackage() {
+				loads.incrementAndGet();
+				throw new IllegalStateException("test");
+			}
+
+			@Override
+			public EFactory getEFactory() {
+				return null;
+			}
+		};
+		EPackage base = createEPackage("base");
+		EClass animal = createEClass(base, "Animal", Animal.class);
+		modelInfo.bindEPackageConfigurator(descriptorConfigurator(base.getNsURI(), failing), Map.of());
+
+		assertTrue(modelInfo.getAllSubTypes(animal).isEmpty());
+		assertTrue(modelInfo.getAllSubTypes(animal).isEmpty());
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void packageSharedByConfiguratorsStaysIndexed() {
+		EPackage base = createEPackage("base");
+		EClass animal = createEClass(base, "Animal", Animal.class);
+
+		EPackageConfigurator first = configurator(base);
+		EPackageConfigurator second = configurator(base);
+		modelInfo.bindEPackageConfigurator(first, Map.of());
+		modelInfo.bindEPackageConfigurator(second, Map.of());
+
+		modelInfo.unbindEPackageConfigurator(first);
+		assertEquals(animal, modelInfo.getEClassifierForClass(Animal.class).orElseThrow());
+
+		modelInfo.unbindEPackageConfigurator(second);
+		assertFalse(modelInfo.getEClassifierForClass(Animal.class).isPresent());
+	}
+
+	@Test
+	void ecoreClassesAreIndexedWithoutHierarchy() {
+		modelInfo.bindEPackageConfigurator(configurator(EcorePackage.eINSTANCE), Map.of());
+
+		assertEquals(EcorePackage.Literals.ECLASS, modelInfo.getEClassifierForClass(EClass.class).orElseThrow());
+		assertTrue(modelInfo.getUpperTypeHierarchyForEClass(EcorePackage.Literals.ECLASSIFIER).isEmpty());
+	}
+
+	@Test
+	void classNameLookupsUseIndex() {
+		EPackage base = createEPackage("base");
+		EClass animal = createEClass(base, "Animal", Animal.class);
+		EClass dog = createEClass(base, "Dog", Dog.class, animal);
+		modelInfo.bindEPackageConfigurator(configurator(base), Map.of());
+
+		Map<String, ?> result = modelInfo.getEClassifiersForClassNames(
+				List.of(Animal.class.getName(), Dog.class.getName(), "org.example.Unknown"));
+
+		assertEquals(Map.of(Animal.class.getName(), animal, Dog.class.getName(), dog), result);
+		assertFalse(modelInfo.getEClassifierForClass("org.example.Unknown").isPresent());
+	}
+
+	@Test
+	void subTypesAndAssignability() {
+		EPackage base = createEPackage("base");
+		EClass animal = createEClass(base, "Animal", Animal.class);
+		EClass dog = createEClass(base, "Dog", Dog.class, animal);
+		EClass puppy = createEClass(base, "Puppy", Puppy.class, dog);
+		modelInfo.bindEPackageConfigurator(configurator(base), Map.of());
+
+		assertEquals(Set.of(dog, puppy), modelInfo.getAllSubTypes(animal));
+		assertEquals(Set.of(puppy), modelInfo.getAllSubTypes(dog));
+		assertTrue(modelInfo.getAllSubTypes(puppy).isEmpty());
+		assertTrue(modelInfo.getAllSubTypes(animal).contains(puppy));
+		assertFalse(modelInfo.getAllSubTypes(dog).contains(animal));
+
+		assertTrue(modelInfo.isAssignableFrom(animal, puppy));
+		assertTrue(modelInfo.isAssignableFrom(dog, dog));
+		assertFalse(modelInfo.isAssignableFrom(puppy, animal));
+		// not indexed, falls back to the model
+		EClass unboundDog = createEClass(createEPackage("unbound"), "Dog", Dog.class, animal);
+		assertTrue(modelInfo.isAssignableFrom(animal, unboundDog));
+		assertFalse(modelInfo.isAssignableFrom(dog, unboundDog));
+	}
+
+	@Test
+	void removedIdsDoNotLeakSubTypes() {
+		EPackage base = createEPackage("base");
+		EClass animal = createEClass(base, "Animal", Animal.class);
+		EPackage ext = createEPackage("ext");
+		EClass dog = createEClass(ext, "Dog", Dog.class, animal);
+		EPackage other = createEPackage("other");
+		EClass puppy = createEClass(other, "Puppy", Puppy.class);
+
+		EPackageConfigurator extConfigurator = configurator(ext);
+		modelInfo.bindEPackageConfigurator(configurator(base), Map.of());
+		modelInfo.bindEPackageConfigurator(extConfigurator, Map.of());
+		assertTrue(modelInfo.isAssignableFrom(animal, dog));
+
+		modelInfo.unbindEPackageConfigurator(extConfigurator);
+		// Puppy gets the id Dog had before
+		modelInfo.bindEPackageConfigurator(configurator(other), Map.of());
+
+		assertTrue(modelInfo.getAllSubTypes(animal).isEmpty());
+		assertFalse(modelInfo.isAssignableFrom(animal, puppy));
+		assertEquals(2, modelInfo.getEClassIdRange());
+	}
+
+	@Test
+	void idsAreReclaimedAcrossRebinds() {
+		EPackage base = createEPackage("base");
+		EClass animal = createEClass(base, "Animal", Animal.class);
+		EPackage ext = createEPackage("ext");
+		EClass dog = createEClass(ext, "Dog", Dog.class, animal);
+		EClass puppy = createEClass(ext, "Puppy", Puppy.class, dog);
+
+		modelInfo.bindEPackageConfigurator(configurator(base), Map.of());
+		Set<EClass> before = modelInfo.getAllSubTypes(animal);
+		for (int i = 0; i < 100; i++) {
+			EPackageConfigurator extConfigurator = configurator(ext);
+			modelInfo.bindEPackageConfigurator(extConfigurator, Map.of());
+			assertEquals(Set.of(dog, puppy), modelInfo.getAllSubTypes(animal));
+			modelInfo.unbindEPackageConfigurator(extConfigurator);
+		}
+
+		assertEquals(3, modelInfo.getEClassIdRange());
+		assertTrue(modelInfo.getAllSubTypes(animal).isEmpty());
+		// a set read before keeps showing its snapshot
+		assertTrue(before.isEmpty());
+	}
+
+	@Test
+	void subTypeSetKeepsItsSnapshot() {
+		EPackage base = createEPackage("base");
+		EClass animal = createEClass(base, "Animal", Animal.class);
+		EClass dog = createEClass(base, "Dog", Dog.class, animal);
+		EPackage other = createEPackage("other");
+		EClass puppy = createEClass(other, "Puppy", Puppy.class);
+
+		EPackageConfigurator baseConfigurator = configurator(base);
+		modelInfo.bindEPackageConfigurator(baseConfigurator, Map.of());
+		Set<EClass> subTypes = modelInfo.getAllSubTypes(animal);
+
+		modelInfo.unbindEPackageConfigurator(baseConfigurator);
+		// reuses the ids of Animal and Dog
+		modelInfo.bindEPackageConfigurator(configurator(other), Map.of());
+
+		assertEquals(Set.of(dog), subTypes);
+		assertFalse(subTypes.contains(puppy));
+	}
+
+	@Test
+	void cachedClassLookupFollowsChanges() {
+		EPackage base = createEPackage("base");
+		EClass animal = createEClass(base, "Animal", Animal.class);
+		EPackage replacement = createEPackage("replacement");
+		EClass otherAnimal = createEClass(replacement, "Animal", Animal.class);
+
+		EPackageConfigurator replacementConfigurator = configurator(replacement);
+		modelInfo.bindEPackageConfigurator(configurator(base), Map.of());
+		assertEquals(animal, modelInfo.getEClassifierForClass(Animal.class).orElseThrow());
+
+		modelInfo.bindEPackageConfigurator(replacementConfigurator, Map.of());
+		assertEquals(otherAnimal, modelInfo.getEClassifierForClass(Animal.class).orElseThrow());
+		assertEquals(otherAnimal, modelInfo.getEClassifierForClass(Animal.class.getName()).orElseThrow());
+
+		modelInfo.unbindEPackageConfigurator(replacementConfigurator);
+		assertEquals(animal, modelInfo.getEClassifierForClass(Animal.class).orElseThrow());
+		assertEquals(animal, modelInfo.getEClassifierForClass(Animal.class.getName()).orElseThrow());
+	}
+}
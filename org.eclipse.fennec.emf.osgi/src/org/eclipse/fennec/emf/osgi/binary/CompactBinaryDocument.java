@@ -0,0 +1,646 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.binary;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.ECollections;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.Enumerator;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EDataType;
+import org.eclipse.emf.ecore.EEnum;
+import org.eclipse.emf.ecore.EEnumLiteral;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.FeatureMap;
+import org.eclipse.emf.ecore.util.FeatureMapUtil;
+import org.eclipse.emf.ecore.util.InternalEList;
+
+/**
+ * Random access reader of the compact binary resource format.
+ * <p>
+ * The format starts with the magic <code>FECB</code> and a version. The objects follow in containment pre order,
+ * so every subtree occupies a contiguous range of object ids. An object is its class id followed by pairs of
+ * feature id + 1 and value, terminated by 0. All integers are varints, signed values zig-zag encoded. Strings,
+ * including URIs and data type conversions, are 0 for <code>null</code>, the id + 2 of a string in the deduplicated
+ * string table or 1 followed by the length and the UTF-8 bytes of an inline string, once the string table of the
+ * writer is full. References are 0 for <code>null</code>, object id + 2 for objects of the document and 1 followed
+ * by class id and URI for external objects. The object index has a fixed width entry per object with its 8 byte
+ * offset and its parent id, it is written in segments of {@link #SEGMENT_SIZE} objects between the objects. The
+ * roots are the objects without parent. After the objects come the class table, the string table and the
+ * directory with the offsets of the index segments. A fixed size trailer holds the offsets of the tables.
+ * <p>
+ * The index allows to inspect single objects and to decode subtrees without decoding the whole document. The
+ * document works on any {@link ByteBuffer}, for files {@link #open(Path, URI, EPackage.Registry)} maps the file
+ * into memory, so the content is read without copying it into the heap. Files larger than a single buffer are
+ * mapped in chunks. Strings of the string table are decoded on first use.
+ * <p>
+ * A document is not thread safe.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public final class CompactBinaryDocument {
+
+	static final byte[] MAGIC = { 'F', 'E', 'C', 'B' };
+	static final byte VERSION = 2;
+	static final int HEADER_LENGTH = 8;
+	static final int TRAILER_LENGTH = 3 * Long.BYTES + 2 * Integer.BYTES + 4;
+	/** The number of objects of an index segment */
+	static final int SEGMENT_SIZE = 4096;
+	static final int INDEX_ENTRY_LENGTH = Long.BYTES + Integer.BYTES;
+	/** The default estimated heap size of the string table of a writer */
+	static final long DEFAULT_STRING_TABLE_LIMIT = 8L * 1024 * 1024;
+	/* the estimated heap size of a table entry besides its characters: map node, string, array and list slot */
+	static final int STRING_TABLE_ENTRY_OVERHEAD = 64;
+	/* files are mapped in chunks of 1 GB */
+	static final int CHUNK_SHIFT = 30;
+
+	private final ByteBuffer[] chunks;
+	private final int chunkShift;
+	private final long chunkMask;
+	private final URI uri;
+	private final EPackage.Registry registry;
+	private final int objectCount;
+	private final int segmentSize;
+	private final long[] segments;
+	private int[] roots;
+	private final String[] classNames;
+	private final EClass[] classes;
+	private final long[] stringOffsets;
+	private final String[] strings;
+	private final Map<EDataType, ValueKind> kinds = new IdentityHashMap<>();
+	private long position;
+
+	/**
+	 * Maps the file into memory and opens it as document
+	 * @param path the file
+	 * @param uri the URI of the document, used for proxies, can be <code>null</code>
+	 * @param registry the registry to resolve the classes, must not be <code>null</code>
+	 * @return the document
+	 * @throws IOException if the file cannot be mapped or is no compact binary document
+	 */
+	public static CompactBinaryDocument open(Path path, URI uri, EPackage.Registry registry) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return new CompactBinaryDocument(map(channel, 0), CHUNK_SHIFT, uri, registry);
+		}
+	}
+
+	/**
+	 * Maps the content of the channel from the start position in chunks of 1 GB
+	 * @param channel the channel
+	 * @param start the start position
+	 * @return the chunks
+	 * @throws IOException if mapping fails
+	 */
+	static ByteBuffer[] map(FileChannel channel, long start) throws IOException {
+		long length = channel.size() - start;
+		long chunkSize = 1L << CHUNK_SHIFT;
+		ByteBuffer[] mapped = new ByteBuffer[(int) Math.max(1, (length + chunkSize - 1) >>> CHUNK_SHIFT)];
+		for (int i = 0; i < mapped.length; i++) {
+			long offset = i * chunkSize;
+			mapped[i] = channel.map(MapMode.READ_ONLY, start + offset, Math.min(chunkSize, length - offset));
+		}
+		return mapped;
+	}
+
+	/**
+	 * Creates a new document over the content of the buffer between its position and limit
+	 * @param buffer the buffer, must not be <code>null</code>
+	 * @param uri the URI of the document, used for proxies, can be <code>null</code>
+	 * @param registry the registry to resolve the classes, must not be <code>null</code>
+	 * @throws IOException if the content is no compact binary document
+	 */
+	public CompactBinaryDocument(ByteBuffer buffer, URI uri, EPackage.Registry registry) throws IOException {
+		this(new ByteBuffer[] { requireNonNull(buffer) }, Integer.SIZE - 1, uri, registry);
+	}
+
+	/**
+	 * Creates a new document over consecutive chunks. All chunks, but the last, have the size
+	 * <code>1 &lt;&lt; chunkShift</code>.
+	 * @param content the chunks, from their position to their limit
+	 * @param chunkShift the binary logarithm of the chunk size
+	 * @param uri the URI of the document, used for proxies, can be <code>null</code>
+	 * @param registry the registry to resolve the classes, must not be <code>null</code>
+	 * @throws IOException if the content is no compact binary document
+	 */
+	CompactBinaryDocument(ByteBuffer[] content, int chunkShift, URI uri, EPackage.Registry registry) throws IOException {
+		this.chunks = new ByteBuffer[content.length];
+		long length = 0;
+		for (int i = 0; i < content.length; i++) {
+			chunks[i] = content[i].slice();
+			length += chunks[i].limit();
+		}
+		this.chunkShift = chunkShift;
+		this.chunkMask = (1L << chunkShift) - 1;
+		this.uri = uri;
+		this.registry = requireNonNull(registry);
+		if (length < HEADER_LENGTH + TRAILER_LENGTH || !hasMagic(0) || !hasMagic(length - MAGIC.length)) {
+			throw new IOException("The content of " + uri + " is no compact binary document");
+		}
+		if (byteAt(MAGIC.length) != VERSION) {
+			throw new IOException("Unsupported version " + byteAt(MAGIC.length) + " of the compact binary document " + uri);
+		}
+		long trailer = length - TRAILER_LENGTH;
+		long classOffset = longAt(trailer);
+		long stringOffset = longAt(trailer + 8);
+		long directoryOffset = longAt(trailer + 16);
+		objectCount = intAt(trailer + 24);
+		segmentSize = intAt(trailer + 28);
+		if (objectCount < 0 || segmentSize <= 0) {
+			throw new IOException("The compact binary document " + uri + " is corrupted");
+		}
+		segments = new long[(int) ((objectCount + (long) segmentSize - 1) / segmentSize)];
+		if (directoryOffset + segments.length * 8L != trailer) {
+			throw new IOException("The compact binary document " + uri + " is corrupted");
+		}
+		for (int i = 0; i < segments.length; i++) {
+			segments[i] = longAt(directoryOffset + i * 8L);
+		}
+		position = stringOffset;
+		stringOffsets = new long[readVarInt()];
+		for (int i = 0; i < stringOffsets.length; i++) {
+			stringOffsets[i] = position;
+			position += readVarInt();
+		}
+		strings = new String[stringOffsets.length];
+		position = classOffset;
+		classNames = new String[readVarInt() * 2];
+		for (int i = 0; i < classNames.length; i++) {
+			classNames[i] = readString();
+		}
+		classes = new EClass[classNames.length / 2];
+	}
+
+	/**
+	 * Returns the number of objects in the document
+	 * @return the object count
+	 */
+	public int getObjectCount() {
+		return objectCount;
+	}
+
+	/**
+	 * Returns the ids of the root objects
+	 * @return the root ids
+	 */
+	public int[] getRootIds() {
+		return roots().clone();
+	}
+
+	/* the roots are the objects without parent, they are collected on first use */
+	private int[] roots() {
+		if (roots == null) {
+			int[] found = new int[16];
+			int count = 0;
+			for (int id = 0; id < objectCount; id++) {
+				if (getParentId(id) == -1) {
+					if (count == found.length) {
+						found = Arrays.copyOf(found, count * 2);
+					}
+					found[count++] = id;
+				}
+			}
+			roots = Arrays.copyOf(found, count);
+		}
+		return roots;
+	}
+
+	/**
+	 * Returns the id of the container of an object
+	 * @param id the object id
+	 * @return the container id or -1 for root objects
+	 */
+	public int getParentId(int id) {
+		return intAt(indexEntry(id) + Long.BYTES);
+	}
+
+	/**
+	 * Returns the exclusive end of the id range of the subtree of an object
+	 * @param id the object id
+	 * @return the id after the last object of the subtree
+	 */
+	public int getSubtreeEnd(int id) {
+		checkId(id);
+		int end = id + 1;
+		// in pre order, every object of the subtree has its parent in the subtree
+		while (end < objectCount && getParentId(end) >= id) {
+			end++;
+		}
+		return end;
+	}
+
+	/**
+	 * Returns the class of an object without decoding it
+	 * @param id the object id
+	 * @return the class
+	 * @throws IOException if the class cannot be resolved
+	 */
+	public EClass getEClass(int id) throws IOException {
+		position = offset(id);
+		return eClass(readVarInt());
+	}
+
+	/**
+	 * Returns the URI fragment of an object, as used by the resource for the containment path
+	 * @param id the object id
+	 * @return the fragment
+	 * @throws IOException if the document cannot be read
+	 */
+	public String getURIFragment(int id) throws IOException {
+		checkId(id);
+		Deque<String> path = new ArrayDeque<>();
+		int current = id;
+		for (int parent = getParentId(current); parent != -1; current = parent, parent = getParentId(current)) {
+			path.push(childSegment(parent, current));
+		}
+		StringBuilder fragment = new StringBuilder("/");
+		fragment.append(Arrays.binarySearch(roots(), current));
+		for (String segment : path) {
+			fragment.append('/').append(segment);
+		}
+		return fragment.toString();
+	}
+
+	/**
+	 * Decodes all objects of the document
+	 * @return the root objects
+	 * @throws IOException if the document cannot be decoded
+	 */
+	public List<EObject> decodeAll() throws IOException {
+		EObject[] objects = decodeRange(0, objectCount);
+		int[] rootIds = roots();
+		List<EObject> result = new ArrayList<>(rootIds.length);
+		for (int root : rootIds) {
+			result.add(objects[root]);
+		}
+		return result;
+	}
+
+	/**
+	 * Decodes the subtree of an object. References to objects of the document outside of the subtree become
+	 * proxies with the document URI and the {@link #getURIFragment(int) fragment} of their target.
+	 * @param id the object id
+	 * @return the decoded object
+	 * @throws IOException if the document cannot be decoded
+	 */
+	public EObject decode(int id) throws IOException {
+		checkId(id);
+		return decodeRange(id, getSubtreeEnd(id))[0];
+	}
+
+	private EObject[] decodeRange(int from, int to) throws IOException {
+		EObject[] objects = new EObject[to - from];
+		for (int id = from; id < to; id++) {
+			objects[id - from] = EcoreUtil.create(getEClass(id));
+		}
+		List<Runnable> opposites = new ArrayList<>();
+		for (int id = from; id < to; id++) {
+			populate(objects[id - from], id, from, objects, opposites);
+		}
+		// bidirectional references are set, when all objects are populated, to keep the order of both sides
+		opposites.forEach(Runnable::run);
+		return objects;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void populate(EObject eObject, int id, int from, EObject[] objects, List<Runnable> opposites) throws IOException {
+		position = offset(id);
+		EClass eClass = eClass(readVarInt());
+		for (int featureID = readVarInt() - 1; featureID >= 0; featureID = readVarInt() - 1) {
+			EStructuralFeature feature = feature(eClass, featureID);
+			if (FeatureMapUtil.isFeatureMap(feature)) {
+				int size = readVarInt();
+				FeatureMap featureMap = (FeatureMap) eObject.eGet(feature);
+				for (int i = 0; i < size; i++) {
+					EStructuralFeature entryFeature = feature(eClass(readVarInt()), readVarInt());
+					featureMap.add(entryFeature, readSingle(entryFeature, from, objects));
+				}
+			} else if (feature.isMany()) {
+				int size = readVarInt();
+				List<Object> values = new ArrayList<>(size);
+				for (int i = 0; i < size; i++) {
+					values.add(readSingle(feature, from, objects));
+				}
+				EList<Object> list = (EList<Object>) eObject.eGet(feature, false);
+				if (isBidirectional(feature)) {
+					opposites.add(() -> ECollections.setEList(list, values));
+				} else {
+					((InternalEList<Object>) list).addAllUnique(values);
+				}
+			} else {
+				Object value = readSingle(feature, from, objects);
+				if (isBidirectional(feature)) {
+					opposites.add(() -> {
+						if (eObject.eGet(feature, false) != value) {
+							eObject.eSet(feature, value);
+						}
+					});
+				} else {
+					eObject.eSet(feature, value);
+				}
+			}
+		}
+	}
+
+	private Object readSingle(EStructuralFeature feature, int from, EObject[] objects) throws IOException {
+		if (feature instanceof EAttribute attribute) {
+			return readAttributeValue(attribute.getEAttributeType());
+		}
+		int target = readVarInt();
+		if (target == 0) {
+			return null;
+		}
+		if (target == 1) {
+			InternalEObject proxy = (InternalEObject) EcoreUtil.create(eClass(readVarInt()));
+			URI proxyURI = URI.createURI(requireString());
+			if (uri != null && proxyURI.isRelative() && uri.isHierarchical() && !uri.isRelative()) {
+				proxyURI = proxyURI.resolve(uri);
+			}
+			proxy.eSetProxyURI(proxyURI);
+			return proxy;
+		}
+		int id = target - 2;
+		if (id >= from && id < from + objects.length) {
+			return objects[id - from];
+		}
+		// outside of the decoded subtree
+		long current = position;
+		InternalEObject proxy = (InternalEObject) EcoreUtil.create(getEClass(id));
+		String fragment = getURIFragment(id);
+		proxy.eSetProxyURI(uri == null ? URI.createURI("#" + fragment) : uri.appendFragment(fragment));
+		position = current;
+		return proxy;
+	}
+
+	private Object readAttributeValue(EDataType dataType) throws IOException {
+		ValueKind kind = kinds.computeIfAbsent(dataType, ValueKind::of);
+		if (kind.hasPresenceByte(dataType) && byteAt(position++) == 0) {
+			return null;
+		}
+		switch (kind) {
+		case STRING:
+			return readString();
+		case BOOLEAN:
+			return Boolean.valueOf(byteAt(position++) != 0);
+		case BYTE:
+			return Byte.valueOf((byte) unZigZag(readVarLong()));
+		case SHORT:
+			return Short.valueOf((short) unZigZag(readVarLong()));
+		case INT:
+			return Integer.valueOf((int) unZigZag(readVarLong()));
+		case CHAR:
+			return Character.valueOf((char) readVarInt());
+		case LONG:
+			return Long.valueOf(unZigZag(readVarLong()));
+		case FLOAT:
+			float f = Float.intBitsToFloat(intAt(position));
+			position += 4;
+			return Float.valueOf(f);
+		case DOUBLE:
+			double d = Double.longBitsToDouble(longAt(position));
+			position += 8;
+			return Double.valueOf(d);
+		case ENUM:
+			long literalValue = readVarLong();
+			if (literalValue == 0) {
+				return null;
+			}
+			EEnumLiteral literal = ((EEnum) dataType).getEEnumLiteral((int) unZigZag(literalValue - 1));
+			if (literal == null) {
+				throw new IOException("Unknown literal of " + dataType.getName() + " in " + uri);
+			}
+			Enumerator instance = literal.getInstance();
+			return instance == null ? literal : instance;
+		default:
+			String value = readString();
+			return value == null ? null : EcoreUtil.createFromString(dataType, value);
+		}
+	}
+
+	/* skips a value of the current object, returns the object id of a reference or -1 */
+	private int skipSingle(EStructuralFeature feature) throws IOException {
+		if (feature instanceof EAttribute attribute) {
+			readAttributeValue(attribute.getEAttributeType());
+			return -1;
+		}
+		int target = readVarInt();
+		if (target == 1) {
+			readVarInt();
+			readString();
+		}
+		return target - 2;
+	}
+
+	private String childSegment(int parent, int child) throws IOException {
+		position = offset(parent);
+		EClass eClass = eClass(readVarInt());
+		for (int featureID = readVarInt() - 1; featureID >= 0; featureID = readVarInt() - 1) {
+			EStructuralFeature feature = feature(eClass, featureID);
+			boolean containment = feature instanceof EReference reference && reference.isContainment();
+			if (FeatureMapUtil.isFeatureMap(feature)) {
+				int size = readVarInt();
+				Map<EStructuralFeature, Integer> indexes = new HashMap<>();
+				for (int i = 0; i < size; i++) {
+					EStructuralFeature entryFeature = feature(eClass(readVarInt()), readVarInt());
+					int index = indexes.merge(entryFeature, Integer.valueOf(1), Integer::sum).intValue() - 1;
+					if (skipSingle(entryFeature) == child && entryFeature instanceof EReference reference
+							&& reference.isContainment()) {
+						return segment(entryFeature, index);
+					}
+				}
+			} else if (feature.isMany()) {
+				int size = readVarInt();
+				for (int i = 0; i < size; i++) {
+					if (skipSingle(feature) == child && containment) {
+						return segment(feature, i);
+					}
+				}
+			} else if (skipSingle(feature) == child && containment) {
+				return segment(feature, -1);
+			}
+		}
+		throw new IOException("The object " + child + " is not contained in " + parent + " in " + uri);
+	}
+
+	/* containments are set directly, their opposite container references are not stored */
+	private static boolean isBidirectional(EStructuralFeature feature) {
+		return feature instanceof EReference reference && !reference.isContainment() && reference.getEOpposite() != null;
+	}
+
+	private static String segment(EStructuralFeature feature, int index) {
+		return "@" + feature.getName() + (feature.isMany() ? "." + index : "");
+	}
+
+	private EClass eClass(int classId) throws IOException {
+		if (classId < 0 || classId >= classes.length) {
+			throw new IOException("Unknown class id " + classId + " in " + uri);
+		}
+		EClass eClass = classes[classId];
+		if (eClass == null) {
+			String nsURI = classNames[classId * 2];
+			String name = classNames[classId * 2 + 1];
+			EPackage ePackage = registry.getEPackage(nsURI);
+			EClassifier eClassifier = ePackage == null ? null : ePackage.getEClassifier(name);
+			if (!(eClassifier instanceof EClass resolved)) {
+				throw new IOException("Unknown class " + nsURI + "#" + name + " in " + uri);
+			}
+			eClass = resolved;
+			classes[classId] = eClass;
+		}
+		return eClass;
+	}
+
+	private EStructuralFeature feature(EClass eClass, int featureID) throws IOException {
+		EStructuralFeature feature = eClass.getEStructuralFeature(featureID);
+		if (feature == null) {
+			throw new IOException("Unknown feature " + featureID + " of " + eClass.getName() + " in " + uri);
+		}
+		return feature;
+	}
+
+	/* reads a string reference or an inline string */
+	private String readString() throws IOException {
+		int reference = readVarInt();
+		if (reference == 0) {
+			return null;
+		}
+		if (reference == 1) {
+			return readUTF8();
+		}
+		int stringId = reference - 2;
+		if (stringId < 0 || stringId >= strings.length) {
+			throw new IOException("Unknown string id " + stringId + " in " + uri);
+		}
+		String string = strings[stringId];
+		if (string == null) {
+			long current = position;
+			position = stringOffsets[stringId];
+			string = readUTF8();
+			strings[stringId] = string;
+			position = current;
+		}
+		return string;
+	}
+
+	private String requireString() throws IOException {
+		String string = readString();
+		if (string == null) {
+			throw new IOException("Missing string in " + uri);
+		}
+		return string;
+	}
+
+	private String readUTF8() throws IOException {
+		byte[] bytes = new byte[readVarInt()];
+		for (int read = 0; read < bytes.length;) {
+			ByteBuffer chunk = chunks[(int) (position >>> chunkShift)];
+			int index = (int) (position & chunkMask);
+			int length = Math.min(bytes.length - read, chunk.limit() - index);
+			chunk.get(index, bytes, read, length);
+			read += length;
+			position += length;
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private long offset(int id) {
+		return longAt(indexEntry(id));
+	}
+
+	private long indexEntry(int id) {
+		checkId(id);
+		return segments[id / segmentSize] + (long) (id % segmentSize) * INDEX_ENTRY_LENGTH;
+	}
+
+	private void checkId(int id) {
+		if (id < 0 || id >= objectCount) {
+			throw new IndexOutOfBoundsException("Object id " + id + " of " + objectCount + " objects");
+		}
+	}
+
+	private boolean hasMagic(long index) {
+		for (int i = 0; i < MAGIC.length; i++) {
+			if (byteAt(index + i) != MAGIC[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private byte byteAt(long index) {
+		return chunks[(int) (index >>> chunkShift)].get((int) (index & chunkMask));
+	}
+
+	private int intAt(long index) {
+		ByteBuffer chunk = chunks[(int) (index >>> chunkShift)];
+		int offset = (int) (index & chunkMask);
+		if (offset + Integer.BYTES <= chunk.limit()) {
+			return chunk.getInt(offset);
+		}
+		// spans two chunks
+		int value = 0;
+		for (int i = 0; i < Integer.BYTES; i++) {
+			value = (value << 8) | (byteAt(index + i) & 0xFF);
+		}
+		return value;
+	}
+
+	private long longAt(long index) {
+		return ((long) intAt(index) << 32) | (intAt(index + Integer.BYTES) & 0xFFFFFFFFL);
+	}
+
+	private int readVarInt() throws IOException {
+		return (int) readVarLong();
+	}
+
+	private long readVarLong() throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = byteAt(position++);
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed varint in " + uri);
+	}
+
+	private static long unZigZag(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+}
@@ -0,0 +1,35 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.binary;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceFactoryImpl;
+
+/**
+ * Factory for the {@link CompactBinaryResourceImpl}
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class CompactBinaryResourceFactoryImpl extends ResourceFactoryImpl {
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.emf.ecore.resource.impl.ResourceFactoryImpl#createResource(org.eclipse.emf.common.util.URI)
+	 */
+	@Override
+	public Resource createResource(URI uri) {
+		return new CompactBinaryResourceImpl(uri);
+	}
+}
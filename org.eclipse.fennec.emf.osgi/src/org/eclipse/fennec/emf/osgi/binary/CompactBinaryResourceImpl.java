@@ -0,0 +1,90 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.binary;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.fennec.emf.osgi.urihandler.MappedFileURIHandlerImpl.MappedInputStream;
+
+/**
+ * Resource in the compact binary format of {@link CompactBinaryDocument}.
+ * <p>
+ * Files, that are read through a {@link FileInputStream}, like the ones of <code>file:</code> URIs, are mapped
+ * into memory in chunks of 1 GB instead of being read through the stream. The mapping of a {@link MappedInputStream} is used
+ * directly. Other streams are read into a heap buffer.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class CompactBinaryResourceImpl extends ResourceImpl {
+
+	/** The file extension of the format */
+	public static final String FILE_EXTENSION = "fbin";
+	/** The content type of the format */
+	public static final String CONTENT_TYPE = "application/x-fennec-binary";
+
+	/**
+	 * Creates a new instance.
+	 */
+	public CompactBinaryResourceImpl() {
+		super();
+	}
+
+	/**
+	 * Creates a new instance.
+	 * @param uri the resource URI
+	 */
+	public CompactBinaryResourceImpl(URI uri) {
+		super(uri);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.emf.ecore.resource.impl.ResourceImpl#doSave(java.io.OutputStream, java.util.Map)
+	 */
+	@Override
+	protected void doSave(OutputStream outputStream, Map<?, ?> options) throws IOException {
+		new CompactBinaryWriter(outputStream, getURI()).write(this);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.emf.ecore.resource.impl.ResourceImpl#doLoad(java.io.InputStream, java.util.Map)
+	 */
+	@Override
+	protected void doLoad(InputStream inputStream, Map<?, ?> options) throws IOException {
+		ResourceSet resourceSet = getResourceSet();
+		EPackage.Registry registry = resourceSet == null ? EPackage.Registry.INSTANCE : resourceSet.getPackageRegistry();
+		CompactBinaryDocument document;
+		if (inputStream instanceof FileInputStream fileInputStream) {
+			FileChannel channel = fileInputStream.getChannel();
+			document = new CompactBinaryDocument(CompactBinaryDocument.map(channel, channel.position()),
+					CompactBinaryDocument.CHUNK_SHIFT, getURI(), registry);
+		} else if (inputStream instanceof MappedInputStream mappedInputStream) {
+			document = new CompactBinaryDocument(mappedInputStream.getByteBuffer(), getURI(), registry);
+		} else {
+			document = new CompactBinaryDocument(ByteBuffer.wrap(inputStream.readAllBytes()), getURI(), registry);
+		}
+		getContents().addAll(document.decodeAll());
+	}
+}
@@ -0,0 +1,159 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.binary;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.fennec.emf.osgi.stream.StreamingResourceWriter;
+
+/**
+ * Writes a document in the format of {@link CompactBinaryDocument} root by root.
+ * <p>
+ * The objects of a root are written with their records as soon as the root is passed and are not referenced
+ * afterwards. The memory of the writer does not grow with the number of objects: the index is written in segments
+ * between the objects, the writer keeps the class table, the offsets of the index segments and the string table up
+ * to its size limit. Strings, that do not fit into the table, are written inline. The output goes through a buffer
+ * of 64 KB, the stream is flushed after a number of roots.
+ * <p>
+ * The writer is not thread safe.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class CompactBinaryStreamWriter implements StreamingResourceWriter {
+
+	/** Default number of roots, after which the stream is flushed */
+	public static final int DEFAULT_FLUSH_INTERVAL = 1000;
+	/** Default estimated heap size in bytes of the string table */
+	public static final long DEFAULT_STRING_TABLE_LIMIT = CompactBinaryDocument.DEFAULT_STRING_TABLE_LIMIT;
+
+	private final OutputStream outputStream;
+	private final CompactBinaryWriter writer;
+	private final int flushInterval;
+	private long count;
+	private int sinceFlush;
+	private boolean closed;
+
+	/**
+	 * Opens a stream to the URI through the {@link org.eclipse.emf.ecore.resource.URIConverter} of the resource set
+	 * @param resourceSet the resource set, must not be <code>null</code>
+	 * @param uri the document URI, must not be <code>null</code>
+	 * @param options the options for the URI handler, e.g. the chunk size for HTTP, can be <code>null</code>
+	 * @return the writer, that has to be closed to complete the document
+	 * @throws IOException if the stream cannot be opened
+	 */
+	public static CompactBinaryStreamWriter open(ResourceSet resourceSet, URI uri, Map<?, ?> options) throws IOException {
+		OutputStream outputStream = resourceSet.getURIConverter().createOutputStream(uri, options);
+		try {
+			return new CompactBinaryStreamWriter(outputStream, uri, DEFAULT_FLUSH_INTERVAL);
+		} catch (IOException | RuntimeException e) {
+			outputStream.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Creates a new instance and writes the header of the document.
+	 * @param outputStream the stream to write to, must not be <code>null</code>
+	 * @param uri the document URI, that references are deresolved against, can be <code>null</code>
+	 * @param flushInterval the number of roots, after which the stream is flushed, <code>0</code> to flush on close only
+	 * @throws IOException if writing fails
+	 */
+	public CompactBinaryStreamWriter(OutputStream outputStream, URI uri, int flushInterval) throws IOException {
+		this(outputStream, uri, flushInterval, DEFAULT_STRING_TABLE_LIMIT);
+	}
+
+	/**
+	 * Creates a new instance and writes the header of the document.
+	 * @param outputStream the stream to write to, must not be <code>null</code>
+	 * @param uri the document URI, that references are deresolved against, can be <code>null</code>
+	 * @param flushInterval the number of roots, after which the stream is flushed, <code>0</code> to flush on close only
+	 * @param stringTableLimit the estimated heap size in bytes of the string table, after which strings are written inline
+	 * @throws IOException if writing fails
+	 */
+	public CompactBinaryStreamWriter(OutputStream outputStream, URI uri, int flushInterval, long stringTableLimit) throws IOException {
+		this.outputStream = requireNonNull(outputStream);
+		this.writer = new CompactBinaryWriter(outputStream, uri, stringTableLimit);
+		this.flushInterval = Math.max(0, flushInterval);
+		writer.writeHeader();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.stream.StreamingResourceWriter#write(org.eclipse.emf.ecore.EObject)
+	 */
+	@Override
+	public void write(EObject root) throws IOException {
+		requireNonNull(root);
+		if (closed) {
+			throw new IOException("The writer is closed");
+		}
+		writer.writeRoots(List.of(root));
+		count++;
+		if (flushInterval > 0 && ++sinceFlush >= flushInterval) {
+			flush();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.stream.StreamingResourceWriter#getCount()
+	 */
+	@Override
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Returns the estimated heap size of the state, that the writer keeps until it is closed
+	 * @return the size in bytes
+	 */
+	long getRetainedSize() {
+		return writer.getRetainedSize();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.stream.StreamingResourceWriter#flush()
+	 */
+	@Override
+	public void flush() throws IOException {
+		sinceFlush = 0;
+		writer.flush();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.stream.StreamingResourceWriter#close()
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		try {
+			writer.finish();
+		} finally {
+			outputStream.close();
+		}
+	}
+}
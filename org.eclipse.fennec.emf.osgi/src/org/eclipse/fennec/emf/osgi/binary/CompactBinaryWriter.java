@@ -0,0 +1,449 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.binary;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.Enumerator;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EDataType;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.FeatureMap;
+import org.eclipse.emf.ecore.util.FeatureMapUtil;
+import org.eclipse.emf.ecore.util.InternalEList;
+
+/**
+ * Writes a resource or a stream of root objects in the format described at {@link CompactBinaryDocument}.
+ * <p>
+ * The memory of the writer is bounded: the index is written in segments of {@link CompactBinaryDocument#SEGMENT_SIZE}
+ * objects, between the objects, and only the offsets of the segments are kept. Strings are added to the string table
+ * up to its size limit, later strings, that are not in the table, are written inline.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+final class CompactBinaryWriter {
+
+	private final OutputStream out;
+	private final URI base;
+	private final String name;
+	private final long stringTableLimit;
+	private final byte[] buffer = new byte[64 * 1024];
+	private int count;
+	private long position;
+	private final Map<String, Integer> strings = new HashMap<>();
+	private final List<String> stringList = new ArrayList<>();
+	private long stringTableSize;
+	private final Map<EClass, Integer> classes = new IdentityHashMap<>();
+	private final List<EClass> classList = new ArrayList<>();
+	private final Map<EClass, EStructuralFeature[]> features = new IdentityHashMap<>();
+	private final Map<EDataType, ValueKind> kinds = new IdentityHashMap<>();
+	/* the objects of the roots being written with their parent ids */
+	private final Map<EObject, Integer> ids = new IdentityHashMap<>();
+	private final List<EObject> objects = new ArrayList<>();
+	private int[] parents = new int[1024];
+	private int objectCount;
+	/* the index entries of the current segment and the offsets of the written segments */
+	private final long[] segmentOffsets = new long[CompactBinaryDocument.SEGMENT_SIZE];
+	private final int[] segmentParents = new int[CompactBinaryDocument.SEGMENT_SIZE];
+	private int segmentFill;
+	private long[] segments = new long[16];
+	private int segmentCount;
+
+	/**
+	 * Creates a new instance with the {@link CompactBinaryDocument#DEFAULT_STRING_TABLE_LIMIT}.
+	 * @param out the stream to write to
+	 * @param uri the URI of the written document, that external references are deresolved against, can be <code>null</code>
+	 */
+	CompactBinaryWriter(OutputStream out, URI uri) {
+		this(out, uri, CompactBinaryDocument.DEFAULT_STRING_TABLE_LIMIT);
+	}
+
+	/**
+	 * Creates a new instance.
+	 * @param out the stream to write to
+	 * @param uri the URI of the written document, that external references are deresolved against, can be <code>null</code>
+	 * @param stringTableLimit the estimated heap size in bytes of the string table, after which strings are written inline
+	 */
+	CompactBinaryWriter(OutputStream out, URI uri, long stringTableLimit) {
+		this.out = out;
+		this.base = uri != null && uri.isHierarchical() && !uri.isRelative() ? uri : null;
+		this.name = String.valueOf(uri);
+		this.stringTableLimit = Math.max(0, stringTableLimit);
+	}
+
+	/**
+	 * Returns the estimated heap size of the state, that is kept until {@link #finish()}: the string table and the
+	 * index segments
+	 * @return the size in bytes
+	 */
+	long getRetainedSize() {
+		return stringTableSize + (long) segmentOffsets.length * (Long.BYTES + Integer.BYTES) + (long) segments.length * Long.BYTES;
+	}
+
+	/**
+	 * Writes the resource contents
+	 * @param resource the resource
+	 * @throws IOException if writing fails or the contents contain dangling references
+	 */
+	void write(Resource resource) throws IOException {
+		writeHeader();
+		writeRoots(resource.getContents());
+		finish();
+	}
+
+	/**
+	 * Writes the header of the document
+	 * @throws IOException if writing fails
+	 */
+	void writeHeader() throws IOException {
+		writeBytes(CompactBinaryDocument.MAGIC);
+		writeBytes(new byte[] { CompactBinaryDocument.VERSION, 0, 0, 0 });
+	}
+
+	/**
+	 * Writes the roots with their contents. References between them are written as local references, references
+	 * to objects of former calls as external references. The objects are not referenced after the call.
+	 * @param rootObjects the roots
+	 * @throws IOException if writing fails or the roots contain dangling references
+	 */
+	void writeRoots(List<? extends EObject> rootObjects) throws IOException {
+		try {
+			for (EObject root : rootObjects) {
+				assign(root, -1);
+			}
+			for (int i = 0; i < objects.size(); i++) {
+				long offset = position;
+				writeObject(objects.get(i));
+				addIndexEntry(offset, parents[i]);
+			}
+		} finally {
+			ids.clear();
+			objects.clear();
+		}
+	}
+
+	/**
+	 * Writes the tables, the index and the trailer and flushes the stream
+	 * @throws IOException if writing fails
+	 */
+	void finish() throws IOException {
+		if (segmentFill > 0) {
+			writeSegment();
+		}
+		// the class names are written after the strings of the objects, so they can be written inline as well
+		long classOffset = position;
+		writeVarInt(classList.size());
+		for (EClass eClass : classList) {
+			writeString(eClass.getEPackage().getNsURI());
+			writeString(eClass.getName());
+		}
+		long stringOffset = position;
+		writeVarInt(stringList.size());
+		for (String string : stringList) {
+			byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+			writeVarInt(bytes.length);
+			writeBytes(bytes);
+		}
+		long directoryOffset = position;
+		for (int i = 0; i < segmentCount; i++) {
+			writeLong(segments[i]);
+		}
+		writeLong(classOffset);
+		writeLong(stringOffset);
+		writeLong(directoryOffset);
+		writeInt(objectCount);
+		writeInt(CompactBinaryDocument.SEGMENT_SIZE);
+		writeBytes(CompactBinaryDocument.MAGIC);
+		flush();
+	}
+
+	/* assigns the ids in containment pre order, so every subtree has a contiguous id range */
+	private void assign(EObject eObject, int parent) throws IOException {
+		if (objectCount == Integer.MAX_VALUE) {
+			throw new IOException("The resource " + name + " exceeds the maximum number of objects of the compact binary format");
+		}
+		int id = objectCount++;
+		int index = objects.size();
+		ids.put(eObject, Integer.valueOf(id));
+		objects.add(eObject);
+		if (index == parents.length) {
+			parents = Arrays.copyOf(parents, index * 2);
+		}
+		parents[index] = parent;
+		for (EStructuralFeature feature : persistentFeatures(eObject.eClass())) {
+			if (FeatureMapUtil.isFeatureMap(feature)) {
+				for (FeatureMap.Entry entry : (FeatureMap) eObject.eGet(feature)) {
+					if (entry.getEStructuralFeature() instanceof EReference reference && reference.isContainment()
+							&& entry.getValue() instanceof EObject child) {
+						assignChild(child, id);
+					}
+				}
+			} else if (feature instanceof EReference reference && reference.isContainment()) {
+				Object value = eObject.eGet(reference, false);
+				if (reference.isMany()) {
+					for (Object child : ((InternalEList<?>) value).basicList()) {
+						assignChild((EObject) child, id);
+					}
+				} else if (value != null) {
+					assignChild((EObject) value, id);
+				}
+			}
+		}
+	}
+
+	private void assignChild(EObject child, int parent) throws IOException {
+		// children in their own resource are written as proxies
+		if (!child.eIsProxy() && ((InternalEObject) child).eDirectResource() == null) {
+			assign(child, parent);
+		}
+	}
+
+	private EStructuralFeature[] persistentFeatures(EClass eClass) {
+		return features.computeIfAbsent(eClass, c -> c.getEAllStructuralFeatures().stream()
+				.filter(f -> !f.isTransient() && !f.isDerived() && !(f instanceof EReference r && r.isContainer()))
+				.toArray(EStructuralFeature[]::new));
+	}
+
+	private void writeObject(EObject eObject) throws IOException {
+		EClass eClass = eObject.eClass();
+		writeVarInt(classId(eClass));
+		for (EStructuralFeature feature : persistentFeatures(eClass)) {
+			if (!eObject.eIsSet(feature)) {
+				continue;
+			}
+			writeVarInt(eClass.getFeatureID(feature) + 1);
+			Object value = eObject.eGet(feature, false);
+			if (FeatureMapUtil.isFeatureMap(feature)) {
+				FeatureMap featureMap = (FeatureMap) value;
+				writeVarInt(featureMap.size());
+				for (FeatureMap.Entry entry : featureMap) {
+					EStructuralFeature entryFeature = entry.getEStructuralFeature();
+					EClass containingClass = entryFeature.getEContainingClass();
+					writeVarInt(classId(containingClass));
+					writeVarInt(containingClass.getFeatureID(entryFeature));
+					writeSingle(entryFeature, entry.getValue());
+				}
+			} else if (feature.isMany()) {
+				List<?> values = feature instanceof EReference ? ((InternalEList<?>) value).basicList() : (List<?>) value;
+				writeVarInt(values.size());
+				for (Object v : values) {
+					writeSingle(feature, v);
+				}
+			} else {
+				writeSingle(feature, value);
+			}
+		}
+		writeVarInt(0);
+	}
+
+	private void writeSingle(EStructuralFeature feature, Object value) throws IOException {
+		if (feature instanceof EAttribute attribute) {
+			writeAttributeValue(attribute.getEAttributeType(), value);
+		} else {
+			writeTarget((EObject) value);
+		}
+	}
+
+	private void writeTarget(EObject target) throws IOException {
+		if (target == null) {
+			writeVarInt(0);
+			return;
+		}
+		Integer id = ids.get(target);
+		if (id != null) {
+			writeVarInt(id.intValue() + 2);
+			return;
+		}
+		URI uri;
+		if (target.eIsProxy()) {
+			uri = ((InternalEObject) target).eProxyURI();
+		} else if (target.eResource() != null) {
+			uri = EcoreUtil.getURI(target);
+		} else {
+			throw new IOException("The resource " + name + " references the object " + target
+					+ ", that is not contained in a resource");
+		}
+		if (base != null) {
+			uri = uri.deresolve(base);
+		}
+		writeVarInt(1);
+		writeVarInt(classId(target.eClass()));
+		writeString(uri.toString());
+	}
+
+	private void writeAttributeValue(EDataType dataType, Object value) throws IOException {
+		ValueKind kind = kinds.computeIfAbsent(dataType, ValueKind::of);
+		if (kind.hasPresenceByte(dataType)) {
+			write(value == null ? 0 : 1);
+			if (value == null) {
+				return;
+			}
+		}
+		switch (kind) {
+		case STRING -> writeString((String) value);
+		case BOOLEAN -> write(((Boolean) value).booleanValue() ? 1 : 0);
+		case BYTE, SHORT, INT -> writeVarLong(zigZag(((Number) value).longValue()));
+		case CHAR -> writeVarInt(((Character) value).charValue());
+		case LONG -> writeVarLong(zigZag(((Long) value).longValue()));
+		case FLOAT -> writeInt(Float.floatToRawIntBits(((Float) value).floatValue()));
+		case DOUBLE -> {
+			long bits = Double.doubleToRawLongBits(((Double) value).doubleValue());
+			writeInt((int) (bits >>> 32));
+			writeInt((int) bits);
+		}
+		case ENUM -> writeVarLong(value == null ? 0 : zigZag(((Enumerator) value).getValue()) + 1);
+		case OTHER -> {
+			writeString(value == null ? null : EcoreUtil.convertToString(dataType, value));
+		}
+		}
+	}
+
+	private int classId(EClass eClass) {
+		Integer id = classes.get(eClass);
+		if (id == null) {
+			id = Integer.valueOf(classList.size());
+			classes.put(eClass, id);
+			classList.add(eClass);
+		}
+		return id.intValue();
+	}
+
+	/* writes 0 for null, the string table id + 2 or 1 followed by the inline string */
+	private void writeString(String string) throws IOException {
+		if (string == null) {
+			writeVarInt(0);
+			return;
+		}
+		Integer id = strings.get(string);
+		if (id != null) {
+			writeVarInt(id.intValue() + 2);
+			return;
+		}
+		long size = CompactBinaryDocument.STRING_TABLE_ENTRY_OVERHEAD + 2L * string.length();
+		if (stringTableSize + size <= stringTableLimit) {
+			id = Integer.valueOf(stringList.size());
+			strings.put(string, id);
+			stringList.add(string);
+			stringTableSize += size;
+			writeVarInt(id.intValue() + 2);
+			return;
+		}
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		writeVarInt(1);
+		writeVarInt(bytes.length);
+		writeBytes(bytes);
+	}
+
+	private void addIndexEntry(long offset, int parent) throws IOException {
+		segmentOffsets[segmentFill] = offset;
+		segmentParents[segmentFill] = parent;
+		if (++segmentFill == segmentOffsets.length) {
+			writeSegment();
+		}
+	}
+
+	/* writes the index entries of the current segment between the objects */
+	private void writeSegment() throws IOException {
+		if (segmentCount == segments.length) {
+			segments = Arrays.copyOf(segments, segmentCount * 2);
+		}
+		segments[segmentCount++] = position;
+		for (int i = 0; i < segmentFill; i++) {
+			writeLong(segmentOffsets[i]);
+			writeInt(segmentParents[i]);
+		}
+		segmentFill = 0;
+	}
+
+	private static long zigZag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	private void write(int b) throws IOException {
+		if (count == buffer.length) {
+			out.write(buffer, 0, count);
+			count = 0;
+		}
+		buffer[count++] = (byte) b;
+		position++;
+	}
+
+	private void writeVarInt(int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		write(value);
+	}
+
+	private void writeVarLong(long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			write((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		write((int) value);
+	}
+
+	private void writeInt(int value) throws IOException {
+		write(value >>> 24);
+		write(value >>> 16);
+		write(value >>> 8);
+		write(value);
+	}
+
+	private void writeLong(long value) throws IOException {
+		writeInt((int) (value >>> 32));
+		writeInt((int) value);
+	}
+
+	private void writeBytes(byte[] bytes) throws IOException {
+		if (bytes.length > buffer.length - count) {
+			out.write(buffer, 0, count);
+			count = 0;
+			if (bytes.length > buffer.length) {
+				out.write(bytes);
+				position += bytes.length;
+				return;
+			}
+		}
+		System.arraycopy(bytes, 0, buffer, count, bytes.length);
+		count += bytes.length;
+		position += bytes.length;
+	}
+
+	/**
+	 * Writes the buffered bytes to the stream and flushes it
+	 * @throws IOException if writing fails
+	 */
+	void flush() throws IOException {
+		out.write(buffer, 0, count);
+		count = 0;
+		out.flush();
+	}
+}
@@ -0,0 +1,75 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.binary;
+
+import org.eclipse.emf.ecore.EDataType;
+import org.eclipse.emf.ecore.EEnum;
+
+/**
+ * The encoding of an attribute value in the compact binary format, derived from the instance class of the
+ * data type. Data types without a dedicated encoding are stored as string of their conversion.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+enum ValueKind {
+
+	STRING, BOOLEAN, BYTE, SHORT, CHAR, INT, LONG, FLOAT, DOUBLE, ENUM, OTHER;
+
+	/**
+	 * Returns the encoding of the values of the data type
+	 * @param dataType the data type
+	 * @return the value kind
+	 */
+	static ValueKind of(EDataType dataType) {
+		if (dataType instanceof EEnum) {
+			return ENUM;
+		}
+		Class<?> instanceClass = dataType.getInstanceClass();
+		if (instanceClass == null) {
+			return OTHER;
+		} else if (instanceClass == String.class) {
+			return STRING;
+		} else if (instanceClass == boolean.class || instanceClass == Boolean.class) {
+			return BOOLEAN;
+		} else if (instanceClass == byte.class || instanceClass == Byte.class) {
+			return BYTE;
+		} else if (instanceClass == short.class || instanceClass == Short.class) {
+			return SHORT;
+		} else if (instanceClass == char.class || instanceClass == Character.class) {
+			return CHAR;
+		} else if (instanceClass == int.class || instanceClass == Integer.class) {
+			return INT;
+		} else if (instanceClass == long.class || instanceClass == Long.class) {
+			return LONG;
+		} else if (instanceClass == float.class || instanceClass == Float.class) {
+			return FLOAT;
+		} else if (instanceClass == double.class || instanceClass == Double.class) {
+			return DOUBLE;
+		}
+		return OTHER;
+	}
+
+	/**
+	 * Returns <code>true</code>, if the value is written with a presence byte. Strings, enums and converted values
+	 * encode <code>null</code> in their reference into the string table and don't need it.
+	 * @param dataType the data type
+	 * @return <code>true</code> for boxed primitive types
+	 */
+	boolean hasPresenceByte(EDataType dataType) {
+		return switch (this) {
+		case STRING, ENUM, OTHER -> false;
+		default -> !dataType.getInstanceClass().isPrimitive();
+		};
+	}
+}
@@ -0,0 +1,65 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.components;
+
+import org.eclipse.fennec.emf.osgi.urihandler.MappedFileURIHandlerImpl;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+/**
+ * Configuration of the {@link MappedFileUriHandlerProvider}
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+@ObjectClassDefinition(
+		name = "EMF Mapped File URI Handler",
+		description = "Reads file: URIs through memory mappings and direct buffers and replaces files atomically on save, for every ResourceSet created by the ResourceSetFactory."
+		)
+public @interface MappedFileUriHandlerConfig {
+
+	/**
+	 * The size in bytes, from which on files are mapped into memory
+	 * @return the mapped threshold
+	 */
+	@AttributeDefinition(
+			name = "Mapped threshold",
+			description = "Size in bytes, from which on files are mapped into memory",
+			required = false
+			)
+	long mappedThreshold() default MappedFileURIHandlerImpl.DEFAULT_MAPPED_THRESHOLD;
+
+	/**
+	 * The size in bytes, from which on files are read through a direct buffer
+	 * @return the direct threshold
+	 */
+	@AttributeDefinition(
+			name = "Direct buffer threshold",
+			description = "Size in bytes, from which on files are read through a direct buffer",
+			required = false
+			)
+	long directThreshold() default MappedFileURIHandlerImpl.DEFAULT_DIRECT_THRESHOLD;
+
+	/**
+	 * The size in bytes of the direct buffers for reading and writing
+	 * @return the buffer size
+	 */
+	@AttributeDefinition(
+			name = "Buffer size",
+			description = "Size in bytes of the direct buffers for reading and writing",
+			min = "1",
+			required = false
+			)
+	int bufferSize() default MappedFileURIHandlerImpl.DEFAULT_BUFFER_SIZE;
+
+}
@@ -0,0 +1,61 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.components;
+
+import org.eclipse.emf.ecore.resource.URIHandler;
+import org.eclipse.fennec.emf.osgi.UriHandlerProvider;
+import org.eclipse.fennec.emf.osgi.constants.EMFNamespaces;
+import org.eclipse.fennec.emf.osgi.urihandler.MappedFileURIHandlerImpl;
+import org.osgi.annotation.versioning.ProviderType;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.ConfigurationPolicy;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.metatype.annotations.Designate;
+
+/**
+ * Provider for the {@link MappedFileURIHandlerImpl}, that the {@link ResourceSetUriHandlerConfiguratorComponent}
+ * adds to each new ResourceSet. It replaces the default handling of <code>file:</code> URIs, so it is only active,
+ * if it is configured.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+@Component(name = EMFNamespaces.MAPPED_FILE_URI_HANDLER_CONFIG_NAME, configurationPolicy = ConfigurationPolicy.REQUIRE, service = UriHandlerProvider.class)
+@Designate(ocd = MappedFileUriHandlerConfig.class)
+@ProviderType
+public class MappedFileUriHandlerProvider implements UriHandlerProvider {
+
+	private volatile MappedFileUriHandlerConfig config;
+
+	/**
+	 * Called on activation and modification of the configuration
+	 * @param config the configuration
+	 */
+	@Activate
+	@Modified
+	public void activate(MappedFileUriHandlerConfig config) {
+		this.config = config;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.UriHandlerProvider#getURIHandler()
+	 */
+	@Override
+	public URIHandler getURIHandler() {
+		MappedFileUriHandlerConfig current = config;
+		return new MappedFileURIHandlerImpl(current.mappedThreshold(), current.directThreshold(), Math.max(1, current.bufferSize()));
+	}
+
+}
@@ -12,17 +12,22 @@
  ********************************************************************/
 package org.eclipse.fennec.emf.osgi.components;
 
+import static java.util.Objects.requireNonNull;
+
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.fennec.emf.osgi.ResourceSetCache;
 import org.eclipse.fennec.emf.osgi.ResourceSetFactory;
+import org.eclipse.fennec.emf.osgi.ResourceSetSnapshot;
+import org.eclipse.fennec.emf.osgi.WriteBehindMetrics;
 import org.osgi.annotation.bundle.Requirement;
 import org.osgi.annotation.versioning.ProviderType;
 import org.osgi.namespace.implementation.ImplementationNamespace;
 import org.osgi.resource.Namespace;
 import org.osgi.service.cm.ConfigurationConstants;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.ConfigurationPolicy;
 import org.osgi.service.component.annotations.Deactivate;
@@ -48,22 +53,126 @@ public class ResourceSetCacheComponent implements ResourceSetCache {
 	
 	private AtomicReference<ResourceSetFactory> resourceSetFactoryReference = new AtomicReference<>();
 	private AtomicReference<ResourceSet> resourceSet = new AtomicReference<>();
+	private AtomicReference<ResourceSetSnapshotManager> snapshotManager = new AtomicReference<>();
+	private AtomicReference<WriteBehindFlusher> writeBehindFlusher = new AtomicReference<>();
+	private volatile ResourceSetCacheConfig config;
 
+	/**
+	 * Called on component activation
+	 * @param config the cache configuration
+	 */
+	@Activate
+	public void activate(ResourceSetCacheConfig config) {
+		this.config = config;
+	}
 
 	@Override
 	public synchronized ResourceSet getResourceSet() {
 		if (resourceSet.get() == null) {
 			ResourceSetFactory resourceSetFactory = resourceSetFactoryReference.get();
 
-			if (resourceSetFactory != null) {
-				resourceSet.compareAndSet(null, resourceSetFactory.createResourceSet());
+			if (resourceSetFactory != null && resourceSet.compareAndSet(null, resourceSetFactory.createResourceSet())) {
+				startWriteBehind();
 			}
 		}
 		return resourceSet.get();
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.ResourceSetCache#write(java.lang.Runnable)
+	 */
+	@Override
+	public void write(Runnable writer) {
+		requireNonNull(writer);
+		getSnapshotManager().write(writer);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.ResourceSetCache#snapshot()
+	 */
+	@Override
+	public ResourceSetSnapshot snapshot() {
+		return getSnapshotManager().snapshot();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.ResourceSetCache#snapshot(org.eclipse.emf.ecore.resource.Resource)
+	 */
+	@Override
+	public ResourceSetSnapshot snapshot(Resource resource) {
+		return getSnapshotManager().snapshot(resource);
+	}
+
+	/**
+	 * Returns the snapshot manager of the cached resource set, that is created with the first use
+	 * @return the snapshot manager
+	 */
+	ResourceSetSnapshotManager getSnapshotManager() {
+		ResourceSetSnapshotManager manager = snapshotManager.get();
+		if (manager != null) {
+			return manager;
+		}
+		synchronized (this) {
+			manager = snapshotManager.get();
+			if (manager == null) {
+				ResourceSet rs = getResourceSet();
+				if (rs == null) {
+					throw new IllegalStateException("No resource set is available for the cache");
+				}
+				manager = new ResourceSetSnapshotManager(rs);
+				snapshotManager.set(manager);
+			}
+			return manager;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.ResourceSetCache#flush()
+	 */
+	@Override
+	public int flush() {
+		WriteBehindFlusher flusher = writeBehindFlusher.get();
+		return flusher == null ? 0 : flusher.flush();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.ResourceSetCache#getWriteBehindMetrics()
+	 */
+	@Override
+	public WriteBehindMetrics getWriteBehindMetrics() {
+		return writeBehindFlusher.get();
+	}
+
+	/**
+	 * Starts saving the changed resources in the background, if it is configured. The saves are
+	 * guarded by the snapshot manager, so they don't overlap with {@link #write(Runnable)}. Changes
+	 * outside of {@link #write(Runnable)} race with the saves, so they are logged and counted.
+	 */
+	private void startWriteBehind() {
+		ResourceSetCacheConfig currentConfig = config;
+		if (currentConfig != null && currentConfig.writeBehind()) {
+			ResourceSetSnapshotManager manager = getSnapshotManager();
+			writeBehindFlusher.set(new WriteBehindFlusher(resourceSet.get(), manager::read, manager::isWriter,
+					currentConfig.writeBehind_delay(), currentConfig.writeBehind_batchSize()));
+		}
+	}
+
 	@Deactivate
 	public void deactivate() {
+		WriteBehindFlusher flusher = writeBehindFlusher.getAndSet(null);
+		if (flusher != null) {
+			// saves the pending changes
+			flusher.close();
+		}
+		ResourceSetSnapshotManager manager = snapshotManager.getAndSet(null);
+		if (manager != null) {
+			manager.close();
+		}
 		ResourceSet rs = resourceSet.getAndSet(null);
 		if (rs != null) {
 			new java.util.ArrayList<>(rs.getResources()).forEach(Resource::unload);
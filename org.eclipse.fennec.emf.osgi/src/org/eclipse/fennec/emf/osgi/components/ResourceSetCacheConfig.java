@@ -37,4 +37,37 @@ public @interface ResourceSetCacheConfig {
 	)
 	String resourceSetFactory_target() default "";
 
+	/**
+	 * Enables the write behind mode, that saves changed resources in the background.
+	 * @return <code>true</code>, to save changed resources in the background
+	 */
+	@AttributeDefinition(
+			name = "Write Behind",
+			description = "Saves changed resources of the cached ResourceSet in the background, instead of by the callers.",
+			required = false
+	)
+	boolean writeBehind() default false;
+
+	/**
+	 * The delay between the first change of a resource and its save in the write behind mode.
+	 * @return the delay in milliseconds
+	 */
+	@AttributeDefinition(
+			name = "Write Behind Delay",
+			description = "Milliseconds between the first change and the save of the changed resources. Changes within the delay are saved together.",
+			required = false
+	)
+	long writeBehind_delay() default 1000;
+
+	/**
+	 * The number of changed resources, that are saved without waiting for the delay in the write behind mode.
+	 * @return the batch size
+	 */
+	@AttributeDefinition(
+			name = "Write Behind Batch Size",
+			description = "Number of changed resources, that are saved without waiting for the delay.",
+			required = false
+	)
+	int writeBehind_batchSize() default 100;
+
 }
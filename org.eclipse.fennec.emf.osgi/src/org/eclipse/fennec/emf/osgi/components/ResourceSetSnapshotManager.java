@@ -0,0 +1,810 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.components;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.NotificationChain;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.URIConverter;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.InternalEList;
+import org.eclipse.fennec.emf.osgi.ResourceSetSnapshot;
+
+/**
+ * Creates {@link ResourceSetSnapshot}s of a shared {@link ResourceSet}, using copy on write on resource level.
+ * <p>
+ * Writers change the resource set in {@link #write(Runnable)}, one at a time. A content adapter records the
+ * resources, that were changed. Taking a snapshot blocks the writers and copies only the resources, that changed
+ * since their last copy. The frozen copies of unchanged resources are shared by all snapshots. A frozen copy,
+ * that refers to a copy, that had to be replaced, is replaced as well, so the references of a snapshot always
+ * point into the same point in time.
+ * <p>
+ * The frozen copies are reference counted. Closing the last snapshot, that uses a replaced copy, unloads it.
+ * <p>
+ * Because they are shared, the frozen copies are read only. Changing the contents of a frozen resource, its
+ * {@link URI} or unloading it throws an {@link UnsupportedOperationException} before anything changes. A guard
+ * adapter on every frozen object undoes a change of the object and throws an {@link UnsupportedOperationException}
+ * to the caller. Other threads reading the copy may observe the change, until it is undone.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class ResourceSetSnapshotManager {
+
+	/* undoing a rejected change of a frozen copy notifies again */
+	private static final ThreadLocal<Boolean> UNDOING = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+	private final ResourceSet resourceSet;
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final ChangeTracker tracker = new ChangeTracker();
+	/* resources changed since their last copy, written by the writers and by proxy resolution on the live set */
+	private final Set<Resource> changed = ConcurrentHashMap.newKeySet();
+	/* the current copy of every shared resource, all copies are guarded by this map */
+	private final Map<Resource, FrozenCopy> current = new IdentityHashMap<>();
+	private final Map<Resource, FrozenCopy> frozenResources = new IdentityHashMap<>();
+	private final AtomicLong version = new AtomicLong();
+	private final AtomicInteger openSnapshots = new AtomicInteger();
+	private final AtomicInteger frozenCopies = new AtomicInteger();
+	private volatile boolean closed;
+
+	/**
+	 * Creates a new instance.
+	 * @param resourceSet the shared resource set, must not be <code>null</code>
+	 */
+	public ResourceSetSnapshotManager(ResourceSet resourceSet) {
+		this.resourceSet = requireNonNull(resourceSet);
+		lock.writeLock().lock();
+		try {
+			resourceSet.eAdapters().add(tracker);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Executes a change of the shared resource set, exclusive to other writers and the creation of snapshots
+	 * @param writer the writer, must not be <code>null</code>
+	 */
+	public void write(Runnable writer) {
+		requireNonNull(writer);
+		lock.writeLock().lock();
+		try {
+			checkOpen();
+			writer.run();
+		} finally {
+			version.incrementAndGet();
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Executes a reader of the shared resource set, exclusive to the writers, e.g. to save resources
+	 * @param reader the reader, must not be <code>null</code>
+	 */
+	public void read(Runnable reader) {
+		requireNonNull(reader);
+		lock.readLock().lock();
+		try {
+			reader.run();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns <code>true</code>, if the current thread executes a writer
+	 * @return <code>true</code>, if the current thread is inside {@link #write(Runnable)}
+	 */
+	public boolean isWriter() {
+		return lock.isWriteLockedByCurrentThread();
+	}
+
+	/**
+	 * Takes a snapshot of all resources of the shared resource set
+	 * @return the snapshot, that must be closed
+	 */
+	public ResourceSetSnapshot snapshot() {
+		return createSnapshot(null);
+	}
+
+	/**
+	 * Takes a snapshot of one resource of the shared resource set
+	 * @param resource the resource, must not be <code>null</code>
+	 * @return the snapshot, that must be closed
+	 */
+	public ResourceSetSnapshot snapshot(Resource resource) {
+		return createSnapshot(requireNonNull(resource));
+	}
+
+	/**
+	 * Returns the number of writes
+	 * @return the version of the shared resource set
+	 */
+	public long getVersion() {
+		return version.get();
+	}
+
+	/**
+	 * Returns the number of snapshots, that are not closed yet
+	 * @return the number of open snapshots
+	 */
+	public int getOpenSnapshotCount() {
+		return openSnapshots.get();
+	}
+
+	/**
+	 * Returns the number of frozen resource copies, that are held by snapshots or for the next snapshot
+	 * @return the number of frozen copies
+	 */
+	public int getFrozenCopyCount() {
+		return frozenCopies.get();
+	}
+
+	/**
+	 * Stops tracking the shared resource set and releases the current copies. Open snapshots stay readable
+	 * until they are closed.
+	 */
+	public void close() {
+		lock.writeLock().lock();
+		try {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			resourceSet.eAdapters().remove(tracker);
+			synchronized (current) {
+				List<FrozenCopy> copies = new ArrayList<>(current.values());
+				current.clear();
+				copies.forEach(this::release);
+			}
+			changed.clear();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void checkOpen() {
+		if (closed) {
+			throw new IllegalStateException("The snapshot manager is closed");
+		}
+	}
+
+	/**
+	 * Creates a snapshot of the given resource or of all resources, if it is <code>null</code>
+	 */
+	private ResourceSetSnapshot createSnapshot(Resource resource) {
+		lock.readLock().lock();
+		try {
+			checkOpen();
+			List<Resource> resources = resource == null ? new ArrayList<>(resourceSet.getResources()) : List.of(resource);
+			synchronized (current) {
+				track(resources);
+				for (Iterator<Resource> iterator = changed.iterator(); iterator.hasNext();) {
+					FrozenCopy copy = current.get(iterator.next());
+					iterator.remove();
+					if (copy != null) {
+						invalidate(copy);
+					}
+				}
+				if (resource == null) {
+					removeStale(resources);
+				}
+				List<FrozenCopy> copies = freeze(resources);
+				Set<FrozenCopy> retained = Collections.newSetFromMap(new IdentityHashMap<>());
+				Deque<FrozenCopy> queue = new ArrayDeque<>(copies);
+				while (!queue.isEmpty()) {
+					FrozenCopy copy = queue.poll();
+					if (retained.add(copy)) {
+						copy.useCount++;
+						queue.addAll(copy.references);
+					}
+				}
+				openSnapshots.incrementAndGet();
+				return new Snapshot(version.get(), copies, retained);
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Resources, that were added without notification, are not tracked yet
+	 */
+	private void track(List<Resource> resources) {
+		for (Resource resource : resources) {
+			if (!resource.eAdapters().contains(tracker)) {
+				resource.eAdapters().add(tracker);
+				changed.add(resource);
+			}
+		}
+	}
+
+	/**
+	 * Removes the copy and all copies referring to it from the current copies
+	 */
+	private void invalidate(FrozenCopy copy) {
+		Deque<FrozenCopy> queue = new ArrayDeque<>();
+		queue.add(copy);
+		while (!queue.isEmpty()) {
+			FrozenCopy next = queue.poll();
+			if (current.get(next.source) == next) {
+				current.remove(next.source);
+				queue.addAll(next.referencedBy);
+				release(next);
+			}
+		}
+	}
+
+	/**
+	 * Invalidates the copies of resources, that are not part of the shared resource set anymore
+	 */
+	private void removeStale(List<Resource> resources) {
+		Set<Resource> contained = Collections.newSetFromMap(new IdentityHashMap<>(resources.size()));
+		contained.addAll(resources);
+		List<FrozenCopy> stale = new ArrayList<>();
+		for (FrozenCopy copy : current.values()) {
+			if (!contained.contains(copy.source)) {
+				stale.add(copy);
+			}
+		}
+		stale.forEach(this::invalidate);
+	}
+
+	/**
+	 * Returns the current copies of the resources and copies all resources without a current copy
+	 */
+	private List<FrozenCopy> freeze(List<Resource> resources) {
+		List<FrozenCopy> result = new ArrayList<>(resources.size());
+		List<FrozenCopy> created = new ArrayList<>();
+		SnapshotCopier copier = new SnapshotCopier();
+		for (Resource resource : resources) {
+			FrozenCopy copy = current.get(resource);
+			if (copy == null) {
+				FrozenResource frozen = new FrozenResource(resource.getURI());
+				// concurrent readers fill the ID map with the same values
+				frozen.setIntrinsicIDToEObjectMap(new ConcurrentHashMap<>());
+				frozen.getContents().addAll(copier.copyAll(resource.getContents()));
+				copy = new FrozenCopy(resource, frozen);
+				current.put(resource, copy);
+				frozenResources.put(frozen, copy);
+				frozenCopies.incrementAndGet();
+				created.add(copy);
+			}
+			result.add(copy);
+		}
+		copier.copyReferences();
+		for (FrozenCopy copy : created) {
+			link(copy);
+			copy.frozen.freeze();
+		}
+		return result;
+	}
+
+	/**
+	 * Records the copies, a new copy refers to
+	 */
+	private void link(FrozenCopy copy) {
+		for (TreeIterator<EObject> iterator = EcoreUtil.getAllProperContents(copy.frozen, false); iterator.hasNext();) {
+			for (Iterator<EObject> targets = ((InternalEList<EObject>) iterator.next().eCrossReferences()).basicIterator(); targets.hasNext();) {
+				FrozenCopy target = frozenResources.get(targets.next().eResource());
+				if (target != null && target != copy && copy.references.add(target)) {
+					target.referencedBy.add(copy);
+				}
+			}
+		}
+	}
+
+	private void release(FrozenCopy copy) {
+		if (--copy.useCount == 0) {
+			for (FrozenCopy target : copy.references) {
+				target.referencedBy.remove(copy);
+			}
+			frozenResources.remove(copy.frozen);
+			frozenCopies.decrementAndGet();
+			copy.frozen.release();
+		}
+	}
+
+	/**
+	 * A frozen copy of a shared resource. The use count includes the reference from the current copies.
+	 */
+	private static final class FrozenCopy {
+
+		private final Resource source;
+		private final FrozenResource frozen;
+		private final Set<FrozenCopy> references = Collections.newSetFromMap(new IdentityHashMap<>());
+		private final Set<FrozenCopy> referencedBy = Collections.newSetFromMap(new IdentityHashMap<>());
+		private int useCount = 1;
+
+		FrozenCopy(Resource source, FrozenResource frozen) {
+			this.source = source;
+			this.frozen = frozen;
+		}
+	}
+
+	/**
+	 * Resource holding a frozen copy. Once frozen, its contents, its {@link URI} and its objects are read only,
+	 * until the manager releases it.
+	 */
+	private static final class FrozenResource extends ResourceImpl {
+
+		private final ReadOnlyGuard guard = new ReadOnlyGuard();
+		private volatile boolean readOnly;
+
+		FrozenResource(URI uri) {
+			super(uri);
+		}
+
+		/**
+		 * Attaches the guard to all objects and rejects changes from now on
+		 */
+		void freeze() {
+			for (TreeIterator<EObject> iterator = EcoreUtil.getAllProperContents(this, false); iterator.hasNext();) {
+				iterator.next().eAdapters().add(guard);
+			}
+			readOnly = true;
+		}
+
+		/**
+		 * Allows changes again and unloads the copy
+		 */
+		void release() {
+			readOnly = false;
+			unload();
+		}
+
+		private void checkWritable() {
+			if (readOnly) {
+				throw new UnsupportedOperationException("The frozen copy of a snapshot is read only: " + getURI());
+			}
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.eclipse.emf.ecore.resource.impl.ResourceImpl#getContents()
+		 */
+		@Override
+		public EList<EObject> getContents() {
+			if (contents == null) {
+				contents = new FrozenContents();
+			}
+			return contents;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.eclipse.emf.ecore.resource.impl.ResourceImpl#setURI(org.eclipse.emf.common.util.URI)
+		 */
+		@Override
+		public void setURI(URI uri) {
+			checkWritable();
+			super.setURI(uri);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.eclipse.emf.ecore.resource.impl.ResourceImpl#unload()
+		 */
+		@Override
+		public void unload() {
+			checkWritable();
+			super.unload();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.eclipse.emf.ecore.resource.impl.ResourceImpl#delete(java.util.Map)
+		 */
+		@Override
+		public void delete(Map<?, ?> options) throws IOException {
+			checkWritable();
+			super.delete(options);
+		}
+
+		/**
+		 * Contents, that reject all changes, while the resource is read only
+		 */
+		private class FrozenContents extends ContentsEList<EObject> {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public void addUnique(EObject object) {
+				checkWritable();
+				super.addUnique(object);
+			}
+
+			@Override
+			public void addUnique(int index, EObject object) {
+				checkWritable();
+				super.addUnique(index, object);
+			}
+
+			@Override
+			public boolean addAllUnique(Collection<? extends EObject> collection) {
+				checkWritable();
+				return super.addAllUnique(collection);
+			}
+
+			@Override
+			public boolean addAllUnique(int index, Collection<? extends EObject> collection) {
+				checkWritable();
+				return super.addAllUnique(index, collection);
+			}
+
+			@Override
+			public EObject setUnique(int index, EObject object) {
+				checkWritable();
+				return super.setUnique(index, object);
+			}
+
+			@Override
+			public EObject remove(int index) {
+				checkWritable();
+				return super.remove(index);
+			}
+
+			@Override
+			public boolean removeAll(Collection<?> collection) {
+				checkWritable();
+				return super.removeAll(collection);
+			}
+
+			@Override
+			public EObject move(int targetIndex, int sourceIndex) {
+				checkWritable();
+				return super.move(targetIndex, sourceIndex);
+			}
+
+			@Override
+			public void clear() {
+				checkWritable();
+				super.clear();
+			}
+
+			@Override
+			public NotificationChain basicAdd(EObject object, NotificationChain notifications) {
+				checkWritable();
+				return super.basicAdd(object, notifications);
+			}
+
+			@Override
+			public NotificationChain basicRemove(Object object, NotificationChain notifications) {
+				checkWritable();
+				return super.basicRemove(object, notifications);
+			}
+
+			@Override
+			public NotificationChain basicSet(int index, EObject object, NotificationChain notifications) {
+				checkWritable();
+				return super.basicSet(index, object, notifications);
+			}
+		}
+
+		/**
+		 * Adapter shared by all objects of the copy, that undoes their changes and rejects them. Generated objects
+		 * change their fields before they notify, so the change cannot be prevented.
+		 */
+		private class ReadOnlyGuard extends AdapterImpl {
+
+			/*
+			 * (non-Javadoc)
+			 * @see org.eclipse.emf.common.notify.impl.AdapterImpl#notifyChanged(org.eclipse.emf.common.notify.Notification)
+			 */
+			@Override
+			public void notifyChanged(Notification notification) {
+				if (!readOnly || notification.isTouch() || UNDOING.get().booleanValue()
+						|| !(notification.getNotifier() instanceof InternalEObject owner)
+						|| !(notification.getFeature() instanceof EStructuralFeature feature)) {
+					return;
+				}
+				UNDOING.set(Boolean.TRUE);
+				try {
+					undo(owner, feature, notification);
+				} finally {
+					UNDOING.set(Boolean.FALSE);
+				}
+				throw new UnsupportedOperationException("The frozen copy of a snapshot is read only: " + EcoreUtil.getURI(owner));
+			}
+
+			/**
+			 * Shared by many objects, so there is no single target
+			 */
+			@Override
+			public void setTarget(Notifier newTarget) {
+				// no single target
+			}
+
+			@Override
+			public void unsetTarget(Notifier oldTarget) {
+				// no single target
+			}
+		}
+	}
+
+	/**
+	 * Restores the value of the feature before the notified change
+	 */
+	@SuppressWarnings("unchecked")
+	private static void undo(InternalEObject owner, EStructuralFeature feature, Notification notification) {
+		if (!feature.isMany()) {
+			if (notification.wasSet()) {
+				owner.eSet(feature, notification.getOldValue());
+			} else {
+				owner.eUnset(feature);
+			}
+			return;
+		}
+		InternalEList<Object> list = (InternalEList<Object>) owner.eGet(feature, false);
+		int position = notification.getPosition();
+		switch (notification.getEventType()) {
+		case Notification.SET:
+			if (position >= 0) {
+				list.setUnique(position, notification.getOldValue());
+			}
+			break;
+		case Notification.ADD:
+			list.remove(position);
+			break;
+		case Notification.ADD_MANY:
+			for (int i = position + ((Collection<?>) notification.getNewValue()).size() - 1; i >= position; i--) {
+				list.remove(i);
+			}
+			break;
+		case Notification.REMOVE:
+			list.addUnique(position, notification.getOldValue());
+			break;
+		case Notification.REMOVE_MANY:
+			List<?> removed = (List<?>) notification.getOldValue();
+			int[] positions = notification.getNewValue() instanceof int[] removedPositions ? removedPositions : null;
+			for (int i = 0; i < removed.size(); i++) {
+				list.addUnique(positions == null ? i : positions[i], removed.get(i));
+			}
+			break;
+		case Notification.MOVE:
+			list.move(((Integer) notification.getOldValue()).intValue(), position);
+			break;
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * Copier, that never refers to the shared resource set. References into resources, that are not copied,
+	 * point into their current copy, if there is one, otherwise to a proxy. Bidirectional references always
+	 * point to a new proxy, because setting them would change the shared copy.
+	 */
+	private class SnapshotCopier extends EcoreUtil.Copier {
+
+		private static final long serialVersionUID = 1L;
+		private final Map<EObject, EObject> external = new IdentityHashMap<>();
+		private boolean bidirectional;
+
+		SnapshotCopier() {
+			super(false, true);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.eclipse.emf.ecore.util.EcoreUtil.Copier#copyReference(org.eclipse.emf.ecore.EReference, org.eclipse.emf.ecore.EObject, org.eclipse.emf.ecore.EObject)
+		 */
+		@Override
+		protected void copyReference(EReference eReference, EObject eObject, EObject copyEObject) {
+			bidirectional = eReference.getEOpposite() != null;
+			try {
+				super.copyReference(eReference, eObject, copyEObject);
+			} finally {
+				bidirectional = false;
+			}
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.HashMap#get(java.lang.Object)
+		 */
+		@Override
+		public EObject get(Object key) {
+			EObject result = super.get(key);
+			if (result == null && key instanceof EObject eObject) {
+				result = bidirectional ? createProxy(eObject) : external.computeIfAbsent(eObject, this::copyExternal);
+			}
+			return result;
+		}
+
+		private EObject copyExternal(EObject eObject) {
+			Resource resource = eObject.eIsProxy() ? null : eObject.eResource();
+			FrozenCopy copy = resource == null ? null : current.get(resource);
+			if (copy != null && resource.eAdapters().contains(tracker)) {
+				EObject result = copy.frozen.getEObject(resource.getURIFragment(eObject));
+				if (result != null) {
+					return result;
+				}
+			}
+			return createProxy(eObject);
+		}
+
+		private EObject createProxy(EObject eObject) {
+			InternalEObject proxy = (InternalEObject) EcoreUtil.create(eObject.eClass());
+			proxy.eSetProxyURI(EcoreUtil.getURI(eObject));
+			return proxy;
+		}
+	}
+
+	/**
+	 * Marks the resources of all changed objects
+	 */
+	private class ChangeTracker extends EContentAdapter {
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.eclipse.emf.ecore.util.EContentAdapter#notifyChanged(org.eclipse.emf.common.notify.Notification)
+		 */
+		@Override
+		public void notifyChanged(Notification notification) {
+			super.notifyChanged(notification);
+			if (notification.isTouch()) {
+				return;
+			}
+			Object notifier = notification.getNotifier();
+			if (notifier instanceof Resource resource) {
+				int featureID = notification.getFeatureID(Resource.class);
+				// saving the resource doesn't change its contents
+				if (featureID != Resource.RESOURCE__IS_MODIFIED && featureID != Resource.RESOURCE__TIME_STAMP) {
+					changed.add(resource);
+				}
+			} else if (notifier instanceof EObject eObject) {
+				Resource resource = eObject.eResource();
+				if (resource != null) {
+					changed.add(resource);
+				}
+			}
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.eclipse.emf.ecore.util.EContentAdapter#resolve()
+		 */
+		@Override
+		protected boolean resolve() {
+			return false;
+		}
+	}
+
+	/**
+	 * Snapshot over frozen copies, that releases them on close
+	 */
+	private class Snapshot implements ResourceSetSnapshot {
+
+		private final long snapshotVersion;
+		private final List<Resource> resources;
+		private final Map<URI, Resource> resourceMap;
+		private final Set<FrozenCopy> retained;
+		private final AtomicBoolean snapshotClosed = new AtomicBoolean();
+
+		Snapshot(long snapshotVersion, List<FrozenCopy> copies, Set<FrozenCopy> retained) {
+			this.snapshotVersion = snapshotVersion;
+			this.retained = retained;
+			List<Resource> frozen = new ArrayList<>(copies.size());
+			resourceMap = new HashMap<>(copies.size() * 2);
+			URIConverter converter = resourceSet.getURIConverter();
+			for (FrozenCopy copy : copies) {
+				frozen.add(copy.frozen);
+				if (copy.frozen.getURI() != null) {
+					resourceMap.putIfAbsent(converter.normalize(copy.frozen.getURI()), copy.frozen);
+				}
+			}
+			resources = Collections.unmodifiableList(frozen);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.eclipse.fennec.emf.osgi.ResourceSetSnapshot#getVersion()
+		 */
+		@Override
+		public long getVersion() {
+			return snapshotVersion;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.eclipse.fennec.emf.osgi.ResourceSetSnapshot#getResources()
+		 */
+		@Override
+		public List<Resource> getResources() {
+			checkNotClosed();
+			return resources;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.eclipse.fennec.emf.osgi.ResourceSetSnapshot#getResource(org.eclipse.emf.common.util.URI)
+		 */
+		@Override
+		public Resource getResource(URI uri) {
+			requireNonNull(uri);
+			checkNotClosed();
+			return resourceMap.get(resourceSet.getURIConverter().normalize(uri));
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.eclipse.fennec.emf.osgi.ResourceSetSnapshot#getEObject(org.eclipse.emf.common.util.URI)
+		 */
+		@Override
+		public EObject getEObject(URI uri) {
+			Resource resource = getResource(uri.trimFragment());
+			return resource == null || !uri.hasFragment() ? null : resource.getEObject(uri.fragment());
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.eclipse.fennec.emf.osgi.ResourceSetSnapshot#isClosed()
+		 */
+		@Override
+		public boolean isClosed() {
+			return snapshotClosed.get();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.eclipse.fennec.emf.osgi.ResourceSetSnapshot#close()
+		 */
+		@Override
+		public void close() {
+			if (snapshotClosed.compareAndSet(false, true)) {
+				synchronized (current) {
+					retained.forEach(ResourceSetSnapshotManager.this::release);
+				}
+				openSnapshots.decrementAndGet();
+			}
+		}
+
+		private void checkNotClosed() {
+			if (snapshotClosed.get()) {
+				throw new IllegalStateException("The snapshot is closed");
+			}
+		}
+	}
+}
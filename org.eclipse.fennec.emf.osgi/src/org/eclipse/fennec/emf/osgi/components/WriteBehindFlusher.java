@@ -0,0 +1,319 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.components;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+import org.eclipse.fennec.emf.osgi.WriteBehindMetrics;
+
+/**
+ * Saves changed resources of a {@link ResourceSet} in the background.
+ * <p>
+ * A content adapter marks the resources, whose contents changed. The first change starts the delay, after which
+ * all changed resources are saved, so a burst of changes to a resource results in one save. When the batch size
+ * of changed resources is reached, they are saved without waiting for the delay. Changes during the load of a
+ * resource are ignored. Failed saves are logged and stay queued for the next flush.
+ * <p>
+ * The saves run inside a guard, that excludes the writers of the resource set. So all changes of the contents must
+ * be made by the writers, otherwise they race with the saves. A change outside of a writer, as told by the writer
+ * check, is still saved, and counted in {@link #getUnguardedChangeCount()}. The first one is logged with the stack
+ * of the caller. The adapter does not throw, because the change is applied already, and throwing would only stop
+ * the delivery of the notification to the other adapters.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class WriteBehindFlusher implements WriteBehindMetrics {
+
+	private static final Logger LOG = Logger.getLogger(WriteBehindFlusher.class.getName());
+
+	private final ResourceSet resourceSet;
+	private final Consumer<Runnable> guard;
+	private final BooleanSupplier writerCheck;
+	private final long delay;
+	private final int batchSize;
+	/* the changed resources with the nano time of their first change */
+	private final Map<Resource, Long> dirty = new ConcurrentHashMap<>();
+	private final DirtyTracker tracker = new DirtyTracker();
+	private final ScheduledExecutorService executor;
+	private final AtomicBoolean delayPending = new AtomicBoolean();
+	private final AtomicBoolean batchPending = new AtomicBoolean();
+	private final Object flushLock = new Object();
+	private final AtomicLong flushCount = new AtomicLong();
+	private final AtomicLong saveCount = new AtomicLong();
+	private final AtomicLong failedSaveCount = new AtomicLong();
+	private final AtomicLong unguardedChangeCount = new AtomicLong();
+	private final AtomicLong totalLatency = new AtomicLong();
+	private final AtomicLong maxLatency = new AtomicLong();
+	private volatile boolean closed;
+
+	/**
+	 * Creates a new instance and starts tracking the resource set. Changes are accepted from any thread.
+	 * @param resourceSet the resource set, must not be <code>null</code>
+	 * @param guard executes the saves exclusive to the writers, must not be <code>null</code>
+	 * @param delay the delay in milliseconds between the first change and the save
+	 * @param batchSize the number of changed resources, that are saved without delay
+	 */
+	public WriteBehindFlusher(ResourceSet resourceSet, Consumer<Runnable> guard, long delay, int batchSize) {
+		this(resourceSet, guard, () -> true, delay, batchSize);
+	}
+
+	/**
+	 * Creates a new instance and starts tracking the resource set.
+	 * @param resourceSet the resource set, must not be <code>null</code>
+	 * @param guard executes the saves exclusive to the writers, must not be <code>null</code>
+	 * @param writerCheck returns <code>true</code>, if the current thread is a writer, must not be <code>null</code>
+	 * @param delay the delay in milliseconds between the first change and the save
+	 * @param batchSize the number of changed resources, that are saved without delay
+	 */
+	public WriteBehindFlusher(ResourceSet resourceSet, Consumer<Runnable> guard, BooleanSupplier writerCheck, long delay, int batchSize) {
+		this.resourceSet = requireNonNull(resourceSet);
+		this.guard = requireNonNull(guard);
+		this.writerCheck = requireNonNull(writerCheck);
+		this.delay = Math.max(0, delay);
+		this.batchSize = Math.max(1, batchSize);
+		executor = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "Fennec-WriteBehind");
+			thread.setDaemon(true);
+			return thread;
+		});
+		guard.accept(() -> resourceSet.eAdapters().add(tracker));
+	}
+
+	/**
+	 * Saves all changed resources
+	 * @return the number of saved resources
+	 */
+	public int flush() {
+		synchronized (flushLock) {
+			if (dirty.isEmpty()) {
+				return 0;
+			}
+			int[] saved = new int[1];
+			Map<Resource, Long> failed = new HashMap<>();
+			guard.accept(() -> {
+				for (Iterator<Map.Entry<Resource, Long>> iterator = dirty.entrySet().iterator(); iterator.hasNext();) {
+					Map.Entry<Resource, Long> entry = iterator.next();
+					iterator.remove();
+					if (save(entry.getKey(), entry.getValue())) {
+						saved[0]++;
+					} else if (entry.getKey().isLoaded()) {
+						failed.put(entry.getKey(), entry.getValue());
+					}
+				}
+			});
+			// failed resources are retried with the next flush
+			failed.forEach(dirty::putIfAbsent);
+			if (saved[0] > 0) {
+				flushCount.incrementAndGet();
+			}
+			return saved[0];
+		}
+	}
+
+	/**
+	 * Stops tracking the resource set and saves all changed resources
+	 */
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		executor.shutdownNow();
+		guard.accept(() -> resourceSet.eAdapters().remove(tracker));
+		flush();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.WriteBehindMetrics#getQueueDepth()
+	 */
+	@Override
+	public int getQueueDepth() {
+		return dirty.size();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.WriteBehindMetrics#getFlushCount()
+	 */
+	@Override
+	public long getFlushCount() {
+		return flushCount.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.WriteBehindMetrics#getSaveCount()
+	 */
+	@Override
+	public long getSaveCount() {
+		return saveCount.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.WriteBehindMetrics#getFailedSaveCount()
+	 */
+	@Override
+	public long getFailedSaveCount() {
+		return failedSaveCount.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.WriteBehindMetrics#getUnguardedChangeCount()
+	 */
+	@Override
+	public long getUnguardedChangeCount() {
+		return unguardedChangeCount.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.WriteBehindMetrics#getAverageFlushLatency()
+	 */
+	@Override
+	public Duration getAverageFlushLatency() {
+		long saves = saveCount.get();
+		return saves == 0 ? Duration.ZERO : Duration.ofNanos(totalLatency.get() / saves);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.WriteBehindMetrics#getMaxFlushLatency()
+	 */
+	@Override
+	public Duration getMaxFlushLatency() {
+		return Duration.ofNanos(maxLatency.get());
+	}
+
+	private boolean save(Resource resource, long firstChange) {
+		if (!resource.isLoaded()) {
+			return false;
+		}
+		try {
+			resource.save(null);
+		} catch (IOException | RuntimeException e) {
+			failedSaveCount.incrementAndGet();
+			LOG.log(Level.WARNING, e, () -> "Cannot save resource " + resource.getURI() + ", it stays queued");
+			return false;
+		}
+		long latency = System.nanoTime() - firstChange;
+		saveCount.incrementAndGet();
+		totalLatency.addAndGet(latency);
+		maxLatency.accumulateAndGet(latency, Math::max);
+		return true;
+	}
+
+	private void markDirty(Resource resource) {
+		if (closed || (resource instanceof Resource.Internal internal && internal.isLoading())) {
+			return;
+		}
+		dirty.putIfAbsent(resource, System.nanoTime());
+		try {
+			if (dirty.size() >= batchSize) {
+				if (batchPending.compareAndSet(false, true)) {
+					executor.execute(() -> runFlush(batchPending));
+				}
+			} else if (delayPending.compareAndSet(false, true)) {
+				executor.schedule(() -> runFlush(delayPending), delay, TimeUnit.MILLISECONDS);
+			}
+		} catch (RejectedExecutionException e) {
+			// closed in between, closing flushes
+		}
+		// the change is done already and saved, unloading is no change of the contents
+		if (resource.isLoaded() && !writerCheck.getAsBoolean()) {
+			reportUnguardedChange(resource);
+		}
+	}
+
+	private void reportUnguardedChange(Resource resource) {
+		if (unguardedChangeCount.incrementAndGet() == 1) {
+			LOG.log(Level.WARNING, new IllegalStateException("Changed outside of a writer"),
+					() -> "The resource " + resource.getURI() + " was changed outside of a writer, which races with the background saves; "
+							+ "further unguarded changes are only counted");
+		} else {
+			LOG.fine(() -> "The resource " + resource.getURI() + " was changed outside of a writer");
+		}
+	}
+
+	private void runFlush(AtomicBoolean pending) {
+		pending.set(false);
+		try {
+			flush();
+		} catch (RuntimeException e) {
+			LOG.log(Level.SEVERE, "Error flushing the changed resources", e);
+		}
+	}
+
+	/**
+	 * Marks the resources, whose contents changed
+	 */
+	private class DirtyTracker extends EContentAdapter {
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.eclipse.emf.ecore.util.EContentAdapter#notifyChanged(org.eclipse.emf.common.notify.Notification)
+		 */
+		@Override
+		public void notifyChanged(Notification notification) {
+			super.notifyChanged(notification);
+			if (notification.isTouch()) {
+				return;
+			}
+			Object notifier = notification.getNotifier();
+			if (notifier instanceof Resource resource) {
+				if (notification.getFeatureID(Resource.class) == Resource.RESOURCE__CONTENTS) {
+					markDirty(resource);
+				}
+			} else if (notifier instanceof EObject eObject) {
+				Resource resource = eObject.eResource();
+				if (resource != null) {
+					markDirty(resource);
+				}
+			}
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.eclipse.emf.ecore.util.EContentAdapter#resolve()
+		 */
+		@Override
+		protected boolean resolve() {
+			return false;
+		}
+	}
+}
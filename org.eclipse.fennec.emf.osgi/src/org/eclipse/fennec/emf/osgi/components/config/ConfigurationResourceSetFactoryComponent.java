@@ -30,6 +30,8 @@ import org.eclipse.fennec.emf.osgi.constants.EMFNamespaces;
 import org.eclipse.fennec.emf.osgi.constants.VersionConstant;
 import org.eclipse.fennec.emf.osgi.ecore.EcorePackagesRegistrator;
 import org.eclipse.fennec.emf.osgi.provider.DefaultResourceSetFactory;
+import org.eclipse.fennec.emf.osgi.resourceset.HughDataResourceSetFactory;
+import org.eclipse.fennec.emf.osgi.resourceset.ShardedHughDataResourceSetImpl;
 import org.osgi.annotation.bundle.Capability;
 import org.osgi.annotation.versioning.ProviderType;
 import org.osgi.framework.BundleContext;
@@ -71,6 +73,7 @@ public class ConfigurationResourceSetFactoryComponent extends DefaultResourceSet
 	private ServiceReference<EPackage.Registry> defaultResourceSetRegistry;
 	private ServiceReference<Resource.Factory.Registry> resourceFactoryRegistryReference;
 	private RegistryTrackingService registryTracker;
+	private volatile int shardCount = 1;
 
 	/**
 	 * Creates a new instance.
@@ -126,6 +129,7 @@ public class ConfigurationResourceSetFactoryComponent extends DefaultResourceSet
 	@Activate
 	public void activate(ComponentContext ctx) {
 		properties = ctx.getProperties();
+		shardCount = HughDataResourceSetFactory.getShardCount(FrameworkUtil.asMap(properties));
 		doActivate(ctx.getBundleContext());
 	}
 	
@@ -144,6 +148,15 @@ public class ConfigurationResourceSetFactoryComponent extends DefaultResourceSet
 		EcorePackagesRegistrator.stop();
 	}
 
+	/**
+	 * Creates a {@link ShardedHughDataResourceSetImpl}, if more than one shard is configured
+	 */
+	@Override
+	protected ResourceSet internalCreateResourceSet() {
+		int shards = shardCount;
+		return shards > 1 ? new ShardedHughDataResourceSetImpl(shards) : super.internalCreateResourceSet();
+	}
+
 	protected void unsetRegistry(EPackage.Registry registry) {
 		// Handle registry unset if needed
 	}
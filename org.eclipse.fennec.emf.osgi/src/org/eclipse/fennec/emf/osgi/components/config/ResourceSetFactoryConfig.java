@@ -50,4 +50,17 @@ public @interface ResourceSetFactoryConfig {
 	)
 	String resourceFactoryRegistry_target() default "";
 
+	/**
+	 * The number of shards of the created ResourceSets. With more than one shard, the factory creates
+	 * ShardedHughDataResourceSetImpls for concurrent access.
+	 * @return the number of shards, <code>1</code> for no sharding
+	 */
+	@AttributeDefinition(
+			name = "Shard Count",
+			description = "Number of shards of the created ResourceSets. More than one creates sharded HughData ResourceSets for concurrent readers and writers.",
+			required = false,
+			min = "1"
+	)
+	int resourceset_shards() default 1;
+
 }
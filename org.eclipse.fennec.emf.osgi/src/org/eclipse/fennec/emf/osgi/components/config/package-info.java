@@ -10,5 +10,5 @@
  * Contributors:
  *   Data In Motion Consulting - initial implementation
  ********************************************************************/
-@org.osgi.annotation.versioning.Version("1.0")
+@org.osgi.annotation.versioning.Version("1.1")
 package org.eclipse.fennec.emf.osgi.components.config;
@@ -0,0 +1,177 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.components.dynamic;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EStructuralFeature;
+
+/**
+ * Storage layout of the {@link CompactEObjectImpl}s of one {@link EClass}.
+ * <p>
+ * Each feature is assigned a slot, indexed by its feature ID. Single valued attributes of a primitive type,
+ * that are neither unsettable nor volatile, are stored unboxed: <code>int</code>, <code>float</code>, <code>short</code>,
+ * <code>byte</code> and <code>char</code> in an <code>int[]</code>, <code>long</code> and <code>double</code>
+ * in a <code>long[]</code> and <code>boolean</code> as a single bit. Each of them additionally has a presence bit,
+ * that tells if a value has been set. All other features use an <code>Object[]</code>.
+ * <p>
+ * The layout is computed from the features the {@link EClass} has at that time, so the {@link EClass} must not
+ * be changed anymore, after the first instance has been created.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+final class CompactEClassLayout {
+
+	static final byte OBJECT = 0;
+	static final byte BOOLEAN = 1;
+	static final byte INT = 2;
+	static final byte FLOAT = 3;
+	static final byte SHORT = 4;
+	static final byte BYTE = 5;
+	static final byte CHAR = 6;
+	static final byte LONG = 7;
+	static final byte DOUBLE = 8;
+
+	private final EClass eClass;
+	/** Storage kind per feature ID */
+	private final byte[] kinds;
+	/** Index into the storage array of the kind, for booleans the bit of the value */
+	private final int[] slots;
+	/** Bit telling if a primitive value has been set, -1 for object slots */
+	private final int[] presence;
+	private final int objectCount;
+	private final int intCount;
+	private final int longCount;
+	private final int bitCount;
+
+	private CompactEClassLayout(EClass eClass) {
+		this.eClass = eClass;
+		List<EStructuralFeature> features = eClass.getEAllStructuralFeatures();
+		int featureCount = features.size();
+		kinds = new byte[featureCount];
+		slots = new int[featureCount];
+		presence = new int[featureCount];
+		int objects = 0;
+		int ints = 0;
+		int longs = 0;
+		int bits = 0;
+		for (int featureID = 0; featureID < featureCount; featureID++) {
+			byte kind = kindOf(features.get(featureID));
+			kinds[featureID] = kind;
+			switch (kind) {
+			case OBJECT:
+				slots[featureID] = objects++;
+				presence[featureID] = -1;
+				continue;
+			case BOOLEAN:
+				slots[featureID] = bits++;
+				break;
+			case LONG, DOUBLE:
+				slots[featureID] = longs++;
+				break;
+			default:
+				slots[featureID] = ints++;
+				break;
+			}
+			presence[featureID] = bits++;
+		}
+		this.objectCount = objects;
+		this.intCount = ints;
+		this.longCount = longs;
+		this.bitCount = bits;
+	}
+
+	/**
+	 * Computes the layout of an {@link EClass}
+	 * @param eClass the {@link EClass}, must not be <code>null</code>
+	 * @return the layout
+	 */
+	static CompactEClassLayout of(EClass eClass) {
+		return new CompactEClassLayout(requireNonNull(eClass, "EClass must not be null"));
+	}
+
+	private static byte kindOf(EStructuralFeature feature) {
+		if (!(feature instanceof EAttribute attribute) || attribute.isMany() || attribute.isUnsettable() || attribute.isVolatile()) {
+			return OBJECT;
+		}
+		Class<?> type = attribute.getEAttributeType().getInstanceClass();
+		if (type == null || !type.isPrimitive()) {
+			return OBJECT;
+		}
+		if (type == boolean.class) {
+			return BOOLEAN;
+		} else if (type == int.class) {
+			return INT;
+		} else if (type == long.class) {
+			return LONG;
+		} else if (type == double.class) {
+			return DOUBLE;
+		} else if (type == float.class) {
+			return FLOAT;
+		} else if (type == short.class) {
+			return SHORT;
+		} else if (type == byte.class) {
+			return BYTE;
+		} else if (type == char.class) {
+			return CHAR;
+		}
+		return OBJECT;
+	}
+
+	EClass getEClass() {
+		return eClass;
+	}
+
+	byte kind(int featureID) {
+		return kinds[featureID];
+	}
+
+	int slot(int featureID) {
+		return slots[featureID];
+	}
+
+	int presenceBit(int featureID) {
+		return presence[featureID];
+	}
+
+	int getObjectCount() {
+		return objectCount;
+	}
+
+	int getIntCount() {
+		return intCount;
+	}
+
+	int getLongCount() {
+		return longCount;
+	}
+
+	/**
+	 * Returns the number of <code>long</code> words needed for all presence and boolean bits
+	 * @return the number of words
+	 */
+	int getBitWords() {
+		return (bitCount + 63) >>> 6;
+	}
+
+	@Override
+	public String toString() {
+		return "CompactEClassLayout [eClass=" + eClass.getName() + ", objects=" + objectCount + ", ints=" + intCount
+				+ ", longs=" + longCount + ", bits=" + bitCount + "]";
+	}
+}
@@ -0,0 +1,87 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.components.dynamic;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EFactory;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.impl.EFactoryImpl;
+
+/**
+ * An {@link EFactory} for dynamic {@link EPackage}s, that creates {@link CompactEObjectImpl}s instead of
+ * {@link org.eclipse.emf.ecore.impl.DynamicEObjectImpl}s. The layout of each {@link EClass} is computed once,
+ * when its first instance is created.
+ * <p>
+ * Map entry classes are still created by the default implementation.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class CompactEFactoryImpl extends EFactoryImpl {
+
+	private static final String MAP_ENTRY_CLASS_NAME = "java.util.Map$Entry";
+
+	private final Map<EClass, CompactEClassLayout> layouts = new ConcurrentHashMap<>();
+
+	/**
+	 * Sets a new {@link CompactEFactoryImpl} as factory of the given {@link EPackage} and all its sub packages.
+	 * This must happen before any instance is created.
+	 * @param ePackage the dynamic {@link EPackage}, must not be <code>null</code>
+	 */
+	public static void install(EPackage ePackage) {
+		requireNonNull(ePackage, "EPackage must not be null");
+		ePackage.setEFactoryInstance(new CompactEFactoryImpl());
+		ePackage.getESubpackages().forEach(CompactEFactoryImpl::install);
+	}
+
+	/**
+	 * Returns the layout of the given {@link EClass}. It is cached, if the {@link EClass} belongs to a package
+	 * with a {@link CompactEFactoryImpl}.
+	 * @param eClass the {@link EClass}
+	 * @return the layout
+	 */
+	static CompactEClassLayout layoutOf(EClass eClass) {
+		EPackage ePackage = eClass.getEPackage();
+		if (ePackage != null && ePackage.getEFactoryInstance() instanceof CompactEFactoryImpl factory) {
+			return factory.getLayout(eClass);
+		}
+		return CompactEClassLayout.of(eClass);
+	}
+
+	/**
+	 * Returns the cached layout of the given {@link EClass}
+	 * @param eClass the {@link EClass}
+	 * @return the layout
+	 */
+	CompactEClassLayout getLayout(EClass eClass) {
+		return layouts.computeIfAbsent(eClass, CompactEClassLayout::of);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.emf.ecore.impl.EFactoryImpl#basicCreate(org.eclipse.emf.ecore.EClass)
+	 */
+	@Override
+	protected EObject basicCreate(EClass eClass) {
+		if (MAP_ENTRY_CLASS_NAME.equals(eClass.getInstanceClassName())) {
+			return super.basicCreate(eClass);
+		}
+		return new CompactEObjectImpl(getLayout(eClass));
+	}
+}
@@ -0,0 +1,228 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.components.dynamic;
+
+import static org.eclipse.fennec.emf.osgi.components.dynamic.CompactEClassLayout.BOOLEAN;
+import static org.eclipse.fennec.emf.osgi.components.dynamic.CompactEClassLayout.BYTE;
+import static org.eclipse.fennec.emf.osgi.components.dynamic.CompactEClassLayout.CHAR;
+import static org.eclipse.fennec.emf.osgi.components.dynamic.CompactEClassLayout.DOUBLE;
+import static org.eclipse.fennec.emf.osgi.components.dynamic.CompactEClassLayout.FLOAT;
+import static org.eclipse.fennec.emf.osgi.components.dynamic.CompactEClassLayout.INT;
+import static org.eclipse.fennec.emf.osgi.components.dynamic.CompactEClassLayout.LONG;
+import static org.eclipse.fennec.emf.osgi.components.dynamic.CompactEClassLayout.OBJECT;
+import static org.eclipse.fennec.emf.osgi.components.dynamic.CompactEClassLayout.SHORT;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.impl.DynamicEObjectImpl;
+import org.eclipse.emf.ecore.impl.MinimalEObjectImpl;
+
+/**
+ * A dynamic {@link org.eclipse.emf.ecore.EObject}, that stores its feature values according to the
+ * {@link CompactEClassLayout} of its {@link EClass}, instead of one boxed value per feature like
+ * {@link DynamicEObjectImpl}.
+ * <p>
+ * The reflective API still hands out boxed values, but they are not retained. Only the storage arrays,
+ * the kind of which is actually used by the {@link EClass}, are allocated.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class CompactEObjectImpl extends MinimalEObjectImpl.Container {
+
+	private CompactEClassLayout layout;
+	private Object[] objects;
+	private int[] ints;
+	private long[] longs;
+	/** Presence bits of the primitive values and the values of the booleans */
+	private long[] bits;
+
+	/**
+	 * Creates a new instance
+	 * @param layout the layout of the {@link EClass}
+	 */
+	CompactEObjectImpl(CompactEClassLayout layout) {
+		setLayout(layout);
+	}
+
+	private void setLayout(CompactEClassLayout layout) {
+		this.layout = layout;
+		objects = layout.getObjectCount() == 0 ? null : new Object[layout.getObjectCount()];
+		ints = layout.getIntCount() == 0 ? null : new int[layout.getIntCount()];
+		longs = layout.getLongCount() == 0 ? null : new long[layout.getLongCount()];
+		bits = layout.getBitWords() == 0 ? null : new long[layout.getBitWords()];
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.emf.ecore.impl.MinimalEObjectImpl#eClass()
+	 */
+	@Override
+	public EClass eClass() {
+		return layout.getEClass();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.emf.ecore.impl.MinimalEObjectImpl#eDynamicClass()
+	 */
+	@Override
+	protected EClass eDynamicClass() {
+		return layout.getEClass();
+	}
+
+	/**
+	 * Changing the {@link EClass} discards all values, because the layout changes.
+	 * @see org.eclipse.emf.ecore.impl.MinimalEObjectImpl#eSetClass(org.eclipse.emf.ecore.EClass)
+	 */
+	@Override
+	public void eSetClass(EClass eClass) {
+		if (eClass != layout.getEClass()) {
+			setLayout(CompactEFactoryImpl.layoutOf(eClass));
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.emf.ecore.impl.MinimalEObjectImpl#eSettings()
+	 */
+	@Override
+	protected EStructuralFeature.Internal.DynamicValueHolder eSettings() {
+		// the storage is allocated with the object
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.emf.ecore.impl.MinimalEObjectImpl#dynamicGet(int)
+	 */
+	@Override
+	public Object dynamicGet(int dynamicFeatureID) {
+		byte kind = layout.kind(dynamicFeatureID);
+		int slot = layout.slot(dynamicFeatureID);
+		if (kind == OBJECT) {
+			return objects[slot];
+		}
+		if (!isBitSet(layout.presenceBit(dynamicFeatureID))) {
+			return null;
+		}
+		return switch (kind) {
+		case BOOLEAN -> Boolean.valueOf(isBitSet(slot));
+		case INT -> Integer.valueOf(ints[slot]);
+		case FLOAT -> Float.valueOf(Float.intBitsToFloat(ints[slot]));
+		case SHORT -> Short.valueOf((short) ints[slot]);
+		case BYTE -> Byte.valueOf((byte) ints[slot]);
+		case CHAR -> Character.valueOf((char) ints[slot]);
+		case LONG -> Long.valueOf(longs[slot]);
+		case DOUBLE -> Double.valueOf(Double.longBitsToDouble(longs[slot]));
+		default -> throw new IllegalStateException("Unknown storage kind " + kind);
+		};
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.emf.ecore.impl.MinimalEObjectImpl#dynamicSet(int, java.lang.Object)
+	 */
+	@Override
+	public void dynamicSet(int dynamicFeatureID, Object newValue) {
+		byte kind = layout.kind(dynamicFeatureID);
+		int slot = layout.slot(dynamicFeatureID);
+		if (kind == OBJECT) {
+			objects[slot] = newValue;
+			return;
+		}
+		if (newValue == null) {
+			dynamicUnset(dynamicFeatureID);
+			return;
+		}
+		switch (kind) {
+		case BOOLEAN -> setBit(slot, ((Boolean) newValue).booleanValue());
+		case INT -> ints[slot] = ((Integer) newValue).intValue();
+		case FLOAT -> ints[slot] = Float.floatToRawIntBits(((Float) newValue).floatValue());
+		case SHORT -> ints[slot] = ((Short) newValue).shortValue();
+		case BYTE -> ints[slot] = ((Byte) newValue).byteValue();
+		case CHAR -> ints[slot] = ((Character) newValue).charValue();
+		case LONG -> longs[slot] = ((Long) newValue).longValue();
+		case DOUBLE -> longs[slot] = Double.doubleToRawLongBits(((Double) newValue).doubleValue());
+		default -> throw new IllegalStateException("Unknown storage kind " + kind);
+		}
+		setBit(layout.presenceBit(dynamicFeatureID), true);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.emf.ecore.impl.MinimalEObjectImpl#dynamicUnset(int)
+	 */
+	@Override
+	public void dynamicUnset(int dynamicFeatureID) {
+		byte kind = layout.kind(dynamicFeatureID);
+		int slot = layout.slot(dynamicFeatureID);
+		switch (kind) {
+		case OBJECT -> {
+			objects[slot] = null;
+			return;
+		}
+		case BOOLEAN -> setBit(slot, false);
+		case LONG, DOUBLE -> longs[slot] = 0L;
+		default -> ints[slot] = 0;
+		}
+		setBit(layout.presenceBit(dynamicFeatureID), false);
+	}
+
+	/*
+	 * Direct storage access for the DynamicFeatureAccessor, the slots come from the layout
+	 */
+
+	CompactEClassLayout getLayout() {
+		return layout;
+	}
+
+	Object getObjectSlot(int slot) {
+		return objects[slot];
+	}
+
+	int getIntSlot(int slot) {
+		return ints[slot];
+	}
+
+	long getLongSlot(int slot) {
+		return longs[slot];
+	}
+
+	void putInt(int slot, int presenceBit, int value) {
+		ints[slot] = value;
+		setBit(presenceBit, true);
+	}
+
+	void putLong(int slot, int presenceBit, long value) {
+		longs[slot] = value;
+		setBit(presenceBit, true);
+	}
+
+	void putBoolean(int slot, int presenceBit, boolean value) {
+		setBit(slot, value);
+		setBit(presenceBit, true);
+	}
+
+	boolean isBitSet(int bit) {
+		return (bits[bit >>> 6] & (1L << bit)) != 0;
+	}
+
+	private void setBit(int bit, boolean value) {
+		if (value) {
+			bits[bit >>> 6] |= 1L << bit;
+		} else {
+			bits[bit >>> 6] &= ~(1L << bit);
+		}
+	}
+}
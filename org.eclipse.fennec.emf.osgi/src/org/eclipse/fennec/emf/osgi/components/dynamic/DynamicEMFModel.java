@@ -41,5 +41,11 @@ public @interface DynamicEMFModel {
 	String[] feature() default "" ;
 	@AttributeDefinition(description = "The model version", required = false)
 	String version() default "" ;
+	@AttributeDefinition(description = "Reloads the model whenever the file behind a 'file:' URI changes", required = false)
+	boolean dynamicWatch() default false;
+	@AttributeDefinition(description = "Time in milliseconds to wait for further file changes, before the model is reloaded", required = false)
+	long dynamicWatchDebounce() default 500;
+	@AttributeDefinition(description = "Creates the instances of the model with compact storage, that keeps primitive values unboxed", required = false)
+	boolean dynamicCompactObjects() default false;
 	
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.components.dynamic;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.eclipse.fennec.emf.osgi.constants.EMFNamespaces;
+import org.osgi.service.component.annotations.ComponentPropertyType;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+/**
+ * Configuration of the {@link DynamicPackageDirectoryLoader}
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+@ComponentPropertyType
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+@ObjectClassDefinition(
+		description = "A directory or jar file can be configured, that is scanned for ecore files. All EPackages are loaded in parallel and registered in one batch."
+		)
+public @interface DynamicEMFModelDirectory {
+	static String PREFIX_ = EMFNamespaces.EMF_PREFIX;
+	@AttributeDefinition(description = "The directory or jar file to scan, as path or 'file:' URI")
+	String dynamicEcoreLocation();
+	@AttributeDefinition(description = "The glob pattern, the path of an ecore file relative to the location has to match", required = false)
+	String dynamicEcoreGlob() default "**.ecore";
+	@AttributeDefinition(description = "The number of threads to parse the ecore files with, 0 uses one per processor", required = false)
+	int dynamicParallelism() default 0;
+	@AttributeDefinition(description = "Creates the instances of the models with compact storage, that keeps primitive values unboxed", required = false)
+	boolean dynamicCompactObjects() default false;
+	@AttributeDefinition(description = "The model custom feature", required = false)
+	String[] feature() default "" ;
+	@AttributeDefinition(description = "The model version", required = false)
+	String version() default "" ;
+
+}
@@ -0,0 +1,353 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.components.dynamic;
+
+import static java.util.Objects.requireNonNull;
+import static org.eclipse.fennec.emf.osgi.components.dynamic.CompactEClassLayout.BOOLEAN;
+import static org.eclipse.fennec.emf.osgi.components.dynamic.CompactEClassLayout.DOUBLE;
+import static org.eclipse.fennec.emf.osgi.components.dynamic.CompactEClassLayout.INT;
+import static org.eclipse.fennec.emf.osgi.components.dynamic.CompactEClassLayout.LONG;
+import static org.eclipse.fennec.emf.osgi.components.dynamic.CompactEClassLayout.OBJECT;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.fennec.emf.osgi.FeatureAccessor;
+
+/**
+ * {@link FeatureAccessor} for features of dynamic {@link EClass}es.
+ * <p>
+ * The feature ID, and for {@link CompactEObjectImpl}s the storage slot, are resolved once per {@link EClass} and kept
+ * in a map per {@link EClass}, respectively per {@link CompactEClassLayout}. The binding used last is checked before
+ * the map. As long as an accessor sees objects of one {@link EClass}, which is the usual case in serializers and
+ * queries, every call is a field compare followed by an array access. Objects of alternating sub classes cost an
+ * additional map lookup, but never resolve the feature again. Primitive values of
+ * {@link CompactEObjectImpl}s are read and written without boxing, if no adapter requires notifications. All other
+ * cases use the feature ID based methods of {@link InternalEObject}, which still skip the feature lookup.
+ * <p>
+ * Features of generated classes are accessed reflectively, because generated code is already fast.
+ * <p>
+ * No accessor classes are generated at runtime, neither as hidden classes nor through
+ * {@link java.lang.invoke.LambdaMetafactory}. An accessor is this small final class bound to precomputed slots, so
+ * call sites stay monomorphic and the JIT inlines them like generated code, without a bytecode library in the build.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+final class DynamicFeatureAccessor implements FeatureAccessor {
+
+	/**
+	 * Position of the feature in the objects of one {@link EClass}. The layout is <code>null</code> for objects,
+	 * that are not {@link CompactEObjectImpl}s.
+	 */
+	private record Binding(EClass eClass, CompactEClassLayout layout, int featureID, byte kind, int slot, int presenceBit) {
+	}
+
+	private final EStructuralFeature feature;
+	private final boolean reflective;
+	/** Values in the object slot can be returned as they are */
+	private final boolean plainAttribute;
+	private final Object defaultValue;
+	private final int intDefault;
+	private final long longDefault;
+	private final double doubleDefault;
+	private final boolean booleanDefault;
+	/** Bindings per {@link CompactEClassLayout}, respectively per {@link EClass} for other objects */
+	private final Map<Object, Binding> bindings = new ConcurrentHashMap<>();
+	/** Binding used last. Bindings are immutable, so racing updates just replace one valid binding by another */
+	private Binding lastBinding;
+
+	/**
+	 * Creates a new instance
+	 * @param feature the feature, must not be <code>null</code>
+	 */
+	DynamicFeatureAccessor(EStructuralFeature feature) {
+		this.feature = requireNonNull(feature, "Feature must not be null");
+		this.reflective = feature.getContainerClass() != null;
+		this.plainAttribute = feature instanceof EAttribute && !feature.isUnsettable() && !feature.isVolatile();
+		this.defaultValue = feature.getDefaultValue();
+		this.intDefault = defaultValue instanceof Number n ? n.intValue() : 0;
+		this.longDefault = defaultValue instanceof Number n ? n.longValue() : 0L;
+		this.doubleDefault = defaultValue instanceof Number n ? n.doubleValue() : 0.0d;
+		this.booleanDefault = Boolean.TRUE.equals(defaultValue);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.FeatureAccessor#getFeature()
+	 */
+	@Override
+	public EStructuralFeature getFeature() {
+		return feature;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.FeatureAccessor#get(org.eclipse.emf.ecore.EObject)
+	 */
+	@Override
+	public Object get(EObject eObject) {
+		if (reflective) {
+			return eObject.eGet(feature);
+		}
+		Binding b = bind(eObject);
+		if (b.layout() != null) {
+			CompactEObjectImpl compact = (CompactEObjectImpl) eObject;
+			if (b.kind() != OBJECT) {
+				Object value = compact.dynamicGet(b.featureID());
+				return value == null ? defaultValue : value;
+			}
+			if (plainAttribute) {
+				Object value = compact.getObjectSlot(b.slot());
+				if (value != null) {
+					return value;
+				}
+			}
+		}
+		return ((InternalEObject) eObject).eGet(b.featureID(), true, true);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.FeatureAccessor#set(org.eclipse.emf.ecore.EObject, java.lang.Object)
+	 */
+	@Override
+	public void set(EObject eObject, Object value) {
+		if (reflective) {
+			eObject.eSet(feature, value);
+			return;
+		}
+		Binding b = bind(eObject);
+		if (b.layout() != null && b.kind() != OBJECT && value != null && !eObject.eNotificationRequired()) {
+			((CompactEObjectImpl) eObject).dynamicSet(b.featureID(), value);
+			return;
+		}
+		((InternalEObject) eObject).eSet(b.featureID(), value);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.FeatureAccessor#isSet(org.eclipse.emf.ecore.EObject)
+	 */
+	@Override
+	public boolean isSet(EObject eObject) {
+		if (reflective) {
+			return eObject.eIsSet(feature);
+		}
+		return ((InternalEObject) eObject).eIsSet(bind(eObject).featureID());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.FeatureAccessor#unset(org.eclipse.emf.ecore.EObject)
+	 */
+	@Override
+	public void unset(EObject eObject) {
+		if (reflective) {
+			eObject.eUnset(feature);
+			return;
+		}
+		((InternalEObject) eObject).eUnset(bind(eObject).featureID());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.FeatureAccessor#getInt(org.eclipse.emf.ecore.EObject)
+	 */
+	@Override
+	public int getInt(EObject eObject) {
+		if (!reflective && eObject instanceof CompactEObjectImpl compact) {
+			Binding b = bind(compact);
+			if (b.kind() == INT) {
+				return compact.isBitSet(b.presenceBit()) ? compact.getIntSlot(b.slot()) : intDefault;
+			}
+		}
+		return FeatureAccessor.super.getInt(eObject);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.FeatureAccessor#setInt(org.eclipse.emf.ecore.EObject, int)
+	 */
+	@Override
+	public void setInt(EObject eObject, int value) {
+		if (!reflective && eObject instanceof CompactEObjectImpl compact && !compact.eNotificationRequired()) {
+			Binding b = bind(compact);
+			if (b.kind() == INT) {
+				compact.putInt(b.slot(), b.presenceBit(), value);
+				return;
+			}
+		}
+		FeatureAccessor.super.setInt(eObject, value);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.FeatureAccessor#getLong(org.eclipse.emf.ecore.EObject)
+	 */
+	@Override
+	public long getLong(EObject eObject) {
+		if (!reflective && eObject instanceof CompactEObjectImpl compact) {
+			Binding b = bind(compact);
+			if (b.kind() == LONG) {
+				return compact.isBitSet(b.presenceBit()) ? compact.getLongSlot(b.slot()) : longDefault;
+			}
+		}
+		return FeatureAccessor.super.getLong(eObject);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.FeatureAccessor#setLong(org.eclipse.emf.ecore.EObject, long)
+	 */
+	@Override
+	public void setLong(EObject eObject, long value) {
+		if (!reflective && eObject instanceof CompactEObjectImpl compact && !compact.eNotificationRequired()) {
+			Binding b = bind(compact);
+			if (b.kind() == LONG) {
+				compact.putLong(b.slot(), b.presenceBit(), value);
+				return;
+			}
+		}
+		FeatureAccessor.super.setLong(eObject, value);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.FeatureAccessor#getDouble(org.eclipse.emf.ecore.EObject)
+	 */
+	@Override
+	public double getDouble(EObject eObject) {
+		if (!reflective && eObject instanceof CompactEObjectImpl compact) {
+			Binding b = bind(compact);
+			if (b.kind() == DOUBLE) {
+				return compact.isBitSet(b.presenceBit()) ? Double.longBitsToDouble(compact.getLongSlot(b.slot())) : doubleDefault;
+			}
+		}
+		return FeatureAccessor.super.getDouble(eObject);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.FeatureAccessor#setDouble(org.eclipse.emf.ecore.EObject, double)
+	 */
+	@Override
+	public void setDouble(EObject eObject, double value) {
+		if (!reflective && eObject instanceof CompactEObjectImpl compact && !compact.eNotificationRequired()) {
+			Binding b = bind(compact);
+			if (b.kind() == DOUBLE) {
+				compact.putLong(b.slot(), b.presenceBit(), Double.doubleToRawLongBits(value));
+				return;
+			}
+		}
+		FeatureAccessor.super.setDouble(eObject, value);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.FeatureAccessor#getBoolean(org.eclipse.emf.ecore.EObject)
+	 */
+	@Override
+	public boolean getBoolean(EObject eObject) {
+		if (!reflective && eObject instanceof CompactEObjectImpl compact) {
+			Binding b = bind(compact);
+			if (b.kind() == BOOLEAN) {
+				return compact.isBitSet(b.presenceBit()) ? compact.isBitSet(b.slot()) : booleanDefault;
+			}
+		}
+		return FeatureAccessor.super.getBoolean(eObject);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.FeatureAccessor#setBoolean(org.eclipse.emf.ecore.EObject, boolean)
+	 */
+	@Override
+	public void setBoolean(EObject eObject, boolean value) {
+		if (!reflective && eObject instanceof CompactEObjectImpl compact && !compact.eNotificationRequired()) {
+			Binding b = bind(compact);
+			if (b.kind() == BOOLEAN) {
+				compact.putBoolean(b.slot(), b.presenceBit(), value);
+				return;
+			}
+		}
+		FeatureAccessor.super.setBoolean(eObject, value);
+	}
+
+	/**
+	 * Returns the binding for the class of the given object, from the cache if possible
+	 * @param eObject the object
+	 * @return the binding
+	 */
+	private Binding bind(EObject eObject) {
+		Binding current = lastBinding;
+		Object key;
+		if (eObject instanceof CompactEObjectImpl compact) {
+			CompactEClassLayout layout = compact.getLayout();
+			if (current != null && current.layout() == layout) {
+				return current;
+			}
+			key = layout;
+		} else {
+			EClass eClass = eObject.eClass();
+			if (current != null && current.layout() == null && current.eClass() == eClass) {
+				return current;
+			}
+			key = eClass;
+		}
+		current = bindings.get(key);
+		if (current == null) {
+			current = bindings.computeIfAbsent(key, this::createBinding);
+		}
+		lastBinding = current;
+		return current;
+	}
+
+	private Binding createBinding(Object key) {
+		if (key instanceof CompactEClassLayout layout) {
+			int featureID = featureIDOf(layout.getEClass());
+			return new Binding(layout.getEClass(), layout, featureID, layout.kind(featureID), layout.slot(featureID), layout.presenceBit(featureID));
+		}
+		EClass eClass = (EClass) key;
+		return new Binding(eClass, null, featureIDOf(eClass), OBJECT, -1, -1);
+	}
+
+	/**
+	 * Drops the bindings of the {@link EClass}es of the given package, so that a removed package is not kept alive
+	 * by accessors of its super types
+	 * @param ePackage the removed package
+	 */
+	void removeBindings(EPackage ePackage) {
+		bindings.values().removeIf(b -> b.eClass().getEPackage() == ePackage);
+		lastBinding = null;
+	}
+
+	private int featureIDOf(EClass eClass) {
+		int featureID = eClass.getFeatureID(feature);
+		if (featureID < 0) {
+			throw new IllegalArgumentException("The feature '" + feature.getName() + "' is not a feature of the EClass '" + eClass.getName() + "'");
+		}
+		return featureID;
+	}
+
+	@Override
+	public String toString() {
+		return "DynamicFeatureAccessor [feature=" + feature.getName() + "]";
+	}
+}
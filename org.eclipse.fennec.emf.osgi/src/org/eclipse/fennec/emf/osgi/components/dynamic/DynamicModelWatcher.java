@@ -0,0 +1,165 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.components.dynamic;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.Objects.requireNonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Watches a single file and calls a callback, after the file has been changed.
+ * <p>
+ * The parent directory is watched, so that files replaced by editors or build tools, e.g. by
+ * writing a temporary file and renaming it, are detected as well. Changes are debounced: the
+ * callback is called once, after no further change happened within the debounce time.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+final class DynamicModelWatcher implements Closeable {
+
+	private static final Logger logger = Logger.getLogger(DynamicModelWatcher.class.getName());
+
+	private final Path file;
+	private final long debounce;
+	private final Runnable onChange;
+	private final WatchService watchService;
+	private final ScheduledExecutorService scheduler;
+	private final Thread watchThread;
+	private ScheduledFuture<?> pending;
+	private volatile boolean closed = false;
+
+	/**
+	 * Creates a new watcher and starts watching.
+	 *
+	 * @param file     the file to watch, must not be {@code null}
+	 * @param debounce the time in milliseconds to wait for further changes
+	 * @param onChange called after the file has been changed, must not be {@code null}
+	 * @throws IOException if the parent directory cannot be watched
+	 */
+	DynamicModelWatcher(Path file, long debounce, Runnable onChange) throws IOException {
+		this.file = requireNonNull(file, "File must not be null").toAbsolutePath().normalize();
+		this.debounce = Math.max(0, debounce);
+		this.onChange = requireNonNull(onChange, "Change callback must not be null");
+		Path directory = requireNonNull(this.file.getParent(), "File must have a parent directory");
+		this.watchService = directory.getFileSystem().newWatchService();
+		try {
+			directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+		} catch (IOException e) {
+			watchService.close();
+			throw e;
+		}
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "Dynamic EMF Model Reload " + this.file.getFileName());
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.watchThread = new Thread(this::watch, "Dynamic EMF Model Watcher " + this.file.getFileName());
+		this.watchThread.setDaemon(true);
+		this.watchThread.start();
+	}
+
+	/**
+	 * Returns the watched file.
+	 *
+	 * @return the absolute, normalized path of the file
+	 */
+	Path getFile() {
+		return file;
+	}
+
+	/**
+	 * Stops watching. A pending callback is cancelled, a running one is not waited for.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		try {
+			watchService.close();
+		} catch (IOException e) {
+			logger.log(Level.FINE, e, () -> "Error closing watch service for " + file);
+		}
+		synchronized (this) {
+			scheduler.shutdownNow();
+		}
+	}
+
+	private void watch() {
+		Path fileName = file.getFileName();
+		while (!closed) {
+			WatchKey key;
+			try {
+				key = watchService.take();
+			} catch (ClosedWatchServiceException e) {
+				return;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			boolean changed = false;
+			for (WatchEvent<?> event : key.pollEvents()) {
+				// on overflow events might have been lost, so check the file anyway
+				if (event.kind() == OVERFLOW || fileName.equals(event.context())) {
+					changed = true;
+				}
+			}
+			if (changed) {
+				scheduleChange();
+			}
+			if (!key.reset()) {
+				logger.warning(() -> "Directory of " + file + " is not accessible anymore, stopped watching");
+				return;
+			}
+		}
+	}
+
+	/**
+	 * (Re)starts the debounce timer.
+	 */
+	private synchronized void scheduleChange() {
+		if (closed) {
+			return;
+		}
+		if (pending != null) {
+			pending.cancel(false);
+		}
+		pending = scheduler.schedule(this::fireChange, debounce, TimeUnit.MILLISECONDS);
+	}
+
+	private void fireChange() {
+		if (closed) {
+			return;
+		}
+		try {
+			onChange.run();
+		} catch (RuntimeException e) {
+			logger.log(Level.SEVERE, e, () -> "Error handling the change of " + file);
+		}
+	}
+}
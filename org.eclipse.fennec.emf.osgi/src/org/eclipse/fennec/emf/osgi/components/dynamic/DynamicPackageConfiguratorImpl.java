@@ -14,27 +14,38 @@ package org.eclipse.fennec.emf.osgi.components.dynamic;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.eclipse.emf.ecore.EPackage;
 import org.eclipse.emf.ecore.EPackage.Registry;
 import org.eclipse.fennec.emf.osgi.ResourceSetFactory;
 import org.eclipse.fennec.emf.osgi.configurator.EPackageConfigurator;
 
 /**
- * Can be registered as a Service and the given Package will be configured to any {@link ResourceSetFactory} that picks it up.
+ * Can be registered as a Service and the given Packages will be configured to any {@link ResourceSetFactory} that picks it up.
  * 
  * @author Juergen Albert
  * @since 17 Mar 2022
  */
 public class DynamicPackageConfiguratorImpl implements EPackageConfigurator {
 
-		private final EPackage ePackage;
+		private final List<EPackage> ePackages;
 
 		/**
 		 * Creates a new instance.
 		 */
 		DynamicPackageConfiguratorImpl(EPackage ePackage) {
 			requireNonNull(ePackage);
-			this.ePackage = ePackage;
+			this.ePackages = List.of(ePackage);
+		}
+
+		/**
+		 * Creates a new instance for several packages, that are configured together.
+		 */
+		DynamicPackageConfiguratorImpl(Collection<EPackage> ePackages) {
+			requireNonNull(ePackages);
+			this.ePackages = List.copyOf(ePackages);
 		}
 		
 		/* 
@@ -43,7 +54,7 @@ public class DynamicPackageConfiguratorImpl implements EPackageConfigurator {
 		 */
 		@Override
 		public void configureEPackage(Registry registry) {
-			registry.put(ePackage.getNsURI(),ePackage);
+			ePackages.forEach(ePackage -> registry.put(ePackage.getNsURI(),ePackage));
 		}
 
 		/* 
@@ -52,6 +63,7 @@ public class DynamicPackageConfiguratorImpl implements EPackageConfigurator {
 		 */
 		@Override
 		public void unconfigureEPackage(Registry registry) {
-			registry.remove(ePackage.getNsURI());
+			// a reloaded package may already be registered for the same namespace
+			ePackages.forEach(ePackage -> registry.remove(ePackage.getNsURI(), ePackage));
 		}
 	}
\ No newline at end of file
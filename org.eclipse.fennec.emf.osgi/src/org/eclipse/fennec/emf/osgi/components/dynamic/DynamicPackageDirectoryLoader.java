@@ -0,0 +1,265 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.components.dynamic;
+
+import static java.util.Objects.requireNonNull;
+import static org.eclipse.fennec.emf.osgi.constants.EMFNamespaces.DYNAMIC_MODEL_DIRECTORY_CONFIG_NAME;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Dictionary;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.fennec.emf.osgi.configurator.EPackageConfigurator;
+import org.eclipse.fennec.emf.osgi.constants.EMFNamespaces;
+import org.eclipse.fennec.emf.osgi.helper.ServicePropertiesHelper;
+import org.osgi.annotation.bundle.Requirement;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceRegistration;
+import org.osgi.namespace.implementation.ImplementationNamespace;
+import org.osgi.resource.Namespace;
+import org.osgi.service.cm.ConfigurationConstants;
+import org.osgi.service.cm.ConfigurationException;
+import org.osgi.service.cm.annotations.RequireConfigurationAdmin;
+import org.osgi.service.component.ComponentServiceObjects;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.ConfigurationPolicy;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.metatype.annotations.Designate;
+
+import aQute.bnd.annotation.service.ServiceCapability;
+
+/**
+ * A directory or jar file can be configured, that is scanned for ecore files. All {@link EPackage}s are loaded
+ * in parallel, their references are resolved in one pass and they are registered in one batch.
+ *
+ * Each {@link EPackage} is registered with its own {@link EMFNamespaces#EMF_NAME} and {@link EMFNamespaces#EMF_MODEL_NSURI}.
+ * A single {@link EPackageConfigurator} configures all of them, with the names and namespace URIs of all packages as properties.
+ * So a {@link org.eclipse.fennec.emf.osgi.ResourceSetFactory} updates its properties once, instead of once per model.
+ * Additional properties can be defined like for the {@link DynamicPackageLoader}.
+ * With {@link DynamicEMFModelDirectory#dynamicCompactObjects()} the packages get a {@link CompactEFactoryImpl}.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+@Component(name=DYNAMIC_MODEL_DIRECTORY_CONFIG_NAME, configurationPolicy = ConfigurationPolicy.REQUIRE)
+@Designate(ocd = DynamicEMFModelDirectory.class, factory = true)
+@RequireConfigurationAdmin
+@Requirement(namespace = ImplementationNamespace.IMPLEMENTATION_NAMESPACE, //
+	name = ConfigurationConstants.CONFIGURATION_ADMIN_IMPLEMENTATION, //
+	version = ConfigurationConstants.CONFIGURATION_ADMIN_SPECIFICATION_VERSION,
+	resolution = Namespace.RESOLUTION_OPTIONAL)
+@ServiceCapability(EPackage.class)
+@ServiceCapability(EPackageConfigurator.class)
+public class DynamicPackageDirectoryLoader {
+
+	@Reference
+	private ComponentServiceObjects<ResourceSet> resourceSetServiceObjects;
+
+	private static final Logger logger = Logger.getLogger(DynamicPackageDirectoryLoader.class.getName());
+
+	private BundleContext ctx;
+	private DynamicEMFModelDirectory modelConfig;
+	private List<EPackage> dynamicPackages = List.of();
+	private final List<ServiceRegistration<EPackage>> packageRegistrations = new ArrayList<>();
+	private ServiceRegistration<EPackageConfigurator> configuratorRegistration;
+
+	/**
+	 * Called on components activation
+	 * @param ctx the bundle context
+	 * @param modelConfig the config object
+	 * @param properties the properties map
+	 * @throws ConfigurationException
+	 */
+	@Activate
+	public void activate(BundleContext ctx, DynamicEMFModelDirectory modelConfig, Map<String, Object> properties) throws ConfigurationException {
+		logger.info("Trying to load Packages from " + modelConfig.dynamicEcoreLocation());
+		this.ctx = ctx;
+		this.modelConfig = modelConfig;
+		registerModels(modelConfig, properties);
+	}
+
+	/**
+	 * Called on components modification
+	 * @param modelConfig the config object
+	 * @param properties the properties map
+	 * @throws ConfigurationException
+	 */
+	@Modified
+	public void modified(DynamicEMFModelDirectory modelConfig, Map<String, Object> properties) throws ConfigurationException {
+		logger.info("Trying to update Packages from " + modelConfig.dynamicEcoreLocation());
+		boolean rescan = !modelConfig.dynamicEcoreLocation().equals(this.modelConfig.dynamicEcoreLocation())
+				|| !modelConfig.dynamicEcoreGlob().equals(this.modelConfig.dynamicEcoreGlob())
+				|| modelConfig.dynamicCompactObjects() != this.modelConfig.dynamicCompactObjects();
+		this.modelConfig = modelConfig;
+		if (rescan) {
+			unregisterModels();
+			registerModels(modelConfig, properties);
+		} else {
+			updateModelProperties(modelConfig, properties);
+		}
+	}
+
+	/**
+	 * Called on de-activation
+	 */
+	@Deactivate
+	public void deactivate() {
+		unregisterModels();
+	}
+
+	/**
+	 * Loads all packages of the configured location
+	 * @param config the model config
+	 * @return the loaded packages
+	 * @throws Exception
+	 */
+	private List<EPackage> loadModels(DynamicEMFModelDirectory config) throws Exception {
+		Path location = toPath(config.dynamicEcoreLocation());
+		ResourceSet resourceSet = resourceSetServiceObjects.getService();
+		try {
+			long start = System.nanoTime();
+			List<EPackage> result = EcoreDirectoryScanner.loadPackages(location, config.dynamicEcoreGlob(), resourceSet, config.dynamicParallelism());
+			if (config.dynamicCompactObjects()) {
+				result.forEach(CompactEFactoryImpl::install);
+			}
+			logger.fine(() -> "Loaded " + result.size() + " Package(s) from " + location + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+			return result;
+		} finally {
+			resourceSetServiceObjects.ungetService(resourceSet);
+		}
+	}
+
+	/**
+	 * Converts the configured location, that can be a 'file:' URI or a plain path
+	 * @param location the configured location
+	 * @return the path
+	 */
+	private static Path toPath(String location) {
+		URI uri = URI.createURI(location);
+		// the same conversion the EMF file URI handler uses
+		String file = uri.isFile() && uri.scheme() != null ? uri.toFileString() : location;
+		return Path.of(file).toAbsolutePath().normalize();
+	}
+
+	/**
+	 * Returns the service properties
+	 * @param config the model config
+	 * @param properties all provided properties
+	 * @param names the value for {@link EMFNamespaces#EMF_NAME}
+	 * @param nsURIs the value for {@link EMFNamespaces#EMF_MODEL_NSURI}
+	 * @return the service properties
+	 */
+	private Dictionary<String, Object> getServiceProperties(DynamicEMFModelDirectory config, Map<String, Object> properties, Object names, Object nsURIs) {
+		requireNonNull(config);
+		requireNonNull(properties);
+
+		Dictionary<String, Object> props = new Hashtable<>();
+		props.put(EMFNamespaces.EMF_NAME, names);
+		props.put(EMFNamespaces.EMF_MODEL_NSURI, nsURIs);
+		props.put(EMFNamespaces.EMF_MODEL_REGISTRATION, EMFNamespaces.MODEL_REGISTRATION_DYNAMIC);
+		String[] features = Arrays.stream(config.feature()).filter(f -> !f.isBlank()).toArray(String[]::new);
+		if (features.length > 0) {
+			props.put(EMFNamespaces.EMF_MODEL_FEATURE, features);
+		}
+		if (!config.version().isEmpty()) {
+			props.put(EMFNamespaces.EMF_MODEL_VERSION, config.version());
+		}
+		// normalize properties with the prefix and remove the prefix from the properties keys
+		Map<String, Object> featureProperties = ServicePropertiesHelper.filterProperties(EMFNamespaces.EMF_MODEL_FEATURE + ".", properties);
+		requireNonNull(featureProperties);
+		featureProperties.forEach(props::put);
+		return props;
+	}
+
+	/**
+	 * Returns the properties of the configurator, that contain the names and namespace URIs of all packages
+	 * @param config the model config
+	 * @param properties all provided properties
+	 * @return the service properties
+	 */
+	private Dictionary<String, Object> getConfiguratorProperties(DynamicEMFModelDirectory config, Map<String, Object> properties) {
+		String[] names = dynamicPackages.stream().map(EPackage::getName).distinct().toArray(String[]::new);
+		String[] nsURIs = dynamicPackages.stream().map(EPackage::getNsURI).toArray(String[]::new);
+		return getServiceProperties(config, properties, names, nsURIs);
+	}
+
+	/**
+	 * Registers all dynamic models in one batch
+	 * @param modelConfig the model config
+	 * @param properties all service properties
+	 * @throws ConfigurationException
+	 */
+	private void registerModels(DynamicEMFModelDirectory modelConfig, Map<String, Object> properties) throws ConfigurationException {
+		try {
+			dynamicPackages = loadModels(modelConfig);
+		} catch (Exception e) {
+			throw new ConfigurationException(EMFNamespaces.EMF_MODEL_DYNAMIC_LOCATION, "The EMF models at " + modelConfig.dynamicEcoreLocation() + " could not be loaded.", e);
+		}
+		if (dynamicPackages.isEmpty()) {
+			logger.warning(() -> "No ecore files found at " + modelConfig.dynamicEcoreLocation() + " matching " + modelConfig.dynamicEcoreGlob());
+			return;
+		}
+		dynamicPackages.forEach(p -> EPackage.Registry.INSTANCE.put(p.getNsURI(), p));
+		configuratorRegistration = ctx.registerService(EPackageConfigurator.class, new DynamicPackageConfiguratorImpl(dynamicPackages), getConfiguratorProperties(modelConfig, properties));
+		for (EPackage ePackage : dynamicPackages) {
+			Dictionary<String, Object> serviceProps = getServiceProperties(modelConfig, properties, ePackage.getName(), ePackage.getNsURI());
+			packageRegistrations.add(ctx.registerService(EPackage.class, ePackage, serviceProps));
+		}
+	}
+
+	/**
+	 * Updates the current registration properties
+	 * @param modelConfig the model config
+	 * @param properties all service properties
+	 */
+	private void updateModelProperties(DynamicEMFModelDirectory modelConfig, Map<String, Object> properties) {
+		if (configuratorRegistration == null) {
+			return;
+		}
+		configuratorRegistration.setProperties(getConfiguratorProperties(modelConfig, properties));
+		for (int i = 0; i < packageRegistrations.size(); i++) {
+			EPackage ePackage = dynamicPackages.get(i);
+			packageRegistrations.get(i).setProperties(getServiceProperties(modelConfig, properties, ePackage.getName(), ePackage.getNsURI()));
+		}
+	}
+
+	/**
+	 * Un-registers the dynamic models and cleans up the resources
+	 */
+	private void unregisterModels() {
+		packageRegistrations.forEach(ServiceRegistration::unregister);
+		packageRegistrations.clear();
+		if (configuratorRegistration != null) {
+			configuratorRegistration.unregister();
+			configuratorRegistration = null;
+		}
+		for (EPackage ePackage : dynamicPackages) {
+			EPackage.Registry.INSTANCE.remove(ePackage.getNsURI(), ePackage);
+			if (ePackage.eResource() != null) {
+				ePackage.eResource().unload();
+			}
+		}
+		dynamicPackages = List.of();
+	}
+}
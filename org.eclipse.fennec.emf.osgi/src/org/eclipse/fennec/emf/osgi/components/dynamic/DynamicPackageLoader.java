@@ -15,10 +15,16 @@ package org.eclipse.fennec.emf.osgi.components.dynamic;
 import static java.util.Objects.requireNonNull;
 import static org.eclipse.fennec.emf.osgi.constants.EMFNamespaces.DYNAMIC_MODEL_CONFIGURATOR_CONFIG_NAME;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Dictionary;
 import java.util.Hashtable;
 import java.util.Map;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.eclipse.emf.common.util.URI;
@@ -55,6 +61,13 @@ import aQute.bnd.annotation.service.ServiceCapability;
  * The {@link EPackage} and {@link EPackageConfigurator} will be registered with the properties {@link EMFNamespaces#EMF_NAME} and {@link EMFNamespaces#EMF_MODEL_NSURI}. 
  * Additional properties can be defined with the prefix "additional.*". The prefix will be cut before used as registering properties.   
  * 
+ * If {@link DynamicEMFModel#dynamicWatch()} is set for a 'file:' URI, the file is watched and the model reloaded after it changed. 
+ * The reload is skipped, if the content did not change. Otherwise the new {@link EPackage} is registered, before the old one is 
+ * unregistered, so that consumers never miss the package during the reload.
+ * 
+ * If {@link DynamicEMFModel#dynamicCompactObjects()} is set, the {@link EPackage} gets a {@link CompactEFactoryImpl}, 
+ * so that its instances keep primitive values unboxed.
+ * 
  * @author Juergen Albert
  * @since 16.03.2022
  */
@@ -74,9 +87,14 @@ public class DynamicPackageLoader{
 	
 	private static final Logger logger = Logger.getLogger(DynamicPackageLoader.class.getName());
 	
+	private final Object lock = new Object();
 	private EPackage dynamicPackage = null;
 	private BundleContext ctx;
 	private DynamicEMFModel modelConfig;
+	private Map<String, Object> properties;
+	private DynamicModelWatcher watcher;
+	/** SHA-256 of the loaded file content, only set while watching */
+	private byte[] contentHash;
 
 	private ServiceRegistration<EPackage> packageRegistration;
 	private ServiceRegistration<EPackageConfigurator> configuratorRegistration;
@@ -92,9 +110,13 @@ public class DynamicPackageLoader{
 	@Activate
 	public void activate(BundleContext ctx, DynamicEMFModel modelConfig, Map<String, Object> properties) throws ConfigurationException {
 		logger.info("Trying to load Package for " + modelConfig.dynamicEcoreUri());
-		this.ctx = ctx;
-		this.modelConfig = modelConfig;
-		registerModel(modelConfig, properties);
+		synchronized (lock) {
+			this.ctx = ctx;
+			this.modelConfig = modelConfig;
+			this.properties = properties;
+			registerModel(modelConfig, properties);
+			startWatching(modelConfig);
+		}
 	}
 
 	/**
@@ -106,11 +128,18 @@ public class DynamicPackageLoader{
 	@Modified
 	public void modified(DynamicEMFModel modelConfig, Map<String, Object> properties) throws ConfigurationException {
 		logger.info("Trying to update Package for " + modelConfig.dynamicEcoreUri());
-		if (!modelConfig.dynamicEcoreUri().equalsIgnoreCase(this.modelConfig.dynamicEcoreUri())) {
-			unregisterModel();
-			registerModel(modelConfig, properties);
-		} else {
-			updateModelProperties(modelConfig, properties);
+		synchronized (lock) {
+			stopWatching();
+			if (!modelConfig.dynamicEcoreUri().equalsIgnoreCase(this.modelConfig.dynamicEcoreUri()) 
+					|| modelConfig.dynamicCompactObjects() != this.modelConfig.dynamicCompactObjects()) {
+				unregisterModel();
+				registerModel(modelConfig, properties);
+			} else {
+				updateModelProperties(modelConfig, properties);
+			}
+			this.modelConfig = modelConfig;
+			this.properties = properties;
+			startWatching(modelConfig);
 		}
 	}
 	
@@ -119,7 +148,10 @@ public class DynamicPackageLoader{
 	 */
 	@Deactivate
 	public void deactivate() {
-		unregisterModel();
+		synchronized (lock) {
+			stopWatching();
+			unregisterModel();
+		}
 	}
 
 	/**
@@ -127,19 +159,37 @@ public class DynamicPackageLoader{
 	 * @param config the model config
 	 */
 	private void loadModel(DynamicEMFModel config) {
-		ResourceSet resourceSet = resourceSetServiceObjects.getService();
+		dynamicPackage = loadPackage(config, null);
+	}
+
+	/**
+	 * Loads the first {@link EPackage} of an ecore
+	 * @param config the model config
+	 * @param content the content to load, or <code>null</code> to load it from the URI
+	 * @return the loaded {@link EPackage}
+	 */
+	private EPackage loadPackage(DynamicEMFModel config, byte[] content) {
 		URI ecoreURI = URI.createURI(config.dynamicEcoreUri());
+		ResourceSet resourceSet = resourceSetServiceObjects.getService();
 		try {
 			Resource resource = resourceSet.createResource(ecoreURI);
-			resource.load(null);
+			if (content == null) {
+				resource.load(null);
+			} else {
+				resource.load(new ByteArrayInputStream(content), null);
+			}
 			
 			if (resource.getContents().isEmpty()) {
 				throw new IllegalStateException("Loaded ecore with no content '" + ecoreURI + "'");
 			}
-			dynamicPackage = (EPackage) resource.getContents().get(0);
-			EcoreUtil.resolveAll(dynamicPackage);
-			resource.setURI(URI.createURI(dynamicPackage.getNsURI()));
+			EPackage ePackage = (EPackage) resource.getContents().get(0);
+			EcoreUtil.resolveAll(ePackage);
+			if (config.dynamicCompactObjects()) {
+				CompactEFactoryImpl.install(ePackage);
+			}
+			resource.setURI(URI.createURI(ePackage.getNsURI()));
 			resourceSet.getResources().clear();
+			return ePackage;
 		} catch (IOException e) {
 			throw new IllegalStateException("Error loading ecore file at '" + ecoreURI + "'", e);
 		} finally {
@@ -147,6 +197,116 @@ public class DynamicPackageLoader{
 		}
 	}
 
+	/**
+	 * Starts watching the ecore file, if configured and the URI is a 'file:' URI
+	 * @param config the model config
+	 */
+	private void startWatching(DynamicEMFModel config) {
+		if (!config.dynamicWatch()) {
+			return;
+		}
+		URI ecoreURI = URI.createURI(config.dynamicEcoreUri());
+		if (!ecoreURI.isFile()) {
+			logger.warning(() -> "Only 'file:' URIs can be watched, ignoring watch mode for " + ecoreURI);
+			return;
+		}
+		try {
+			// the same conversion the EMF file URI handler uses
+			Path file = Path.of(ecoreURI.toFileString()).toAbsolutePath().normalize();
+			contentHash = hash(Files.readAllBytes(file));
+			watcher = new DynamicModelWatcher(file, config.dynamicWatchDebounce(), this::reloadIfChanged);
+			logger.fine(() -> "Watching " + file + " for changes");
+		} catch (IOException | IllegalArgumentException e) {
+			contentHash = null;
+			logger.log(Level.WARNING, e, () -> "Cannot watch " + ecoreURI + " for changes");
+		}
+	}
+
+	/**
+	 * Stops watching the ecore file
+	 */
+	private void stopWatching() {
+		if (watcher != null) {
+			watcher.close();
+			watcher = null;
+		}
+		contentHash = null;
+	}
+
+	/**
+	 * Called by the watcher after the ecore file was changed. Reloads and swaps the model, if the content 
+	 * of the file is different from the loaded one.
+	 */
+	private void reloadIfChanged() {
+		synchronized (lock) {
+			DynamicModelWatcher current = watcher;
+			if (current == null) {
+				// stopped in the meantime
+				return;
+			}
+			byte[] content;
+			try {
+				content = Files.readAllBytes(current.getFile());
+			} catch (IOException e) {
+				logger.log(Level.WARNING, e, () -> "Cannot read changed " + current.getFile() + ", keeping the registered model");
+				return;
+			}
+			byte[] newHash = hash(content);
+			if (MessageDigest.isEqual(newHash, contentHash)) {
+				logger.fine(() -> "Content of " + current.getFile() + " did not change, skipping reload");
+				return;
+			}
+			EPackage newPackage;
+			try {
+				newPackage = loadPackage(modelConfig, content);
+			} catch (Exception e) {
+				logger.log(Level.WARNING, e, () -> "Cannot reload " + current.getFile() + ", keeping the registered model");
+				return;
+			}
+			swapModel(newPackage);
+			contentHash = newHash;
+			logger.info(() -> "Reloaded Package " + newPackage.getNsURI() + " from " + current.getFile());
+		}
+	}
+
+	/**
+	 * Registers the new package, before the registrations of the old one are removed.
+	 * @param newPackage the reloaded package
+	 */
+	private void swapModel(EPackage newPackage) {
+		EPackage oldPackage = dynamicPackage;
+		ServiceRegistration<EPackage> oldPackageRegistration = packageRegistration;
+		ServiceRegistration<EPackageConfigurator> oldConfiguratorRegistration = configuratorRegistration;
+
+		dynamicPackage = newPackage;
+		Dictionary<String, Object> serviceProps = getServiceProperties(modelConfig, properties);
+		EPackage.Registry.INSTANCE.put(newPackage.getNsURI(), newPackage);
+		configuratorRegistration = ctx.registerService(EPackageConfigurator.class, new DynamicPackageConfiguratorImpl(newPackage), serviceProps);
+		packageRegistration = ctx.registerService(EPackage.class, newPackage, serviceProps);
+
+		oldPackageRegistration.unregister();
+		oldConfiguratorRegistration.unregister();
+		if (!oldPackage.getNsURI().equals(newPackage.getNsURI())) {
+			EPackage.Registry.INSTANCE.remove(oldPackage.getNsURI(), oldPackage);
+		}
+		if (oldPackage.eResource() != null) {
+			oldPackage.eResource().unload();
+		}
+	}
+
+	/**
+	 * Returns the SHA-256 hash of the content
+	 * @param content the content
+	 * @return the hash
+	 */
+	private static byte[] hash(byte[] content) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(content);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
 	/**
 	 * Returns the current service properties
 	 * @param config the model config
@@ -0,0 +1,212 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.components.dynamic;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EStructuralFeature.Setting;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * Finds all ecore files in a directory or jar file and loads their {@link EPackage}s.
+ * <p>
+ * The files are parsed in parallel, each into a resource that does not belong to any
+ * {@link ResourceSet} yet. References between the files stay proxies during parsing. Afterwards
+ * all resources are added to one {@link ResourceSet} and all proxies are resolved in a single pass.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+final class EcoreDirectoryScanner {
+
+	private static final Logger logger = Logger.getLogger(EcoreDirectoryScanner.class.getName());
+
+	/** An ecore file and the URI its resource gets */
+	private record EcoreSource(Path path, URI uri) {
+	}
+
+	private EcoreDirectoryScanner() {
+	}
+
+	/**
+	 * Loads the first {@link EPackage} of every ecore file below the location, whose relative path matches the glob.
+	 * Files that cannot be loaded are logged and skipped. If several files have the same namespace URI, the
+	 * first one in path order is used.
+	 *
+	 * @param location    a directory or a jar file
+	 * @param glob        the glob pattern for the relative paths of the ecore files
+	 * @param resourceSet the resource set to resolve the references in, it is cleared afterwards
+	 * @param parallelism the number of threads to parse with, values below 1 use one per processor
+	 * @return the loaded packages in path order, never {@code null}
+	 * @throws IOException if the location is neither a directory nor a readable jar file
+	 */
+	static List<EPackage> loadPackages(Path location, String glob, ResourceSet resourceSet, int parallelism) throws IOException {
+		requireNonNull(location, "Location must not be null");
+		requireNonNull(glob, "Glob must not be null");
+		requireNonNull(resourceSet, "ResourceSet must not be null");
+		if (Files.isDirectory(location)) {
+			List<EcoreSource> sources = findSources(location, glob, p -> URI.createFileURI(p.toAbsolutePath().toString()));
+			return loadPackages(sources, resourceSet, parallelism);
+		}
+		if (!Files.isRegularFile(location)) {
+			throw new IOException("Location '" + location + "' is neither a directory nor a jar file");
+		}
+		URI archiveURI = URI.createFileURI(location.toAbsolutePath().toString());
+		try (FileSystem archive = FileSystems.newFileSystem(location)) {
+			Path root = archive.getPath("/");
+			List<EcoreSource> sources = findSources(root, glob,
+					p -> URI.createURI("archive:" + archiveURI + "!/" + root.relativize(p)));
+			// the archive has to stay open while parsing
+			return loadPackages(sources, resourceSet, parallelism);
+		}
+	}
+
+	private static List<EcoreSource> findSources(Path root, String glob, Function<Path, URI> toURI) throws IOException {
+		PathMatcher matcher = root.getFileSystem().getPathMatcher("glob:" + glob);
+		try (Stream<Path> paths = Files.walk(root)) {
+			return paths.filter(Files::isRegularFile)
+					.filter(p -> matcher.matches(root.relativize(p)))
+					.sorted()
+					.map(p -> new EcoreSource(p, toURI.apply(p)))
+					.toList();
+		}
+	}
+
+	private static List<EPackage> loadPackages(List<EcoreSource> sources, ResourceSet resourceSet, int parallelism) throws IOException {
+		if (sources.isEmpty()) {
+			return List.of();
+		}
+		List<Resource> resources = parse(sources, resourceSet, parallelism);
+		try {
+			return resolve(resources, resourceSet);
+		} finally {
+			resourceSet.getResources().clear();
+		}
+	}
+
+	/**
+	 * Parses all sources in parallel. The resources are created with the factories of the resource set,
+	 * but are not added to it, because a {@link ResourceSet} must not be modified concurrently.
+	 */
+	private static List<Resource> parse(List<EcoreSource> sources, ResourceSet resourceSet, int parallelism) throws IOException {
+		int threads = Math.min(sources.size(), parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+		AtomicInteger threadCount = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+			Thread thread = new Thread(r, "Dynamic EMF Model Parser " + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			List<Future<Resource>> futures = new ArrayList<>(sources.size());
+			for (EcoreSource source : sources) {
+				Resource.Factory factory = resourceSet.getResourceFactoryRegistry().getFactory(source.uri());
+				if (factory == null) {
+					logger.severe(() -> "No resource factory for " + source.uri());
+					continue;
+				}
+				Map<Object, Object> options = new HashMap<>(resourceSet.getLoadOptions());
+				futures.add(executor.submit(() -> parse(source, factory, options)));
+			}
+			List<Resource> resources = new ArrayList<>(futures.size());
+			for (Future<Resource> future : futures) {
+				try {
+					Resource resource = future.get();
+					if (resource != null) {
+						resources.add(resource);
+					}
+				} catch (ExecutionException e) {
+					logger.log(Level.SEVERE, e.getCause(), () -> "Error parsing ecore file");
+				}
+			}
+			return resources;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while parsing ecore files", e);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static Resource parse(EcoreSource source, Resource.Factory factory, Map<Object, Object> options) {
+		try {
+			byte[] content = Files.readAllBytes(source.path());
+			Resource resource = factory.createResource(source.uri());
+			resource.load(new ByteArrayInputStream(content), options);
+			if (resource.getContents().isEmpty() || !(resource.getContents().get(0) instanceof EPackage)) {
+				logger.warning(() -> "Ecore file " + source.uri() + " does not contain an EPackage");
+				return null;
+			}
+			return resource;
+		} catch (IOException | RuntimeException e) {
+			logger.log(Level.SEVERE, e, () -> "Error loading ecore file " + source.uri());
+			return null;
+		}
+	}
+
+	/**
+	 * Resolves all references between the parsed resources in one pass.
+	 */
+	private static List<EPackage> resolve(List<Resource> resources, ResourceSet resourceSet) {
+		Map<String, EPackage> packages = new LinkedHashMap<>();
+		for (Resource resource : resources) {
+			EPackage ePackage = (EPackage) resource.getContents().get(0);
+			EPackage existing = packages.putIfAbsent(ePackage.getNsURI(), ePackage);
+			if (existing != null) {
+				logger.warning(() -> "Ignoring " + resource.getURI() + ", the namespace URI " + ePackage.getNsURI()
+						+ " is already provided by " + existing.eResource().getURI());
+				continue;
+			}
+			resourceSet.getResources().add(resource);
+			// references by namespace URI
+			resourceSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+		}
+		EcoreUtil.resolveAll(resourceSet);
+		Map<EObject, Collection<Setting>> unresolved = EcoreUtil.UnresolvedProxyCrossReferencer.find(resourceSet);
+		if (!unresolved.isEmpty()) {
+			logger.warning(() -> unresolved.size() + " object(s) of the dynamic models could not be resolved: " + unresolved.keySet());
+		}
+		for (EPackage ePackage : packages.values()) {
+			resourceSet.getPackageRegistry().remove(ePackage.getNsURI(), ePackage);
+			ePackage.eResource().setURI(URI.createURI(ePackage.getNsURI()));
+		}
+		return List.copyOf(packages.values());
+	}
+}
@@ -0,0 +1,70 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.components.dynamic;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.fennec.emf.osgi.FeatureAccessor;
+import org.eclipse.fennec.emf.osgi.FeatureAccessorRegistry;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+
+/**
+ * Default {@link FeatureAccessorRegistry}, that creates one {@link DynamicFeatureAccessor} per feature.
+ * The accessors of an {@link EPackage} are dropped, when its service is unregistered, e.g. when a dynamic
+ * model is reloaded.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+@Component(name = "DefaultFeatureAccessorRegistry", service = FeatureAccessorRegistry.class)
+public class FeatureAccessorRegistryComponent implements FeatureAccessorRegistry {
+
+	private final Map<EStructuralFeature, FeatureAccessor> accessors = new ConcurrentHashMap<>();
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.FeatureAccessorRegistry#getAccessor(org.eclipse.emf.ecore.EStructuralFeature)
+	 */
+	@Override
+	public FeatureAccessor getAccessor(EStructuralFeature feature) {
+		requireNonNull(feature, "Feature must not be null");
+		return accessors.computeIfAbsent(feature, DynamicFeatureAccessor::new);
+	}
+
+	/**
+	 * Nothing to do, accessors are created on demand
+	 * @param ePackage the registered package
+	 */
+	@Reference(name = "ePackage", policy = ReferencePolicy.DYNAMIC, cardinality = ReferenceCardinality.MULTIPLE, unbind = "removeEPackage")
+	protected void addEPackage(EPackage ePackage) {
+		// accessors are created on demand
+	}
+
+	/**
+	 * Drops the accessors of all features of the package and the bindings of its classes in other accessors
+	 * @param ePackage the unregistered package
+	 */
+	protected void removeEPackage(EPackage ePackage) {
+		accessors.keySet().removeIf(feature -> EcoreUtil.isAncestor(ePackage, feature));
+		accessors.values().forEach(accessor -> ((DynamicFeatureAccessor) accessor).removeBindings(ePackage));
+	}
+}
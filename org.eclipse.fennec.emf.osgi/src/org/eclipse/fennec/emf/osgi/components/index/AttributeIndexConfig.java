@@ -0,0 +1,41 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.components.index;
+
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+/**
+ * Configuration of the {@link AttributeIndexConfiguratorComponent}
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+@ObjectClassDefinition(
+		name = "EMF Attribute Index Configurator",
+		description = "Adds attribute indexes to every ResourceSet created by the ResourceSetFactory, in addition to the indexes declared by EAnnotations."
+		)
+public @interface AttributeIndexConfig {
+
+	/**
+	 * Index declarations in the form <code>&lt;nsURI&gt;#&lt;EClass&gt;.&lt;EAttribute&gt;[:hash|sorted]</code>
+	 * @return the index declarations
+	 */
+	@AttributeDefinition(
+			name = "Indexes",
+			description = "Index declarations '<nsURI>#<EClass>.<EAttribute>[:hash|sorted]', e.g. 'http://example.org/person#Person.name:sorted'",
+			required = false
+			)
+	String[] indexes() default {};
+
+}
@@ -0,0 +1,187 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.components.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EAnnotation;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.fennec.emf.osgi.AttributeIndex.Type;
+import org.eclipse.fennec.emf.osgi.configurator.ResourceSetConfigurator;
+import org.eclipse.fennec.emf.osgi.constants.EMFNamespaces;
+import org.eclipse.fennec.emf.osgi.resourceset.AttributeIndexSupport;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.ConfigurationPolicy;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+import org.osgi.service.metatype.annotations.Designate;
+
+/**
+ * {@link ResourceSetConfigurator}, that adds attribute indexes to each new {@link ResourceSet}. Indexes are declared by
+ * an {@link EAnnotation} with the source {@link EMFNamespaces#EMF_INDEX_ANNOTATION_SOURCE} on an {@link EAttribute} of
+ * a registered {@link EPackage}, or by configuration.
+ * <p>
+ * The content adapter maintaining the indexes only descends into resources, whose root objects can contain instances
+ * of an indexed {@link EClass}. Resource sets holding other models pay for an adapter on the resources only.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+@Component(name = EMFNamespaces.ATTRIBUTE_INDEX_CONFIG_NAME, configurationPolicy = ConfigurationPolicy.OPTIONAL, service = ResourceSetConfigurator.class)
+@Designate(ocd = AttributeIndexConfig.class)
+public class AttributeIndexConfiguratorComponent implements ResourceSetConfigurator {
+
+	private static final Logger logger = Logger.getLogger(AttributeIndexConfiguratorComponent.class.getName());
+
+	/**
+	 * An index declaration
+	 */
+	record IndexDeclaration(EClass eClass, EAttribute attribute, Type type) {}
+
+	private final Map<EPackage, List<IndexDeclaration>> annotatedIndexes = new ConcurrentHashMap<>();
+	private volatile List<String> configuredIndexes = List.of();
+
+	/**
+	 * Called on activation and modification of the configuration
+	 * @param config the configuration
+	 */
+	@Activate
+	@Modified
+	public void activate(AttributeIndexConfig config) {
+		configuredIndexes = List.of(config.indexes());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.configurator.ResourceSetConfigurator#configureResourceSet(org.eclipse.emf.ecore.resource.ResourceSet)
+	 */
+	@Override
+	public void configureResourceSet(ResourceSet resourceSet) {
+		List<IndexDeclaration> declarations = new ArrayList<>();
+		annotatedIndexes.values().forEach(declarations::addAll);
+		for (String declaration : configuredIndexes) {
+			IndexDeclaration parsed = parseDeclaration(declaration, resourceSet.getPackageRegistry());
+			if (parsed != null) {
+				declarations.add(parsed);
+			}
+		}
+		if (declarations.isEmpty()) {
+			return;
+		}
+		AttributeIndexSupport support = AttributeIndexSupport.install(resourceSet);
+		for (IndexDeclaration declaration : declarations) {
+			try {
+				support.addIndex(declaration.eClass(), declaration.attribute(), declaration.type());
+			} catch (IllegalArgumentException e) {
+				logger.log(Level.WARNING, e, () -> "Cannot add attribute index: " + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Collects the index declarations of the package
+	 * @param ePackage the registered package
+	 */
+	@Reference(name = "ePackage", policy = ReferencePolicy.DYNAMIC, cardinality = ReferenceCardinality.MULTIPLE, unbind = "removeEPackage")
+	protected void addEPackage(EPackage ePackage) {
+		List<IndexDeclaration> declarations = findAnnotatedIndexes(ePackage);
+		if (!declarations.isEmpty()) {
+			annotatedIndexes.put(ePackage, declarations);
+		}
+	}
+
+	/**
+	 * Drops the index declarations of the package
+	 * @param ePackage the unregistered package
+	 */
+	protected void removeEPackage(EPackage ePackage) {
+		annotatedIndexes.remove(ePackage);
+	}
+
+	/**
+	 * Returns the indexes declared by annotations on the attributes of the package and its sub packages
+	 * @param ePackage the {@link EPackage}
+	 * @return the declarations, never <code>null</code>
+	 */
+	static List<IndexDeclaration> findAnnotatedIndexes(EPackage ePackage) {
+		List<IndexDeclaration> declarations = new ArrayList<>();
+		for (TreeIterator<EObject> contents = ePackage.eAllContents(); contents.hasNext();) {
+			EObject content = contents.next();
+			if (content instanceof EAttribute attribute) {
+				EAnnotation annotation = attribute.getEAnnotation(EMFNamespaces.EMF_INDEX_ANNOTATION_SOURCE);
+				Type type = annotation == null ? null : parseType(annotation.getDetails().get(EMFNamespaces.EMF_INDEX_ANNOTATION_TYPE), attribute.getName());
+				if (type != null) {
+					declarations.add(new IndexDeclaration(attribute.getEContainingClass(), attribute, type));
+				}
+				contents.prune();
+			} else if (!(content instanceof EPackage || content instanceof EClass)) {
+				contents.prune();
+			}
+		}
+		return declarations;
+	}
+
+	/**
+	 * Parses a declaration in the form <code>&lt;nsURI&gt;#&lt;EClass&gt;.&lt;EAttribute&gt;[:hash|sorted]</code>
+	 * @param declaration the declaration
+	 * @param registry the registry to look up the {@link EPackage}
+	 * @return the declaration or <code>null</code>, if it is invalid
+	 */
+	static IndexDeclaration parseDeclaration(String declaration, EPackage.Registry registry) {
+		int hash = declaration.lastIndexOf('#');
+		int dot = declaration.indexOf('.', hash + 1);
+		if (hash < 1 || dot < 0) {
+			logger.warning(() -> "Invalid attribute index declaration, expected '<nsURI>#<EClass>.<EAttribute>[:hash|sorted]': " + declaration);
+			return null;
+		}
+		int colon = declaration.indexOf(':', dot + 1);
+		String attributeName = declaration.substring(dot + 1, colon < 0 ? declaration.length() : colon);
+		Type type = parseType(colon < 0 ? null : declaration.substring(colon + 1), attributeName);
+		EPackage ePackage = registry.getEPackage(declaration.substring(0, hash));
+		EClassifier eClass = ePackage == null ? null : ePackage.getEClassifier(declaration.substring(hash + 1, dot));
+		EStructuralFeature attribute = eClass instanceof EClass ? ((EClass) eClass).getEStructuralFeature(attributeName) : null;
+		if (type == null || !(attribute instanceof EAttribute)) {
+			logger.warning(() -> "Cannot resolve attribute index declaration: " + declaration);
+			return null;
+		}
+		return new IndexDeclaration((EClass) eClass, (EAttribute) attribute, type);
+	}
+
+	private static Type parseType(String type, String attributeName) {
+		if (type == null || type.isBlank()) {
+			return Type.HASH;
+		}
+		try {
+			return Type.valueOf(type.trim().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			logger.warning(() -> String.format("Unknown index type '%s' for attribute '%s'", type, attributeName));
+			return null;
+		}
+	}
+}
@@ -29,6 +29,8 @@ import org.eclipse.emf.ecore.xmi.impl.EcoreResourceFactoryImpl;
 import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
 import org.eclipse.emf.ecore.xml.namespace.XMLNamespacePackage;
 import org.eclipse.emf.ecore.xml.type.XMLTypePackage;
+import org.eclipse.fennec.emf.osgi.binary.CompactBinaryResourceFactoryImpl;
+import org.eclipse.fennec.emf.osgi.binary.CompactBinaryResourceImpl;
 import org.eclipse.fennec.emf.osgi.constants.EMFNamespaces;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.FrameworkUtil;
@@ -78,6 +80,7 @@ public class EcorePackagesRegistrator {
 				registrations.add(bctx.registerService(new String[] {Resource.Factory.class.getName(), EcoreResourceFactoryImpl.class.getName()}, new EcoreResourceFactoryImpl(), getServiceProperties(EcorePackage.eINSTANCE, new String[]{ECORE}, EcorePackage.eCONTENT_TYPE, new Version("2002"))));
 				registrations.add(bctx.registerService(new String[] {Resource.Factory.class.getName(), EMOFResourceFactoryImpl.class.getName()}, new EMOFResourceFactoryImpl(), getServiceProperties(EcorePackage.eINSTANCE, new String[]{"emof"}, "org.eclipse.emf.emof", new Version("2002"))));
 				registrations.add(bctx.registerService(new String[] {Resource.Factory.class.getName()}, BINARY_FACTORY, getServiceProperties(EcorePackage.eINSTANCE, new String[]{"bin"}, OCTET_STREAM, new Version("2002"))));
+				registrations.add(bctx.registerService(new String[] {Resource.Factory.class.getName(), CompactBinaryResourceFactoryImpl.class.getName()}, new CompactBinaryResourceFactoryImpl(), getServiceProperties(EcorePackage.eINSTANCE, new String[]{CompactBinaryResourceImpl.FILE_EXTENSION}, CompactBinaryResourceImpl.CONTENT_TYPE, new Version("2002"))));
 			}
 		}
 	}
@@ -0,0 +1,116 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.journal;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Reads the format of {@link JournalOutput} from a byte array.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+final class JournalInput {
+
+	private final byte[] bytes;
+	private final int limit;
+	private final List<String> strings = new ArrayList<>();
+	private int position;
+
+	JournalInput(byte[] bytes, int position, int limit) {
+		this.bytes = bytes;
+		this.position = position;
+		this.limit = limit;
+	}
+
+	boolean hasRemaining() {
+		return position < limit;
+	}
+
+	int position() {
+		return position;
+	}
+
+	int readVarInt() throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			if (position >= limit) {
+				throw new IOException("Unexpected end of the journal");
+			}
+			byte b = bytes[position++];
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed varint in the journal");
+	}
+
+	String readString() throws IOException {
+		int tag = readVarInt();
+		if (tag == 0) {
+			return null;
+		}
+		if (tag > 1) {
+			int index = tag - 2;
+			if (index >= strings.size()) {
+				throw new IOException("Unknown string reference " + index + " in the journal");
+			}
+			return strings.get(index);
+		}
+		int length = readVarInt();
+		if (length < 0 || position + length > limit) {
+			throw new IOException("Unexpected end of the journal");
+		}
+		String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+		position += length;
+		strings.add(value);
+		return value;
+	}
+
+	/**
+	 * Reads the next frame, written by {@link JournalOutput#toFrame()}
+	 * @return the input over the records of the frame or <code>null</code>, if the frame is
+	 * incomplete or its checksum doesn't match
+	 */
+	JournalInput readFrame() {
+		int start = position;
+		try {
+			int length = readVarInt();
+			if (length < 0 || (long) position + length + 4 > limit) {
+				position = start;
+				return null;
+			}
+			CRC32 crc = new CRC32();
+			crc.update(bytes, position, length);
+			int checksum = 0;
+			for (int i = 0; i < 4; i++) {
+				checksum = (checksum << 8) | (bytes[position + length + i] & 0xFF);
+			}
+			if (checksum != (int) crc.getValue()) {
+				position = start;
+				return null;
+			}
+			JournalInput frame = new JournalInput(bytes, position, position + length);
+			position += length + 4;
+			return frame;
+		} catch (IOException e) {
+			position = start;
+			return null;
+		}
+	}
+}
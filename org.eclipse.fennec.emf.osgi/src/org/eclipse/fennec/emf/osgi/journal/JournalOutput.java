@@ -0,0 +1,114 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.journal;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Growable buffer for the records of one journal batch. Integers are written as unsigned varints, strings once
+ * per batch and afterwards as a reference into the string table of the batch.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+final class JournalOutput {
+
+	private final Map<String, Integer> strings = new HashMap<>();
+	private byte[] buffer = new byte[256];
+	private int size;
+
+	/**
+	 * Writes an unsigned varint
+	 * @param value the value, must not be negative
+	 */
+	void writeVarInt(int value) {
+		ensureCapacity(5);
+		while ((value & ~0x7F) != 0) {
+			buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		buffer[size++] = (byte) value;
+	}
+
+	/**
+	 * Writes a string: 0 for <code>null</code>, 1 followed by the UTF-8 bytes for a new string or
+	 * 2 + table index for a string, that was written before
+	 * @param value the string or <code>null</code>
+	 */
+	void writeString(String value) {
+		if (value == null) {
+			writeVarInt(0);
+			return;
+		}
+		Integer index = strings.get(value);
+		if (index != null) {
+			writeVarInt(index.intValue() + 2);
+			return;
+		}
+		strings.put(value, Integer.valueOf(strings.size()));
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeVarInt(1);
+		writeVarInt(bytes.length);
+		ensureCapacity(bytes.length);
+		System.arraycopy(bytes, 0, buffer, size, bytes.length);
+		size += bytes.length;
+	}
+
+	/**
+	 * Returns the number of written bytes
+	 * @return the size
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the written records framed by their length and a CRC32 checksum
+	 * @return the frame
+	 */
+	byte[] toFrame() {
+		JournalOutput frame = new JournalOutput();
+		frame.writeVarInt(size);
+		frame.ensureCapacity(size + 4);
+		System.arraycopy(buffer, 0, frame.buffer, frame.size, size);
+		frame.size += size;
+		CRC32 crc = new CRC32();
+		crc.update(buffer, 0, size);
+		int checksum = (int) crc.getValue();
+		for (int shift = 24; shift >= 0; shift -= 8) {
+			frame.buffer[frame.size++] = (byte) (checksum >>> shift);
+		}
+		return Arrays.copyOf(frame.buffer, frame.size);
+	}
+
+	/**
+	 * Discards the written records and the string table
+	 */
+	void reset() {
+		size = 0;
+		strings.clear();
+		if (buffer.length > 64 * 1024) {
+			buffer = new byte[256];
+		}
+	}
+
+	private void ensureCapacity(int additional) {
+		if (size + additional > buffer.length) {
+			buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + additional));
+		}
+	}
+}
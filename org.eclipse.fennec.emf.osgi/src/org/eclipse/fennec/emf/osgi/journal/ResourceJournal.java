@@ -0,0 +1,1207 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.journal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.logging.Logger;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.util.ECollections;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.URIConverter;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.FeatureMapUtil;
+import org.eclipse.emf.ecore.util.InternalEList;
+
+/**
+ * Append-only change journal for a {@link Resource}.
+ * <p>
+ * The journal records the changes of the resource in a compact delta format. {@link #save(Map)} appends the
+ * changes since the last save to a journal next to the base document (the resource URI with the additional
+ * extension <code>journal</code>), instead of saving the whole resource. {@link #load(Map)} loads the base
+ * document and replays the journal. When the journal exceeds the compaction threshold, the resource is saved
+ * as new base and the journal is deleted. So the cost of a save is proportional to the change and not to the
+ * size of the model.
+ * <p>
+ * Objects are addressed by their containment path. New objects are recorded with their complete content, moved
+ * objects by reference to their removal. Changes of many valued attributes and references are recorded as the
+ * added, removed or moved values with their positions, only bidirectional references are recorded with all their
+ * values. Changes, that cannot be expressed as delta, like changes of feature maps or the resource URI, require a
+ * full save, which the next {@link #save(Map)} performs automatically. Every batch of the journal is framed with
+ * its length and a checksum, an incomplete batch at the end of the journal, e.g. after a crash, is ignored. The
+ * journal stores the time stamp and length of its base document, so a journal, whose base was saved without the
+ * journal, is ignored as well. If the {@link URIConverter} doesn't know the time stamp or length of the base
+ * document, the journal cannot be checked, so it is neither written nor replayed, unless the option
+ * {@link #OPTION_ACCEPT_UNKNOWN_BASE_STAMP} is set.
+ * <p>
+ * Like the resource itself, the journal is not thread safe.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class ResourceJournal {
+
+	/** The file extension, that is appended to the resource URI for the journal */
+	public static final String JOURNAL_EXTENSION = "journal";
+	/** The default journal size in bytes, that triggers the compaction into a new base */
+	public static final long DEFAULT_COMPACTION_THRESHOLD = 4L * 1024 * 1024;
+	/**
+	 * Load and save option: {@link Boolean#TRUE} accepts a base document with unknown time stamp or length, e.g.
+	 * of a URI handler without these attributes. The journal is then written and replayed without checking, that
+	 * it belongs to the base document.
+	 */
+	public static final String OPTION_ACCEPT_UNKNOWN_BASE_STAMP = "journal.acceptUnknownBaseStamp";
+
+	private static final Logger LOG = Logger.getLogger(ResourceJournal.class.getName());
+	private static final byte[] MAGIC = { 'F', 'E', 'J', 1 };
+	private static final int HEADER_LENGTH = MAGIC.length + 2 * Long.BYTES;
+	private static final int[] RESOURCE_LOCATION = new int[0];
+
+	/* record types */
+	private static final int SET_VALUE = 1;
+	private static final int UNSET = 2;
+	private static final int SET_REFERENCE = 3;
+	private static final int SET_LIST = 4;
+	private static final int ADD = 5;
+	private static final int REMOVE = 6;
+	private static final int MOVE = 7;
+	private static final int LIST_ADD = 8;
+	private static final int LIST_SET = 9;
+	private static final int LIST_REMOVE = 10;
+	private static final int LIST_MOVE = 11;
+	/* kinds of added objects */
+	private static final int NEW_OBJECT = 0;
+	private static final int MOVED_OBJECT = 1;
+	/* kinds of reference targets */
+	private static final int NULL_TARGET = 0;
+	private static final int LOCAL_TARGET = 1;
+	private static final int EXTERNAL_TARGET = 2;
+	/* feature tags of new objects */
+	private static final int END = 0;
+	private static final int ATTRIBUTE = 1;
+	private static final int ATTRIBUTE_LIST = 2;
+	private static final int CHILD = 3;
+	private static final int CHILD_LIST = 4;
+
+	private static final Target NULL = new Target(null, null, null);
+
+	private final Resource resource;
+	private final long compactionThreshold;
+	private final Recorder recorder = new Recorder();
+	private final JournalOutput pending = new JournalOutput();
+	/* objects removed since the last record, that can be added again as part of a move */
+	private final Map<EObject, Integer> moving = new IdentityHashMap<>();
+	/* objects removed since the last compaction */
+	private final Set<EObject> removed = Collections.newSetFromMap(new WeakHashMap<>());
+	/* the last known index of objects in their containing list, checked before it is used */
+	private final Map<EObject, Integer> indexHints = new WeakHashMap<>();
+	private long[] baseStamp = { -1, -1 };
+	private long journalSize;
+	private int nextMoveId;
+	private boolean synced;
+	private boolean fullSaveRequired;
+	private boolean replaying;
+
+	/**
+	 * Creates a new journal with the {@link #DEFAULT_COMPACTION_THRESHOLD} and starts recording the changes of the
+	 * resource.
+	 * @param resource the resource, must not be <code>null</code>
+	 */
+	public ResourceJournal(Resource resource) {
+		this(resource, DEFAULT_COMPACTION_THRESHOLD);
+	}
+
+	/**
+	 * Creates a new journal and starts recording the changes of the resource.
+	 * @param resource the resource, must not be <code>null</code>
+	 * @param compactionThreshold the journal size in bytes, that triggers the compaction into a new base
+	 */
+	public ResourceJournal(Resource resource, long compactionThreshold) {
+		this.resource = requireNonNull(resource);
+		this.compactionThreshold = compactionThreshold;
+		resource.eAdapters().add(recorder);
+	}
+
+	/**
+	 * Returns the journaled resource
+	 * @return the resource
+	 */
+	public Resource getResource() {
+		return resource;
+	}
+
+	/**
+	 * Returns the URI of the journal
+	 * @return the journal URI or <code>null</code>, if the resource has no URI
+	 */
+	public URI getJournalURI() {
+		URI uri = resource.getURI();
+		return uri == null ? null : uri.appendFileExtension(JOURNAL_EXTENSION);
+	}
+
+	/**
+	 * Returns the size of the journal
+	 * @return the size in bytes
+	 */
+	public long getJournalSize() {
+		return journalSize;
+	}
+
+	/**
+	 * Returns the size of the recorded changes, that are not saved yet
+	 * @return the size in bytes
+	 */
+	public int getPendingSize() {
+		return pending.size();
+	}
+
+	/**
+	 * Returns <code>true</code>, if the next {@link #save(Map)} saves the whole resource. This is the case before
+	 * the journal was loaded or compacted and after changes, that cannot be expressed as delta.
+	 * @return <code>true</code>, if a full save is required
+	 */
+	public boolean isFullSaveRequired() {
+		return fullSaveRequired || !synced;
+	}
+
+	/**
+	 * Loads the base document and replays the journal
+	 * @param options the load options
+	 * @return the number of replayed batches
+	 * @throws IOException if loading or replaying fails
+	 * @throws IllegalStateException if the resource is already loaded
+	 */
+	public int load(Map<?, ?> options) throws IOException {
+		if (resource.isLoaded()) {
+			throw new IllegalStateException("The resource " + resource.getURI() + " is already loaded");
+		}
+		resource.load(options);
+		return replay(options);
+	}
+
+	/**
+	 * Replays the journal onto the freshly loaded base document. If the journal is stale or corrupted at its end,
+	 * the replayable part is applied and the next {@link #save(Map)} saves the whole resource.
+	 * @return the number of replayed batches
+	 * @throws IOException if the journal cannot be read or replayed
+	 */
+	public int replay() throws IOException {
+		return replay(null);
+	}
+
+	/**
+	 * Replays the journal onto the freshly loaded base document. If the journal is stale or corrupted at its end,
+	 * the replayable part is applied and the next {@link #save(Map)} saves the whole resource.
+	 * @param options the load options, e.g. with {@link #OPTION_ACCEPT_UNKNOWN_BASE_STAMP}
+	 * @return the number of replayed batches
+	 * @throws IOException if the journal cannot be read or replayed
+	 */
+	public int replay(Map<?, ?> options) throws IOException {
+		URI journalURI = requireJournalURI();
+		URIConverter converter = getURIConverter();
+		discard();
+		baseStamp = readBaseStamp();
+		synced = true;
+		if (!converter.exists(journalURI, null)) {
+			return 0;
+		}
+		byte[] bytes;
+		try (InputStream in = converter.createInputStream(journalURI)) {
+			bytes = in.readAllBytes();
+		}
+		if (bytes.length < HEADER_LENGTH || !Arrays.equals(MAGIC, Arrays.copyOf(bytes, MAGIC.length))) {
+			throw new IOException("The file " + journalURI + " is no resource journal");
+		}
+		ByteBuffer header = ByteBuffer.wrap(bytes, MAGIC.length, 2 * Long.BYTES);
+		if (!matches(baseStamp, new long[] { header.getLong(), header.getLong() }, options)) {
+			LOG.warning(() -> "The journal " + journalURI + " doesn't belong to the current base document or the base is unknown, it is ignored");
+			fullSaveRequired = true;
+			return 0;
+		}
+		JournalInput input = new JournalInput(bytes, HEADER_LENGTH, bytes.length);
+		Map<Integer, EObject> moved = new HashMap<>();
+		int batches = 0;
+		replaying = true;
+		try {
+			while (input.hasRemaining()) {
+				JournalInput batch = input.readFrame();
+				if (batch == null) {
+					LOG.warning(() -> "The journal " + journalURI + " ends with an incomplete batch, it is ignored");
+					fullSaveRequired = true;
+					break;
+				}
+				apply(batch, moved);
+				batches++;
+			}
+		} catch (RuntimeException e) {
+			synced = false;
+			throw new IOException("Cannot replay the journal " + journalURI, e);
+		} catch (IOException e) {
+			synced = false;
+			throw e;
+		} finally {
+			replaying = false;
+		}
+		journalSize = input.position();
+		return batches;
+	}
+
+	/**
+	 * Saves the changes since the last save. The changes are appended to the journal, unless a full save is
+	 * required, the journal would exceed the compaction threshold or the base document cannot be checked. In these
+	 * cases the journal is compacted.
+	 * @param options the save options, used for full saves, and {@link #OPTION_ACCEPT_UNKNOWN_BASE_STAMP}
+	 * @return <code>true</code>, if the changes were appended to the journal, <code>false</code> if the
+	 * resource was saved completely
+	 * @throws IOException if saving fails
+	 */
+	public boolean save(Map<?, ?> options) throws IOException {
+		URI journalURI = requireJournalURI();
+		if (isFullSaveRequired() || !getURIConverter().exists(resource.getURI(), null)
+				|| !matches(baseStamp, readBaseStamp(), options)) {
+			compact(options);
+			return false;
+		}
+		if (pending.size() == 0) {
+			return true;
+		}
+		byte[] frame = pending.toFrame();
+		if (journalSize + frame.length > compactionThreshold) {
+			compact(options);
+			return false;
+		}
+		append(journalURI, frame);
+		pending.reset();
+		clearMoving();
+		if (resource.isModified()) {
+			resource.setModified(false);
+		}
+		return true;
+	}
+
+	/**
+	 * Saves the whole resource as new base document and deletes the journal
+	 * @param options the save options
+	 * @throws IOException if saving fails
+	 */
+	public void compact(Map<?, ?> options) throws IOException {
+		URI journalURI = requireJournalURI();
+		resource.save(options);
+		// a journal, that survives a crash at this point, is stale and ignored by its base stamp
+		URIConverter converter = getURIConverter();
+		if (converter.exists(journalURI, null)) {
+			converter.delete(journalURI, null);
+		}
+		discard();
+		removed.clear();
+		baseStamp = readBaseStamp();
+		synced = true;
+	}
+
+	/**
+	 * Stops recording the changes of the resource. Unsaved changes are discarded.
+	 */
+	public void close() {
+		resource.eAdapters().remove(recorder);
+		discard();
+		removed.clear();
+		indexHints.clear();
+		synced = false;
+	}
+
+	private URI requireJournalURI() {
+		URI journalURI = getJournalURI();
+		if (journalURI == null) {
+			throw new IllegalStateException("A resource without URI cannot be journaled");
+		}
+		return journalURI;
+	}
+
+	private URIConverter getURIConverter() {
+		ResourceSet resourceSet = resource.getResourceSet();
+		return resourceSet == null ? URIConverter.INSTANCE : resourceSet.getURIConverter();
+	}
+
+	private long[] readBaseStamp() {
+		Map<String, ?> attributes = getURIConverter().getAttributes(resource.getURI(),
+				Map.of(URIConverter.OPTION_REQUESTED_ATTRIBUTES,
+						Set.of(URIConverter.ATTRIBUTE_TIME_STAMP, URIConverter.ATTRIBUTE_LENGTH)));
+		return new long[] { longValue(attributes.get(URIConverter.ATTRIBUTE_TIME_STAMP)),
+				longValue(attributes.get(URIConverter.ATTRIBUTE_LENGTH)) };
+	}
+
+	private static long longValue(Object value) {
+		return value instanceof Number number ? number.longValue() : -1;
+	}
+
+	/* unknown values, e.g. of URI handlers without attributes, only match, if they are accepted by the options */
+	private static boolean matches(long[] stamp, long[] other, Map<?, ?> options) {
+		boolean acceptUnknown = options != null && Boolean.TRUE.equals(options.get(OPTION_ACCEPT_UNKNOWN_BASE_STAMP));
+		for (int i = 0; i < stamp.length; i++) {
+			if (stamp[i] == -1 || other[i] == -1) {
+				if (!acceptUnknown) {
+					return false;
+				}
+			} else if (stamp[i] != other[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void append(URI journalURI, byte[] frame) throws IOException {
+		byte[] header = null;
+		if (journalSize == 0) {
+			header = ByteBuffer.allocate(HEADER_LENGTH).put(MAGIC).putLong(baseStamp[0]).putLong(baseStamp[1]).array();
+		}
+		if (journalURI.isFile()) {
+			Path path = Path.of(journalURI.toFileString());
+			if (header != null) {
+				Files.write(path, header);
+			}
+			Files.write(path, frame, StandardOpenOption.APPEND);
+		} else {
+			// URI handlers only support to replace a file
+			URIConverter converter = getURIConverter();
+			byte[] existing = header;
+			if (existing == null) {
+				try (InputStream in = converter.createInputStream(journalURI)) {
+					existing = in.readNBytes((int) journalSize);
+				}
+			}
+			try (OutputStream out = converter.createOutputStream(journalURI)) {
+				out.write(existing);
+				out.write(frame);
+			}
+		}
+		journalSize += (header == null ? 0 : header.length) + frame.length;
+	}
+
+	private void discard() {
+		pending.reset();
+		clearMoving();
+		journalSize = 0;
+		fullSaveRequired = false;
+	}
+
+	private void clearMoving() {
+		if (moving.isEmpty()) {
+			return;
+		}
+		List<EObject> detached = new ArrayList<>(moving.keySet());
+		moving.clear();
+		for (EObject eObject : detached) {
+			if (eObject.eResource() != resource) {
+				eObject.eAdapters().remove(recorder);
+			}
+		}
+	}
+
+	/* recording */
+
+	private void record(Notification notification) {
+		Object notifier = notification.getNotifier();
+		if (notifier == resource) {
+			switch (notification.getFeatureID(Resource.class)) {
+			case Resource.RESOURCE__CONTENTS -> recordContainment(null, null, notification);
+			case Resource.RESOURCE__URI -> fullSaveRequired = true;
+			case Resource.RESOURCE__IS_LOADED -> {
+				if (!notification.getNewBooleanValue()) {
+					discard();
+					removed.clear();
+					indexHints.clear();
+					synced = false;
+				}
+			}
+			default -> {
+				// no content change
+			}
+			}
+			return;
+		}
+		if (!(notifier instanceof EObject eObject) || !(notification.getFeature() instanceof EStructuralFeature feature)
+				|| !isPersistent(feature)) {
+			return;
+		}
+		if (eObject.eResource() != resource) {
+			// changed after its removal, it cannot be added again as part of a move
+			moving.remove(EcoreUtil.getRootContainer(eObject));
+			return;
+		}
+		if (fullSaveRequired) {
+			return;
+		}
+		if (FeatureMapUtil.isFeatureMap(feature)) {
+			fullSaveRequired = true;
+		} else if (feature instanceof EReference reference && reference.isContainment()) {
+			recordContainment(eObject, reference, notification);
+		} else {
+			clearMoving();
+			if (feature.isMany() && !(feature instanceof EReference reference && reference.getEOpposite() != null)) {
+				recordList(eObject, feature, notification);
+			} else {
+				// both ends of a bidirectional reference are recorded, so they are replayed with all values
+				writeFeature(eObject, feature, notification.getEventType() == Notification.UNSET);
+			}
+		}
+	}
+
+	private void recordList(EObject eObject, EStructuralFeature feature, Notification notification) {
+		int[] location = locate(eObject);
+		if (location == null) {
+			fullSaveRequired = true;
+			return;
+		}
+		int featureID = eObject.eClass().getFeatureID(feature);
+		int position = notification.getPosition();
+		switch (notification.getEventType()) {
+		case Notification.ADD -> writeListValues(LIST_ADD, location, featureID, feature, position,
+				Collections.singletonList(notification.getNewValue()));
+		case Notification.ADD_MANY -> writeListValues(LIST_ADD, location, featureID, feature, position,
+				(List<?>) notification.getNewValue());
+		case Notification.SET -> {
+			if (position < 0) {
+				writeFeature(eObject, feature, false);
+			} else {
+				writeListValues(LIST_SET, location, featureID, feature, position, Collections.singletonList(notification.getNewValue()));
+			}
+		}
+		case Notification.REMOVE -> writeListRemove(location, featureID, new int[] { position });
+		case Notification.REMOVE_MANY -> {
+			int[] positions = (int[]) notification.getNewValue();
+			if (positions == null) {
+				// a cleared list, its remaining values are written
+				writeFeature(eObject, feature, false);
+			} else {
+				writeListRemove(location, featureID, positions);
+			}
+		}
+		case Notification.MOVE -> {
+			pending.writeVarInt(LIST_MOVE);
+			writeLocation(location);
+			pending.writeVarInt(featureID);
+			pending.writeVarInt(((Integer) notification.getOldValue()).intValue());
+			pending.writeVarInt(position);
+		}
+		default -> writeFeature(eObject, feature, notification.getEventType() == Notification.UNSET);
+		}
+	}
+
+	private void writeListValues(int type, int[] location, int featureID, EStructuralFeature feature, int index, List<?> values) {
+		List<Target> targets = null;
+		if (feature instanceof EReference) {
+			targets = new ArrayList<>(values.size());
+			for (Object value : values) {
+				Target target = target((EObject) value);
+				if (target == null) {
+					fullSaveRequired = true;
+					return;
+				}
+				targets.add(target);
+			}
+		}
+		pending.writeVarInt(type);
+		writeLocation(location);
+		pending.writeVarInt(featureID);
+		pending.writeVarInt(index);
+		pending.writeVarInt(values.size());
+		if (targets != null) {
+			targets.forEach(this::writeTarget);
+		} else {
+			values.forEach(v -> pending.writeString(convert((EAttribute) feature, v)));
+		}
+	}
+
+	private void writeListRemove(int[] location, int featureID, int[] positions) {
+		// replayed from the last to the first position, so the positions stay valid
+		int[] sorted = positions.clone();
+		Arrays.sort(sorted);
+		pending.writeVarInt(LIST_REMOVE);
+		writeLocation(location);
+		pending.writeVarInt(featureID);
+		pending.writeVarInt(sorted.length);
+		for (int i = sorted.length - 1; i >= 0; i--) {
+			pending.writeVarInt(sorted[i]);
+		}
+	}
+
+	private void recordContainment(EObject container, EReference reference, Notification notification) {
+		if (fullSaveRequired) {
+			return;
+		}
+		int[] location = container == null ? RESOURCE_LOCATION : locate(container);
+		if (location == null) {
+			fullSaveRequired = true;
+			return;
+		}
+		int featureID = container == null ? 0 : container.eClass().getFeatureID(reference);
+		boolean many = container == null || reference.isMany();
+		int position = notification.getPosition();
+		switch (notification.getEventType()) {
+		case Notification.SET, Notification.UNSET -> {
+			int index = many ? position : -1;
+			if (notification.getOldValue() instanceof EObject oldValue) {
+				writeRemove(location, featureID, index, oldValue);
+			}
+			if (notification.getNewValue() instanceof EObject newValue) {
+				writeAdd(location, featureID, index, newValue);
+			}
+		}
+		case Notification.ADD -> writeAdd(location, featureID, position, (EObject) notification.getNewValue());
+		case Notification.ADD_MANY -> {
+			int index = position;
+			for (Object child : (List<?>) notification.getNewValue()) {
+				writeAdd(location, featureID, index++, (EObject) child);
+			}
+		}
+		case Notification.REMOVE -> writeRemove(location, featureID, position, (EObject) notification.getOldValue());
+		case Notification.REMOVE_MANY -> {
+			List<?> children = (List<?>) notification.getOldValue();
+			int[] positions = (int[]) notification.getNewValue();
+			if (positions == null) {
+				// a cleared list
+				List<?> list = container == null ? resource.getContents() : (List<?>) container.eGet(reference, false);
+				if (!list.isEmpty()) {
+					fullSaveRequired = true;
+					return;
+				}
+				positions = new int[children.size()];
+				Arrays.setAll(positions, i -> i);
+			}
+			for (int i = positions.length - 1; i >= 0; i--) {
+				writeRemove(location, featureID, positions[i], (EObject) children.get(i));
+			}
+		}
+		case Notification.MOVE -> {
+			clearMoving();
+			pending.writeVarInt(MOVE);
+			writeLocation(location);
+			pending.writeVarInt(featureID);
+			pending.writeVarInt(((Integer) notification.getOldValue()).intValue());
+			pending.writeVarInt(position);
+		}
+		default -> fullSaveRequired = true;
+		}
+	}
+
+	private void writeRemove(int[] location, int featureID, int index, EObject child) {
+		if (fullSaveRequired) {
+			return;
+		}
+		int moveId = nextMoveId++;
+		pending.writeVarInt(REMOVE);
+		writeLocation(location);
+		pending.writeVarInt(featureID);
+		pending.writeVarInt(index + 1);
+		pending.writeVarInt(moveId);
+		removed.add(child);
+		moving.put(child, Integer.valueOf(moveId));
+	}
+
+	private void writeAdd(int[] location, int featureID, int index, EObject child) {
+		if (fullSaveRequired) {
+			return;
+		}
+		Integer moveId = moving.remove(child);
+		if (moveId != null) {
+			removed.remove(child);
+			pending.writeVarInt(ADD);
+			writeLocation(location);
+			pending.writeVarInt(featureID);
+			pending.writeVarInt(index + 1);
+			pending.writeVarInt(MOVED_OBJECT);
+			pending.writeVarInt(moveId.intValue());
+			return;
+		}
+		// everything is checked before writing, so that no record is written partially
+		List<Deferred> references = new ArrayList<>();
+		if (!prepareNew(child, true, references)) {
+			fullSaveRequired = true;
+			return;
+		}
+		pending.writeVarInt(ADD);
+		writeLocation(location);
+		pending.writeVarInt(featureID);
+		pending.writeVarInt(index + 1);
+		pending.writeVarInt(NEW_OBJECT);
+		writeNew(child);
+		for (Deferred reference : references) {
+			writeReference(reference.location(), reference.featureID(), reference.feature(), reference.targets());
+		}
+	}
+
+	private boolean prepareNew(EObject eObject, boolean root, List<Deferred> references) {
+		// objects, that were part of the resource, must keep their identity
+		if (removed.contains(eObject) || eObject.eIsProxy()
+				|| (!root && ((InternalEObject) eObject).eDirectResource() != null)) {
+			return false;
+		}
+		for (EStructuralFeature feature : eObject.eClass().getEAllStructuralFeatures()) {
+			if (!isPersistent(feature) || !eObject.eIsSet(feature)) {
+				continue;
+			}
+			if (FeatureMapUtil.isFeatureMap(feature)) {
+				return false;
+			}
+			if (feature instanceof EReference reference) {
+				if (reference.isContainment()) {
+					for (EObject child : children(eObject, reference)) {
+						if (!prepareNew(child, false, references)) {
+							return false;
+						}
+					}
+				} else {
+					int[] location = locate(eObject);
+					List<Target> targets = targets(eObject, reference);
+					if (location == null || targets == null) {
+						return false;
+					}
+					references.add(new Deferred(location, eObject.eClass().getFeatureID(reference), reference, targets));
+				}
+			}
+		}
+		return true;
+	}
+
+	private void writeNew(EObject eObject) {
+		EClass eClass = eObject.eClass();
+		writeEClass(eClass);
+		for (EStructuralFeature feature : eClass.getEAllStructuralFeatures()) {
+			if (!isPersistent(feature) || !eObject.eIsSet(feature)) {
+				continue;
+			}
+			int featureID = eClass.getFeatureID(feature);
+			if (feature instanceof EAttribute attribute) {
+				Object value = eObject.eGet(attribute, false);
+				if (attribute.isMany()) {
+					List<?> values = (List<?>) value;
+					pending.writeVarInt(ATTRIBUTE_LIST);
+					pending.writeVarInt(featureID);
+					pending.writeVarInt(values.size());
+					values.forEach(v -> pending.writeString(convert(attribute, v)));
+				} else {
+					pending.writeVarInt(ATTRIBUTE);
+					pending.writeVarInt(featureID);
+					pending.writeString(convert(attribute, value));
+				}
+			} else if (((EReference) feature).isContainment()) {
+				List<EObject> children = children(eObject, (EReference) feature);
+				if (feature.isMany()) {
+					pending.writeVarInt(CHILD_LIST);
+					pending.writeVarInt(featureID);
+					pending.writeVarInt(children.size());
+					children.forEach(this::writeNew);
+				} else if (!children.isEmpty()) {
+					pending.writeVarInt(CHILD);
+					pending.writeVarInt(featureID);
+					writeNew(children.get(0));
+				}
+			}
+		}
+		pending.writeVarInt(END);
+	}
+
+	private void writeFeature(EObject eObject, EStructuralFeature feature, boolean unset) {
+		int[] location = locate(eObject);
+		if (location == null) {
+			fullSaveRequired = true;
+			return;
+		}
+		int featureID = eObject.eClass().getFeatureID(feature);
+		if (unset) {
+			pending.writeVarInt(UNSET);
+			writeLocation(location);
+			pending.writeVarInt(featureID);
+		} else if (feature instanceof EAttribute attribute) {
+			Object value = eObject.eGet(attribute, false);
+			pending.writeVarInt(attribute.isMany() ? SET_LIST : SET_VALUE);
+			writeLocation(location);
+			pending.writeVarInt(featureID);
+			if (attribute.isMany()) {
+				List<?> values = (List<?>) value;
+				pending.writeVarInt(values.size());
+				values.forEach(v -> pending.writeString(convert(attribute, v)));
+			} else {
+				pending.writeString(convert(attribute, value));
+			}
+		} else {
+			List<Target> targets = targets(eObject, (EReference) feature);
+			if (targets == null) {
+				fullSaveRequired = true;
+				return;
+			}
+			writeReference(location, featureID, feature, targets);
+		}
+	}
+
+	private void writeReference(int[] location, int featureID, EStructuralFeature feature, List<Target> targets) {
+		pending.writeVarInt(feature.isMany() ? SET_LIST : SET_REFERENCE);
+		writeLocation(location);
+		pending.writeVarInt(featureID);
+		if (feature.isMany()) {
+			pending.writeVarInt(targets.size());
+		}
+		targets.forEach(this::writeTarget);
+	}
+
+	private void writeTarget(Target target) {
+		if (target == NULL) {
+			pending.writeVarInt(NULL_TARGET);
+		} else if (target.location() != null) {
+			pending.writeVarInt(LOCAL_TARGET);
+			writeLocation(target.location());
+		} else {
+			pending.writeVarInt(EXTERNAL_TARGET);
+			writeEClass(target.eClass());
+			pending.writeString(target.uri());
+		}
+	}
+
+	private void writeEClass(EClass eClass) {
+		pending.writeString(eClass.getEPackage().getNsURI());
+		pending.writeString(eClass.getName());
+	}
+
+	private void writeLocation(int[] location) {
+		pending.writeVarInt(location.length);
+		for (int value : location) {
+			pending.writeVarInt(value);
+		}
+	}
+
+	/**
+	 * Returns the containment path of the object: the index in the resource contents followed by pairs of
+	 * feature ID and index + 1, where 0 denotes a single valued feature. The indexes are looked up with
+	 * {@link #indexOf(InternalEList, EObject)}, so locating the siblings of a located object is constant.
+	 * @param eObject the object
+	 * @return the path or <code>null</code>, if the object isn't contained in the resource
+	 */
+	private int[] locate(EObject eObject) {
+		int[] path = new int[16];
+		int size = 0;
+		InternalEObject current = (InternalEObject) eObject;
+		while (true) {
+			if (size + 2 > path.length) {
+				path = Arrays.copyOf(path, path.length * 2);
+			}
+			InternalEObject container = current.eInternalContainer();
+			if (container == null || current.eDirectResource() != null) {
+				if (current.eDirectResource() != resource) {
+					return null;
+				}
+				path[size++] = indexOf((InternalEList<?>) resource.getContents(), current);
+				break;
+			}
+			EReference feature = current.eContainmentFeature();
+			int index = feature.isMany() ? indexOf((InternalEList<?>) container.eGet(feature, false), current) : -1;
+			path[size++] = index + 1;
+			path[size++] = container.eClass().getFeatureID(feature);
+			current = container;
+		}
+		int[] location = new int[size];
+		for (int i = 0; i < size; i++) {
+			location[i] = path[size - 1 - i];
+		}
+		return location;
+	}
+
+	/**
+	 * Returns the index of the object in its containing list. A missing or outdated hint indexes all objects of
+	 * the list at once, so a change of the list costs one pass, instead of one pass per located object.
+	 */
+	private int indexOf(InternalEList<?> list, EObject eObject) {
+		Integer hint = indexHints.get(eObject);
+		int size = list.size();
+		if (hint != null && hint.intValue() < size && list.basicGet(hint.intValue()) == eObject) {
+			return hint.intValue();
+		}
+		int index = -1;
+		for (int i = 0; i < size; i++) {
+			Object sibling = list.basicGet(i);
+			indexHints.put((EObject) sibling, Integer.valueOf(i));
+			if (sibling == eObject) {
+				index = i;
+			}
+		}
+		return index;
+	}
+
+	private List<Target> targets(EObject eObject, EReference reference) {
+		Object value = eObject.eGet(reference, false);
+		if (!reference.isMany()) {
+			Target target = target((EObject) value);
+			return target == null ? null : List.of(target);
+		}
+		List<?> values = ((InternalEList<?>) value).basicList();
+		List<Target> targets = new ArrayList<>(values.size());
+		for (Object v : values) {
+			Target target = target((EObject) v);
+			if (target == null) {
+				return null;
+			}
+			targets.add(target);
+		}
+		return targets;
+	}
+
+	private Target target(EObject target) {
+		if (target == null) {
+			return NULL;
+		}
+		URI uri;
+		if (target.eIsProxy()) {
+			uri = ((InternalEObject) target).eProxyURI();
+		} else {
+			Resource targetResource = target.eResource();
+			if (targetResource == resource) {
+				int[] location = locate(target);
+				return location == null ? null : new Target(location, null, null);
+			}
+			if (targetResource == null) {
+				return null;
+			}
+			uri = EcoreUtil.getURI(target);
+		}
+		URI base = resource.getURI();
+		if (base.isHierarchical() && !base.isRelative()) {
+			uri = uri.deresolve(base);
+		}
+		return new Target(null, target.eClass(), uri.toString());
+	}
+
+	private static boolean isPersistent(EStructuralFeature feature) {
+		return !feature.isTransient() && !feature.isDerived()
+				&& !(feature instanceof EReference reference && reference.isContainer());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<EObject> children(EObject eObject, EReference reference) {
+		Object value = eObject.eGet(reference, false);
+		if (reference.isMany()) {
+			return ((InternalEList<EObject>) value).basicList();
+		}
+		return value == null ? List.of() : List.of((EObject) value);
+	}
+
+	private static String convert(EAttribute attribute, Object value) {
+		return value == null ? null : EcoreUtil.convertToString(attribute.getEAttributeType(), value);
+	}
+
+	/* replay */
+
+	@SuppressWarnings("unchecked")
+	private void apply(JournalInput in, Map<Integer, EObject> moved) throws IOException {
+		while (in.hasRemaining()) {
+			int type = in.readVarInt();
+			switch (type) {
+			case SET_VALUE -> {
+				EObject eObject = readObjectAt(in);
+				EAttribute attribute = (EAttribute) feature(eObject, in.readVarInt());
+				eObject.eSet(attribute, createValue(attribute, in.readString()));
+			}
+			case UNSET -> {
+				EObject eObject = readObjectAt(in);
+				eObject.eUnset(feature(eObject, in.readVarInt()));
+			}
+			case SET_REFERENCE -> {
+				EObject eObject = readObjectAt(in);
+				EStructuralFeature feature = feature(eObject, in.readVarInt());
+				eObject.eSet(feature, readTarget(in));
+			}
+			case SET_LIST -> {
+				EObject eObject = readObjectAt(in);
+				EStructuralFeature feature = feature(eObject, in.readVarInt());
+				ECollections.setEList((EList<Object>) eObject.eGet(feature, false), readValues(in, feature));
+			}
+			case LIST_ADD, LIST_SET -> {
+				EObject eObject = readObjectAt(in);
+				EStructuralFeature feature = feature(eObject, in.readVarInt());
+				int index = in.readVarInt();
+				List<Object> values = readValues(in, feature);
+				EList<Object> list = (EList<Object>) eObject.eGet(feature, false);
+				if (type == LIST_ADD) {
+					list.addAll(index, values);
+				} else if (values.size() == 1) {
+					list.set(index, values.get(0));
+				} else {
+					throw new IOException("Malformed list change in the journal");
+				}
+			}
+			case LIST_REMOVE -> {
+				EObject eObject = readObjectAt(in);
+				EList<?> list = (EList<?>) eObject.eGet(feature(eObject, in.readVarInt()), false);
+				for (int count = in.readVarInt(); count > 0; count--) {
+					list.remove(in.readVarInt());
+				}
+			}
+			case LIST_MOVE -> {
+				EObject eObject = readObjectAt(in);
+				EList<?> list = (EList<?>) eObject.eGet(feature(eObject, in.readVarInt()), false);
+				int from = in.readVarInt();
+				list.move(in.readVarInt(), from);
+			}
+			case ADD -> {
+				EObject container = readContainer(in);
+				EStructuralFeature feature = container == null ? null : feature(container, in.readVarInt());
+				if (container == null) {
+					in.readVarInt();
+				}
+				int index = in.readVarInt() - 1;
+				EObject child = switch (in.readVarInt()) {
+				case NEW_OBJECT -> readNew(in);
+				case MOVED_OBJECT -> {
+					EObject movedObject = moved.remove(Integer.valueOf(in.readVarInt()));
+					if (movedObject == null) {
+						throw new IOException("Unknown moved object in the journal");
+					}
+					yield movedObject;
+				}
+				default -> throw new IOException("Unknown object kind in the journal");
+				};
+				if (index < 0) {
+					container.eSet(feature, child);
+				} else {
+					list(container, feature).add(index, child);
+				}
+			}
+			case REMOVE -> {
+				EObject container = readContainer(in);
+				EStructuralFeature feature = container == null ? null : feature(container, in.readVarInt());
+				if (container == null) {
+					in.readVarInt();
+				}
+				int index = in.readVarInt() - 1;
+				EObject child;
+				if (index < 0) {
+					child = (EObject) container.eGet(feature, false);
+					container.eSet(feature, null);
+				} else {
+					child = list(container, feature).remove(index);
+				}
+				moved.put(Integer.valueOf(in.readVarInt()), child);
+			}
+			case MOVE -> {
+				EObject container = readContainer(in);
+				EStructuralFeature feature = container == null ? null : feature(container, in.readVarInt());
+				if (container == null) {
+					in.readVarInt();
+				}
+				int from = in.readVarInt();
+				list(container, feature).move(in.readVarInt(), from);
+			}
+			default -> throw new IOException("Unknown journal record " + type);
+			}
+		}
+	}
+
+	private List<Object> readValues(JournalInput in, EStructuralFeature feature) throws IOException {
+		int size = in.readVarInt();
+		List<Object> values = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			values.add(feature instanceof EAttribute attribute ? createValue(attribute, in.readString()) : readTarget(in));
+		}
+		return values;
+	}
+
+	@SuppressWarnings("unchecked")
+	private EList<EObject> list(EObject container, EStructuralFeature feature) {
+		return container == null ? resource.getContents() : (EList<EObject>) container.eGet(feature, false);
+	}
+
+	/* returns null for the resource */
+	private EObject readContainer(JournalInput in) throws IOException {
+		int length = in.readVarInt();
+		return length == 0 ? null : navigate(in, length);
+	}
+
+	private EObject readObjectAt(JournalInput in) throws IOException {
+		int length = in.readVarInt();
+		if (length == 0) {
+			throw new IOException("Missing object location in the journal");
+		}
+		return navigate(in, length);
+	}
+
+	private EObject navigate(JournalInput in, int length) throws IOException {
+		if (length % 2 == 0) {
+			throw new IOException("Malformed object location in the journal");
+		}
+		EObject current = ((InternalEList<EObject>) resource.getContents()).basicGet(in.readVarInt());
+		for (int i = 1; i < length; i += 2) {
+			EStructuralFeature feature = feature(current, in.readVarInt());
+			int index = in.readVarInt() - 1;
+			Object value = current.eGet(feature, false);
+			current = (EObject) (index < 0 ? value : ((InternalEList<?>) value).basicGet(index));
+		}
+		return current;
+	}
+
+	@SuppressWarnings("unchecked")
+	private EObject readNew(JournalInput in) throws IOException {
+		EObject eObject = EcoreUtil.create(readEClass(in));
+		for (int tag = in.readVarInt(); tag != END; tag = in.readVarInt()) {
+			EStructuralFeature feature = feature(eObject, in.readVarInt());
+			switch (tag) {
+			case ATTRIBUTE -> eObject.eSet(feature, createValue((EAttribute) feature, in.readString()));
+			case ATTRIBUTE_LIST -> {
+				int size = in.readVarInt();
+				List<Object> values = new ArrayList<>(size);
+				for (int i = 0; i < size; i++) {
+					values.add(createValue((EAttribute) feature, in.readString()));
+				}
+				((EList<Object>) eObject.eGet(feature, false)).addAll(values);
+			}
+			case CHILD -> eObject.eSet(feature, readNew(in));
+			case CHILD_LIST -> {
+				int size = in.readVarInt();
+				List<EObject> children = new ArrayList<>(size);
+				for (int i = 0; i < size; i++) {
+					children.add(readNew(in));
+				}
+				((EList<EObject>) eObject.eGet(feature, false)).addAll(children);
+			}
+			default -> throw new IOException("Unknown feature tag " + tag + " in the journal");
+			}
+		}
+		return eObject;
+	}
+
+	private EObject readTarget(JournalInput in) throws IOException {
+		int kind = in.readVarInt();
+		switch (kind) {
+		case NULL_TARGET:
+			return null;
+		case LOCAL_TARGET:
+			return readObjectAt(in);
+		case EXTERNAL_TARGET:
+			InternalEObject proxy = (InternalEObject) EcoreUtil.create(readEClass(in));
+			URI uri = URI.createURI(in.readString());
+			URI base = resource.getURI();
+			if (uri.isRelative() && base.isHierarchical() && !base.isRelative()) {
+				uri = uri.resolve(base);
+			}
+			proxy.eSetProxyURI(uri);
+			return proxy;
+		default:
+			throw new IOException("Unknown target kind " + kind + " in the journal");
+		}
+	}
+
+	private EClass readEClass(JournalInput in) throws IOException {
+		String nsURI = in.readString();
+		String name = in.readString();
+		ResourceSet resourceSet = resource.getResourceSet();
+		EPackage.Registry registry = resourceSet == null ? EPackage.Registry.INSTANCE : resourceSet.getPackageRegistry();
+		EPackage ePackage = registry.getEPackage(nsURI);
+		EClassifier eClassifier = ePackage == null ? null : ePackage.getEClassifier(name);
+		if (eClassifier instanceof EClass eClass) {
+			return eClass;
+		}
+		throw new IOException("Unknown class " + nsURI + "#" + name + " in the journal");
+	}
+
+	private static EStructuralFeature feature(EObject eObject, int featureID) throws IOException {
+		EStructuralFeature feature = eObject.eClass().getEStructuralFeature(featureID);
+		if (feature == null) {
+			throw new IOException("Unknown feature " + featureID + " of " + eObject.eClass().getName() + " in the journal");
+		}
+		return feature;
+	}
+
+	private static Object createValue(EAttribute attribute, String value) {
+		return value == null ? null : EcoreUtil.createFromString(attribute.getEAttributeType(), value);
+	}
+
+	/**
+	 * A reference target: the location of an object in the resource or the class and URI of an external object
+	 */
+	private record Target(int[] location, EClass eClass, String uri) {
+	}
+
+	/**
+	 * A reference of a new object, that is written after the object was added
+	 */
+	private record Deferred(int[] location, int featureID, EStructuralFeature feature, List<Target> targets) {
+	}
+
+	/**
+	 * Records the changes of the resource contents
+	 */
+	private class Recorder extends EContentAdapter {
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.eclipse.emf.ecore.util.EContentAdapter#notifyChanged(org.eclipse.emf.common.notify.Notification)
+		 */
+		@Override
+		public void notifyChanged(Notification notification) {
+			// recorded before the content adapter handles the containment, so removed objects keep the recorder
+			if (!replaying && !notification.isTouch()
+					&& !(resource instanceof Resource.Internal internal && internal.isLoading())) {
+				record(notification);
+			}
+			super.notifyChanged(notification);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.eclipse.emf.ecore.util.EContentAdapter#removeAdapter(org.eclipse.emf.common.notify.Notifier)
+		 */
+		@Override
+		protected void removeAdapter(Notifier notifier) {
+			// objects, that may be added again, stay observed to notice changes after their removal
+			if (!moving.containsKey(notifier)) {
+				super.removeAdapter(notifier);
+			}
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.eclipse.emf.ecore.util.EContentAdapter#resolve()
+		 */
+		@Override
+		protected boolean resolve() {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,490 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.resourceset;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.util.FeatureMap;
+import org.eclipse.fennec.emf.osgi.AttributeIndex;
+
+/**
+ * {@link AttributeIndex}, that maps each value to the objects having it. A value held by a single object maps
+ * to the object directly, only values shared by several objects get a set.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+class AttributeIndexImpl implements AttributeIndex, ResourceSetIndex {
+
+	/*
+	 * Rough sizes with compressed oops: a HashMap node and its share of the table,
+	 * a TreeMap entry and an empty HashSet with its HashMap and initial table
+	 */
+	private static final int HASH_ENTRY_BYTES = 38;
+	private static final int TREE_ENTRY_BYTES = 40;
+	private static final int SET_BYTES = 144;
+
+	private final EClass eClass;
+	private final EAttribute attribute;
+	private final Type type;
+	private final Map<Object, Object> entries;
+	private final Map<EClass, Boolean> matches = new HashMap<>();
+	private final Map<EClass, Boolean> relevantRoots = new HashMap<>();
+	private final Supplier<EPackage.Registry> packageRegistry;
+	private final Runnable beforeQuery;
+	private int size = 0;
+	/*
+	 * The classes of the registered packages, to find sub types of containment reference types, and the state of the
+	 * registries, they were collected for. The relevant roots are cached for the same state.
+	 */
+	private List<EClass> registeredClasses;
+	private boolean unresolvedPackages;
+	private EPackage.Registry knownRegistry;
+	private int knownRegistrySize = -1;
+	private int knownGlobalSize = -1;
+
+	/**
+	 * Creates a new instance
+	 * @param eClass the indexed {@link EClass}
+	 * @param attribute the indexed {@link EAttribute}
+	 * @param type the index type
+	 * @param packageRegistry supplies the package registry of the resource set, to find sub types
+	 * @param beforeQuery called before each query, to apply pending changes
+	 */
+	AttributeIndexImpl(EClass eClass, EAttribute attribute, Type type, Supplier<EPackage.Registry> packageRegistry, Runnable beforeQuery) {
+		this.eClass = requireNonNull(eClass);
+		this.attribute = requireNonNull(attribute);
+		this.type = requireNonNull(type);
+		this.packageRegistry = requireNonNull(packageRegistry);
+		this.beforeQuery = requireNonNull(beforeQuery);
+		this.entries = type == Type.SORTED ? new TreeMap<>() : new HashMap<>();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.AttributeIndex#getEClass()
+	 */
+	@Override
+	public EClass getEClass() {
+		return eClass;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.AttributeIndex#getEAttribute()
+	 */
+	@Override
+	public EAttribute getEAttribute() {
+		return attribute;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.AttributeIndex#getType()
+	 */
+	@Override
+	public Type getType() {
+		return type;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.resourceset.ResourceSetIndex#added(org.eclipse.emf.ecore.EObject)
+	 */
+	@Override
+	public void added(EObject eObject) {
+		if (matches(eObject)) {
+			forEachValue(eObject, value -> put(value, eObject));
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.resourceset.ResourceSetIndex#removed(org.eclipse.emf.ecore.EObject)
+	 */
+	@Override
+	public void removed(EObject eObject) {
+		if (matches(eObject)) {
+			forEachValue(eObject, value -> remove(value, eObject));
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.resourceset.ResourceSetIndex#changed(org.eclipse.emf.ecore.EObject, org.eclipse.emf.common.notify.Notification)
+	 */
+	@Override
+	public void changed(EObject eObject, Notification notification) {
+		if (notification.getFeature() != attribute || !matches(eObject)) {
+			return;
+		}
+		switch (notification.getEventType()) {
+		case Notification.SET, Notification.UNSET:
+			removeValue(eObject, notification.getOldValue());
+			put(notification.getNewValue(), eObject);
+			break;
+		case Notification.ADD:
+			put(notification.getNewValue(), eObject);
+			break;
+		case Notification.ADD_MANY:
+			((Collection<?>) notification.getNewValue()).forEach(value -> put(value, eObject));
+			break;
+		case Notification.REMOVE:
+			removeValue(eObject, notification.getOldValue());
+			break;
+		case Notification.REMOVE_MANY:
+			((Collection<?>) notification.getOldValue()).forEach(value -> removeValue(eObject, value));
+			break;
+		default:
+			break;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.resourceset.ResourceSetIndex#clear()
+	 */
+	@Override
+	public void clear() {
+		entries.clear();
+		size = 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.AttributeIndex#find(java.lang.Object)
+	 */
+	@Override
+	public Collection<EObject> find(Object value) {
+		beforeQuery.run();
+		if (value == null) {
+			return Collections.emptyList();
+		}
+		List<EObject> result = new ArrayList<>();
+		collect(entries.get(value), result);
+		return Collections.unmodifiableList(result);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.AttributeIndex#findRange(java.lang.Object, boolean, java.lang.Object, boolean)
+	 */
+	@Override
+	public Collection<EObject> findRange(Object from, boolean fromInclusive, Object to, boolean toInclusive) {
+		NavigableMap<Object, Object> sorted = sorted("Range");
+		beforeQuery.run();
+		NavigableMap<Object, Object> range = sorted;
+		if (from != null) {
+			range = range.tailMap(from, fromInclusive);
+		}
+		if (to != null) {
+			range = range.headMap(to, toInclusive);
+		}
+		List<EObject> result = new ArrayList<>();
+		range.values().forEach(entry -> collect(entry, result));
+		return Collections.unmodifiableList(result);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.AttributeIndex#findPrefix(java.lang.String)
+	 */
+	@Override
+	public Collection<EObject> findPrefix(String prefix) {
+		requireNonNull(prefix, "Prefix must not be null");
+		NavigableMap<Object, Object> sorted = sorted("Prefix");
+		if (attribute.getEAttributeType().getInstanceClass() != String.class) {
+			throw new UnsupportedOperationException("Prefix queries are only supported for String attributes, not for " + attribute.getName());
+		}
+		beforeQuery.run();
+		List<EObject> result = new ArrayList<>();
+		for (Map.Entry<Object, Object> entry : sorted.tailMap(prefix, true).entrySet()) {
+			if (!((String) entry.getKey()).startsWith(prefix)) {
+				break;
+			}
+			collect(entry.getValue(), result);
+		}
+		return Collections.unmodifiableList(result);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.AttributeIndex#size()
+	 */
+	@Override
+	public int size() {
+		beforeQuery.run();
+		return size;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.AttributeIndex#getKeyCount()
+	 */
+	@Override
+	public int getKeyCount() {
+		beforeQuery.run();
+		return entries.size();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.AttributeIndex#getEstimatedMemory()
+	 */
+	@Override
+	public long getEstimatedMemory() {
+		beforeQuery.run();
+		int entryBytes = type == Type.SORTED ? TREE_ENTRY_BYTES : HASH_ENTRY_BYTES;
+		long memory = (long) entries.size() * entryBytes;
+		for (Object entry : entries.values()) {
+			if (entry instanceof Set<?> set) {
+				memory += SET_BYTES + (long) set.size() * HASH_ENTRY_BYTES;
+			}
+		}
+		return memory;
+	}
+
+	private NavigableMap<Object, Object> sorted(String query) {
+		if (type != Type.SORTED) {
+			throw new UnsupportedOperationException(query + " queries are only supported by sorted indexes");
+		}
+		return (NavigableMap<Object, Object>) entries;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.resourceset.ResourceSetIndex#isRelevant(org.eclipse.emf.ecore.EClass)
+	 */
+	@Override
+	public boolean isRelevant(EClass rootClass) {
+		if (rootClass == eClass || eClass == EcorePackage.Literals.EOBJECT) {
+			return true;
+		}
+		checkRegistries();
+		return relevantRoots.computeIfAbsent(rootClass, this::canContainIndexed).booleanValue();
+	}
+
+	/**
+	 * Drops the cached relevant roots and registered classes, when a package was registered or removed since they were
+	 * computed. The sizes of the registries are compared, which is cheap enough for each new root object.
+	 */
+	private void checkRegistries() {
+		EPackage.Registry registry = packageRegistry.get();
+		int registrySize = registry == null ? 0 : registry.size();
+		int globalSize = registry == EPackage.Registry.INSTANCE ? 0 : EPackage.Registry.INSTANCE.size();
+		if (registry != knownRegistry || registrySize != knownRegistrySize || globalSize != knownGlobalSize) {
+			knownRegistry = registry;
+			knownRegistrySize = registrySize;
+			knownGlobalSize = globalSize;
+			registeredClasses = null;
+			relevantRoots.clear();
+		}
+	}
+
+	/**
+	 * Returns, if an object of the given {@link EClass} or an object in its containment tree can be an instance of the
+	 * indexed {@link EClass}. Follows the types of the containment references and their sub types in the packages of
+	 * the reference type, the root and the indexed {@link EClass}, as well as in all packages registered in the package
+	 * registry of the resource set and the global registry. References typed with {@link EObject} or a super type of
+	 * the indexed {@link EClass}, as well as feature maps, can hold indexed objects. As long as a registry holds a
+	 * package descriptor, that is not resolved yet, its sub types are unknown and any containment reference is assumed
+	 * to hold indexed objects.
+	 */
+	private boolean canContainIndexed(EClass rootClass) {
+		if (eClass.isSuperTypeOf(rootClass)) {
+			return true;
+		}
+		Set<EClass> visited = new HashSet<>();
+		Deque<EClass> queue = new ArrayDeque<>();
+		queue.add(rootClass);
+		while (!queue.isEmpty()) {
+			EClass current = queue.poll();
+			if (!visited.add(current)) {
+				continue;
+			}
+			if (current != rootClass && (current == EcorePackage.Literals.EOBJECT || eClass.isSuperTypeOf(current) || current.isSuperTypeOf(eClass))) {
+				return true;
+			}
+			for (EAttribute featureMap : current.getEAllAttributes()) {
+				if (featureMap.getEAttributeType().getInstanceClass() == FeatureMap.Entry.class) {
+					return true;
+				}
+			}
+			for (EReference containment : current.getEAllContainments()) {
+				EClass referenceType = containment.getEReferenceType();
+				if (referenceType == null) {
+					continue;
+				}
+				List<EClass> registered = getRegisteredClasses();
+				if (unresolvedPackages) {
+					return true;
+				}
+				queue.add(referenceType);
+				addSubTypes(referenceType, referenceType.getEPackage(), queue);
+				addSubTypes(referenceType, rootClass.getEPackage(), queue);
+				addSubTypes(referenceType, eClass.getEPackage(), queue);
+				addSubTypes(referenceType, registered, queue);
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the {@link EClass}es of the resolved packages in the package registry of the resource set and in the
+	 * global registry. Package descriptors are not resolved, but remembered in {@link #unresolvedPackages}.
+	 */
+	private List<EClass> getRegisteredClasses() {
+		if (registeredClasses == null) {
+			Set<EPackage> packages = new HashSet<>();
+			unresolvedPackages = false;
+			if (knownRegistry != null) {
+				collectPackages(knownRegistry.values(), packages);
+			}
+			if (knownRegistry != EPackage.Registry.INSTANCE) {
+				collectPackages(EPackage.Registry.INSTANCE.values(), packages);
+			}
+			List<EClass> classes = new ArrayList<>();
+			for (EPackage ePackage : packages) {
+				for (EClassifier classifier : ePackage.getEClassifiers()) {
+					if (classifier instanceof EClass registered) {
+						classes.add(registered);
+					}
+				}
+			}
+			registeredClasses = classes;
+		}
+		return registeredClasses;
+	}
+
+	private void collectPackages(Collection<Object> registered, Set<EPackage> packages) {
+		for (Object value : registered) {
+			if (value instanceof EPackage ePackage) {
+				packages.add(ePackage);
+			} else if (value != null) {
+				unresolvedPackages = true;
+			}
+		}
+	}
+
+	private static void addSubTypes(EClass superType, EPackage ePackage, Deque<EClass> queue) {
+		if (ePackage != null) {
+			addSubTypes(superType, ePackage.getEClassifiers(), queue);
+		}
+	}
+
+	private static void addSubTypes(EClass superType, Collection<? extends EClassifier> classifiers, Deque<EClass> queue) {
+		for (EClassifier classifier : classifiers) {
+			if (classifier instanceof EClass subType && subType != superType && superType.isSuperTypeOf(subType)) {
+				queue.add(subType);
+			}
+		}
+	}
+
+	private boolean matches(EObject eObject) {
+		EClass objectClass = eObject.eClass();
+		if (objectClass == eClass || eClass == EcorePackage.Literals.EOBJECT) {
+			return true;
+		}
+		return matches.computeIfAbsent(objectClass, eClass::isSuperTypeOf).booleanValue();
+	}
+
+	private void forEachValue(EObject eObject, Consumer<Object> action) {
+		Object value = eObject.eGet(attribute);
+		if (attribute.isMany()) {
+			((Collection<?>) value).forEach(action);
+		} else {
+			action.accept(value);
+		}
+	}
+
+	/**
+	 * Removes a former value of the object. For many valued attributes the entry stays, as long as the list
+	 * still contains the value.
+	 */
+	private void removeValue(EObject eObject, Object value) {
+		if (attribute.isMany() && ((Collection<?>) eObject.eGet(attribute)).contains(value)) {
+			return;
+		}
+		remove(value, eObject);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void put(Object value, EObject eObject) {
+		if (value == null) {
+			return;
+		}
+		Object entry = entries.get(value);
+		if (entry == null) {
+			entries.put(value, eObject);
+			size++;
+		} else if (entry instanceof Set<?> set) {
+			if (((Set<EObject>) set).add(eObject)) {
+				size++;
+			}
+		} else if (entry != eObject) {
+			Set<EObject> set = new HashSet<>(4);
+			set.add((EObject) entry);
+			set.add(eObject);
+			entries.put(value, set);
+			size++;
+		}
+	}
+
+	private void remove(Object value, EObject eObject) {
+		if (value == null) {
+			return;
+		}
+		Object entry = entries.get(value);
+		if (entry == eObject) {
+			entries.remove(value);
+			size--;
+		} else if (entry instanceof Set<?> set && set.remove(eObject)) {
+			size--;
+			if (set.size() == 1) {
+				entries.put(value, set.iterator().next());
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void collect(Object entry, List<EObject> result) {
+		if (entry instanceof Set<?> set) {
+			result.addAll((Set<EObject>) set);
+		} else if (entry != null) {
+			result.add((EObject) entry);
+		}
+	}
+}
@@ -0,0 +1,173 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.resourceset;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.fennec.emf.osgi.AttributeIndex;
+import org.eclipse.fennec.emf.osgi.AttributeIndex.Type;
+import org.eclipse.fennec.emf.osgi.AttributeIndexProvider;
+
+/**
+ * {@link AttributeIndexProvider} for any {@link ResourceSet}. For a {@link HughDataResourceSetImpl} the indexes are
+ * registered as {@link ResourceSetIndex}, so they are maintained while notifications are suppressed, too. Other
+ * resource sets get an {@link IndexingContentAdapter}, as long as there are indexes. In both cases only the contents
+ * of resources, whose root objects can contain instances of an indexed {@link EClass}, are observed. Sub types of the
+ * containment reference types are searched in the package registry of the {@link ResourceSet} and the global registry,
+ * so a package, whose classes extend the types of other packages, must be registered there.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class AttributeIndexSupport extends AdapterImpl implements AttributeIndexProvider {
+
+	private final ResourceSet resourceSet;
+	private final List<AttributeIndexImpl> indexes = new ArrayList<>();
+	private IndexingContentAdapter contentAdapter;
+
+	private AttributeIndexSupport(ResourceSet resourceSet) {
+		this.resourceSet = resourceSet;
+	}
+
+	/**
+	 * Returns the {@link AttributeIndexSupport} of the {@link ResourceSet}, and attaches a new one, if there is none yet
+	 * @param resourceSet the {@link ResourceSet}, must not be <code>null</code>
+	 * @return the {@link AttributeIndexSupport}
+	 */
+	public static AttributeIndexSupport install(ResourceSet resourceSet) {
+		requireNonNull(resourceSet, "ResourceSet must not be null");
+		for (Adapter adapter : resourceSet.eAdapters()) {
+			if (adapter instanceof AttributeIndexSupport support && support.resourceSet == resourceSet) {
+				return support;
+			}
+		}
+		AttributeIndexSupport support = new AttributeIndexSupport(resourceSet);
+		resourceSet.eAdapters().add(support);
+		return support;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.AttributeIndexProvider#getResourceSet()
+	 */
+	@Override
+	public ResourceSet getResourceSet() {
+		return resourceSet;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.emf.common.notify.impl.AdapterImpl#isAdapterForType(java.lang.Object)
+	 */
+	@Override
+	public boolean isAdapterForType(Object type) {
+		return type == AttributeIndexProvider.class;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.AttributeIndexProvider#addIndex(org.eclipse.emf.ecore.EClass, org.eclipse.emf.ecore.EAttribute, org.eclipse.fennec.emf.osgi.AttributeIndex.Type)
+	 */
+	@Override
+	public AttributeIndex addIndex(EClass eClass, EAttribute attribute, Type type) {
+		requireNonNull(eClass, "EClass must not be null");
+		requireNonNull(attribute, "Attribute must not be null");
+		requireNonNull(type, "Type must not be null");
+		if (!eClass.getEAllAttributes().contains(attribute)) {
+			throw new IllegalArgumentException(String.format("Attribute '%s' is not an attribute of EClass '%s'", attribute.getName(), eClass.getName()));
+		}
+		if (type == Type.SORTED && !isComparable(attribute)) {
+			throw new IllegalArgumentException(String.format("Values of attribute '%s' are not comparable and cannot be indexed sorted", attribute.getName()));
+		}
+		AttributeIndex existing = getIndex(eClass, attribute);
+		if (existing != null) {
+			if (existing.getType() == type || type == Type.HASH) {
+				return existing;
+			}
+			removeIndex(existing);
+		}
+		AttributeIndexImpl index;
+		if (resourceSet instanceof HughDataResourceSetImpl hughData) {
+			index = new AttributeIndexImpl(eClass, attribute, type, resourceSet::getPackageRegistry, hughData::flushIndexes);
+			hughData.addIndex(index);
+		} else {
+			index = new AttributeIndexImpl(eClass, attribute, type, resourceSet::getPackageRegistry, () -> {});
+			if (contentAdapter == null) {
+				contentAdapter = new IndexingContentAdapter(() -> false);
+				contentAdapter.getIndexes().add(index);
+				resourceSet.eAdapters().add(contentAdapter);
+			} else {
+				contentAdapter.addIndex(index, resourceSet.getResources());
+			}
+		}
+		indexes.add(index);
+		return index;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.AttributeIndexProvider#removeIndex(org.eclipse.fennec.emf.osgi.AttributeIndex)
+	 */
+	@Override
+	public boolean removeIndex(AttributeIndex index) {
+		if (!(index instanceof AttributeIndexImpl indexImpl) || !indexes.remove(indexImpl)) {
+			return false;
+		}
+		if (resourceSet instanceof HughDataResourceSetImpl hughData) {
+			hughData.removeIndex(indexImpl);
+		} else if (contentAdapter.removeIndex(indexImpl)) {
+			contentAdapter.dispose();
+			resourceSet.eAdapters().remove(contentAdapter);
+			contentAdapter = null;
+		}
+		return true;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.AttributeIndexProvider#getIndex(org.eclipse.emf.ecore.EClass, org.eclipse.emf.ecore.EAttribute)
+	 */
+	@Override
+	public AttributeIndex getIndex(EClass eClass, EAttribute attribute) {
+		for (AttributeIndexImpl index : indexes) {
+			if (index.getEClass() == eClass && index.getEAttribute() == attribute) {
+				return index;
+			}
+		}
+		return null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.AttributeIndexProvider#getIndexes()
+	 */
+	@Override
+	public Collection<AttributeIndex> getIndexes() {
+		return Collections.unmodifiableList(indexes);
+	}
+
+	private static boolean isComparable(EAttribute attribute) {
+		Class<?> instanceClass = attribute.getEAttributeType().getInstanceClass();
+		return instanceClass != null && (instanceClass.isPrimitive() || Comparable.class.isAssignableFrom(instanceClass));
+	}
+}
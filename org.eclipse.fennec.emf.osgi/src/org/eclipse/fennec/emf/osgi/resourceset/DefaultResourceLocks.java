@@ -0,0 +1,281 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.resourceset;
+
+import static java.util.Objects.requireNonNull;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.fennec.emf.osgi.ResourceLocks;
+
+/**
+ * {@link ResourceLocks} with a {@link StampedLock} per resource. The locks are created with the first use and
+ * kept in a concurrent map with weak resource keys, so looking up a lock does not block and the lock vanishes
+ * with its resource. The global order of the locks is their creation order.
+ * <p>
+ * The locks are not reentrant and cannot be nested. Locking a resource again in the same thread, or locking
+ * another resource while the thread holds a lock, throws an {@link IllegalStateException} before blocking: two
+ * threads nesting the locks of the same resources in opposite order would deadlock. Resources needed together are
+ * locked at once with {@link #withRead(Collection, Supplier)} or {@link #withWrite(Collection, Supplier)}, in the
+ * global order. An optimistic read of a resource, that is already locked by the current thread, runs the reader
+ * directly. Locking the {@link StampedLock} returned by {@link #getLock(Resource)} directly is not checked.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class DefaultResourceLocks implements ResourceLocks {
+
+	private final Map<LockKey, OrderedLock> locks = new ConcurrentHashMap<>();
+	private final ReferenceQueue<Resource> collected = new ReferenceQueue<>();
+	private final AtomicLong sequence = new AtomicLong();
+	/** The locks held by the current thread */
+	private final ThreadLocal<Set<OrderedLock>> held = ThreadLocal.withInitial(() -> Collections.newSetFromMap(new IdentityHashMap<>()));
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.ResourceLocks#getLock(org.eclipse.emf.ecore.resource.Resource)
+	 */
+	@Override
+	public StampedLock getLock(Resource resource) {
+		return getOrderedLock(resource).lock;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.ResourceLocks#withRead(org.eclipse.emf.ecore.resource.Resource, java.util.function.Supplier)
+	 */
+	@Override
+	public <T> T withRead(Resource resource, Supplier<T> reader) {
+		requireNonNull(reader);
+		OrderedLock lock = getOrderedLock(resource);
+		long stamp = acquire(lock, false);
+		try {
+			return reader.get();
+		} finally {
+			release(lock, stamp);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.ResourceLocks#withOptimisticRead(org.eclipse.emf.ecore.resource.Resource, java.util.function.Supplier)
+	 */
+	@Override
+	public <T> T withOptimisticRead(Resource resource, Supplier<T> reader) {
+		requireNonNull(reader);
+		OrderedLock orderedLock = getOrderedLock(resource);
+		if (held.get().contains(orderedLock)) {
+			// the current thread holds the lock already
+			return reader.get();
+		}
+		// a failed optimistic read locks the resource
+		checkCanLock(List.of(orderedLock));
+		StampedLock lock = orderedLock.lock;
+		long stamp = lock.tryOptimisticRead();
+		if (stamp != 0) {
+			try {
+				T result = reader.get();
+				if (lock.validate(stamp)) {
+					return result;
+				}
+			} catch (RuntimeException e) {
+				if (lock.validate(stamp)) {
+					throw e;
+				}
+				// a writer interfered, read again under the lock
+			}
+		}
+		stamp = acquire(orderedLock, false);
+		try {
+			return reader.get();
+		} finally {
+			release(orderedLock, stamp);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.ResourceLocks#withWrite(org.eclipse.emf.ecore.resource.Resource, java.util.function.Supplier)
+	 */
+	@Override
+	public <T> T withWrite(Resource resource, Supplier<T> writer) {
+		requireNonNull(writer);
+		OrderedLock lock = getOrderedLock(resource);
+		long stamp = acquire(lock, true);
+		try {
+			return writer.get();
+		} finally {
+			release(lock, stamp);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.ResourceLocks#withRead(java.util.Collection, java.util.function.Supplier)
+	 */
+	@Override
+	public <T> T withRead(Collection<? extends Resource> resources, Supplier<T> reader) {
+		return withAll(resources, reader, false);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.ResourceLocks#withWrite(java.util.Collection, java.util.function.Supplier)
+	 */
+	@Override
+	public <T> T withWrite(Collection<? extends Resource> resources, Supplier<T> writer) {
+		return withAll(resources, writer, true);
+	}
+
+	/**
+	 * Acquires the locks of all resources in the global order, executes the supplier and releases
+	 * the locks in reverse order
+	 */
+	private <T> T withAll(Collection<? extends Resource> resources, Supplier<T> supplier, boolean write) {
+		requireNonNull(resources);
+		requireNonNull(supplier);
+		Set<OrderedLock> distinct = new HashSet<>();
+		for (Resource resource : resources) {
+			distinct.add(getOrderedLock(resource));
+		}
+		List<OrderedLock> ordered = new ArrayList<>(distinct);
+		ordered.sort(Comparator.comparingLong(lock -> lock.order));
+		checkCanLock(ordered);
+		long[] stamps = new long[ordered.size()];
+		int acquired = 0;
+		try {
+			for (; acquired < stamps.length; acquired++) {
+				stamps[acquired] = lock(ordered.get(acquired), write);
+			}
+			return supplier.get();
+		} finally {
+			for (int i = acquired - 1; i >= 0; i--) {
+				release(ordered.get(i), stamps[i]);
+			}
+		}
+	}
+
+	/**
+	 * Locks for the current thread, which must not hold any lock
+	 */
+	private long acquire(OrderedLock lock, boolean write) {
+		checkCanLock(List.of(lock));
+		return lock(lock, write);
+	}
+
+	private long lock(OrderedLock lock, boolean write) {
+		held.get().add(lock);
+		return write ? lock.lock.writeLock() : lock.lock.readLock();
+	}
+
+	/**
+	 * Rejects locking, while the current thread holds a lock. Reentry would block forever, nested locks of different
+	 * resources can deadlock with a thread nesting them in the opposite order.
+	 */
+	private void checkCanLock(Collection<OrderedLock> locksToAcquire) {
+		Set<OrderedLock> current = held.get();
+		if (current.isEmpty()) {
+			return;
+		}
+		for (OrderedLock lock : locksToAcquire) {
+			if (current.contains(lock)) {
+				throw new IllegalStateException("The resource is already locked by the current thread, the resource locks are not reentrant");
+			}
+		}
+		throw new IllegalStateException("The current thread holds the lock of another resource, nested resource locks are not supported; "
+				+ "lock the resources at once with withRead(Collection, Supplier) or withWrite(Collection, Supplier)");
+	}
+
+	private void release(OrderedLock lock, long stamp) {
+		held.get().remove(lock);
+		lock.lock.unlock(stamp);
+	}
+
+	private OrderedLock getOrderedLock(Resource resource) {
+		requireNonNull(resource);
+		OrderedLock lock = locks.get(new LockKey(resource, null));
+		if (lock != null) {
+			return lock;
+		}
+		expungeCollected();
+		return locks.computeIfAbsent(new LockKey(resource, collected), key -> new OrderedLock(sequence.getAndIncrement()));
+	}
+
+	/**
+	 * Removes the locks of collected resources
+	 */
+	private void expungeCollected() {
+		for (Reference<? extends Resource> key; (key = collected.poll()) != null;) {
+			locks.remove(key);
+		}
+	}
+
+	/**
+	 * Weak key, that compares the resources by identity
+	 */
+	private static final class LockKey extends WeakReference<Resource> {
+
+		private final int hash;
+
+		LockKey(Resource resource, ReferenceQueue<Resource> queue) {
+			super(resource, queue);
+			hash = System.identityHashCode(resource);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (object == this) {
+				return true;
+			}
+			if (!(object instanceof LockKey other) || hash != other.hash) {
+				return false;
+			}
+			Resource resource = get();
+			return resource != null && resource == other.get();
+		}
+	}
+
+	/**
+	 * A lock with its position in the global order
+	 */
+	private static final class OrderedLock {
+
+		private final StampedLock lock = new StampedLock();
+		private final long order;
+
+		OrderedLock(long order) {
+			this.order = order;
+		}
+	}
+}
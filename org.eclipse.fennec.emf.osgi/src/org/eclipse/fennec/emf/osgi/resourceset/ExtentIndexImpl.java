@@ -0,0 +1,228 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.resourceset;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.fennec.emf.osgi.ExtentIndex;
+
+/**
+ * {@link ExtentIndex}, that keeps one set of instances per {@link EClass}. The extent of an {@link EClass} including
+ * its sub types is a view over the sets of all matching {@link EClass}es.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+class ExtentIndexImpl implements ExtentIndex, ResourceSetIndex {
+
+	private final Map<EClass, Set<EObject>> extents = new HashMap<>();
+	private final Runnable beforeQuery;
+	private Function<EClass, ? extends Collection<EClass>> subTypeResolver;
+
+	/**
+	 * Creates a new instance
+	 * @param beforeQuery called before each query, to apply pending changes
+	 */
+	ExtentIndexImpl(Runnable beforeQuery) {
+		this.beforeQuery = requireNonNull(beforeQuery);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.resourceset.ResourceSetIndex#added(org.eclipse.emf.ecore.EObject)
+	 */
+	@Override
+	public void added(EObject eObject) {
+		extentOf(eObject.eClass()).add(eObject);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.resourceset.ResourceSetIndex#removed(org.eclipse.emf.ecore.EObject)
+	 */
+	@Override
+	public void removed(EObject eObject) {
+		Set<EObject> extent = extents.get(eObject.eClass());
+		if (extent != null) {
+			extent.remove(eObject);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.resourceset.ResourceSetIndex#clear()
+	 */
+	@Override
+	public void clear() {
+		// the sets are kept, because views may refer to them
+		extents.values().forEach(Set::clear);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.ExtentIndex#getExtent(org.eclipse.emf.ecore.EClass, boolean)
+	 */
+	@Override
+	public Collection<EObject> getExtent(EClass eClass, boolean includeSubTypes) {
+		requireNonNull(eClass, "EClass must not be null");
+		beforeQuery.run();
+		if (!includeSubTypes) {
+			return Collections.unmodifiableSet(extentOf(eClass));
+		}
+		return new ExtentView(eClass);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.ExtentIndex#getIndexedEClasses()
+	 */
+	@Override
+	public Set<EClass> getIndexedEClasses() {
+		beforeQuery.run();
+		return extents.entrySet().stream()
+				.filter(e -> !e.getValue().isEmpty())
+				.map(Map.Entry::getKey)
+				.collect(Collectors.toUnmodifiableSet());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.ExtentIndex#setSubTypeResolver(java.util.function.Function)
+	 */
+	@Override
+	public void setSubTypeResolver(Function<EClass, ? extends Collection<EClass>> subTypeResolver) {
+		this.subTypeResolver = subTypeResolver;
+	}
+
+	private Set<EObject> extentOf(EClass eClass) {
+		return extents.computeIfAbsent(eClass, k -> new HashSet<>());
+	}
+
+	/**
+	 * Returns the sets of the {@link EClass} and all its sub types
+	 * @param eClass the {@link EClass}
+	 * @return the sets
+	 */
+	private List<Set<EObject>> extentsOf(EClass eClass) {
+		beforeQuery.run();
+		List<Set<EObject>> result = new ArrayList<>();
+		if (subTypeResolver != null) {
+			Set<EClass> eClasses = new LinkedHashSet<>();
+			eClasses.add(eClass);
+			eClasses.addAll(subTypeResolver.apply(eClass));
+			for (EClass current : eClasses) {
+				Set<EObject> extent = extents.get(current);
+				if (extent != null && !extent.isEmpty()) {
+					result.add(extent);
+				}
+			}
+			return result;
+		}
+		boolean all = eClass == EcorePackage.Literals.EOBJECT;
+		for (Map.Entry<EClass, Set<EObject>> entry : extents.entrySet()) {
+			EClass current = entry.getKey();
+			if (!entry.getValue().isEmpty() && (all || current == eClass || eClass.isSuperTypeOf(current))) {
+				result.add(entry.getValue());
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Read only view over the instances of an {@link EClass} and its sub types, the sub types are
+	 * determined on every access.
+	 */
+	private class ExtentView extends AbstractCollection<EObject> {
+
+		private final EClass eClass;
+
+		ExtentView(EClass eClass) {
+			this.eClass = eClass;
+		}
+
+		@Override
+		public int size() {
+			int size = 0;
+			for (Set<EObject> extent : extentsOf(eClass)) {
+				size += extent.size();
+			}
+			return size;
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return extentsOf(eClass).isEmpty();
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if (!(o instanceof EObject eObject)) {
+				return false;
+			}
+			Set<EObject> extent = extents.get(eObject.eClass());
+			if (extent == null || !extent.contains(eObject)) {
+				return false;
+			}
+			for (Set<EObject> candidate : extentsOf(eClass)) {
+				// by identity, equals would compare the contents
+				if (candidate == extent) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public Iterator<EObject> iterator() {
+			Iterator<Set<EObject>> extentIterator = extentsOf(eClass).iterator();
+			return new Iterator<EObject>() {
+
+				private Iterator<EObject> current = Collections.emptyIterator();
+
+				@Override
+				public boolean hasNext() {
+					while (!current.hasNext() && extentIterator.hasNext()) {
+						current = extentIterator.next().iterator();
+					}
+					return current.hasNext();
+				}
+
+				@Override
+				public EObject next() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+					return current.next();
+				}
+			};
+		}
+	}
+}
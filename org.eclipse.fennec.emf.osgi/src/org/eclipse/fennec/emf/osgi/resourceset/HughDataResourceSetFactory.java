@@ -12,6 +12,8 @@
  ********************************************************************/
 package org.eclipse.fennec.emf.osgi.resourceset;
 
+import java.util.Map;
+
 import org.eclipse.emf.common.util.ResourceLocator;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.fennec.emf.osgi.HughDataResourceSet;
@@ -20,16 +22,74 @@ import org.eclipse.fennec.emf.osgi.provider.DefaultResourceSetFactory;
 
 /**
  * {@link ResourceSetFactory} that creates a {@link HughDataResourceSet} and configures it to
- * use the {@link ResourceLocator}
+ * use the {@link ResourceLocator}. With a shard count greater than one, it creates
+ * {@link ShardedHughDataResourceSetImpl}s for concurrent access instead. The shard count can be configured with
+ * the property {@link #PROP_SHARD_COUNT}, e.g. of a <code>ResourceSetFactory</code> configuration.
  * @author Mark Hoffmann
  * @since 27.09.2019
  */
 public class HughDataResourceSetFactory extends DefaultResourceSetFactory {
 	
+	/** Configuration property for the number of shards of the created resource sets */
+	public static final String PROP_SHARD_COUNT = "resourceset.shards";
+
+	private volatile int shardCount;
+
+	/**
+	 * Creates a new instance, that creates {@link HughDataResourceSetImpl}s
+	 */
+	public HughDataResourceSetFactory() {
+		this(1);
+	}
+
+	/**
+	 * Creates a new instance.
+	 * @param shardCount the number of shards of the created resource sets, <code>1</code> for no sharding
+	 */
+	public HughDataResourceSetFactory(int shardCount) {
+		setShardCount(shardCount);
+	}
+
+	/**
+	 * Sets the number of shards of the resource sets created afterwards
+	 * @param shardCount the number of shards, <code>1</code> for no sharding
+	 */
+	public void setShardCount(int shardCount) {
+		if (shardCount < 1) {
+			throw new IllegalArgumentException("The shard count must be positive");
+		}
+		this.shardCount = shardCount;
+	}
+
+	/**
+	 * Reads the number of shards from the {@link #PROP_SHARD_COUNT} configuration property
+	 * @param properties the configuration properties
+	 * @return the number of shards, <code>1</code> for no sharding, if the property is missing
+	 */
+	public static int getShardCount(Map<String, ?> properties) {
+		Object value = properties == null ? null : properties.get(PROP_SHARD_COUNT);
+		if (value == null) {
+			return 1;
+		}
+		int shards = value instanceof Number number ? number.intValue() : Integer.parseInt(value.toString().trim());
+		if (shards < 1) {
+			throw new IllegalArgumentException("The shard count must be positive");
+		}
+		return shards;
+	}
+
+	/**
+	 * Returns the number of shards of the created resource sets
+	 * @return the number of shards, <code>1</code> for no sharding
+	 */
+	public int getShardCount() {
+		return shardCount;
+	}
 
 	@Override
 	protected ResourceSet internalCreateResourceSet() {
-		HughDataResourceSet resourceSet = new HughDataResourceSetImpl();
+		int shards = shardCount;
+		HughDataResourceSet resourceSet = shards > 1 ? new ShardedHughDataResourceSetImpl(shards) : new HughDataResourceSetImpl();
 		resourceSet.setUseResourceLocator(true);
 		return resourceSet;
 	}
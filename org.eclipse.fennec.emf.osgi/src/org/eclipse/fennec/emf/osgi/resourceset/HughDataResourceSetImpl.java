@@ -12,17 +12,35 @@
  ********************************************************************/
 package org.eclipse.fennec.emf.osgi.resourceset;
 
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.InternalEList;
+import org.eclipse.fennec.emf.osgi.ExtentIndex;
 import org.eclipse.fennec.emf.osgi.HughDataResourceSet;
+import org.eclipse.fennec.emf.osgi.InverseReferenceIndex;
 
 /**
  * An extended {@link ResourceSet}, that works with large data sets as well, without blocking
  * for along time, when {@link ResourceSet#getResources#clear} is called.
+ * <p>
+ * {@link ResourceSetIndex}es can be added, that are kept up to date with the contents of all resources,
+ * also while notifications are suppressed. In that case added and removed resources are indexed in one batch,
+ * when the suppression ends or an index is queried.
  * @author Mark Hoffmann
  * @since 27.09.2019
  */
@@ -32,6 +50,10 @@ public class HughDataResourceSetImpl extends ResourceSetImpl implements HughData
 	private final AtomicBoolean internalSuppressNotification = new AtomicBoolean(false);
 	private final ResourceSet resourceSet;
 	private volatile boolean useLocator = false;
+	private IndexingContentAdapter indexAdapter;
+	private ExtentIndexImpl extentIndex;
+	private InverseReferenceIndexImpl inverseReferenceIndex;
+	private volatile ResourceSetIdIndex idIndex;
 	
 	/**
 	 * Creates a new instance.
@@ -88,6 +110,35 @@ public class HughDataResourceSetImpl extends ResourceSetImpl implements HughData
 		}
 		
 
+		@Override
+		protected void didAdd(int index, Resource newObject) {
+			super.didAdd(index, newObject);
+			resourceAdded(newObject);
+		}
+
+		@Override
+		protected void didSet(int index, Resource newObject, Resource oldObject) {
+			super.didSet(index, newObject, oldObject);
+			resourceRemoved(oldObject);
+			resourceAdded(newObject);
+		}
+
+		@Override
+		protected void didRemove(int index, Resource oldObject) {
+			super.didRemove(index, oldObject);
+			resourceRemoved(oldObject);
+		}
+
+		/**
+		 * Resets the indexes at once, instead of removing every object of every resource
+		 */
+		@Override
+		protected void didClear(int size, Object[] oldObjects) {
+			if (!resourcesCleared()) {
+				super.didClear(size, oldObjects);
+			}
+		}
+
 		@Override
 		protected boolean hasInverse() {
 			if (isSuppressNotification() || internalSuppressNotification.get()) {
@@ -130,6 +181,9 @@ public class HughDataResourceSetImpl extends ResourceSetImpl implements HughData
 	@Override
 	public void setSuppressNotification(boolean suppressNotification) {
 		this.suppressNotification.set(suppressNotification);
+		if (!suppressNotification) {
+			flushIndexes();
+		}
 	}
 
 
@@ -138,10 +192,246 @@ public class HughDataResourceSetImpl extends ResourceSetImpl implements HughData
 		return this.suppressNotification.get();
 	}
 
+	@Override
+	public void setUseExtentIndex(boolean useExtentIndex) {
+		if (useExtentIndex && extentIndex == null) {
+			extentIndex = new ExtentIndexImpl(this::flushIndexes);
+			addIndex(extentIndex);
+		} else if (!useExtentIndex && extentIndex != null) {
+			removeIndex(extentIndex);
+			extentIndex = null;
+		}
+	}
+
+
+	@Override
+	public boolean isUseExtentIndex() {
+		return extentIndex != null;
+	}
+
+
+	@Override
+	public ExtentIndex getExtentIndex() {
+		return extentIndex;
+	}
+
+	@Override
+	public void setUseInverseReferenceIndex(boolean useInverseReferenceIndex) {
+		if (useInverseReferenceIndex && inverseReferenceIndex == null) {
+			inverseReferenceIndex = new InverseReferenceIndexImpl(this::flushIndexes);
+			addIndex(inverseReferenceIndex);
+		} else if (!useInverseReferenceIndex && inverseReferenceIndex != null) {
+			removeIndex(inverseReferenceIndex);
+			inverseReferenceIndex = null;
+		}
+	}
+
+
+	@Override
+	public boolean isUseInverseReferenceIndex() {
+		return inverseReferenceIndex != null;
+	}
+
+
+	@Override
+	public InverseReferenceIndex getInverseReferenceIndex() {
+		return inverseReferenceIndex;
+	}
+
+	@Override
+	public void setUseIdIndex(boolean useIdIndex) {
+		if (useIdIndex && idIndex == null) {
+			idIndex = new ResourceSetIdIndex();
+		} else if (!useIdIndex) {
+			idIndex = null;
+		}
+	}
+
+
+	@Override
+	public boolean isUseIdIndex() {
+		return idIndex != null;
+	}
+
+	/**
+	 * Returns the ID index
+	 * @return the ID index or <code>null</code>, if it is not enabled
+	 */
+	public ResourceSetIdIndex getIdIndex() {
+		return idIndex;
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.eclipse.emf.ecore.resource.impl.ResourceSetImpl#getEObject(org.eclipse.emf.common.util.URI, boolean)
+	 */
+	@Override
+	public EObject getEObject(URI uri, boolean loadOnDemand) {
+		ResourceSetIdIndex currentIdIndex = idIndex;
+		if (currentIdIndex == null || !uri.hasFragment()) {
+			return super.getEObject(uri, loadOnDemand);
+		}
+		Resource resource = getResource(uri.trimFragment(), loadOnDemand);
+		return resource == null ? null : currentIdIndex.getEObject(resource, uri.fragment());
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.eclipse.emf.ecore.resource.impl.ResourceSetImpl#demandLoad(org.eclipse.emf.ecore.resource.Resource)
+	 */
+	@Override
+	protected void demandLoad(Resource resource) throws IOException {
+		super.demandLoad(resource);
+		ResourceSetIdIndex currentIdIndex = idIndex;
+		if (currentIdIndex != null) {
+			currentIdIndex.indexResource(resource);
+		}
+	}
+
+	/**
+	 * Loads the resource with {@link #loadResource(Resource)} and resolves its proxies afterwards, if the load
+	 * options enable the {@link ProxyPrefetchResolver}.
+	 */
+	@Override
+	protected void demandLoadHelper(Resource resource) {
+		if (loadResource(resource)) {
+			ProxyPrefetchResolver resolver = ProxyPrefetchResolver.fromOptions(this, getLoadOptions());
+			if (resolver != null) {
+				resolver.resolveAll(resource);
+			}
+		}
+	}
+
+	/**
+	 * Demand loads the resource, before its proxies are resolved
+	 * @param resource the resource to load
+	 * @return <code>true</code>, if the resource was loaded
+	 */
+	protected boolean loadResource(Resource resource) {
+		super.demandLoadHelper(resource);
+		return resource.isLoaded();
+	}
+
+	/**
+	 * Called by the resources list, after a resource was added
+	 * @param resource the added resource
+	 */
+	protected void resourceAdded(Resource resource) {
+		if (indexAdapter != null) {
+			indexAdapter.resourceAdded(resource);
+		}
+	}
+
+	/**
+	 * Called by the resources list, after a resource was removed
+	 * @param resource the removed resource
+	 */
+	protected void resourceRemoved(Resource resource) {
+		ResourceSetIdIndex currentIdIndex = idIndex;
+		if (currentIdIndex != null) {
+			currentIdIndex.removeResource(resource);
+		}
+		if (indexAdapter != null) {
+			indexAdapter.resourceRemoved(resource);
+		}
+	}
+
+	/**
+	 * Called by the resources list, after all resources were removed. Clears the ID index and resets
+	 * the indexes at once, instead of removing every object of every resource from them.
+	 * @return <code>true</code>, if the indexes were reset, <code>false</code>, if there are no indexes
+	 *         and the removed resources can be handled one by one
+	 */
+	protected boolean resourcesCleared() {
+		ResourceSetIdIndex currentIdIndex = idIndex;
+		if (currentIdIndex != null) {
+			currentIdIndex.clear();
+		}
+		if (indexAdapter == null) {
+			return false;
+		}
+		resetIndexes();
+		return true;
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.HughDataResourceSet#attachResources(java.util.Collection)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public int attachResources(Collection<? extends Resource> resources) {
+		requireNonNull(resources, "Resources must not be null");
+		EList<Resource> currentResources = getResources();
+		Set<Resource> attached = Collections.newSetFromMap(new IdentityHashMap<>(currentResources.size() + resources.size()));
+		attached.addAll(currentResources);
+		List<Resource> batch = new ArrayList<>(resources.size());
+		for (Resource resource : resources) {
+			if (resource != null && attached.add(resource)) {
+				batch.add(resource);
+			}
+		}
+		if (!batch.isEmpty()) {
+			((InternalEList<Resource>) currentResources).addAllUnique(batch);
+		}
+		return batch.size();
+	}
+
+	/**
+	 * Adds an index, that is populated with the current contents and kept up to date afterwards
+	 * @param index the index to add, must not be <code>null</code>
+	 */
+	public void addIndex(ResourceSetIndex index) {
+		requireNonNull(index, "Index must not be null");
+		if (indexAdapter == null) {
+			indexAdapter = new IndexingContentAdapter(this::isSuppressNotification);
+			index.clear();
+			indexAdapter.getIndexes().add(index);
+			getResources().forEach(indexAdapter::resourceAdded);
+		} else {
+			indexAdapter.addIndex(index, getResources());
+		}
+	}
+
+	/**
+	 * Removes an index. If it was the last one, the contents are not observed anymore.
+	 * @param index the index to remove
+	 */
+	public void removeIndex(ResourceSetIndex index) {
+		if (indexAdapter != null && indexAdapter.removeIndex(index)) {
+			indexAdapter.detachAll(getResources());
+			indexAdapter = null;
+		}
+	}
+
+	/**
+	 * Applies the resource changes, that were queued while notifications were suppressed
+	 */
+	protected void flushIndexes() {
+		if (indexAdapter != null) {
+			indexAdapter.flush();
+		}
+	}
+
+	/**
+	 * Clears all indexes after all resources were removed. The contents are not walked: the old adapter
+	 * stays on the removed objects, but does not report them anymore and drops off each object on its
+	 * next notification.
+	 */
+	private void resetIndexes() {
+		IndexingContentAdapter oldAdapter = indexAdapter;
+		oldAdapter.dispose();
+		indexAdapter = new IndexingContentAdapter(this::isSuppressNotification);
+		for (ResourceSetIndex index : oldAdapter.getIndexes()) {
+			index.clear();
+			indexAdapter.getIndexes().add(index);
+		}
+	}
+
 	/**
 	 * Updates the current state of the resource locator
 	 */
-	private void updateResourceLocator() {
+	protected void updateResourceLocator() {
 		if (isUseResourceLocator()) {
 			if (resourceLocator == null) {
 				new HughDataResourceLocator(this);
@@ -0,0 +1,308 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.resourceset;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * Content adapter, that reports all objects entering or leaving the containment trees of the resources
+ * to the registered {@link ResourceSetIndex}es.
+ * <p>
+ * For a {@link HughDataResourceSetImpl} the adapter is not attached to the resource set, because its notifications
+ * can be suppressed. Instead the resource set reports added and removed resources. While the batching condition is
+ * <code>true</code>, these are queued and applied in one go by {@link #flush()}. For other resource sets the adapter
+ * is attached to the resource set itself. Containment proxies are not resolved.
+ * <p>
+ * The adapter only descends into the contents of a resource, if one of its root objects is relevant for one of the
+ * indexes, see {@link ResourceSetIndex#isRelevant(EClass)}. Other resources are observed on their roots only, until a
+ * relevant root object is added or the resource is loaded.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+class IndexingContentAdapter extends EContentAdapter {
+
+	private final BooleanSupplier batching;
+	private final List<ResourceSetIndex> indexes = new ArrayList<>();
+	/** The last pending operation per resource, <code>true</code> for add */
+	private final Map<Resource, Boolean> pending = new LinkedHashMap<>();
+	/** Resources, whose contents the adapter is attached to */
+	private final Set<Resource> observedResources = Collections.newSetFromMap(new IdentityHashMap<>());
+	private boolean disposed = false;
+
+	/**
+	 * Creates a new instance
+	 * @param batching returns <code>true</code>, while resource changes should be queued
+	 */
+	IndexingContentAdapter(BooleanSupplier batching) {
+		this.batching = batching;
+	}
+
+	/**
+	 * Adds an index and populates it from the resources, the adapter is attached to. Resources, that only become
+	 * relevant with the new index, are observed from now on.
+	 * @param index the index to add
+	 * @param resources the resources of the resource set
+	 */
+	void addIndex(ResourceSetIndex index, List<Resource> resources) {
+		flush();
+		index.clear();
+		for (Resource resource : resources) {
+			if (observedResources.contains(resource)) {
+				for (TreeIterator<EObject> contents = EcoreUtil.getAllContents(resource, false); contents.hasNext();) {
+					index.added(contents.next());
+				}
+			}
+		}
+		indexes.add(index);
+		for (Resource resource : resources) {
+			if (!observedResources.contains(resource) && resource.eAdapters().contains(this) && containsRelevant(resource)) {
+				observe(resource);
+			}
+		}
+	}
+
+	/**
+	 * Removes an index
+	 * @param index the index to remove
+	 * @return <code>true</code>, if no index is left
+	 */
+	boolean removeIndex(ResourceSetIndex index) {
+		indexes.remove(index);
+		return indexes.isEmpty();
+	}
+
+	/**
+	 * Returns the registered indexes
+	 * @return the indexes
+	 */
+	List<ResourceSetIndex> getIndexes() {
+		return indexes;
+	}
+
+	/**
+	 * Called, when a resource was added to the resource set
+	 * @param resource the resource
+	 */
+	void resourceAdded(Resource resource) {
+		if (disposed) {
+			return;
+		}
+		if (batching.getAsBoolean()) {
+			pending.put(resource, Boolean.TRUE);
+		} else {
+			attach(resource);
+		}
+	}
+
+	/**
+	 * Called, when a resource was removed from the resource set
+	 * @param resource the resource
+	 */
+	void resourceRemoved(Resource resource) {
+		if (disposed) {
+			return;
+		}
+		if (batching.getAsBoolean()) {
+			pending.put(resource, Boolean.FALSE);
+		} else {
+			detach(resource);
+		}
+	}
+
+	/**
+	 * Applies all queued resource changes
+	 */
+	void flush() {
+		if (pending.isEmpty()) {
+			return;
+		}
+		for (Iterator<Map.Entry<Resource, Boolean>> iterator = pending.entrySet().iterator(); iterator.hasNext();) {
+			Map.Entry<Resource, Boolean> entry = iterator.next();
+			iterator.remove();
+			if (entry.getValue().booleanValue()) {
+				attach(entry.getKey());
+			} else {
+				detach(entry.getKey());
+			}
+		}
+	}
+
+	/**
+	 * Stops reporting to the indexes without detaching from the contents, after all resources were removed at once.
+	 * The adapter stays on the removed objects, but ignores them and removes itself from an object, when it receives
+	 * its next notification. It releases the removed resources, so it does not keep them alive.
+	 */
+	void dispose() {
+		disposed = true;
+		pending.clear();
+		observedResources.clear();
+	}
+
+	/**
+	 * Detaches the adapter from the given resources and their contents and stops reporting to the indexes
+	 * @param resources the resources of the resource set
+	 */
+	void detachAll(List<Resource> resources) {
+		pending.clear();
+		resources.forEach(r -> r.eAdapters().remove(this));
+		dispose();
+	}
+
+	private void attach(Resource resource) {
+		if (!resource.eAdapters().contains(this)) {
+			resource.eAdapters().add(this);
+		}
+	}
+
+	private void detach(Resource resource) {
+		resource.eAdapters().remove(this);
+	}
+
+	/**
+	 * Attaches the adapter to the contents of the resource, which reports them to the indexes
+	 */
+	private void observe(Resource resource) {
+		observedResources.add(resource);
+		List<EObject> contents = resource.getContents();
+		for (int i = 0; i < contents.size(); i++) {
+			addAdapter(contents.get(i));
+		}
+	}
+
+	private boolean containsRelevant(Resource resource) {
+		List<EObject> contents = resource.getContents();
+		for (int i = 0; i < contents.size(); i++) {
+			EClass rootClass = contents.get(i).eClass();
+			for (ResourceSetIndex index : indexes) {
+				if (index.isRelevant(rootClass)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.emf.ecore.util.EContentAdapter#notifyChanged(org.eclipse.emf.common.notify.Notification)
+	 */
+	@Override
+	public void notifyChanged(Notification notification) {
+		if (disposed) {
+			// drop off lazily, one notifier at a time
+			if (notification.getEventType() != Notification.REMOVING_ADAPTER
+					&& notification.getNotifier() instanceof Notifier notifier) {
+				notifier.eAdapters().remove(this);
+			}
+			return;
+		}
+		if (notification.getNotifier() instanceof Resource resource && !observedResources.contains(resource)) {
+			int featureID = notification.getFeatureID(Resource.class);
+			if ((featureID == Resource.RESOURCE__CONTENTS || featureID == Resource.RESOURCE__IS_LOADED) && containsRelevant(resource)) {
+				observe(resource);
+			}
+			return;
+		}
+		super.notifyChanged(notification);
+		if (notification.getNotifier() instanceof EObject eObject && !notification.isTouch()) {
+			for (ResourceSetIndex index : indexes) {
+				index.changed(eObject, notification);
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.emf.ecore.util.EContentAdapter#setTarget(org.eclipse.emf.ecore.EObject)
+	 */
+	@Override
+	protected void setTarget(EObject target) {
+		if (!disposed) {
+			for (ResourceSetIndex index : indexes) {
+				index.added(target);
+			}
+		}
+		super.setTarget(target);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.emf.ecore.util.EContentAdapter#setTarget(org.eclipse.emf.ecore.resource.Resource)
+	 */
+	@Override
+	protected void setTarget(Resource target) {
+		if (containsRelevant(target)) {
+			observedResources.add(target);
+			super.setTarget(target);
+		} else {
+			basicSetTarget(target);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.emf.ecore.util.EContentAdapter#unsetTarget(org.eclipse.emf.ecore.resource.Resource)
+	 */
+	@Override
+	protected void unsetTarget(Resource target) {
+		if (!disposed && observedResources.remove(target)) {
+			super.unsetTarget(target);
+		} else {
+			basicUnsetTarget(target);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.emf.ecore.util.EContentAdapter#unsetTarget(org.eclipse.emf.ecore.EObject)
+	 */
+	@Override
+	protected void unsetTarget(EObject target) {
+		if (disposed) {
+			// the children drop off on their own notifications
+			basicUnsetTarget(target);
+			return;
+		}
+		super.unsetTarget(target);
+		for (ResourceSetIndex index : indexes) {
+			index.removed(target);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.emf.ecore.util.EContentAdapter#resolve()
+	 */
+	@Override
+	protected boolean resolve() {
+		return false;
+	}
+}
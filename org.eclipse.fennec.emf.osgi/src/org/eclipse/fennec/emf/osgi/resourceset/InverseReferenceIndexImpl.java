@@ -0,0 +1,357 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.resourceset;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.util.InternalEList;
+import org.eclipse.fennec.emf.osgi.InverseReferenceIndex;
+
+/**
+ * {@link InverseReferenceIndex}, that stores the references as adjacency lists keyed by <code>int</code> ids.
+ * <p>
+ * Every source and target object gets an id. For each target id a <code>long[]</code> holds one entry per
+ * reference, packing the id of the source into the upper and the id of the {@link EReference} into the lower
+ * 32 bits. Adding a reference appends an entry, removing one swaps the last entry into its place, both in time
+ * proportional to the degree of the target. Ids of objects, that are neither indexed sources nor referenced
+ * anymore, are reused.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+class InverseReferenceIndexImpl implements InverseReferenceIndex, ResourceSetIndex {
+
+	private static final long[] NO_ENTRIES = new long[0];
+	private static final EReference[] NO_REFERENCES = new EReference[0];
+
+	private final Runnable beforeQuery;
+	private final Map<EObject, Integer> ids = new IdentityHashMap<>();
+	private final Map<EClass, EReference[]> referencesByClass = new HashMap<>();
+	private final Map<EReference, Integer> featureIds = new HashMap<>();
+	private final List<EReference> features = new ArrayList<>();
+	/** The ids of the indexed sources */
+	private final BitSet sources = new BitSet();
+	private EObject[] objects = new EObject[64];
+	private long[][] incoming = new long[64][];
+	private int[] incomingSize = new int[64];
+	private int[] freeIds = new int[16];
+	private int freeCount = 0;
+	private int nextId = 0;
+	private int size = 0;
+
+	/**
+	 * Creates a new instance
+	 * @param beforeQuery called before each query, to apply pending changes
+	 */
+	InverseReferenceIndexImpl(Runnable beforeQuery) {
+		this.beforeQuery = requireNonNull(beforeQuery);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.resourceset.ResourceSetIndex#added(org.eclipse.emf.ecore.EObject)
+	 */
+	@Override
+	public void added(EObject eObject) {
+		EReference[] references = referencesOf(eObject.eClass());
+		if (references.length == 0) {
+			return;
+		}
+		int sourceId = idOf(eObject);
+		if (sources.get(sourceId)) {
+			return;
+		}
+		sources.set(sourceId);
+		for (EReference reference : references) {
+			int featureId = featureIdOf(reference);
+			forEachTarget(eObject, reference, target -> addEntry(target, sourceId, featureId));
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.resourceset.ResourceSetIndex#removed(org.eclipse.emf.ecore.EObject)
+	 */
+	@Override
+	public void removed(EObject eObject) {
+		Integer sourceId = ids.get(eObject);
+		if (sourceId == null || !sources.get(sourceId)) {
+			return;
+		}
+		int id = sourceId.intValue();
+		for (EReference reference : referencesOf(eObject.eClass())) {
+			int featureId = featureIdOf(reference);
+			forEachTarget(eObject, reference, target -> removeEntry(target, id, featureId));
+		}
+		sources.clear(id);
+		releaseIfUnused(id);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.resourceset.ResourceSetIndex#changed(org.eclipse.emf.ecore.EObject, org.eclipse.emf.common.notify.Notification)
+	 */
+	@Override
+	public void changed(EObject eObject, Notification notification) {
+		if (!(notification.getFeature() instanceof EReference reference) || !isIndexed(reference)) {
+			return;
+		}
+		Integer sourceId = ids.get(eObject);
+		if (sourceId == null || !sources.get(sourceId)) {
+			return;
+		}
+		int id = sourceId.intValue();
+		int featureId = featureIdOf(reference);
+		switch (notification.getEventType()) {
+		case Notification.SET, Notification.UNSET, Notification.RESOLVE:
+			removeEntry(notification.getOldValue(), id, featureId);
+			addEntry(notification.getNewValue(), id, featureId);
+			break;
+		case Notification.ADD:
+			addEntry(notification.getNewValue(), id, featureId);
+			break;
+		case Notification.ADD_MANY:
+			for (Object target : (Collection<?>) notification.getNewValue()) {
+				addEntry(target, id, featureId);
+			}
+			break;
+		case Notification.REMOVE:
+			removeEntry(notification.getOldValue(), id, featureId);
+			break;
+		case Notification.REMOVE_MANY:
+			for (Object target : (Collection<?>) notification.getOldValue()) {
+				removeEntry(target, id, featureId);
+			}
+			break;
+		default:
+			break;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.resourceset.ResourceSetIndex#clear()
+	 */
+	@Override
+	public void clear() {
+		ids.clear();
+		sources.clear();
+		Arrays.fill(objects, 0, nextId, null);
+		Arrays.fill(incoming, 0, nextId, null);
+		Arrays.fill(incomingSize, 0, nextId, 0);
+		freeCount = 0;
+		nextId = 0;
+		size = 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.InverseReferenceIndex#getInverseReferences(org.eclipse.emf.ecore.EObject)
+	 */
+	@Override
+	public Collection<EStructuralFeature.Setting> getInverseReferences(EObject target) {
+		long[] entries = entriesOf(target);
+		List<EStructuralFeature.Setting> result = new ArrayList<>(entries.length);
+		for (long entry : entries) {
+			InternalEObject source = (InternalEObject) objects[(int) (entry >>> 32)];
+			result.add(source.eSetting(features.get((int) entry)));
+		}
+		return Collections.unmodifiableList(result);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.InverseReferenceIndex#getReferencingObjects(org.eclipse.emf.ecore.EObject)
+	 */
+	@Override
+	public Collection<EObject> getReferencingObjects(EObject target) {
+		long[] entries = entriesOf(target);
+		if (entries.length == 1) {
+			return Collections.singletonList(objects[(int) (entries[0] >>> 32)]);
+		}
+		// objects are compared by identity
+		Set<EObject> result = new LinkedHashSet<>();
+		for (long entry : entries) {
+			result.add(objects[(int) (entry >>> 32)]);
+		}
+		return Collections.unmodifiableSet(result);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.InverseReferenceIndex#getReferenceCount(org.eclipse.emf.ecore.EObject)
+	 */
+	@Override
+	public int getReferenceCount(EObject target) {
+		requireNonNull(target, "Target must not be null");
+		beforeQuery.run();
+		Integer id = ids.get(target);
+		return id == null ? 0 : incomingSize[id.intValue()];
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.InverseReferenceIndex#size()
+	 */
+	@Override
+	public int size() {
+		beforeQuery.run();
+		return size;
+	}
+
+	private long[] entriesOf(EObject target) {
+		requireNonNull(target, "Target must not be null");
+		beforeQuery.run();
+		Integer id = ids.get(target);
+		if (id == null) {
+			return NO_ENTRIES;
+		}
+		return Arrays.copyOf(incoming[id.intValue()], incomingSize[id.intValue()]);
+	}
+
+	private void addEntry(Object target, int sourceId, int featureId) {
+		if (!(target instanceof EObject eObject)) {
+			return;
+		}
+		int targetId = idOf(eObject);
+		long[] entries = incoming[targetId];
+		int count = incomingSize[targetId];
+		if (entries == null) {
+			entries = new long[2];
+			incoming[targetId] = entries;
+		} else if (count == entries.length) {
+			entries = Arrays.copyOf(entries, count + (count >> 1) + 1);
+			incoming[targetId] = entries;
+		}
+		entries[count] = ((long) sourceId << 32) | (featureId & 0xFFFFFFFFL);
+		incomingSize[targetId] = count + 1;
+		size++;
+	}
+
+	private void removeEntry(Object target, int sourceId, int featureId) {
+		if (!(target instanceof EObject eObject)) {
+			return;
+		}
+		Integer targetId = ids.get(eObject);
+		if (targetId == null) {
+			return;
+		}
+		int id = targetId.intValue();
+		long[] entries = incoming[id];
+		int count = incomingSize[id];
+		long entry = ((long) sourceId << 32) | (featureId & 0xFFFFFFFFL);
+		for (int i = 0; i < count; i++) {
+			if (entries[i] == entry) {
+				entries[i] = entries[--count];
+				incomingSize[id] = count;
+				size--;
+				if (count == 0) {
+					incoming[id] = null;
+					releaseIfUnused(id);
+				}
+				return;
+			}
+		}
+	}
+
+	private int idOf(EObject eObject) {
+		Integer id = ids.get(eObject);
+		if (id != null) {
+			return id.intValue();
+		}
+		int newId;
+		if (freeCount > 0) {
+			newId = freeIds[--freeCount];
+		} else {
+			newId = nextId++;
+			if (newId == objects.length) {
+				int capacity = newId + (newId >> 1);
+				objects = Arrays.copyOf(objects, capacity);
+				incoming = Arrays.copyOf(incoming, capacity);
+				incomingSize = Arrays.copyOf(incomingSize, capacity);
+			}
+		}
+		objects[newId] = eObject;
+		ids.put(eObject, newId);
+		return newId;
+	}
+
+	private void releaseIfUnused(int id) {
+		if (incomingSize[id] > 0 || sources.get(id)) {
+			return;
+		}
+		ids.remove(objects[id]);
+		objects[id] = null;
+		if (freeCount == freeIds.length) {
+			freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+		}
+		freeIds[freeCount++] = id;
+	}
+
+	private int featureIdOf(EReference reference) {
+		return featureIds.computeIfAbsent(reference, r -> {
+			features.add(r);
+			return features.size() - 1;
+		}).intValue();
+	}
+
+	private EReference[] referencesOf(EClass eClass) {
+		return referencesByClass.computeIfAbsent(eClass, c -> {
+			List<EReference> references = new ArrayList<>();
+			for (EReference reference : c.getEAllReferences()) {
+				if (isIndexed(reference)) {
+					references.add(reference);
+				}
+			}
+			return references.isEmpty() ? NO_REFERENCES : references.toArray(NO_REFERENCES);
+		});
+	}
+
+	private static boolean isIndexed(EReference reference) {
+		return !reference.isContainment() && !reference.isContainer() && !reference.isDerived();
+	}
+
+	private static void forEachTarget(EObject source, EReference reference, Consumer<Object> action) {
+		if (!source.eIsSet(reference)) {
+			return;
+		}
+		Object value = source.eGet(reference, false);
+		if (value instanceof InternalEList<?> list) {
+			// without resolving proxies
+			list.basicIterator().forEachRemaining(action);
+		} else if (reference.isMany()) {
+			((Collection<?>) value).forEach(action);
+		} else {
+			action.accept(value);
+		}
+	}
+}
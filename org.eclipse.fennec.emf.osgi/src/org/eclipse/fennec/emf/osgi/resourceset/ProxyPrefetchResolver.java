@@ -0,0 +1,551 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.resourceset;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.impl.ENotificationImpl;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.URIConverter;
+import org.eclipse.emf.ecore.resource.URIHandler;
+import org.eclipse.emf.ecore.resource.impl.URIHandlerImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.InternalEList;
+import org.eclipse.fennec.emf.osgi.ResourceLocks;
+
+/**
+ * Resolves the proxies of loaded resources in bulk, after prefetching the resources they point to.
+ * <p>
+ * Resolving the proxies one by one loads every referenced resource with a synchronous
+ * {@link ResourceSet#getResource(URI, boolean)}, so a deeply linked model loads in a serial chain of I/O waits.
+ * This resolver collects the distinct resource URIs of all proxies of the given resources, reads their content in
+ * parallel, and loads them into the resource set. This is repeated for the newly loaded resources up to a depth
+ * and a maximum number of resources. Afterwards all proxies, whose target resource is loaded, are resolved.
+ * <p>
+ * Only reading the content runs in parallel, using the {@link URIConverter} of the resource set. The reads run on the
+ * executor set with {@link #setExecutor(Executor)} or the load option {@link #OPTION_PREFETCH_EXECUTOR}, otherwise
+ * on a pool of <code>parallelism</code> threads, that lives for one {@link #prefetch(Collection)} call. Creating and
+ * parsing the resources happens in the calling thread, so it works with resource sets, that are not thread safe.
+ * The resources are demand loaded by {@link ResourceSet#getResource(URI, boolean)}, so the load hooks of the
+ * resource set, like the ID index, apply. A {@link URIHandler} installed once in the {@link URIConverter} serves the
+ * content read ahead to the loading thread. A resource, whose content cannot be read, is logged and left to the
+ * regular proxy resolution.
+ * <p>
+ * The proxies are resolved in a single pass over the given and the loaded resources. A proxy of a plain, changeable
+ * cross reference is replaced directly by its target, followed by a {@link Notification#RESOLVE} notification,
+ * like the resolving lists of EMF do. Containment proxies and bidirectional references are resolved by EMF.
+ * With a {@link SynchronizedResourceSetImpl} or a {@link ShardedHughDataResourceSetImpl}, the proxies of each
+ * resource are resolved while holding its write lock from their <code>getResourceLocks()</code>, so the calling
+ * thread must not hold any resource lock.
+ * <p>
+ * Besides calling {@link #resolveAll(Collection)}, the {@link HughDataResourceSetImpl} and the
+ * {@link SynchronizedResourceSetImpl} run the resolver after each demand load, if the load option
+ * {@link #OPTION_PREFETCH_PROXIES} is set.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class ProxyPrefetchResolver {
+
+	/**
+	 * Load option to prefetch the referenced resources and resolve the proxies after a demand load.
+	 * The value is either {@link Boolean#TRUE} for the {@link #DEFAULT_DEPTH} or the depth as {@link Number}.
+	 */
+	public static final String OPTION_PREFETCH_PROXIES = "fennec.prefetch.proxies";
+	/** Load option for the maximum number of resources prefetched for one load, as {@link Number} */
+	public static final String OPTION_PREFETCH_MAX_RESOURCES = "fennec.prefetch.maxResources";
+	/** Load option for the number of resources read in parallel, as {@link Number} */
+	public static final String OPTION_PREFETCH_PARALLELISM = "fennec.prefetch.parallelism";
+	/**
+	 * Load option for a shared {@link Executor} to read the content with. It is not shut down by the resolver and
+	 * bounds the parallelism itself.
+	 */
+	public static final String OPTION_PREFETCH_EXECUTOR = "fennec.prefetch.executor";
+	public static final int DEFAULT_DEPTH = 3;
+	public static final int DEFAULT_MAX_RESOURCES = 1000;
+	public static final int DEFAULT_PARALLELISM = 8;
+
+	private static final Logger LOG = Logger.getLogger(ProxyPrefetchResolver.class.getName());
+	/** Content read ahead for the resources, the current thread is loading */
+	private static final ThreadLocal<Map<URI, byte[]>> PREFETCHED_CONTENT = new ThreadLocal<>();
+
+	private final ResourceSet resourceSet;
+	private final int depth;
+	private final int maxResources;
+	private final int parallelism;
+	private Map<Object, Object> loadOptions;
+	private Executor executor;
+
+	/**
+	 * Creates a new instance with the default depth, maximum number of resources and parallelism
+	 * @param resourceSet the resource set to load the resources into, must not be <code>null</code>
+	 */
+	public ProxyPrefetchResolver(ResourceSet resourceSet) {
+		this(resourceSet, DEFAULT_DEPTH, DEFAULT_MAX_RESOURCES, DEFAULT_PARALLELISM);
+	}
+
+	/**
+	 * Creates a new instance.
+	 * @param resourceSet the resource set to load the resources into, must not be <code>null</code>
+	 * @param depth the number of reference levels to follow, <code>1</code> only prefetches the resources
+	 *        referenced by the given ones
+	 * @param maxResources the maximum number of resources to prefetch
+	 * @param parallelism the number of resources to read in parallel
+	 */
+	public ProxyPrefetchResolver(ResourceSet resourceSet, int depth, int maxResources, int parallelism) {
+		this.resourceSet = requireNonNull(resourceSet, "ResourceSet must not be null");
+		if (depth < 0 || maxResources < 0 || parallelism < 1) {
+			throw new IllegalArgumentException("Depth and maximum resources must not be negative, parallelism must be positive");
+		}
+		this.depth = depth;
+		this.maxResources = maxResources;
+		this.parallelism = parallelism;
+		this.loadOptions = resourceSet.getLoadOptions();
+	}
+
+	/**
+	 * Creates a resolver from the load options.
+	 * @param resourceSet the resource set, must not be <code>null</code>
+	 * @param options the load options
+	 * @return the resolver or <code>null</code>, if {@link #OPTION_PREFETCH_PROXIES} is not set or the current thread
+	 *         loads prefetched resources, whose proxies the running resolver resolves
+	 */
+	public static ProxyPrefetchResolver fromOptions(ResourceSet resourceSet, Map<?, ?> options) {
+		if (options == null || PREFETCHED_CONTENT.get() != null) {
+			return null;
+		}
+		Object prefetch = options.get(OPTION_PREFETCH_PROXIES);
+		int depth;
+		if (Boolean.TRUE.equals(prefetch)) {
+			depth = DEFAULT_DEPTH;
+		} else if (prefetch instanceof Number number && number.intValue() > 0) {
+			depth = number.intValue();
+		} else {
+			return null;
+		}
+		ProxyPrefetchResolver resolver = new ProxyPrefetchResolver(resourceSet, depth,
+				intOption(options, OPTION_PREFETCH_MAX_RESOURCES, DEFAULT_MAX_RESOURCES),
+				intOption(options, OPTION_PREFETCH_PARALLELISM, DEFAULT_PARALLELISM));
+		@SuppressWarnings("unchecked")
+		Map<Object, Object> loadOptions = (Map<Object, Object>) options;
+		resolver.setLoadOptions(loadOptions);
+		if (options.get(OPTION_PREFETCH_EXECUTOR) instanceof Executor sharedExecutor) {
+			resolver.setExecutor(sharedExecutor);
+		}
+		return resolver;
+	}
+
+	/**
+	 * Sets the options to read and load the prefetched resources with. Defaults to the load options of the resource set.
+	 * @param loadOptions the load options
+	 */
+	public void setLoadOptions(Map<Object, Object> loadOptions) {
+		this.loadOptions = loadOptions == null ? Collections.emptyMap() : loadOptions;
+	}
+
+	/**
+	 * Sets a shared executor to read the content with. It is not shut down by the resolver.
+	 * @param executor the executor or <code>null</code>, to use a pool of <code>parallelism</code> threads per call
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Prefetches the resources referenced by the given ones and resolves the proxies in bulk.
+	 * @param resources the loaded resources, must not be <code>null</code>
+	 * @return the number of resolved proxies
+	 */
+	public int resolveAll(Collection<? extends Resource> resources) {
+		requireNonNull(resources, "Resources must not be null");
+		List<Resource> loaded = prefetch(resources);
+		Map<URI, Resource> targets = new HashMap<>();
+		for (Resource resource : loaded) {
+			targets.put(resource.getURI(), resource);
+		}
+		List<Resource> all = new ArrayList<>(resources.size() + loaded.size());
+		all.addAll(resources);
+		all.addAll(loaded);
+		ResourceSetIdIndex idIndex = getIdIndex();
+		int resolved = 0;
+		ResourceLocks resourceLocks = getResourceLocks();
+		for (Resource resource : all) {
+			if (resourceLocks != null) {
+				resolved += resourceLocks.withWrite(resource, () -> resolveLoaded(resource, targets, idIndex));
+			} else {
+				resolved += resolveLoaded(resource, targets, idIndex);
+			}
+		}
+		return resolved;
+	}
+
+	/**
+	 * Prefetches the resources referenced by the given resource and resolves the proxies in bulk.
+	 * @param resource the loaded resource, must not be <code>null</code>
+	 * @return the number of resolved proxies
+	 */
+	public int resolveAll(Resource resource) {
+		return resolveAll(List.of(requireNonNull(resource, "Resource must not be null")));
+	}
+
+	/**
+	 * Loads the resources referenced by proxies of the given resources, level by level, up to the depth
+	 * and the maximum number of resources. The proxies are not resolved.
+	 * @param resources the loaded resources, must not be <code>null</code>
+	 * @return the newly loaded resources
+	 */
+	public List<Resource> prefetch(Collection<? extends Resource> resources) {
+		requireNonNull(resources, "Resources must not be null");
+		List<Resource> loaded = new ArrayList<>();
+		Set<URI> visited = new LinkedHashSet<>();
+		for (Resource resource : resources) {
+			visited.add(resource.getURI());
+		}
+		ExecutorService ownExecutor = null;
+		try {
+			Collection<? extends Resource> level = resources;
+			for (int i = 0; i < depth && loaded.size() < maxResources && !level.isEmpty(); i++) {
+				Set<URI> uris = new LinkedHashSet<>();
+				for (Resource resource : level) {
+					for (URI uri : collectProxyURIs(resource)) {
+						if (visited.add(uri) && !isLoaded(uri) && uris.size() < maxResources - loaded.size()) {
+							uris.add(uri);
+						}
+					}
+				}
+				if (uris.isEmpty()) {
+					break;
+				}
+				if (executor == null && ownExecutor == null) {
+					ownExecutor = Executors.newFixedThreadPool(parallelism, r -> {
+						Thread thread = new Thread(r, "ProxyPrefetch");
+						thread.setDaemon(true);
+						return thread;
+					});
+				}
+				List<Resource> next = load(uris, executor == null ? ownExecutor : executor);
+				loaded.addAll(next);
+				level = next;
+			}
+		} finally {
+			if (ownExecutor != null) {
+				ownExecutor.shutdownNow();
+			}
+		}
+		return loaded;
+	}
+
+	/**
+	 * Returns the distinct resource URIs of all proxies in the resource, that point to other resources
+	 * @param resource the resource, must not be <code>null</code>
+	 * @return the resource URIs of the proxies
+	 */
+	public static Set<URI> collectProxyURIs(Resource resource) {
+		requireNonNull(resource, "Resource must not be null");
+		Set<URI> uris = new LinkedHashSet<>();
+		URI resourceURI = resource.getURI();
+		for (TreeIterator<EObject> contents = EcoreUtil.getAllProperContents(resource, false); contents.hasNext();) {
+			EObject eObject = contents.next();
+			// without resolving proxies
+			collectProxyURIs(((InternalEList<?>) eObject.eCrossReferences()).basicIterator(), resourceURI, uris);
+			collectProxyURIs(((InternalEList<?>) eObject.eContents()).basicIterator(), resourceURI, uris);
+		}
+		return uris;
+	}
+
+	private static void collectProxyURIs(Iterator<?> references, URI resourceURI, Set<URI> uris) {
+		while (references.hasNext()) {
+			if (references.next() instanceof InternalEObject target && target.eIsProxy()) {
+				URI uri = target.eProxyURI().trimFragment();
+				if (!uri.isEmpty() && !uri.equals(resourceURI)) {
+					uris.add(uri);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads the content of all URIs in parallel, then loads the resources in the calling thread
+	 */
+	private List<Resource> load(Set<URI> uris, Executor readExecutor) {
+		URIConverter uriConverter = resourceSet.getURIConverter();
+		List<Resource> loaded = new ArrayList<>(uris.size());
+		if (!installContentHandler(uriConverter)) {
+			// the content cannot be handed over, load one by one
+			for (URI uri : uris) {
+				Resource resource = load(uri, null, null);
+				if (resource != null) {
+					loaded.add(resource);
+				}
+			}
+			return loaded;
+		}
+		Map<URI, CompletableFuture<byte[]>> contents = new LinkedHashMap<>();
+		for (URI uri : uris) {
+			contents.put(uri, CompletableFuture.supplyAsync(() -> read(uriConverter, uri), readExecutor));
+		}
+		Map<URI, byte[]> prefetched = new HashMap<>();
+		PREFETCHED_CONTENT.set(prefetched);
+		try {
+			for (Map.Entry<URI, CompletableFuture<byte[]>> entry : contents.entrySet()) {
+				Resource resource = load(entry.getKey(), entry.getValue(), prefetched);
+				if (resource != null) {
+					loaded.add(resource);
+				}
+			}
+			return loaded;
+		} finally {
+			PREFETCHED_CONTENT.remove();
+			contents.values().forEach(content -> content.cancel(false));
+		}
+	}
+
+	/**
+	 * Demand loads the resource through the resource set, that reads the prefetched content from the
+	 * {@link PrefetchedContentHandler}
+	 */
+	private Resource load(URI uri, CompletableFuture<byte[]> content, Map<URI, byte[]> prefetched) {
+		URI contentURI = null;
+		try {
+			byte[] bytes = content == null ? null : content.join();
+			Resource resource = resourceSet.getResource(uri, false);
+			if (resource != null && resource.isLoaded()) {
+				return resource;
+			}
+			if (bytes != null) {
+				contentURI = resourceSet.getURIConverter().normalize(uri);
+				prefetched.put(contentURI, bytes);
+			}
+			return resourceSet.getResource(uri, true);
+		} catch (RuntimeException e) {
+			Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+			LOG.log(Level.WARNING, cause, () -> "Cannot prefetch '" + uri + "', its proxies are resolved on demand");
+			return null;
+		} finally {
+			if (contentURI != null) {
+				prefetched.remove(contentURI);
+			}
+		}
+	}
+
+	/**
+	 * Installs the {@link PrefetchedContentHandler} as first handler of the converter, if it is not there yet
+	 * @return <code>false</code>, if the handlers of the converter cannot be changed
+	 */
+	private static boolean installContentHandler(URIConverter uriConverter) {
+		try {
+			List<URIHandler> handlers = uriConverter.getURIHandlers();
+			synchronized (handlers) {
+				for (URIHandler handler : handlers) {
+					if (handler instanceof PrefetchedContentHandler) {
+						return true;
+					}
+				}
+				handlers.add(0, new PrefetchedContentHandler());
+				return true;
+			}
+		} catch (UnsupportedOperationException e) {
+			return false;
+		}
+	}
+
+	private byte[] read(URIConverter uriConverter, URI uri) {
+		try (InputStream inputStream = uriConverter.createInputStream(uri, loadOptions)) {
+			return inputStream.readAllBytes();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Resolves the proxies of the resource, whose target resource is loaded
+	 */
+	private int resolveLoaded(Resource resource, Map<URI, Resource> targets, ResourceSetIdIndex idIndex) {
+		int resolved = 0;
+		for (TreeIterator<EObject> contents = EcoreUtil.getAllProperContents(resource, false); contents.hasNext();) {
+			InternalEObject eObject = (InternalEObject) contents.next();
+			for (EReference reference : eObject.eClass().getEAllReferences()) {
+				if (reference.isContainer() || reference.isDerived() || !reference.isResolveProxies() || !eObject.eIsSet(reference)) {
+					continue;
+				}
+				// EMF takes care of the containment and the opposite when resolving these
+				boolean direct = !reference.isContainment() && reference.getEOpposite() == null && reference.isChangeable();
+				if (reference.isMany()) {
+					@SuppressWarnings("unchecked")
+					InternalEList<EObject> list = (InternalEList<EObject>) eObject.eGet(reference);
+					for (int i = 0; i < list.size(); i++) {
+						EObject proxy = list.basicGet(i);
+						EObject target = findTarget(proxy, targets, idIndex);
+						if (target == null) {
+							continue;
+						}
+						if (direct) {
+							int index = i;
+							replace(eObject, reference, proxy, target, index, () -> list.setUnique(index, target));
+							resolved++;
+						} else if (!list.get(i).eIsProxy()) {
+							resolved++;
+						}
+					}
+				} else {
+					EObject proxy = (EObject) eObject.eGet(reference, false);
+					EObject target = findTarget(proxy, targets, idIndex);
+					if (target == null) {
+						continue;
+					}
+					if (direct) {
+						replace(eObject, reference, proxy, target, Notification.NO_INDEX, () -> eObject.eSet(reference, target));
+						resolved++;
+					} else if (!((EObject) eObject.eGet(reference, true)).eIsProxy()) {
+						resolved++;
+					}
+				}
+			}
+		}
+		return resolved;
+	}
+
+	/**
+	 * Replaces the proxy without a set notification and sends the resolve notification instead
+	 */
+	private static void replace(InternalEObject eObject, EReference reference, EObject proxy, EObject target, int index, Runnable setter) {
+		boolean deliver = eObject.eDeliver();
+		eObject.eSetDeliver(false);
+		try {
+			setter.run();
+		} finally {
+			eObject.eSetDeliver(deliver);
+		}
+		if (eObject.eNotificationRequired()) {
+			eObject.eNotify(new ENotificationImpl(eObject, Notification.RESOLVE, reference, proxy, target, index));
+		}
+	}
+
+	/**
+	 * Returns the target of the proxy, if its resource is loaded
+	 * @return the target or <code>null</code>, if the value is no proxy or the target is not available
+	 */
+	private EObject findTarget(Object value, Map<URI, Resource> targets, ResourceSetIdIndex idIndex) {
+		if (!(value instanceof InternalEObject proxy) || !proxy.eIsProxy()) {
+			return null;
+		}
+		URI proxyURI = proxy.eProxyURI();
+		URI uri = proxyURI.trimFragment();
+		Resource resource;
+		if (targets.containsKey(uri)) {
+			resource = targets.get(uri);
+		} else {
+			resource = resourceSet.getResource(uri, false);
+			if (resource != null && !resource.isLoaded()) {
+				resource = null;
+			}
+			targets.put(uri, resource);
+		}
+		if (resource == null || !proxyURI.hasFragment()) {
+			return null;
+		}
+		EObject target = idIndex == null ? resource.getEObject(proxyURI.fragment()) : idIndex.getEObject(resource, proxyURI.fragment());
+		return target == null || target.eIsProxy() ? null : target;
+	}
+
+	private ResourceSetIdIndex getIdIndex() {
+		if (resourceSet instanceof HughDataResourceSetImpl hughData) {
+			return hughData.getIdIndex();
+		}
+		if (resourceSet instanceof SynchronizedResourceSetImpl synchronizedSet) {
+			return synchronizedSet.getIdIndex();
+		}
+		return null;
+	}
+
+	private ResourceLocks getResourceLocks() {
+		if (resourceSet instanceof SynchronizedResourceSetImpl synchronizedSet) {
+			return synchronizedSet.getResourceLocks();
+		}
+		if (resourceSet instanceof ShardedHughDataResourceSetImpl shardedSet) {
+			return shardedSet.getResourceLocks();
+		}
+		return null;
+	}
+
+	private boolean isLoaded(URI uri) {
+		Resource resource = resourceSet.getResource(uri, false);
+		return resource != null && resource.isLoaded();
+	}
+
+	/**
+	 * Serves the content read ahead to the thread, that loads the resource
+	 */
+	private static final class PrefetchedContentHandler extends URIHandlerImpl {
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.eclipse.emf.ecore.resource.impl.URIHandlerImpl#canHandle(org.eclipse.emf.common.util.URI)
+		 */
+		@Override
+		public boolean canHandle(URI uri) {
+			Map<URI, byte[]> prefetched = PREFETCHED_CONTENT.get();
+			return prefetched != null && prefetched.containsKey(uri);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.eclipse.emf.ecore.resource.impl.URIHandlerImpl#createInputStream(org.eclipse.emf.common.util.URI, java.util.Map)
+		 */
+		@Override
+		public InputStream createInputStream(URI uri, Map<?, ?> options) throws IOException {
+			Map<URI, byte[]> prefetched = PREFETCHED_CONTENT.get();
+			byte[] bytes = prefetched == null ? null : prefetched.get(uri);
+			if (bytes == null) {
+				throw new IOException("There is no prefetched content for '" + uri + "'");
+			}
+			return new ByteArrayInputStream(bytes);
+		}
+	}
+
+	/**
+	 * Reads an int option
+	 */
+	private static int intOption(Map<?, ?> options, String key, int defaultValue) {
+		return options.get(key) instanceof Number number ? number.intValue() : defaultValue;
+	}
+}
@@ -0,0 +1,172 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.resourceset;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+
+/**
+ * Concurrent index of the IDs of the objects of all resources in a resource set, used to resolve
+ * <code>uri#id</code> without the tree walk of {@link Resource#getEObject(String)} for resources without
+ * an ID map.
+ * <p>
+ * A resource is indexed once after it was loaded, or on the first ID lookup. Both intrinsic IDs
+ * ({@link EcoreUtil#getID(EObject)}) and extrinsic IDs of {@link XMLResource}s are indexed. Later changes
+ * are not tracked: a hit is verified against the current ID and resource of the object, a miss falls back
+ * to {@link Resource#getEObject(String)} and caches its result. All methods can be called concurrently.
+ * <p>
+ * The index of a resource is dropped, when the resource is unloaded, so that it does not keep the unloaded objects.
+ * An adapter on each indexed resource observes {@link Resource#RESOURCE__IS_LOADED}; a resource unloaded without
+ * notifications is dropped on its next lookup.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class ResourceSetIdIndex {
+
+	private final Map<Resource, Map<String, EObject>> resources = new ConcurrentHashMap<>();
+	private final UnloadListener unloadListener = new UnloadListener();
+
+	/**
+	 * Returns the object for the fragment. ID fragments are looked up in the index, path fragments
+	 * are delegated to the resource.
+	 * @param resource the resource, must not be <code>null</code>
+	 * @param fragment the URI fragment
+	 * @return the object or <code>null</code>
+	 */
+	public EObject getEObject(Resource resource, String fragment) {
+		requireNonNull(resource, "Resource must not be null");
+		if (!resource.isLoaded()) {
+			resources.remove(resource);
+			return resource.getEObject(fragment);
+		}
+		if (!isIdFragment(fragment)) {
+			return resource.getEObject(fragment);
+		}
+		Map<String, EObject> ids = resources.get(resource);
+		if (ids == null) {
+			ids = indexResource(resource);
+		}
+		EObject eObject = ids.get(fragment);
+		if (eObject != null) {
+			if (eObject.eResource() == resource && hasId(resource, eObject, fragment)) {
+				return eObject;
+			}
+			ids.remove(fragment, eObject);
+		}
+		eObject = resource.getEObject(fragment);
+		if (eObject != null) {
+			ids.put(fragment, eObject);
+		}
+		return eObject;
+	}
+
+	/**
+	 * Indexes the IDs of all objects of the resource, replacing a former index of it. The index is dropped again,
+	 * when the resource is unloaded.
+	 * @param resource the loaded resource, must not be <code>null</code>
+	 * @return the index of the resource
+	 */
+	public Map<String, EObject> indexResource(Resource resource) {
+		requireNonNull(resource, "Resource must not be null");
+		XMLResource xmlResource = resource instanceof XMLResource xml ? xml : null;
+		Map<String, EObject> ids = new ConcurrentHashMap<>();
+		for (TreeIterator<EObject> contents = EcoreUtil.getAllProperContents(resource, false); contents.hasNext();) {
+			EObject eObject = contents.next();
+			String id = EcoreUtil.getID(eObject);
+			if (id != null) {
+				ids.putIfAbsent(id, eObject);
+			}
+			String extrinsicId = xmlResource == null ? null : xmlResource.getID(eObject);
+			if (extrinsicId != null) {
+				ids.putIfAbsent(extrinsicId, eObject);
+			}
+		}
+		if (resources.put(resource, ids) == null && !resource.eAdapters().contains(unloadListener)) {
+			resource.eAdapters().add(unloadListener);
+		}
+		return ids;
+	}
+
+	/**
+	 * Drops the index of the resource
+	 * @param resource the removed resource
+	 */
+	public void removeResource(Resource resource) {
+		if (resource != null) {
+			resources.remove(resource);
+			resource.eAdapters().remove(unloadListener);
+		}
+	}
+
+	/**
+	 * Drops the index of all resources
+	 */
+	public void clear() {
+		for (Resource resource : resources.keySet()) {
+			removeResource(resource);
+		}
+	}
+
+	/**
+	 * Returns <code>true</code>, if the resource was indexed
+	 * @param resource the resource
+	 * @return <code>true</code>, if the resource was indexed
+	 */
+	public boolean isIndexed(Resource resource) {
+		return resources.containsKey(resource);
+	}
+
+	/**
+	 * Fragments starting with a slash are paths, a question mark starts a query
+	 */
+	private static boolean isIdFragment(String fragment) {
+		return fragment != null && !fragment.isEmpty() && fragment.charAt(0) != '/' && fragment.indexOf('?') < 0;
+	}
+
+	private static boolean hasId(Resource resource, EObject eObject, String id) {
+		if (id.equals(EcoreUtil.getID(eObject))) {
+			return true;
+		}
+		return resource instanceof XMLResource xml && id.equals(xml.getID(eObject));
+	}
+
+	/**
+	 * Drops the index of a resource, when it is unloaded
+	 */
+	private class UnloadListener extends AdapterImpl {
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.eclipse.emf.common.notify.impl.AdapterImpl#notifyChanged(org.eclipse.emf.common.notify.Notification)
+		 */
+		@Override
+		public void notifyChanged(Notification notification) {
+			if (notification.getNotifier() instanceof Resource resource
+					&& notification.getFeatureID(Resource.class) == Resource.RESOURCE__IS_LOADED
+					&& !notification.getNewBooleanValue()) {
+				resources.remove(resource);
+			}
+		}
+	}
+}
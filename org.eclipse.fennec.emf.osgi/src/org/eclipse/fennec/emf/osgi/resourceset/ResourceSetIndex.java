@@ -0,0 +1,69 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.resourceset;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.osgi.annotation.versioning.ConsumerType;
+
+/**
+ * An index over the contents of a {@link HughDataResourceSetImpl}, that is maintained incrementally.
+ * <p>
+ * Indexes are registered with {@link HughDataResourceSetImpl#addIndex(ResourceSetIndex)}. The resource set
+ * reports every object, that enters or leaves the containment trees of its resources. Callbacks for the same
+ * object can be repeated, so implementations have to be idempotent.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+@ConsumerType
+public interface ResourceSetIndex {
+
+	/**
+	 * Called when an object was added to the contents of the resource set
+	 * @param eObject the added object
+	 */
+	void added(EObject eObject);
+
+	/**
+	 * Called when an object was removed from the contents of the resource set
+	 * @param eObject the removed object
+	 */
+	void removed(EObject eObject);
+
+	/**
+	 * Called when a feature of an object in the contents of the resource set changed. Objects entering or leaving
+	 * the contents are reported by {@link #added(EObject)} and {@link #removed(EObject)} in addition.
+	 * @param eObject the changed object
+	 * @param notification the change notification
+	 */
+	default void changed(EObject eObject, Notification notification) {
+		// nothing to do by default
+	}
+
+	/**
+	 * Called when all resources were removed at once, or before the index is populated initially
+	 */
+	void clear();
+
+	/**
+	 * Returns, if a root object of the given {@link EClass} can contain objects relevant for this index. The contents
+	 * of a resource are only observed, if at least one of its root objects is relevant for at least one index.
+	 * @param rootClass the {@link EClass} of a root object of a resource
+	 * @return <code>true</code>, if the contents of the root object have to be reported, which is the default
+	 */
+	default boolean isRelevant(EClass rootClass) {
+		return true;
+	}
+}
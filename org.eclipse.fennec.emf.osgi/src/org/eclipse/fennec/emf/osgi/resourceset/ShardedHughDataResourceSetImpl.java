@@ -0,0 +1,592 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.resourceset;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.NotificationChain;
+import org.eclipse.emf.common.notify.impl.NotificationImpl;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.DelegatingNotifyingInternalEListImpl;
+import org.eclipse.emf.ecore.util.InternalEList;
+import org.eclipse.fennec.emf.osgi.ResourceLocks;
+
+/**
+ * {@link HughDataResourceSetImpl}, that partitions its resources into shards by the hash of their normalized URI,
+ * for concurrent readers and writers.
+ * <p>
+ * Every shard has its own resource list, guarded by its own lock, and a concurrent map of the normalized URIs,
+ * which replaces the {@link HughDataResourceLocator}. Looking up a resource by URI does not lock, adding and
+ * removing resources only locks the affected shard, and concurrent demand loads of the same URI create a single
+ * resource, that is loaded once under its write lock from {@link #getResourceLocks()}. Adding and removing a resource checks for it and changes the list on its shard, while that shard is
+ * write locked, so concurrent callers never add a resource twice. Iterating over {@link #getResources()} is weakly
+ * consistent and copies one shard at a time.
+ * <p>
+ * The resources are ordered by shard, so the index of inserting, replacing or moving a resource in
+ * {@link #getResources()} is ignored: inserting appends the resource to its shard, replacing removes the former
+ * resource and appends the new one, and moving keeps the order. The indexes of the notifications may be outdated
+ * by concurrent changes of other shards.
+ * <p>
+ * Like the {@link HughDataResourceSetImpl}, {@link ResourceSetIndex}es are not thread safe. Adapters listening to the
+ * resource set must be thread safe, or the notifications must be suppressed.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class ShardedHughDataResourceSetImpl extends HughDataResourceSetImpl {
+
+	public static final int DEFAULT_SHARD_COUNT = 16;
+
+	private final ShardedResourceList shardedResources;
+	private final ResourceLocks resourceLocks = new DefaultResourceLocks();
+
+	/**
+	 * Creates a new instance with {@link #DEFAULT_SHARD_COUNT} shards.
+	 */
+	public ShardedHughDataResourceSetImpl() {
+		this(DEFAULT_SHARD_COUNT);
+	}
+
+	/**
+	 * Creates a new instance.
+	 * @param shardCount the number of shards, must be positive
+	 */
+	public ShardedHughDataResourceSetImpl(int shardCount) {
+		// the converter and its URI map are created lazily, but read concurrently afterwards
+		getURIConverter().getURIMap();
+		shardedResources = new ShardedResourceList(shardCount, uri -> getURIConverter().normalize(uri));
+		resources = new ShardedResourcesEList<>();
+	}
+
+	/**
+	 * Returns the number of shards
+	 * @return the number of shards
+	 */
+	public int getShardCount() {
+		return shardedResources.getShardCount();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.resourceset.HughDataResourceSetImpl#getResources()
+	 */
+	@Override
+	public EList<Resource> getResources() {
+		return resources;
+	}
+
+	/**
+	 * Looks up the resource in the URI map of its shard. Concurrent demand loads of the same URI create
+	 * one resource, that is loaded once.
+	 */
+	@Override
+	public Resource getResource(URI uri, boolean loadOnDemand) {
+		Map<URI, Resource> map = getURIResourceMap();
+		Resource resource = map == null ? null : map.get(uri);
+		if (resource != null && resource.getResourceSet() != this) {
+			// mapped by another URI, than the ones removed with the resource
+			map.remove(uri, resource);
+			resource = null;
+		}
+		URI normalizedURI = getURIConverter().normalize(uri);
+		if (resource == null) {
+			resource = shardedResources.getResource(normalizedURI);
+		}
+		if (resource == null) {
+			Resource delegatedResource = delegatedGetResource(uri, loadOnDemand);
+			if (delegatedResource != null || !loadOnDemand) {
+				return delegatedResource;
+			}
+			resource = shardedResources.computeIfAbsent(normalizedURI, () -> demandCreateResource(uri));
+			if (resource == null) {
+				throw new RuntimeException("Cannot create a resource for '" + uri + "'; a registered resource factory is needed");
+			}
+		}
+		if (loadOnDemand && !resource.isLoaded()) {
+			demandLoadHelper(resource);
+		}
+		return resource;
+	}
+
+	/**
+	 * Returns the locks of the resources. Demand loads hold the write lock of the resource.
+	 * @return the resource locks, never <code>null</code>
+	 */
+	public ResourceLocks getResourceLocks() {
+		return resourceLocks;
+	}
+
+	/**
+	 * Loads the resource while holding its write lock, unless another thread loaded it meanwhile. The proxies
+	 * are resolved afterwards, when the lock is released again, because resolving them locks other resources.
+	 */
+	@Override
+	protected boolean loadResource(Resource resource) {
+		return resourceLocks.withWrite(resource, () -> !resource.isLoaded() && super.loadResource(resource));
+	}
+
+	/**
+	 * Adds the resources, that are not contained yet, shard by shard
+	 */
+	@Override
+	public int attachResources(Collection<? extends Resource> resources) {
+		requireNonNull(resources, "Resources must not be null");
+		List<Resource> batch = new ArrayList<>(resources.size());
+		for (Resource resource : resources) {
+			if (resource != null) {
+				batch.add(resource);
+			}
+		}
+		return ((ShardedResourcesEList<?>) this.resources).addAllResources(batch);
+	}
+
+	/**
+	 * The shard maps replace the resource locator
+	 */
+	@Override
+	protected void updateResourceLocator() {
+		// the shards map the URIs
+	}
+
+	/**
+	 * A notifying list of resources, that delegates to the {@link ShardedResourceList}
+	 */
+	protected class ShardedResourcesEList<E extends Object & Resource> extends DelegatingNotifyingInternalEListImpl<E> implements InternalEList<E> {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean isNotificationRequired() {
+			return ShardedHughDataResourceSetImpl.this.eNotificationRequired();
+		}
+
+		@Override
+		public Object getNotifier() {
+			return ShardedHughDataResourceSetImpl.this;
+		}
+
+		@Override
+		public int getFeatureID() {
+			return RESOURCE_SET__RESOURCES;
+		}
+
+		@Override
+		protected boolean useEquals() {
+			return false;
+		}
+
+		@Override
+		protected boolean hasInverse() {
+			return !isSuppressNotification();
+		}
+
+		@Override
+		protected boolean isUnique() {
+			return true;
+		}
+
+		@Override
+		protected NotificationChain inverseAdd(E object, NotificationChain notifications) {
+			Resource.Internal resource = (Resource.Internal) object;
+			return resource.basicSetResourceSet(ShardedHughDataResourceSetImpl.this, notifications);
+		}
+
+		@Override
+		protected NotificationChain inverseRemove(E object, NotificationChain notifications) {
+			Resource.Internal resource = (Resource.Internal) object;
+			Map<URI, Resource> map = getURIResourceMap();
+			URI uri = resource.getURI();
+			if (map != null && uri != null) {
+				// other URIs mapping the resource are dropped by getResource
+				map.remove(uri, resource);
+				map.remove(getURIConverter().normalize(uri), resource);
+			}
+			return resource.basicSetResourceSet(null, notifications);
+		}
+
+		@Override
+		protected void didAdd(int index, E newObject) {
+			super.didAdd(index, newObject);
+			resourceAdded(newObject);
+		}
+
+		@Override
+		protected void didRemove(int index, E oldObject) {
+			super.didRemove(index, oldObject);
+			resourceRemoved(oldObject);
+		}
+
+		@Override
+		protected void didClear(int size, Object[] oldObjects) {
+			if (!resourcesCleared()) {
+				super.didClear(size, oldObjects);
+			}
+		}
+
+		/**
+		 * Contains is a lookup in the shards, instead of a scan
+		 */
+		@Override
+		public boolean contains(Object object) {
+			return shardedResources.contains(object);
+		}
+
+		/**
+		 * Checks for the resource and appends it to its shard, while the shard is locked
+		 */
+		@Override
+		public boolean add(E object) {
+			boolean oldIsSet = isSet();
+			int index = doAddResource(object);
+			if (index < 0) {
+				return false;
+			}
+			NotificationChain notifications = hasInverse() ? inverseAdd(object, null) : null;
+			dispatch(isNotificationRequired() ? createNotification(Notification.ADD, null, object, index, oldIsSet) : null, notifications);
+			return true;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.eclipse.emf.common.notify.impl.DelegatingNotifyingListImpl#addUnique(java.lang.Object)
+		 */
+		@Override
+		public void addUnique(E object) {
+			add(object);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.eclipse.emf.common.notify.impl.DelegatingNotifyingListImpl#basicAdd(java.lang.Object, org.eclipse.emf.common.notify.NotificationChain)
+		 */
+		@Override
+		public NotificationChain basicAdd(E object, NotificationChain notifications) {
+			boolean oldIsSet = isSet();
+			int index = doAddResource(object);
+			if (index < 0 || !isNotificationRequired()) {
+				return notifications;
+			}
+			NotificationImpl notification = createNotification(Notification.ADD, null, object, index, oldIsSet);
+			if (notifications == null) {
+				return notification;
+			}
+			notifications.add(notification);
+			return notifications;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.eclipse.emf.common.notify.impl.DelegatingNotifyingListImpl#addAll(java.util.Collection)
+		 */
+		@Override
+		public boolean addAll(Collection<? extends E> collection) {
+			return addAllResources(collection) > 0;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.eclipse.emf.common.notify.impl.DelegatingNotifyingListImpl#addAllUnique(java.util.Collection)
+		 */
+		@Override
+		public boolean addAllUnique(Collection<? extends E> collection) {
+			return addAllResources(collection) > 0;
+		}
+
+		/**
+		 * Adds the resources, that are not contained yet, with one notification
+		 * @param collection the resources to add
+		 * @return the number of added resources
+		 */
+		@SuppressWarnings("unchecked")
+		int addAllResources(Collection<? extends Resource> collection) {
+			int index = size();
+			boolean oldIsSet = isSet();
+			List<E> added = (List<E>) shardedResources.addAllAbsent(collection);
+			if (added.isEmpty()) {
+				return 0;
+			}
+			++modCount;
+			for (int i = 0; i < added.size(); i++) {
+				didAdd(index + i, added.get(i));
+			}
+			didChange();
+			NotificationChain notifications = null;
+			if (hasInverse()) {
+				for (E object : added) {
+					notifications = inverseAdd(object, notifications);
+				}
+			}
+			NotificationImpl notification = null;
+			if (isNotificationRequired()) {
+				notification = added.size() == 1 ? createNotification(Notification.ADD, null, added.get(0), index, oldIsSet)
+						: createNotification(Notification.ADD_MANY, null, added, index, oldIsSet);
+			}
+			dispatch(notification, notifications);
+			return added.size();
+		}
+
+		/**
+		 * Removes the resource from its shard, while the shard is locked
+		 */
+		@SuppressWarnings("unchecked")
+		@Override
+		public boolean remove(Object object) {
+			int index = doRemoveResource(object);
+			if (index < 0) {
+				return false;
+			}
+			E oldObject = (E) object;
+			NotificationChain notifications = hasInverse() ? inverseRemove(oldObject, null) : null;
+			dispatch(isNotificationRequired() ? createNotification(Notification.REMOVE, oldObject, null, index, true) : null, notifications);
+			return true;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.eclipse.emf.common.notify.impl.DelegatingNotifyingListImpl#basicRemove(java.lang.Object, org.eclipse.emf.common.notify.NotificationChain)
+		 */
+		@SuppressWarnings("unchecked")
+		@Override
+		public NotificationChain basicRemove(Object object, NotificationChain notifications) {
+			int index = doRemoveResource(object);
+			if (index < 0 || !isNotificationRequired()) {
+				return notifications;
+			}
+			NotificationImpl notification = createNotification(Notification.REMOVE, (E) object, null, index, true);
+			if (notifications == null) {
+				return notification;
+			}
+			notifications.add(notification);
+			return notifications;
+		}
+
+		/**
+		 * Removes the contained resources shard by shard, with one notification
+		 */
+		@SuppressWarnings("unchecked")
+		@Override
+		public boolean removeAll(Collection<?> collection) {
+			ShardedResourceList.Removal removal = shardedResources.removeAllResources(collection);
+			List<E> removed = (List<E>) removal.resources();
+			if (removed.isEmpty()) {
+				return false;
+			}
+			int[] positions = removal.positions();
+			++modCount;
+			for (int i = 0; i < removed.size(); i++) {
+				didRemove(positions[i], removed.get(i));
+			}
+			didChange();
+			NotificationChain notifications = null;
+			if (hasInverse()) {
+				for (E object : removed) {
+					notifications = inverseRemove(object, notifications);
+				}
+			}
+			NotificationImpl notification = null;
+			if (isNotificationRequired()) {
+				notification = removed.size() == 1 ? createNotification(Notification.REMOVE, removed.get(0), null, positions[0], true)
+						: createNotification(Notification.REMOVE_MANY, removed, positions, positions[0], true);
+			}
+			dispatch(notification, notifications);
+			return true;
+		}
+
+		/**
+		 * Removes the resources, that are not in the collection, with one notification
+		 */
+		@Override
+		public boolean retainAll(Collection<?> collection) {
+			List<E> removed = new ArrayList<>();
+			for (Iterator<E> iterator = iterator(); iterator.hasNext();) {
+				E object = iterator.next();
+				if (!collection.contains(object)) {
+					removed.add(object);
+				}
+			}
+			return removeAll(removed);
+		}
+
+		/**
+		 * Resources are ordered by shard, so the index is ignored and the resource is appended to its shard
+		 */
+		@Override
+		public void add(int index, E object) {
+			add(object);
+		}
+
+		/**
+		 * Resources are ordered by shard, so the index is ignored and the resource is appended to its shard
+		 */
+		@Override
+		public void addUnique(int index, E object) {
+			add(object);
+		}
+
+		/**
+		 * Resources are ordered by shard, so the index is ignored and the resources are appended to their shards
+		 */
+		@Override
+		public boolean addAll(int index, Collection<? extends E> collection) {
+			return addAllResources(collection) > 0;
+		}
+
+		/**
+		 * Resources are ordered by shard, so the index is ignored and the resources are appended to their shards
+		 */
+		@Override
+		public boolean addAllUnique(int index, Collection<? extends E> collection) {
+			return addAllResources(collection) > 0;
+		}
+
+		/**
+		 * Resources are ordered by shard, so the former resource at the index is removed and the new one is appended
+		 * to its shard, with a notification for each
+		 * @throws IllegalArgumentException if the new resource is already contained at another index
+		 */
+		@Override
+		public E set(int index, E object) {
+			E former = get(index);
+			if (former != object) {
+				if (contains(object)) {
+					throw new IllegalArgumentException("The 'no duplicates' constraint is violated");
+				}
+				remove(former);
+				add(object);
+			}
+			return former;
+		}
+
+		/**
+		 * Resources are ordered by shard, so the former resource at the index is removed and the new one is appended
+		 * to its shard, with a notification for each
+		 */
+		@Override
+		public E setUnique(int index, E object) {
+			return set(index, object);
+		}
+
+		/**
+		 * Resources are ordered by shard, so the order is kept
+		 * @throws IllegalArgumentException if the resource is not contained
+		 */
+		@Override
+		public void move(int index, E object) {
+			if (!contains(object)) {
+				throw new IllegalArgumentException("The resource is not contained in the resource set");
+			}
+		}
+
+		/**
+		 * Resources are ordered by shard, so the order is kept
+		 */
+		@Override
+		public E move(int targetIndex, int sourceIndex) {
+			return get(sourceIndex);
+		}
+
+		private int doAddResource(E object) {
+			int index = shardedResources.addIfAbsent(object);
+			if (index >= 0) {
+				++modCount;
+				didAdd(index, object);
+				didChange();
+			}
+			return index;
+		}
+
+		@SuppressWarnings("unchecked")
+		private int doRemoveResource(Object object) {
+			if (!(object instanceof Resource)) {
+				return -1;
+			}
+			int index = shardedResources.removeResource(object);
+			if (index >= 0) {
+				++modCount;
+				didRemove(index, (E) object);
+				didChange();
+			}
+			return index;
+		}
+
+		private void dispatch(NotificationImpl notification, NotificationChain notifications) {
+			if (notifications == null) {
+				if (notification != null) {
+					dispatchNotification(notification);
+				}
+			} else {
+				if (notification != null) {
+					notifications.add(notification);
+				}
+				notifications.dispatch();
+			}
+		}
+
+		/**
+		 * Iterates over the shards, instead of accessing every resource by index
+		 */
+		@Override
+		public Iterator<E> iterator() {
+			return new ShardedIterator();
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		protected List<E> delegateList() {
+			return (List<E>) shardedResources;
+		}
+
+		/**
+		 * Weakly consistent iterator, that removes through the notifying list
+		 */
+		private class ShardedIterator implements Iterator<E> {
+
+			private final Iterator<Resource> delegate = shardedResources.iterator();
+			private E last;
+
+			@Override
+			public boolean hasNext() {
+				return delegate.hasNext();
+			}
+
+			@SuppressWarnings("unchecked")
+			@Override
+			public E next() {
+				if (!delegate.hasNext()) {
+					throw new NoSuchElementException();
+				}
+				last = (E) delegate.next();
+				return last;
+			}
+
+			@Override
+			public void remove() {
+				if (last == null) {
+					throw new IllegalStateException();
+				}
+				ShardedResourcesEList.this.remove(last);
+				last = null;
+			}
+		}
+	}
+}
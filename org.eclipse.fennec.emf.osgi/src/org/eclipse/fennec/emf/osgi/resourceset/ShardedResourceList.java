@@ -0,0 +1,681 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.resourceset;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+
+/**
+ * List of resources, partitioned into shards by the hash of their normalized URI.
+ * <p>
+ * Each shard holds its resources in a list guarded by its own lock, and a concurrent map of the normalized
+ * URIs to the resources, so lookups by URI do not lock at all and changes only lock the affected shard.
+ * A shared adapter moves a resource, when its URI changes, while the old and the new shard are write locked, so it
+ * stays visible during the move. Every resource is contained at most once: the check for it and the insert or
+ * removal run on its shard, while that shard is write locked.
+ * <p>
+ * The order of the list is the order of the shards, so inserting at an index appends the resource to its shard and
+ * replacing at an index removes the former resource and appends the new one. Whole list views are weakly consistent: iterators copy one
+ * shard at a time, index based access walks the shard sizes and the indexes returned by {@link #addIfAbsent(Resource)}
+ * and {@link #removeResource(Object)} may be outdated by concurrent changes of other shards.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+class ShardedResourceList extends AbstractList<Resource> {
+
+	private final Shard[] shards;
+	private final UnaryOperator<URI> normalizer;
+	/** The shard and key each contained resource is mapped with */
+	private final Map<Resource, Mapping> mappings = new ConcurrentHashMap<>();
+	private final AtomicInteger size = new AtomicInteger();
+	private final UriTracker uriTracker = new UriTracker();
+
+	private record Mapping(Shard shard, URI key) {}
+
+	/** Removed resources and the indexes they had */
+	record Removal(List<Resource> resources, int[] positions) {}
+
+	private static final class Shard {
+		private final int index;
+		private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+		private final List<Resource> resources = new ArrayList<>();
+		private final Map<URI, Resource> uriMap = new ConcurrentHashMap<>();
+		/** Further resources with a URI, that is already mapped, guarded by the lock */
+		private final Map<URI, Deque<Resource>> shadowed = new HashMap<>();
+		/** The size of the resource list, readable without the lock */
+		private volatile int size;
+
+		private Shard(int index) {
+			this.index = index;
+		}
+	}
+
+	/**
+	 * Creates a new instance.
+	 * @param shardCount the number of shards
+	 * @param normalizer normalizes the resource URIs, must be thread safe
+	 */
+	ShardedResourceList(int shardCount, UnaryOperator<URI> normalizer) {
+		if (shardCount < 1) {
+			throw new IllegalArgumentException("The shard count must be positive");
+		}
+		this.normalizer = requireNonNull(normalizer);
+		shards = new Shard[shardCount];
+		for (int i = 0; i < shardCount; i++) {
+			shards[i] = new Shard(i);
+		}
+	}
+
+	/**
+	 * Returns the resource mapped to the normalized URI, without locking
+	 * @param normalizedURI the normalized URI
+	 * @return the resource or <code>null</code>
+	 */
+	Resource getResource(URI normalizedURI) {
+		return shardOf(normalizedURI).uriMap.get(normalizedURI);
+	}
+
+	/**
+	 * Returns the resource mapped to the normalized URI, or creates it, while the shard is locked
+	 * @param normalizedURI the normalized URI
+	 * @param factory creates and adds the resource, if none is mapped
+	 * @return the resource or <code>null</code>, if the factory returned none
+	 */
+	Resource computeIfAbsent(URI normalizedURI, Supplier<Resource> factory) {
+		Shard shard = shardOf(normalizedURI);
+		Resource resource = shard.uriMap.get(normalizedURI);
+		if (resource != null) {
+			return resource;
+		}
+		Lock lock = shard.lock.writeLock();
+		lock.lock();
+		try {
+			resource = shard.uriMap.get(normalizedURI);
+			return resource != null ? resource : factory.get();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of shards
+	 * @return the number of shards
+	 */
+	int getShardCount() {
+		return shards.length;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.AbstractCollection#size()
+	 */
+	@Override
+	public int size() {
+		return size.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.AbstractList#get(int)
+	 */
+	@Override
+	public Resource get(int index) {
+		int offset = index;
+		for (Shard shard : shards) {
+			Lock lock = shard.lock.readLock();
+			lock.lock();
+			try {
+				if (offset < shard.resources.size()) {
+					return shard.resources.get(offset);
+				}
+				offset -= shard.resources.size();
+			} finally {
+				lock.unlock();
+			}
+		}
+		throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.AbstractList#add(java.lang.Object)
+	 */
+	@Override
+	public boolean add(Resource resource) {
+		return addIfAbsent(resource) >= 0;
+	}
+
+	/**
+	 * Appends the resource to its shard, if it is not contained yet. The check and the insert run, while the shard
+	 * is write locked.
+	 * @param resource the resource to add
+	 * @return the index of the added resource, or <code>-1</code>, if it was already contained
+	 */
+	int addIfAbsent(Resource resource) {
+		Mapping mapping = mappingOf(resource);
+		Lock lock = mapping.shard.lock.writeLock();
+		lock.lock();
+		int index;
+		try {
+			if (mappings.containsKey(resource)) {
+				return -1;
+			}
+			insert(resource, mapping);
+			index = offsetOf(mapping.shard) + mapping.shard.resources.size() - 1;
+		} finally {
+			lock.unlock();
+		}
+		track(resource);
+		return index;
+	}
+
+	/**
+	 * The order is the order of the shards, so the index is ignored and the resource is appended to its shard
+	 */
+	@Override
+	public void add(int index, Resource resource) {
+		addIfAbsent(resource);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.AbstractCollection#addAll(java.util.Collection)
+	 */
+	@Override
+	public boolean addAll(Collection<? extends Resource> resources) {
+		return !addAllAbsent(resources).isEmpty();
+	}
+
+	/**
+	 * Adds the resources, that are not contained yet, shard by shard. Every shard is write locked once, for
+	 * the checks and inserts of all its resources.
+	 * @param resources the resources to add
+	 * @return the added resources, in the order of the shards
+	 */
+	List<Resource> addAllAbsent(Collection<? extends Resource> resources) {
+		if (resources.isEmpty()) {
+			return List.of();
+		}
+		Map<Shard, List<Resource>> byShard = new IdentityHashMap<>();
+		Map<Resource, Mapping> newMappings = new IdentityHashMap<>(resources.size());
+		for (Resource resource : resources) {
+			Mapping mapping = mappingOf(resource);
+			newMappings.put(resource, mapping);
+			byShard.computeIfAbsent(mapping.shard, s -> new ArrayList<>()).add(resource);
+		}
+		List<Resource> added = new ArrayList<>(resources.size());
+		for (Map.Entry<Shard, List<Resource>> entry : byShard.entrySet()) {
+			Lock lock = entry.getKey().lock.writeLock();
+			lock.lock();
+			try {
+				for (Resource resource : entry.getValue()) {
+					if (!mappings.containsKey(resource)) {
+						insert(resource, newMappings.get(resource));
+						added.add(resource);
+					}
+				}
+			} finally {
+				lock.unlock();
+			}
+		}
+		added.forEach(this::track);
+		return added;
+	}
+
+	/**
+	 * The order is the order of the shards, so the former resource at the index is removed and the new one is
+	 * appended to its shard
+	 */
+	@Override
+	public Resource set(int index, Resource resource) {
+		Resource former = get(index);
+		if (former != resource) {
+			removeResource(former);
+			addIfAbsent(resource);
+		}
+		return former;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.AbstractList#remove(int)
+	 */
+	@Override
+	public Resource remove(int index) {
+		int offset = index;
+		for (Shard shard : shards) {
+			Lock lock = shard.lock.writeLock();
+			lock.lock();
+			try {
+				if (offset < shard.resources.size()) {
+					Resource resource = shard.resources.remove(offset);
+					unmap(resource, shard);
+					return resource;
+				}
+				offset -= shard.resources.size();
+			} finally {
+				lock.unlock();
+			}
+		}
+		throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.AbstractCollection#remove(java.lang.Object)
+	 */
+	@Override
+	public boolean remove(Object object) {
+		return removeResource(object) >= 0;
+	}
+
+	/**
+	 * Removes the resource from its shard. The lookup and the removal run, while the shard is write locked.
+	 * If the resource moves to another shard meanwhile, the removal is retried there.
+	 * @param object the resource to remove
+	 * @return the index the resource had, or <code>-1</code>, if it was not contained
+	 */
+	int removeResource(Object object) {
+		while (true) {
+			Mapping mapping = mappings.get(object);
+			if (mapping == null) {
+				return -1;
+			}
+			Lock lock = mapping.shard.lock.writeLock();
+			lock.lock();
+			try {
+				if (mappings.get(object) != mapping) {
+					continue;
+				}
+				int index = indexIn(mapping.shard, object);
+				if (index < 0) {
+					return -1;
+				}
+				unmap(mapping.shard.resources.remove(index), mapping.shard);
+				return offsetOf(mapping.shard) + index;
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Removes the contained resources of the collection, shard by shard. Every shard is write locked once, for
+	 * the removal of all its resources.
+	 * @param objects the resources to remove
+	 * @return the removed resources in the order of the shards, with the indexes they had before
+	 */
+	Removal removeAllResources(Collection<?> objects) {
+		Map<Shard, Map<Object, Boolean>> byShard = new IdentityHashMap<>();
+		for (Object object : objects) {
+			Mapping mapping = mappings.get(object);
+			if (mapping != null) {
+				byShard.computeIfAbsent(mapping.shard, s -> new IdentityHashMap<>()).put(object, Boolean.TRUE);
+			}
+		}
+		List<Resource> removed = new ArrayList<>();
+		int[] positions = new int[objects.size()];
+		for (Shard shard : shards) {
+			Map<Object, Boolean> candidates = byShard.get(shard);
+			if (candidates == null) {
+				continue;
+			}
+			Lock lock = shard.lock.writeLock();
+			lock.lock();
+			try {
+				// the shards before lost the resources removed so far
+				int offset = offsetOf(shard) + removed.size();
+				int[] indexes = new int[candidates.size()];
+				int count = 0;
+				for (Object candidate : candidates.keySet()) {
+					Mapping mapping = mappings.get(candidate);
+					int index = mapping == null || mapping.shard != shard ? -1 : indexIn(shard, candidate);
+					if (index >= 0) {
+						indexes[count++] = index;
+					}
+				}
+				Arrays.sort(indexes, 0, count);
+				Resource[] shardRemoved = new Resource[count];
+				for (int i = count - 1; i >= 0; i--) {
+					shardRemoved[i] = shard.resources.remove(indexes[i]);
+					unmap(shardRemoved[i], shard);
+				}
+				for (int i = 0; i < count; i++) {
+					positions[removed.size()] = offset + indexes[i];
+					removed.add(shardRemoved[i]);
+				}
+			} finally {
+				lock.unlock();
+			}
+		}
+		return new Removal(removed, Arrays.copyOf(positions, removed.size()));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.AbstractList#indexOf(java.lang.Object)
+	 */
+	@Override
+	public int indexOf(Object object) {
+		Mapping mapping = mappings.get(object);
+		if (mapping == null) {
+			return -1;
+		}
+		int offset = 0;
+		for (Shard shard : shards) {
+			Lock lock = shard.lock.readLock();
+			lock.lock();
+			try {
+				if (shard == mapping.shard) {
+					int index = indexIn(shard, object);
+					return index < 0 ? -1 : offset + index;
+				}
+				offset += shard.resources.size();
+			} finally {
+				lock.unlock();
+			}
+		}
+		return -1;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.AbstractList#lastIndexOf(java.lang.Object)
+	 */
+	@Override
+	public int lastIndexOf(Object object) {
+		return indexOf(object);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.AbstractCollection#contains(java.lang.Object)
+	 */
+	@Override
+	public boolean contains(Object object) {
+		return mappings.containsKey(object);
+	}
+
+	/**
+	 * Removes all resources. The URI tracking adapter stays on the removed resources, but ignores them.
+	 */
+	@Override
+	public void clear() {
+		for (Shard shard : shards) {
+			shard.lock.writeLock().lock();
+		}
+		try {
+			for (Shard shard : shards) {
+				shard.resources.clear();
+				shard.uriMap.clear();
+				shard.shadowed.clear();
+				shard.size = 0;
+			}
+			mappings.clear();
+			size.set(0);
+		} finally {
+			for (Shard shard : shards) {
+				shard.lock.writeLock().unlock();
+			}
+		}
+	}
+
+	/**
+	 * Returns a weakly consistent iterator, that copies one shard at a time. It removes from the shard of the
+	 * last returned resource.
+	 */
+	@Override
+	public Iterator<Resource> iterator() {
+		return new ShardIterator();
+	}
+
+	/**
+	 * Moves the resource to the shard of its new URI. Both shards are write locked in the order of the shards, and the
+	 * new URI is mapped before the old one is dropped, so lookups and {@link #contains(Object)} always find the resource.
+	 */
+	private void remap(Resource resource) {
+		while (true) {
+			Mapping mapping = mappings.get(resource);
+			if (mapping == null) {
+				return;
+			}
+			Mapping newMapping = mappingOf(resource);
+			if (newMapping.shard == mapping.shard && Objects.equals(newMapping.key, mapping.key)) {
+				return;
+			}
+			Shard first = mapping.shard.index <= newMapping.shard.index ? mapping.shard : newMapping.shard;
+			Shard second = first == mapping.shard ? newMapping.shard : mapping.shard;
+			first.lock.writeLock().lock();
+			second.lock.writeLock().lock();
+			try {
+				if (mappings.get(resource) != mapping) {
+					continue;
+				}
+				if (newMapping.shard != mapping.shard) {
+					mapping.shard.resources.remove(indexIn(mapping.shard, resource));
+					mapping.shard.size = mapping.shard.resources.size();
+					newMapping.shard.resources.add(resource);
+					newMapping.shard.size = newMapping.shard.resources.size();
+				}
+				mapKey(resource, newMapping);
+				mappings.put(resource, newMapping);
+				unmapKey(resource, mapping);
+				return;
+			} finally {
+				second.lock.writeLock().unlock();
+				first.lock.writeLock().unlock();
+			}
+		}
+	}
+
+	private Mapping mappingOf(Resource resource) {
+		URI uri = resource.getURI();
+		URI key = uri == null ? null : normalizer.apply(uri);
+		return new Mapping(shardOf(key), key);
+	}
+
+	/**
+	 * Sums the sizes of the shards before the given one, without locking them
+	 */
+	private int offsetOf(Shard shard) {
+		int offset = 0;
+		for (Shard other : shards) {
+			if (other == shard) {
+				return offset;
+			}
+			offset += other.size;
+		}
+		return offset;
+	}
+
+	private Shard shardOf(URI key) {
+		if (key == null) {
+			return shards[0];
+		}
+		int hash = key.hashCode();
+		return shards[Math.floorMod(hash ^ (hash >>> 16), shards.length)];
+	}
+
+	/**
+	 * Inserts the resource, the shard must be write locked
+	 */
+	private void insert(Resource resource, Mapping mapping) {
+		mapping.shard.resources.add(resource);
+		mapping.shard.size = mapping.shard.resources.size();
+		mapKey(resource, mapping);
+		mappings.put(resource, mapping);
+		size.incrementAndGet();
+	}
+
+	/**
+	 * Unmaps a removed resource, the shard must be write locked
+	 */
+	private void unmap(Resource resource, Shard shard) {
+		Mapping mapping = mappings.remove(resource);
+		size.decrementAndGet();
+		shard.size = shard.resources.size();
+		resource.eAdapters().remove(uriTracker);
+		if (mapping != null) {
+			unmapKey(resource, mapping);
+		}
+	}
+
+	/**
+	 * Maps the URI of the resource, unless another resource has the same URI. The shard must be write locked.
+	 */
+	private static void mapKey(Resource resource, Mapping mapping) {
+		if (mapping.key != null && mapping.shard.uriMap.putIfAbsent(mapping.key, resource) != null) {
+			mapping.shard.shadowed.computeIfAbsent(mapping.key, k -> new ArrayDeque<>(2)).add(resource);
+		}
+	}
+
+	/**
+	 * Drops the URI of the resource. The next resource with the same URI takes its place in the URI map. The shard
+	 * must be write locked.
+	 */
+	private static void unmapKey(Resource resource, Mapping mapping) {
+		if (mapping.key == null) {
+			return;
+		}
+		Shard shard = mapping.shard;
+		Deque<Resource> others = shard.shadowed.get(mapping.key);
+		if (shard.uriMap.remove(mapping.key, resource)) {
+			Resource next = others == null ? null : others.poll();
+			if (next != null) {
+				shard.uriMap.put(mapping.key, next);
+			}
+		} else if (others != null) {
+			others.remove(resource);
+		}
+		if (others != null && others.isEmpty()) {
+			shard.shadowed.remove(mapping.key);
+		}
+	}
+
+	private void track(Resource resource) {
+		if (!resource.eAdapters().contains(uriTracker)) {
+			resource.eAdapters().add(uriTracker);
+		}
+	}
+
+	/**
+	 * Identity index within the shard, the shard must be locked
+	 */
+	private static int indexIn(Shard shard, Object object) {
+		List<Resource> resources = shard.resources;
+		for (int i = 0; i < resources.size(); i++) {
+			if (resources.get(i) == object) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Adapter shared by all resources, that moves a resource, when its URI changes
+	 */
+	private class UriTracker extends AdapterImpl {
+
+		@Override
+		public void notifyChanged(Notification notification) {
+			if (notification.getFeatureID(Resource.class) == Resource.RESOURCE__URI
+					&& notification.getNotifier() instanceof Resource resource) {
+				remap(resource);
+			}
+		}
+
+		/**
+		 * Shared by many resources, so there is no single target
+		 */
+		@Override
+		public void setTarget(Notifier newTarget) {
+			// no single target
+		}
+
+		@Override
+		public void unsetTarget(Notifier oldTarget) {
+			// no single target
+		}
+	}
+
+	private class ShardIterator implements Iterator<Resource> {
+
+		private int shardIndex = 0;
+		private Resource[] current = new Resource[0];
+		private int cursor = 0;
+		private Resource last;
+
+		@Override
+		public boolean hasNext() {
+			while (cursor == current.length) {
+				if (shardIndex == shards.length) {
+					return false;
+				}
+				Shard shard = shards[shardIndex++];
+				Lock lock = shard.lock.readLock();
+				lock.lock();
+				try {
+					current = shard.resources.toArray(new Resource[0]);
+				} finally {
+					lock.unlock();
+				}
+				cursor = 0;
+			}
+			return true;
+		}
+
+		@Override
+		public Resource next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			last = current[cursor++];
+			return last;
+		}
+
+		@Override
+		public void remove() {
+			if (last == null) {
+				throw new IllegalStateException();
+			}
+			removeResource(last);
+			last = null;
+		}
+	}
+}
@@ -12,6 +12,7 @@
  ********************************************************************/
 package org.eclipse.fennec.emf.osgi.resourceset;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -30,16 +31,23 @@ import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
 import org.eclipse.emf.ecore.util.DelegatingNotifyingInternalEListImpl;
 import org.eclipse.emf.ecore.util.InternalEList;
 import org.eclipse.fennec.emf.osgi.Detachable;
+import org.eclipse.fennec.emf.osgi.ResourceLocks;
 
 /**
  * Resource set with synchronized access especially for resources. It has a read write lock for
- * securing write and read access to the resources list
+ * securing write and read access to the resources list. Changes of the resource contents are
+ * guarded by the per resource locks of {@link #getResourceLocks()}: demand loads, the proxy resolution of the
+ * {@link ProxyPrefetchResolver} and {@link #detachFromResource(EObject)} hold the write lock of the resource,
+ * and callers changing the contents must do the same instead of synchronizing on the resource.
+ * The locks are not reentrant, so a resource must not be demand loaded, while the current thread holds its lock.
  * @author Mark Hoffmann
  * @since 10.04.2017
  */
 public class SynchronizedResourceSetImpl extends ResourceSetImpl implements Detachable {
 
 	protected ReentrantReadWriteLock rwLock = new ReentrantReadWriteLock();
+	private volatile ResourceSetIdIndex idIndex;
+	private final ResourceLocks resourceLocks = new DefaultResourceLocks();
 
 	/**
 	 * Creates a new instance.
@@ -101,10 +109,8 @@ public class SynchronizedResourceSetImpl extends ResourceSetImpl implements Deta
 				if (resource == null) {
 					continue;
 				}
-				URI resourceUri = null;
-				synchronized (resource) {
-					resourceUri = resource.getURI();
-				}
+				// the URI is no content, it is read without the resource lock
+				URI resourceUri = resource.getURI();
 				boolean normalized = false;
 				if (resourceUri != null) {
 					synchronized (theURIConverter) {
@@ -159,6 +165,92 @@ public class SynchronizedResourceSetImpl extends ResourceSetImpl implements Deta
 		return null;
 	}
 
+	/**
+	 * Returns the locks for the contents of the resources. Writers of different resources run in parallel.
+	 * Demand loads and the proxy resolution after them hold the write lock of the resource, too.
+	 * @return the resource locks, never <code>null</code>
+	 */
+	public ResourceLocks getResourceLocks() {
+		return resourceLocks;
+	}
+
+	/**
+	 * Set to <code>true</code>, to resolve <code>uri#id</code> lookups of {@link #getEObject} with a
+	 * {@link ResourceSetIdIndex}, that is filled, when resources are loaded
+	 * @param useIdIndex set to <code>true</code>, to enable the ID index
+	 */
+	public void setUseIdIndex(boolean useIdIndex) {
+		if (useIdIndex && idIndex == null) {
+			idIndex = new ResourceSetIdIndex();
+		} else if (!useIdIndex) {
+			idIndex = null;
+		}
+	}
+
+	/**
+	 * Returns <code>true</code>, if the ID index is used
+	 * @return <code>true</code>, if the ID index is used
+	 */
+	public boolean isUseIdIndex() {
+		return idIndex != null;
+	}
+
+	/**
+	 * Returns the ID index
+	 * @return the ID index or <code>null</code>, if it is not enabled
+	 */
+	public ResourceSetIdIndex getIdIndex() {
+		return idIndex;
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.eclipse.emf.ecore.resource.impl.ResourceSetImpl#getEObject(org.eclipse.emf.common.util.URI, boolean)
+	 */
+	@Override
+	public EObject getEObject(URI uri, boolean loadOnDemand) {
+		ResourceSetIdIndex currentIdIndex = idIndex;
+		if (currentIdIndex == null || !uri.hasFragment()) {
+			return super.getEObject(uri, loadOnDemand);
+		}
+		Resource resource = getResource(uri.trimFragment(), loadOnDemand);
+		return resource == null ? null : currentIdIndex.getEObject(resource, uri.fragment());
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.eclipse.emf.ecore.resource.impl.ResourceSetImpl#demandLoad(org.eclipse.emf.ecore.resource.Resource)
+	 */
+	@Override
+	protected void demandLoad(Resource resource) throws IOException {
+		super.demandLoad(resource);
+		ResourceSetIdIndex currentIdIndex = idIndex;
+		if (currentIdIndex != null) {
+			currentIdIndex.indexResource(resource);
+		}
+	}
+
+	/**
+	 * Loads the resource while holding its write lock, unless another thread loaded it meanwhile. The proxies
+	 * are resolved afterwards, when the lock is released again, because resolving them locks other resources.
+	 */
+	@Override
+	protected void demandLoadHelper(Resource resource) {
+		boolean loaded = resourceLocks.withWrite(resource, () -> {
+			if (resource.isLoaded()) {
+				return false;
+			}
+			super.demandLoadHelper(resource);
+			return resource.isLoaded();
+		});
+		if (loaded) {
+			ProxyPrefetchResolver resolver = ProxyPrefetchResolver.fromOptions(this, getLoadOptions());
+			if (resolver != null) {
+				resolver.resolveAll(resource);
+			}
+		}
+	}
+
 	@Override
 	public Resource createResource(URI uri, String contentType) {
 		Resource.Factory resourceFactory = getResourceFactoryRegistry().getFactory(uri, contentType);
@@ -191,9 +283,7 @@ public class SynchronizedResourceSetImpl extends ResourceSetImpl implements Deta
 		if (resource == null) {
 			return;
 		}
-		synchronized (resource) {
-			resource.getContents().remove(object);
-		}
+		resourceLocks.withWrite(resource, () -> resource.getContents().remove(object));
 	}
 
 
@@ -311,6 +401,10 @@ public class SynchronizedResourceSetImpl extends ResourceSetImpl implements Deta
 					}
 				}
 			}
+			ResourceSetIdIndex currentIdIndex = idIndex;
+			if (currentIdIndex != null) {
+				currentIdIndex.removeResource(resource);
+			}
 			return resource.basicSetResourceSet(null, notifications);
 		}
 
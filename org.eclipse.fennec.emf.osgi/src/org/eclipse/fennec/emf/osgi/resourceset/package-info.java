@@ -10,5 +10,5 @@
  * Contributors:
  *   Data In Motion Consulting - initial implementation
  ********************************************************************/
-@org.osgi.annotation.versioning.Version("5.0.0")
+@org.osgi.annotation.versioning.Version("5.1.0")
 package org.eclipse.fennec.emf.osgi.resourceset;
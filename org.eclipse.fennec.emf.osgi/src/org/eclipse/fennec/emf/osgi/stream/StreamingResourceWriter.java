@@ -0,0 +1,85 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.stream;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.eclipse.emf.ecore.EObject;
+import org.osgi.annotation.versioning.ProviderType;
+
+/**
+ * Writes the contents of a document root by root to a stream, without a resource holding all of them.
+ * <p>
+ * Each root is written with its contents, when it is passed to the writer, and is not referenced afterwards.
+ * References within the written root are local references of the document, all other references are written
+ * with the URI of their target, so their targets have to be proxies or contained in a resource.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+@ProviderType
+public interface StreamingResourceWriter extends Closeable {
+
+	/**
+	 * Writes the root with its contents
+	 * @param root the root object, must not be <code>null</code>
+	 * @throws IOException if writing fails or the root references objects, that have no URI
+	 */
+	void write(EObject root) throws IOException;
+
+	/**
+	 * Writes all roots of the iterator
+	 * @param roots the roots, must not be <code>null</code>
+	 * @return the number of roots written so far
+	 * @throws IOException if writing fails or a root references objects, that have no URI
+	 */
+	default long writeAll(Iterator<? extends EObject> roots) throws IOException {
+		while (roots.hasNext()) {
+			write(roots.next());
+		}
+		return getCount();
+	}
+
+	/**
+	 * Writes all roots of the stream
+	 * @param roots the roots, must not be <code>null</code>
+	 * @return the number of roots written so far
+	 * @throws IOException if writing fails or a root references objects, that have no URI
+	 */
+	default long writeAll(Stream<? extends EObject> roots) throws IOException {
+		return writeAll(roots.iterator());
+	}
+
+	/**
+	 * Returns the number of roots written so far
+	 * @return the root count
+	 */
+	long getCount();
+
+	/**
+	 * Writes the buffered content to the stream and flushes it
+	 * @throws IOException if writing fails
+	 */
+	void flush() throws IOException;
+
+	/**
+	 * Completes the document and closes the stream
+	 * @throws IOException if writing fails
+	 */
+	@Override
+	void close() throws IOException;
+
+}
@@ -0,0 +1,441 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.stream;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.impl.DynamicEObjectImpl;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.InternalEList;
+import org.eclipse.emf.ecore.xmi.XMIResource;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+
+/**
+ * Reads an XMI or XML document object by object, without loading it into a resource.
+ * <p>
+ * The reader parses the document with a StAX pull parser and returns every object at the configured containment
+ * depth, as soon as its end element is read. Depth <code>0</code> returns the contents of the document, depth
+ * <code>1</code> their children and so on. A returned object is complete with its contents and stays contained in
+ * its ancestors until the next call of {@link #hasNext()}, then it is removed from them. The ancestors only hold
+ * their attributes and references, completed children are discarded as well. So the memory needed is bounded by
+ * the size of a returned subtree, not by the size of the document.
+ * <p>
+ * As the document is never complete in memory, all non-containment references become proxies with the URI of
+ * their target, local references with the document URI and the fragment or ID of the target. They resolve, once
+ * the target is loaded into a resource set. Classes are looked up in the given {@link EPackage.Registry}. The
+ * format is the one written by the XMI and XML resources without extended metadata, <code>xmi:id</code>s are not
+ * kept, as the objects are not contained in a resource.
+ * <p>
+ * The reader is not thread safe.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class StreamingXMIReader implements Iterator<EObject>, Closeable {
+
+	private enum Kind {
+		DOCUMENT, OBJECT, VALUE, SKIP
+	}
+
+	/* an open element, with the object, or the owner of the attribute value, and the containment depth */
+	private record Frame(Kind kind, EObject object, int depth, EStructuralFeature feature, StringBuilder text, boolean nil) {}
+
+	private static final Frame SKIP = new Frame(Kind.SKIP, null, -1, null, null, false);
+
+	private final InputStream inputStream;
+	private final XMLStreamReader reader;
+	private final URI uri;
+	private final EPackage.Registry registry;
+	private final int depth;
+	private final Map<String, EPackage> packages = new HashMap<>();
+	private final Deque<Frame> frames = new ArrayDeque<>();
+	private EObject next;
+	private EObject last;
+	private EObject lastContainer;
+	private long count;
+	private boolean finished;
+
+	/**
+	 * Opens the document at the URI through the {@link org.eclipse.emf.ecore.resource.URIConverter} of the resource
+	 * set and uses its package registry.
+	 * @param resourceSet the resource set, must not be <code>null</code>
+	 * @param uri the document URI, must not be <code>null</code>
+	 * @param depth the containment depth of the returned objects, <code>0</code> for the contents of the document
+	 * @return the reader, that has to be closed
+	 * @throws IOException if the document cannot be opened
+	 */
+	public static StreamingXMIReader open(ResourceSet resourceSet, URI uri, int depth) throws IOException {
+		InputStream inputStream = resourceSet.getURIConverter().createInputStream(uri);
+		try {
+			return new StreamingXMIReader(inputStream, uri, resourceSet.getPackageRegistry(), depth);
+		} catch (IOException | RuntimeException e) {
+			inputStream.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Creates a new instance.
+	 * @param inputStream the document, must not be <code>null</code>
+	 * @param uri the document URI, that local references and relative proxy URIs are resolved against, must not be <code>null</code>
+	 * @param registry the registry to look up the packages, must not be <code>null</code>
+	 * @param depth the containment depth of the returned objects, <code>0</code> for the contents of the document
+	 * @throws IOException if the document cannot be parsed
+	 */
+	public StreamingXMIReader(InputStream inputStream, URI uri, EPackage.Registry registry, int depth) throws IOException {
+		this.inputStream = requireNonNull(inputStream);
+		this.uri = requireNonNull(uri);
+		this.registry = requireNonNull(registry);
+		if (depth < 0) {
+			throw new IllegalArgumentException("The depth must not be negative, but was " + depth);
+		}
+		this.depth = depth;
+		XMLInputFactory factory = XMLInputFactory.newFactory();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+		try {
+			reader = factory.createXMLStreamReader(inputStream);
+		} catch (XMLStreamException e) {
+			throw new IOException("Cannot parse " + uri + ": " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Reads all remaining objects
+	 * @param consumer the consumer of the objects, must not be <code>null</code>
+	 * @return the number of objects read so far
+	 * @throws IOException if the document cannot be parsed
+	 */
+	public long read(Consumer<? super EObject> consumer) throws IOException {
+		requireNonNull(consumer);
+		try {
+			while (hasNext()) {
+				consumer.accept(next());
+			}
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the number of objects returned so far
+	 * @return the object count
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.Iterator#hasNext()
+	 */
+	@Override
+	public boolean hasNext() {
+		if (next != null) {
+			return true;
+		}
+		detachLast();
+		if (finished) {
+			return false;
+		}
+		try {
+			next = advance();
+		} catch (IOException e) {
+			finished = true;
+			throw new UncheckedIOException(e);
+		} catch (XMLStreamException e) {
+			finished = true;
+			throw new UncheckedIOException(new IOException("Cannot parse " + uri + ": " + e.getMessage(), e));
+		}
+		finished = next == null;
+		return !finished;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.Iterator#next()
+	 */
+	@Override
+	public EObject next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		last = next;
+		lastContainer = last.eContainer();
+		next = null;
+		count++;
+		return last;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.Closeable#close()
+	 */
+	@Override
+	public void close() throws IOException {
+		finished = true;
+		next = null;
+		frames.clear();
+		try {
+			reader.close();
+		} catch (XMLStreamException e) {
+			throw new IOException("Cannot close the parser of " + uri, e);
+		} finally {
+			inputStream.close();
+		}
+	}
+
+	/* removes the last returned object from its ancestors, unless the consumer moved it */
+	private void detachLast() {
+		if (last != null && lastContainer != null && last.eContainer() == lastContainer) {
+			EcoreUtil.remove(last);
+		}
+		last = null;
+		lastContainer = null;
+	}
+
+	/* parses until the end element of the next object at the depth, returns null at the end of the document */
+	private EObject advance() throws IOException, XMLStreamException {
+		while (reader.hasNext()) {
+			switch (reader.next()) {
+			case XMLStreamConstants.START_ELEMENT -> startElement();
+			case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE -> {
+				Frame frame = frames.peek();
+				if (frame != null && frame.kind() == Kind.VALUE) {
+					frame.text().append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+				}
+			}
+			case XMLStreamConstants.END_ELEMENT -> {
+				EObject eObject = endElement();
+				if (eObject != null) {
+					return eObject;
+				}
+			}
+			default -> {
+				// comments, processing instructions and the document events
+			}
+			}
+		}
+		return null;
+	}
+
+	private void startElement() throws IOException {
+		Frame parent = frames.peek();
+		if (parent == null) {
+			if (XMIResource.XMI_TAG_NAME.equals(reader.getLocalName()) && XMIResource.XMI_URI.equals(reader.getNamespaceURI())) {
+				frames.push(new Frame(Kind.DOCUMENT, null, -1, null, null, false));
+			} else {
+				frames.push(startObject(null, null, 0));
+			}
+			return;
+		}
+		switch (parent.kind()) {
+		case DOCUMENT -> frames.push(startObject(null, null, 0));
+		case OBJECT -> startFeature(parent);
+		default -> throw new IOException("Unexpected element " + reader.getLocalName() + location());
+		}
+	}
+
+	private Frame startObject(EObject container, EReference reference, int objectDepth) throws IOException {
+		String type = getType();
+		EClass eClass;
+		if (type != null) {
+			eClass = resolveType(type);
+		} else if (reference != null) {
+			eClass = reference.getEReferenceType();
+		} else {
+			eClass = resolveType(reader.getNamespaceURI(), reader.getLocalName());
+		}
+		EObject eObject = create(eClass);
+		if (container != null) {
+			add(container, reference, eObject);
+		}
+		setAttributes(eObject);
+		return new Frame(Kind.OBJECT, eObject, objectDepth, reference, null, false);
+	}
+
+	private void startFeature(Frame parent) throws IOException {
+		EObject owner = parent.object();
+		EStructuralFeature feature = getFeature(owner.eClass(), reader.getLocalName());
+		if (feature instanceof EReference reference) {
+			String href = reader.getAttributeValue(null, XMLResource.HREF);
+			if (href != null) {
+				String type = getType();
+				add(owner, reference, createProxy(type == null ? reference.getEReferenceType() : resolveType(type), href));
+				frames.push(SKIP);
+			} else if (reference.isContainment()) {
+				frames.push(startObject(owner, reference, parent.depth() + 1));
+			} else {
+				throw new IOException("The reference " + reference.getName() + " has no href" + location());
+			}
+		} else {
+			boolean nil = "true".equals(reader.getAttributeValue(XMLResource.XSI_URI, XMLResource.NIL));
+			frames.push(new Frame(Kind.VALUE, owner, parent.depth(), feature, new StringBuilder(), nil));
+		}
+	}
+
+	private EObject endElement() {
+		Frame frame = frames.pop();
+		if (frame.kind() == Kind.VALUE) {
+			EAttribute attribute = (EAttribute) frame.feature();
+			add(frame.object(), attribute, frame.nil() ? null : EcoreUtil.createFromString(attribute.getEAttributeType(), frame.text().toString()));
+		} else if (frame.kind() == Kind.OBJECT) {
+			if (frame.depth() == depth) {
+				return frame.object();
+			} else if (frame.depth() < depth) {
+				// a completed ancestor, its returned children are gone already
+				EcoreUtil.remove(frame.object());
+			}
+		}
+		return null;
+	}
+
+	private void setAttributes(EObject eObject) throws IOException {
+		for (int i = 0; i < reader.getAttributeCount(); i++) {
+			String namespace = reader.getAttributeNamespace(i);
+			if (namespace != null && !namespace.isEmpty()) {
+				// xmi:id, xmi:version, xsi:type and foreign attributes
+				continue;
+			}
+			EStructuralFeature feature = getFeature(eObject.eClass(), reader.getAttributeLocalName(i));
+			String value = reader.getAttributeValue(i);
+			if (feature instanceof EReference reference) {
+				setReferences(eObject, reference, value);
+			} else {
+				add(eObject, feature, EcoreUtil.createFromString(((EAttribute) feature).getEAttributeType(), value));
+			}
+		}
+	}
+
+	/* the values are local fragments or IDs, hrefs with '#', each optionally qualified by a type */
+	private void setReferences(EObject owner, EReference reference, String value) throws IOException {
+		String[] tokens = value.trim().split("\\s+");
+		for (int i = 0; i < tokens.length; i++) {
+			String token = tokens[i];
+			if (token.isEmpty()) {
+				continue;
+			}
+			EClass eClass = reference.getEReferenceType();
+			if (token.indexOf('#') < 0 && token.indexOf(':') > 0 && i + 1 < tokens.length && tokens[i + 1].indexOf('#') >= 0) {
+				eClass = resolveType(token);
+				token = tokens[++i];
+			}
+			add(owner, reference, createProxy(eClass, token));
+		}
+	}
+
+	private EObject createProxy(EClass eClass, String reference) throws IOException {
+		URI proxyURI;
+		if (reference.indexOf('#') < 0) {
+			proxyURI = uri.appendFragment(reference);
+		} else {
+			proxyURI = URI.createURI(reference);
+			if (proxyURI.isRelative() && uri.isHierarchical() && !uri.isRelative()) {
+				proxyURI = proxyURI.resolve(uri);
+			}
+		}
+		InternalEObject proxy = (InternalEObject) create(eClass);
+		proxy.eSetProxyURI(proxyURI);
+		return proxy;
+	}
+
+	private EObject create(EClass eClass) throws IOException {
+		if (eClass.isAbstract() || eClass.isInterface()) {
+			if (eClass.getInstanceClass() != null) {
+				throw new IOException("Cannot create an instance of the abstract class " + eClass.getName() + location());
+			}
+			return new DynamicEObjectImpl(eClass);
+		}
+		return EcoreUtil.create(eClass);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void add(EObject owner, EStructuralFeature feature, Object value) {
+		if (feature.isMany()) {
+			((InternalEList<Object>) owner.eGet(feature, false)).addUnique(value);
+		} else {
+			owner.eSet(feature, value);
+		}
+	}
+
+	private String getType() {
+		String type = reader.getAttributeValue(XMLResource.XSI_URI, XMLResource.TYPE);
+		return type == null ? reader.getAttributeValue(XMIResource.XMI_URI, XMLResource.TYPE) : type;
+	}
+
+	private EStructuralFeature getFeature(EClass eClass, String name) throws IOException {
+		EStructuralFeature feature = eClass.getEStructuralFeature(name);
+		if (feature == null) {
+			throw new IOException("Unknown feature " + name + " of " + eClass.getName() + location());
+		}
+		return feature;
+	}
+
+	/* resolves a type like 'prefix:Name' with the namespaces in scope */
+	private EClass resolveType(String qualifiedName) throws IOException {
+		int index = qualifiedName.indexOf(':');
+		String prefix = index < 0 ? "" : qualifiedName.substring(0, index);
+		return resolveType(reader.getNamespaceURI(prefix), qualifiedName.substring(index + 1));
+	}
+
+	private EClass resolveType(String nsURI, String name) throws IOException {
+		EPackage ePackage = nsURI == null ? null : packages.get(nsURI);
+		if (ePackage == null && nsURI != null) {
+			ePackage = registry.getEPackage(nsURI);
+			if (ePackage != null) {
+				packages.put(nsURI, ePackage);
+			}
+		}
+		if (ePackage == null) {
+			throw new IOException("No package is registered for the namespace " + nsURI + location());
+		}
+		EClassifier classifier = ePackage.getEClassifier(name);
+		if (classifier instanceof EClass eClass) {
+			return eClass;
+		}
+		throw new IOException("Unknown class " + name + " in " + nsURI + location());
+	}
+
+	private String location() {
+		return " in " + uri + " at line " + reader.getLocation().getLineNumber();
+	}
+}
@@ -0,0 +1,484 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.stream;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.FeatureMapUtil;
+import org.eclipse.emf.ecore.util.InternalEList;
+import org.eclipse.emf.ecore.xmi.XMIResource;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+
+/**
+ * Writes an XMI document root by root, with bounded memory.
+ * <p>
+ * The {@link org.eclipse.emf.ecore.xmi.impl.XMLSaveImpl} collects the namespaces and IDs of the whole resource,
+ * before it writes the document. This writer writes every root as soon as it is passed, with the namespaces of its
+ * contents declared on the root element, and forgets it afterwards. The output goes through a buffer of a fixed
+ * size, and the stream is flushed after a number of roots, so a chunked HTTP upload of the
+ * {@link org.eclipse.fennec.emf.osgi.constants.EMFUriHandlerConstants#OPTION_HTTP_CHUNK_SIZE REST handler} sends the
+ * data while it is written.
+ * <p>
+ * The document is an <code>xmi:XMI</code> element with the roots, which the XMI resource and the
+ * {@link StreamingXMIReader} load. References within a root are written as local fragments or IDs, as the XMI
+ * resource does. All other references are written with the URI of their target, see
+ * {@link StreamingResourceWriter}. Feature maps are not supported.
+ * <p>
+ * The writer is not thread safe.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class StreamingXMIWriter implements StreamingResourceWriter {
+
+	/** Default size in characters of the output buffer */
+	public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+	/** Default number of roots, after which the stream is flushed */
+	public static final int DEFAULT_FLUSH_INTERVAL = 1000;
+
+	private static final String XMI_PREFIX = "xmi";
+	private static final String XSI_PREFIX = "xsi";
+
+	private final Writer writer;
+	private final URI base;
+	private final int flushInterval;
+	/* the prefixes by namespace URI */
+	private final Map<String, String> prefixes = new HashMap<>();
+	private final Map<String, String> namespaces = new HashMap<>();
+	private final Map<EClass, EStructuralFeature[]> features = new IdentityHashMap<>();
+	/* the fragments of the objects of the current root */
+	private final Map<EObject, String> fragments = new IdentityHashMap<>();
+	private final Map<String, String> rootNamespaces = new LinkedHashMap<>();
+	private long count;
+	private int sinceFlush;
+	private boolean closed;
+
+	/**
+	 * Opens a stream to the URI through the {@link org.eclipse.emf.ecore.resource.URIConverter} of the resource set
+	 * @param resourceSet the resource set, must not be <code>null</code>
+	 * @param uri the document URI, must not be <code>null</code>
+	 * @param options the options for the URI handler, e.g. the chunk size for HTTP, can be <code>null</code>
+	 * @return the writer, that has to be closed to complete the document
+	 * @throws IOException if the stream cannot be opened
+	 */
+	public static StreamingXMIWriter open(ResourceSet resourceSet, URI uri, Map<?, ?> options) throws IOException {
+		OutputStream outputStream = resourceSet.getURIConverter().createOutputStream(uri, options);
+		try {
+			return new StreamingXMIWriter(outputStream, uri);
+		} catch (IOException | RuntimeException e) {
+			outputStream.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Creates a new instance with the default buffer size and flush interval and writes the start of the document.
+	 * @param outputStream the stream to write to, must not be <code>null</code>
+	 * @param uri the document URI, that references are deresolved against, can be <code>null</code>
+	 * @throws IOException if writing fails
+	 */
+	public StreamingXMIWriter(OutputStream outputStream, URI uri) throws IOException {
+		this(outputStream, uri, DEFAULT_BUFFER_SIZE, DEFAULT_FLUSH_INTERVAL);
+	}
+
+	/**
+	 * Creates a new instance and writes the start of the document.
+	 * @param outputStream the stream to write to, must not be <code>null</code>
+	 * @param uri the document URI, that references are deresolved against, can be <code>null</code>
+	 * @param bufferSize the size in characters of the output buffer
+	 * @param flushInterval the number of roots, after which the stream is flushed, <code>0</code> to flush on close only
+	 * @throws IOException if writing fails
+	 */
+	public StreamingXMIWriter(OutputStream outputStream, URI uri, int bufferSize, int flushInterval) throws IOException {
+		requireNonNull(outputStream);
+		if (bufferSize < 1) {
+			throw new IllegalArgumentException("The buffer size must be positive, but was " + bufferSize);
+		}
+		this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), bufferSize);
+		this.base = uri != null && uri.isHierarchical() && !uri.isRelative() ? uri : null;
+		this.flushInterval = Math.max(0, flushInterval);
+		prefixes.put(XMIResource.XMI_URI, XMI_PREFIX);
+		prefixes.put(XMLResource.XSI_URI, XSI_PREFIX);
+		namespaces.put(XMI_PREFIX, XMIResource.XMI_URI);
+		namespaces.put(XSI_PREFIX, XMLResource.XSI_URI);
+		writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<");
+		writer.write(XMI_PREFIX);
+		writer.write(':');
+		writer.write(XMIResource.XMI_TAG_NAME);
+		writer.write(" xmi:version=\"2.0\" xmlns:xmi=\"");
+		writer.write(XMIResource.XMI_URI);
+		writer.write("\" xmlns:xsi=\"");
+		writer.write(XMLResource.XSI_URI);
+		writer.write("\">\n");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.stream.StreamingResourceWriter#write(org.eclipse.emf.ecore.EObject)
+	 */
+	@Override
+	public void write(EObject root) throws IOException {
+		requireNonNull(root);
+		if (closed) {
+			throw new IOException("The writer is closed");
+		}
+		try {
+			prepare(root);
+			EClass eClass = root.eClass();
+			writeObject(root, prefix(eClass.getEPackage()) + ":" + eClass.getName(), null, 1);
+		} finally {
+			fragments.clear();
+			rootNamespaces.clear();
+		}
+		count++;
+		if (flushInterval > 0 && ++sinceFlush >= flushInterval) {
+			flush();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.stream.StreamingResourceWriter#getCount()
+	 */
+	@Override
+	public long getCount() {
+		return count;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.stream.StreamingResourceWriter#flush()
+	 */
+	@Override
+	public void flush() throws IOException {
+		sinceFlush = 0;
+		writer.flush();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.fennec.emf.osgi.stream.StreamingResourceWriter#close()
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		try {
+			writer.write("</");
+			writer.write(XMI_PREFIX);
+			writer.write(':');
+			writer.write(XMIResource.XMI_TAG_NAME);
+			writer.write(">\n");
+		} finally {
+			writer.close();
+		}
+	}
+
+	/* computes the fragments of the contents of the root and the namespaces to declare on it */
+	private void prepare(EObject root) throws IOException {
+		Deque<EObject> pending = new ArrayDeque<>();
+		fragments.put(root, "/" + count);
+		pending.push(root);
+		while (!pending.isEmpty()) {
+			EObject eObject = pending.pop();
+			String fragment = fragments.get(eObject);
+			declare(eObject.eClass());
+			for (EStructuralFeature feature : persistentFeatures(eObject.eClass())) {
+				if (!(feature instanceof EReference reference) || !eObject.eIsSet(reference)) {
+					continue;
+				}
+				List<?> values = values(eObject, reference);
+				for (int i = 0; i < values.size(); i++) {
+					EObject value = (EObject) values.get(i);
+					if (value == null) {
+						continue;
+					}
+					declare(value.eClass());
+					if (reference.isContainment() && isWrittenInline(value)) {
+						fragments.put(value, fragment + "/@" + reference.getName() + (reference.isMany() ? "." + i : ""));
+						pending.push(value);
+					}
+				}
+			}
+		}
+	}
+
+	private void declare(EClass eClass) {
+		EPackage ePackage = eClass.getEPackage();
+		rootNamespaces.putIfAbsent(ePackage.getNsURI(), prefix(ePackage));
+	}
+
+	/* a unique prefix per namespace */
+	private String prefix(EPackage ePackage) {
+		String nsURI = ePackage.getNsURI();
+		String prefix = prefixes.get(nsURI);
+		if (prefix == null) {
+			String nsPrefix = ePackage.getNsPrefix() == null || ePackage.getNsPrefix().isEmpty() ? "_" : ePackage.getNsPrefix();
+			prefix = nsPrefix;
+			for (int i = 1; namespaces.containsKey(prefix); i++) {
+				prefix = nsPrefix + "_" + i;
+			}
+			prefixes.put(nsURI, prefix);
+			namespaces.put(prefix, nsURI);
+		}
+		return prefix;
+	}
+
+	private void writeObject(EObject eObject, String elementName, EReference containment, int indent) throws IOException {
+		EClass eClass = eObject.eClass();
+		indent(indent);
+		writer.write('<');
+		writer.write(elementName);
+		if (containment == null) {
+			for (Map.Entry<String, String> namespace : rootNamespaces.entrySet()) {
+				writer.write(" xmlns:");
+				writer.write(namespace.getValue());
+				writer.write("=\"");
+				writeEscaped(namespace.getKey(), true);
+				writer.write('"');
+			}
+		} else if (eClass != containment.getEReferenceType()) {
+			writeType(eClass);
+		}
+		boolean hasElements = false;
+		EStructuralFeature[] persistentFeatures = persistentFeatures(eClass);
+		for (EStructuralFeature feature : persistentFeatures) {
+			if (!eObject.eIsSet(feature)) {
+				continue;
+			}
+			if (feature instanceof EAttribute attribute) {
+				if (attribute.isMany()) {
+					hasElements = true;
+				} else {
+					Object value = eObject.eGet(attribute);
+					if (value != null) {
+						writeAttribute(attribute.getName(), EcoreUtil.convertToString(attribute.getEAttributeType(), value));
+					}
+				}
+			} else {
+				EReference reference = (EReference) feature;
+				List<?> values = values(eObject, reference);
+				if (values.isEmpty()) {
+					continue;
+				} else if (!reference.isContainment() && isLocal(values)) {
+					writeLocalReferences(reference, values);
+				} else {
+					hasElements = true;
+				}
+			}
+		}
+		if (!hasElements) {
+			writer.write("/>\n");
+			return;
+		}
+		writer.write(">\n");
+		for (EStructuralFeature feature : persistentFeatures) {
+			if (!eObject.eIsSet(feature)) {
+				continue;
+			}
+			if (feature instanceof EAttribute attribute) {
+				if (attribute.isMany()) {
+					for (Object value : (List<?>) eObject.eGet(attribute)) {
+						writeValueElement(attribute, value, indent + 1);
+					}
+				}
+			} else {
+				EReference reference = (EReference) feature;
+				List<?> values = values(eObject, reference);
+				if (reference.isContainment()) {
+					for (Object value : values) {
+						EObject child = (EObject) value;
+						if (isWrittenInline(child)) {
+							writeObject(child, reference.getName(), reference, indent + 1);
+						} else {
+							writeHref(reference, child, indent + 1);
+						}
+					}
+				} else if (!isLocal(values)) {
+					for (Object value : values) {
+						writeHref(reference, (EObject) value, indent + 1);
+					}
+				}
+			}
+		}
+		indent(indent);
+		writer.write("</");
+		writer.write(elementName);
+		writer.write(">\n");
+	}
+
+	private void writeValueElement(EAttribute attribute, Object value, int indent) throws IOException {
+		indent(indent);
+		writer.write('<');
+		writer.write(attribute.getName());
+		String string = value == null ? null : EcoreUtil.convertToString(attribute.getEAttributeType(), value);
+		if (string == null) {
+			writer.write(" xsi:nil=\"true\"/>\n");
+			return;
+		}
+		writer.write('>');
+		writeEscaped(string, false);
+		writer.write("</");
+		writer.write(attribute.getName());
+		writer.write(">\n");
+	}
+
+	private void writeLocalReferences(EReference reference, List<?> values) throws IOException {
+		StringBuilder builder = new StringBuilder();
+		for (Object value : values) {
+			if (!builder.isEmpty()) {
+				builder.append(' ');
+			}
+			builder.append(getLocalFragment((EObject) value));
+		}
+		writeAttribute(reference.getName(), builder.toString());
+	}
+
+	private void writeHref(EReference reference, EObject target, int indent) throws IOException {
+		indent(indent);
+		writer.write('<');
+		writer.write(reference.getName());
+		if (target.eClass() != reference.getEReferenceType()) {
+			writeType(target.eClass());
+		}
+		String href;
+		if (fragments.containsKey(target)) {
+			href = "#" + getLocalFragment(target);
+		} else {
+			URI uri = getURI(target);
+			href = (base == null ? uri : uri.deresolve(base)).toString();
+		}
+		writeAttribute(XMLResource.HREF, href);
+		writer.write("/>\n");
+	}
+
+	private void writeType(EClass eClass) throws IOException {
+		writeAttribute(XSI_PREFIX + ":" + XMLResource.TYPE, prefix(eClass.getEPackage()) + ":" + eClass.getName());
+	}
+
+	private void writeAttribute(String name, String value) throws IOException {
+		writer.write(' ');
+		writer.write(name);
+		writer.write("=\"");
+		writeEscaped(value, true);
+		writer.write('"');
+	}
+
+	private void indent(int indent) throws IOException {
+		for (int i = 0; i < indent; i++) {
+			writer.write("  ");
+		}
+	}
+
+	private void writeEscaped(String value, boolean attribute) throws IOException {
+		int start = 0;
+		for (int i = 0; i < value.length(); i++) {
+			String escaped = switch (value.charAt(i)) {
+			case '&' -> "&amp;";
+			case '<' -> "&lt;";
+			case '>' -> "&gt;";
+			case '"' -> attribute ? "&quot;" : null;
+			case '\n' -> attribute ? "&#xA;" : null;
+			case '\r' -> "&#xD;";
+			case '\t' -> attribute ? "&#x9;" : null;
+			default -> null;
+			};
+			if (escaped != null) {
+				writer.write(value, start, i - start);
+				writer.write(escaped);
+				start = i + 1;
+			}
+		}
+		writer.write(value, start, value.length() - start);
+	}
+
+	/* true, if all targets are objects of the current root */
+	private boolean isLocal(List<?> values) {
+		for (Object value : values) {
+			if (!fragments.containsKey(value)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private String getLocalFragment(EObject eObject) {
+		String id = EcoreUtil.getID(eObject);
+		return id == null ? fragments.get(eObject) : id;
+	}
+
+	private URI getURI(EObject target) throws IOException {
+		if (target.eIsProxy()) {
+			return ((InternalEObject) target).eProxyURI();
+		} else if (target.eResource() != null) {
+			return EcoreUtil.getURI(target);
+		}
+		throw new IOException("The object " + target + " is neither contained in a resource nor in the written root");
+	}
+
+	/* children in their own resource and proxies are written as href */
+	private static boolean isWrittenInline(EObject child) {
+		return !child.eIsProxy() && ((InternalEObject) child).eDirectResource() == null;
+	}
+
+	private static List<?> values(EObject eObject, EReference reference) {
+		Object value = eObject.eGet(reference, false);
+		if (reference.isMany()) {
+			return ((InternalEList<?>) value).basicList();
+		}
+		return value == null ? List.of() : List.of(value);
+	}
+
+	private EStructuralFeature[] persistentFeatures(EClass eClass) throws IOException {
+		EStructuralFeature[] result = features.get(eClass);
+		if (result == null) {
+			result = eClass.getEAllStructuralFeatures().stream()
+					.filter(f -> !f.isTransient() && !f.isDerived() && !(f instanceof EReference r && r.isContainer()))
+					.filter(f -> !(f instanceof EAttribute a) || a.getEAttributeType().isSerializable())
+					.toArray(EStructuralFeature[]::new);
+			for (EStructuralFeature feature : result) {
+				if (FeatureMapUtil.isFeatureMap(feature)) {
+					throw new IOException("The feature map " + feature.getName() + " of " + eClass.getName() + " is not supported");
+				}
+			}
+			features.put(eClass, result);
+		}
+		return result;
+	}
+}
@@ -0,0 +1,572 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.urihandler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.InvalidMarkException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.URIConverter;
+import org.eclipse.emf.ecore.resource.impl.FileURIHandlerImpl;
+
+/**
+ * URI handler for <code>file:</code> URIs, that reads and writes through NIO channels.
+ * <p>
+ * Files from the mapped threshold on are mapped into memory and read as {@link MappedInputStream}, files from the
+ * direct threshold on are read through a {@link FileChannel} into a pooled direct buffer. Smaller files are read as
+ * by the {@link FileURIHandlerImpl}.
+ * <p>
+ * Writes go through a {@link FileChannel} into a temporary file next to the target, that replaces the target with
+ * an atomic move, when the stream is closed. Readers never see a partially written file. An I/O error while
+ * writing discards the temporary file and keeps the previous content. As the target is replaced, a mapping of its
+ * previous content stays valid. On platforms, that lock mapped files, like Windows, a file cannot be replaced as
+ * long as a mapping of it is reachable.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class MappedFileURIHandlerImpl extends FileURIHandlerImpl {
+
+	/** Default size in bytes, from which on files are mapped */
+	public static final long DEFAULT_MAPPED_THRESHOLD = 16L * 1024 * 1024;
+	/** Default size in bytes, from which on files are read through a direct buffer */
+	public static final long DEFAULT_DIRECT_THRESHOLD = 1024L * 1024;
+	/** Default size in bytes of the direct buffers */
+	public static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+
+	private static final Logger LOG = Logger.getLogger(MappedFileURIHandlerImpl.class.getName());
+	/* direct buffers are expensive to allocate and only released by the garbage collector */
+	private static final BlockingQueue<ByteBuffer> BUFFERS = new ArrayBlockingQueue<>(8);
+
+	private final long mappedThreshold;
+	private final long directThreshold;
+	private final int bufferSize;
+
+	/**
+	 * Creates a new instance with the default thresholds.
+	 */
+	public MappedFileURIHandlerImpl() {
+		this(DEFAULT_MAPPED_THRESHOLD, DEFAULT_DIRECT_THRESHOLD, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Creates a new instance.
+	 * @param mappedThreshold the size in bytes, from which on files are mapped
+	 * @param directThreshold the size in bytes, from which on files are read through a direct buffer
+	 * @param bufferSize the size in bytes of the direct buffers for reading and writing
+	 */
+	public MappedFileURIHandlerImpl(long mappedThreshold, long directThreshold, int bufferSize) {
+		if (bufferSize < 1) {
+			throw new IllegalArgumentException("The buffer size must be positive, but was " + bufferSize);
+		}
+		this.mappedThreshold = mappedThreshold;
+		this.directThreshold = directThreshold;
+		this.bufferSize = bufferSize;
+	}
+
+	/**
+	 * Returns the size in bytes, from which on files are mapped
+	 * @return the mapped threshold
+	 */
+	public long getMappedThreshold() {
+		return mappedThreshold;
+	}
+
+	/**
+	 * Returns the size in bytes, from which on files are read through a direct buffer
+	 * @return the direct threshold
+	 */
+	public long getDirectThreshold() {
+		return directThreshold;
+	}
+
+	/**
+	 * Returns the size in bytes of the direct buffers
+	 * @return the buffer size
+	 */
+	public int getBufferSize() {
+		return bufferSize;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.emf.ecore.resource.impl.FileURIHandlerImpl#createInputStream(org.eclipse.emf.common.util.URI, java.util.Map)
+	 */
+	@Override
+	public InputStream createInputStream(URI uri, Map<?, ?> options) throws IOException {
+		File file = new File(uri.toFileString());
+		long size = file.length();
+		if (size < directThreshold && size < mappedThreshold) {
+			return super.createInputStream(uri, options);
+		}
+		Path path = file.toPath();
+		Map<Object, Object> response = getResponse(options);
+		Runnable onClose = () -> setTimeStamp(file, response);
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			size = channel.size();
+			if (size >= mappedThreshold && size <= Integer.MAX_VALUE) {
+				// the mapping stays valid after the channel is closed
+				try (channel) {
+					return new MappedInputStream(channel.map(MapMode.READ_ONLY, 0, size), onClose);
+				}
+			}
+			return new ChannelInputStream(channel, acquireBuffer(), onClose);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.emf.ecore.resource.impl.FileURIHandlerImpl#createOutputStream(org.eclipse.emf.common.util.URI, java.util.Map)
+	 */
+	@Override
+	public OutputStream createOutputStream(URI uri, Map<?, ?> options) throws IOException {
+		Path path = Path.of(uri.toFileString()).toAbsolutePath();
+		if (Files.isSymbolicLink(path)) {
+			// replace the file behind the link, not the link
+			path = path.toRealPath();
+		}
+		Path parent = path.getParent();
+		Files.createDirectories(parent);
+		// created with the default permissions, unlike Files.createTempFile
+		Path temp = parent.resolve("." + path.getFileName() + "." + UUID.randomUUID() + ".tmp");
+		FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+		copyPermissions(path, temp);
+		return new AtomicChannelOutputStream(path, temp, channel, acquireBuffer(), getResponse(options));
+	}
+
+	private ByteBuffer acquireBuffer() {
+		ByteBuffer buffer = BUFFERS.poll();
+		if (buffer == null || buffer.capacity() != bufferSize) {
+			return ByteBuffer.allocateDirect(bufferSize);
+		}
+		return buffer.clear();
+	}
+
+	private static void releaseBuffer(ByteBuffer buffer) {
+		BUFFERS.offer(buffer);
+	}
+
+	private static void setTimeStamp(File file, Map<Object, Object> response) {
+		if (response != null) {
+			response.put(URIConverter.RESPONSE_TIME_STAMP_PROPERTY, file.lastModified());
+		}
+	}
+
+	private static void copyPermissions(Path source, Path target) {
+		PosixFileAttributeView view = Files.getFileAttributeView(source, PosixFileAttributeView.class);
+		if (view == null || !Files.exists(source)) {
+			return;
+		}
+		try {
+			Files.setPosixFilePermissions(target, view.readAttributes().permissions());
+		} catch (IOException e) {
+			LOG.log(Level.FINE, e, () -> "Cannot copy the permissions of " + source);
+		}
+	}
+
+	/**
+	 * Input stream over a file, that is mapped into memory
+	 */
+	public static final class MappedInputStream extends InputStream {
+
+		private final ByteBuffer buffer;
+		private final Runnable onClose;
+		private boolean closed;
+
+		MappedInputStream(ByteBuffer buffer, Runnable onClose) {
+			this.buffer = buffer;
+			this.onClose = onClose;
+		}
+
+		/**
+		 * Returns the not yet read content without copying it. Reading the returned buffer does not advance
+		 * this stream.
+		 * @return a read only buffer of the remaining content
+		 */
+		public ByteBuffer getByteBuffer() {
+			return buffer.slice().asReadOnlyBuffer();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.io.InputStream#read()
+		 */
+		@Override
+		public int read() {
+			return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.io.InputStream#read(byte[], int, int)
+		 */
+		@Override
+		public int read(byte[] b, int off, int len) {
+			Objects.checkFromIndexSize(off, len, b.length);
+			if (len == 0) {
+				return 0;
+			}
+			if (!buffer.hasRemaining()) {
+				return -1;
+			}
+			int count = Math.min(len, buffer.remaining());
+			buffer.get(b, off, count);
+			return count;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.io.InputStream#skip(long)
+		 */
+		@Override
+		public long skip(long n) {
+			if (n <= 0) {
+				return 0;
+			}
+			int count = (int) Math.min(n, buffer.remaining());
+			buffer.position(buffer.position() + count);
+			return count;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.io.InputStream#available()
+		 */
+		@Override
+		public int available() {
+			return buffer.remaining();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.io.InputStream#markSupported()
+		 */
+		@Override
+		public boolean markSupported() {
+			return true;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.io.InputStream#mark(int)
+		 */
+		@Override
+		public synchronized void mark(int readlimit) {
+			buffer.mark();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.io.InputStream#reset()
+		 */
+		@Override
+		public synchronized void reset() throws IOException {
+			try {
+				buffer.reset();
+			} catch (InvalidMarkException e) {
+				throw new IOException("The stream was not marked", e);
+			}
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.io.InputStream#close()
+		 */
+		@Override
+		public void close() {
+			if (!closed) {
+				closed = true;
+				onClose.run();
+			}
+		}
+	}
+
+	/**
+	 * Input stream, that reads a file channel through a direct buffer
+	 */
+	private static final class ChannelInputStream extends InputStream {
+
+		private final FileChannel channel;
+		private final ByteBuffer buffer;
+		private final Runnable onClose;
+		private boolean closed;
+
+		ChannelInputStream(FileChannel channel, ByteBuffer buffer, Runnable onClose) {
+			this.channel = channel;
+			this.buffer = buffer.limit(0);
+			this.onClose = onClose;
+		}
+
+		/* refills the buffer, if it is drained, returns false at the end of the file */
+		private boolean fill() throws IOException {
+			if (closed) {
+				throw new IOException("The stream is closed");
+			}
+			if (buffer.hasRemaining()) {
+				return true;
+			}
+			buffer.clear();
+			int count;
+			do {
+				count = channel.read(buffer);
+			} while (count == 0);
+			buffer.flip();
+			return count > 0;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.io.InputStream#read()
+		 */
+		@Override
+		public int read() throws IOException {
+			return fill() ? buffer.get() & 0xFF : -1;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.io.InputStream#read(byte[], int, int)
+		 */
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			Objects.checkFromIndexSize(off, len, b.length);
+			if (len == 0) {
+				return 0;
+			}
+			if (!fill()) {
+				return -1;
+			}
+			int count = Math.min(len, buffer.remaining());
+			buffer.get(b, off, count);
+			return count;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.io.InputStream#skip(long)
+		 */
+		@Override
+		public long skip(long n) throws IOException {
+			if (n <= 0 || closed) {
+				return 0;
+			}
+			if (n <= buffer.remaining()) {
+				buffer.position(buffer.position() + (int) n);
+				return n;
+			}
+			long skipped = buffer.remaining();
+			buffer.limit(0);
+			long position = channel.position();
+			long count = Math.min(n - skipped, Math.max(0, channel.size() - position));
+			channel.position(position + count);
+			return skipped + count;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.io.InputStream#available()
+		 */
+		@Override
+		public int available() throws IOException {
+			if (closed) {
+				return 0;
+			}
+			long remaining = buffer.remaining() + Math.max(0, channel.size() - channel.position());
+			return (int) Math.min(Integer.MAX_VALUE, remaining);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.io.InputStream#close()
+		 */
+		@Override
+		public void close() throws IOException {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			try {
+				channel.close();
+			} finally {
+				releaseBuffer(buffer);
+				onClose.run();
+			}
+		}
+	}
+
+	/**
+	 * Output stream, that writes into a temporary file through a direct buffer and moves it to the target on close
+	 */
+	private static final class AtomicChannelOutputStream extends OutputStream {
+
+		private final Path target;
+		private final Path temp;
+		private final FileChannel channel;
+		private final ByteBuffer buffer;
+		private final Map<Object, Object> response;
+		private boolean failed;
+		private boolean closed;
+
+		AtomicChannelOutputStream(Path target, Path temp, FileChannel channel, ByteBuffer buffer, Map<Object, Object> response) {
+			this.target = target;
+			this.temp = temp;
+			this.channel = channel;
+			this.buffer = buffer;
+			this.response = response;
+		}
+
+		private void ensureOpen() throws IOException {
+			if (closed) {
+				throw new IOException("The stream is closed");
+			}
+		}
+
+		private void writeFully(ByteBuffer source) throws IOException {
+			try {
+				while (source.hasRemaining()) {
+					channel.write(source);
+				}
+			} catch (IOException e) {
+				failed = true;
+				throw e;
+			}
+		}
+
+		private void drain() throws IOException {
+			buffer.flip();
+			writeFully(buffer);
+			buffer.clear();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.io.OutputStream#write(int)
+		 */
+		@Override
+		public void write(int b) throws IOException {
+			ensureOpen();
+			if (!buffer.hasRemaining()) {
+				drain();
+			}
+			buffer.put((byte) b);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.io.OutputStream#write(byte[], int, int)
+		 */
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			Objects.checkFromIndexSize(off, len, b.length);
+			ensureOpen();
+			if (len >= buffer.capacity()) {
+				drain();
+				writeFully(ByteBuffer.wrap(b, off, len));
+				return;
+			}
+			while (len > 0) {
+				if (!buffer.hasRemaining()) {
+					drain();
+				}
+				int count = Math.min(len, buffer.remaining());
+				buffer.put(b, off, count);
+				off += count;
+				len -= count;
+			}
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.io.OutputStream#flush()
+		 */
+		@Override
+		public void flush() throws IOException {
+			ensureOpen();
+			drain();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.io.OutputStream#close()
+		 */
+		@Override
+		public void close() throws IOException {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			try {
+				try {
+					if (!failed) {
+						drain();
+						channel.force(true);
+					}
+				} finally {
+					channel.close();
+					releaseBuffer(buffer);
+				}
+				if (!failed) {
+					replace();
+					setTimeStamp(target.toFile(), response);
+				}
+			} catch (IOException | RuntimeException e) {
+				failed = true;
+				throw e;
+			} finally {
+				if (failed) {
+					deleteTemp();
+				}
+			}
+		}
+
+		private void replace() throws IOException {
+			try {
+				Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				LOG.log(Level.FINE, e, () -> "Cannot replace " + target + " atomically");
+				Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+
+		private void deleteTemp() {
+			try {
+				Files.deleteIfExists(temp);
+			} catch (IOException e) {
+				LOG.log(Level.WARNING, e, () -> "Cannot delete the temporary file " + temp);
+			}
+		}
+	}
+}
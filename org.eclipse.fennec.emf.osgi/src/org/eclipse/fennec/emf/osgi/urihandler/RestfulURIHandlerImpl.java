@@ -91,12 +91,23 @@ public class RestfulURIHandlerImpl extends URIHandlerImpl {
 		httpURLConnection.setRequestMethod(method);
 		setTimeout(httpURLConnection, options);
 		httpURLConnection.setDoOutput(true);
+		Object chunkSize = options.get(EMFUriHandlerConstants.OPTION_HTTP_CHUNK_SIZE);
+		if (chunkSize != null) {
+			// without it, the connection buffers the whole body before sending it
+			httpURLConnection.setChunkedStreamingMode(chunkSize instanceof Number number ? number.intValue() : Integer.parseInt(chunkSize.toString()));
+		}
 		setRequestHeaders(httpURLConnection,
 				(Map<String, String>) options.get(EMFUriHandlerConstants.OPTION_HTTP_HEADERS));
 		if (options.containsKey(PROP_ECLASS)) {
 			httpURLConnection.setRequestProperty(HEADER_CONTENT_CLASS, options.get(PROP_ECLASS).toString());
 		}
 		return new FilterOutputStream(httpURLConnection.getOutputStream()) {
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				// FilterOutputStream writes byte by byte otherwise
+				out.write(b, off, len);
+			}
+
 			@Override
 			public void close() throws IOException {
 				super.close();
@@ -0,0 +1,186 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.Callable;
+import java.util.logging.Logger;
+
+/**
+ * Timing and reporting shared by the <code>perf</code> tagged benchmark tests.
+ * <p>
+ * A benchmark runs its rounds after a number of warm up rounds and takes the best or the average time of the
+ * measured rounds. Setup work of a round is not timed. Results are logged at level <code>INFO</code> to the logger
+ * of the benchmark class, like the benchmarks of the perf test projects, and are not asserted.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public final class Benchmark {
+
+	/**
+	 * A timed round.
+	 */
+	@FunctionalInterface
+	public interface Round {
+		void run() throws Exception;
+	}
+
+	/**
+	 * A timed round working on the result of an untimed setup.
+	 *
+	 * @param <T> the type of the setup result
+	 */
+	@FunctionalInterface
+	public interface PreparedRound<T> {
+		void run(T input) throws Exception;
+	}
+
+	private final Logger logger;
+	private final int warmups;
+	private final int rounds;
+
+	/**
+	 * Creates a new benchmark.
+	 *
+	 * @param benchmark the benchmark test class, names the logger
+	 * @param warmups   the number of rounds run before measuring
+	 * @param rounds    the number of measured rounds, at least one
+	 */
+	public Benchmark(Class<?> benchmark, int warmups, int rounds) {
+		this.logger = Logger.getLogger(requireNonNull(benchmark).getName());
+		if (warmups < 0 || rounds < 1) {
+			throw new IllegalArgumentException("Invalid number of rounds: " + warmups + " warm up, " + rounds + " measured");
+		}
+		this.warmups = warmups;
+		this.rounds = rounds;
+	}
+
+	/**
+	 * Returns the best time of the measured rounds.
+	 *
+	 * @param round the round to time
+	 * @return the best time in nanoseconds
+	 * @throws Exception if a round fails
+	 */
+	public long best(Round round) throws Exception {
+		return best(() -> null, input -> round.run());
+	}
+
+	/**
+	 * Returns the best time of the measured rounds, each after its untimed setup.
+	 *
+	 * @param <T>   the type of the setup result
+	 * @param setup creates the input of a round
+	 * @param round the round to time
+	 * @return the best time in nanoseconds
+	 * @throws Exception if a setup or a round fails
+	 */
+	public <T> long best(Callable<T> setup, PreparedRound<T> round) throws Exception {
+		long best = Long.MAX_VALUE;
+		for (int i = 0; i < warmups + rounds; i++) {
+			long time = time(setup, round);
+			if (i >= warmups) {
+				best = Math.min(best, time);
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Returns the average time of the measured rounds.
+	 *
+	 * @param round the round to time
+	 * @return the average time in nanoseconds
+	 * @throws Exception if a round fails
+	 */
+	public long average(Round round) throws Exception {
+		return average(() -> null, input -> round.run());
+	}
+
+	/**
+	 * Returns the average time of the measured rounds, each after its untimed setup.
+	 *
+	 * @param <T>   the type of the setup result
+	 * @param setup creates the input of a round
+	 * @param round the round to time
+	 * @return the average time in nanoseconds
+	 * @throws Exception if a setup or a round fails
+	 */
+	public <T> long average(Callable<T> setup, PreparedRound<T> round) throws Exception {
+		long total = 0;
+		for (int i = 0; i < warmups + rounds; i++) {
+			long time = time(setup, round);
+			if (i >= warmups) {
+				total += time;
+			}
+		}
+		return total / rounds;
+	}
+
+	private static <T> long time(Callable<T> setup, PreparedRound<T> round) throws Exception {
+		T input = setup.call();
+		long start = System.nanoTime();
+		round.run(input);
+		return System.nanoTime() - start;
+	}
+
+	/**
+	 * Times a single run, without warm up.
+	 *
+	 * @param round the round to time
+	 * @return the time in nanoseconds
+	 * @throws Exception if the round fails
+	 */
+	public static long time(Round round) throws Exception {
+		long start = System.nanoTime();
+		round.run();
+		return System.nanoTime() - start;
+	}
+
+	/**
+	 * Logs a result.
+	 *
+	 * @param format the {@link String#format(String, Object...)} pattern
+	 * @param args   the arguments of the pattern
+	 */
+	public void report(String format, Object... args) {
+		logger.info(() -> String.format(format, args));
+	}
+
+	/**
+	 * Returns the used heap after a few garbage collections.
+	 *
+	 * @return the used heap in bytes
+	 * @throws InterruptedException if interrupted while waiting for the garbage collection
+	 */
+	public static long usedMemory() throws InterruptedException {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+			Thread.sleep(50);
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	/**
+	 * Converts nanoseconds to milliseconds.
+	 *
+	 * @param nanos the time in nanoseconds
+	 * @return the time in milliseconds
+	 */
+	public static double millis(long nanos) {
+		return nanos / 1_000_000.0d;
+	}
+}
@@ -0,0 +1,197 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.binary;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceFactoryImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.eclipse.fennec.emf.osgi.Benchmark;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Benchmark of the compact binary format against XMI and the {@link BinaryResourceImpl}.
+ * <p>
+ * A resource with {@value #OBJECT_COUNT} objects with repeated strings, numbers and references is saved and
+ * loaded in every format, the compact format from a mapped file and from a stream. Measures the file sizes, the
+ * average save and load times after a warm up and the time to decode a single subtree with the object index.
+ * Results are logged, not asserted.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+@Tag("perf")
+class CompactBinaryResourceBenchmarkTest {
+
+	private static final int OBJECT_COUNT = 100_000;
+	private static final int WARMUP = 3;
+	private static final int ROUNDS = 5;
+
+	private final Benchmark benchmark = new Benchmark(CompactBinaryResourceBenchmarkTest.class, WARMUP, ROUNDS);
+	private EPackage ePackage;
+	private EClass node;
+	private EAttribute name;
+	private EAttribute category;
+	private EAttribute value;
+	private EReference children;
+	private EReference next;
+
+	@TempDir
+	File tempDir;
+
+	@BeforeEach
+	void before() {
+		ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setName("bench");
+		ePackage.setNsURI("http://test.org/bench");
+		ePackage.setNsPrefix("bench");
+		node = EcoreFactory.eINSTANCE.createEClass();
+		node.setName("Node");
+		ePackage.getEClassifiers().add(node);
+		name = EcoreFactory.eINSTANCE.createEAttribute();
+		name.setName("name");
+		name.setEType(EcorePackage.Literals.ESTRING);
+		node.getEStructuralFeatures().add(name);
+		category = EcoreFactory.eINSTANCE.createEAttribute();
+		category.setName("category");
+		category.setEType(EcorePackage.Literals.ESTRING);
+		node.getEStructuralFeatures().add(category);
+		value = EcoreFactory.eINSTANCE.createEAttribute();
+		value.setName("value");
+		value.setEType(EcorePackage.Literals.ELONG);
+		node.getEStructuralFeatures().add(value);
+		children = EcoreFactory.eINSTANCE.createEReference();
+		children.setName("children");
+		children.setEType(node);
+		children.setContainment(true);
+		children.setUpperBound(-1);
+		node.getEStructuralFeatures().add(children);
+		next = EcoreFactory.eINSTANCE.createEReference();
+		next.setName("next");
+		next.setEType(node);
+		node.getEStructuralFeatures().add(next);
+	}
+
+	private ResourceSet createResourceSet() {
+		ResourceSet resourceSet = new ResourceSetImpl();
+		resourceSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+		resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", new XMIResourceFactoryImpl());
+		resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("bin", new ResourceFactoryImpl() {
+			@Override
+			public Resource createResource(URI uri) {
+				return new BinaryResourceImpl(uri);
+			}
+		});
+		resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap()
+				.put(CompactBinaryResourceImpl.FILE_EXTENSION, new CompactBinaryResourceFactoryImpl());
+		return resourceSet;
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<EObject> createContents() {
+		EObject root = EcoreUtil.create(node);
+		EList<EObject> rootChildren = (EList<EObject>) root.eGet(children);
+		EObject previous = null;
+		for (int i = 1; i < OBJECT_COUNT; i++) {
+			EObject eObject = EcoreUtil.create(node);
+			eObject.eSet(name, "node" + i);
+			eObject.eSet(category, "category" + i % 20);
+			eObject.eSet(value, Long.valueOf(i * 31L));
+			eObject.eSet(next, previous);
+			rootChildren.add(eObject);
+			previous = eObject;
+		}
+		return List.of(root);
+	}
+
+	private URI uri(String extension) {
+		return URI.createFileURI(new File(tempDir, "bench." + extension).getAbsolutePath());
+	}
+
+	private Resource createResource(String extension, List<EObject> contents) {
+		Resource resource = createResourceSet().createResource(uri(extension));
+		resource.getContents().addAll(EcoreUtil.copyAll(contents));
+		return resource;
+	}
+
+	private void load(String extension) {
+		Resource resource = createResourceSet().getResource(uri(extension), true);
+		assertEquals(OBJECT_COUNT - 1, ((List<?>) resource.getContents().get(0).eGet(children)).size());
+	}
+
+	private void loadFromStream(byte[] bytes) throws IOException {
+		Resource resource = createResourceSet().createResource(uri(CompactBinaryResourceImpl.FILE_EXTENSION));
+		resource.load(new ByteArrayInputStream(bytes), null);
+		assertEquals(1, resource.getContents().size());
+	}
+
+	@Test
+	void compareFormats() throws Exception {
+		List<EObject> contents = createContents();
+		benchmark.report("%,d objects", OBJECT_COUNT);
+		for (String extension : List.of("xmi", "bin", CompactBinaryResourceImpl.FILE_EXTENSION)) {
+			long saveTime = benchmark.average(() -> createResource(extension, contents), resource -> resource.save(null));
+			long loadTime = benchmark.average(() -> load(extension));
+			benchmark.report("%-5s %,10d bytes, save %,8.1f ms, load %,8.1f ms", extension,
+					Files.size(Path.of(uri(extension).toFileString())), Benchmark.millis(saveTime),
+					Benchmark.millis(loadTime));
+		}
+		byte[] bytes = Files.readAllBytes(Path.of(uri(CompactBinaryResourceImpl.FILE_EXTENSION).toFileString()));
+		long streamTime = benchmark.average(() -> loadFromStream(bytes));
+		benchmark.report("%-5s load from a stream %,8.1f ms", CompactBinaryResourceImpl.FILE_EXTENSION,
+				Benchmark.millis(streamTime));
+	}
+
+	@Test
+	void partialDecoding() throws Exception {
+		createResource(CompactBinaryResourceImpl.FILE_EXTENSION, createContents()).save(null);
+		Path path = Path.of(uri(CompactBinaryResourceImpl.FILE_EXTENSION).toFileString());
+		ResourceSet resourceSet = createResourceSet();
+		AtomicInteger decoded = new AtomicInteger();
+		long time = Benchmark.time(() -> {
+			for (int i = 0; i < 1000; i++) {
+				CompactBinaryDocument document = CompactBinaryDocument.open(path,
+						uri(CompactBinaryResourceImpl.FILE_EXTENSION), resourceSet.getPackageRegistry());
+				EObject eObject = document.decode(OBJECT_COUNT / 2 + i);
+				decoded.addAndGet(eObject.eGet(name) == null ? 0 : 1);
+			}
+		});
+		benchmark.report("open and decode a single object of %,d in %,d us", OBJECT_COUNT, time / 1000 / 1000);
+		assertEquals(1000, decoded.get());
+	}
+}
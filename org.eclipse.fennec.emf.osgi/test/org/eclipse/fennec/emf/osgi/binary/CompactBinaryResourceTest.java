@@ -0,0 +1,354 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.binary;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EEnum;
+import org.eclipse.emf.ecore.EEnumLiteral;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the {@link CompactBinaryResourceImpl} and the {@link CompactBinaryDocument}
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class CompactBinaryResourceTest {
+
+	private EPackage ePackage;
+	private EClass node;
+	private EEnum color;
+	private EAttribute name;
+	private EAttribute count;
+	private EAttribute size;
+	private EAttribute ratio;
+	private EAttribute flag;
+	private EAttribute colorAttribute;
+	private EAttribute created;
+	private EAttribute tags;
+	private EReference children;
+	private EReference next;
+	private EReference friends;
+	private EReference friendOf;
+
+	@TempDir
+	File tempDir;
+
+	@BeforeEach
+	public void before() {
+		ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setName("binary");
+		ePackage.setNsURI("http://test.org/binary");
+		ePackage.setNsPrefix("binary");
+		color = EcoreFactory.eINSTANCE.createEEnum();
+		color.setName("Color");
+		for (String literalName : List.of("RED", "GREEN", "BLUE")) {
+			EEnumLiteral literal = EcoreFactory.eINSTANCE.createEEnumLiteral();
+			literal.setName(literalName);
+			literal.setValue(color.getELiterals().size());
+			color.getELiterals().add(literal);
+		}
+		ePackage.getEClassifiers().add(color);
+		node = EcoreFactory.eINSTANCE.createEClass();
+		node.setName("Node");
+		ePackage.getEClassifiers().add(node);
+		name = attribute("name", EcorePackage.Literals.ESTRING);
+		count = attribute("count", EcorePackage.Literals.EINT);
+		size = attribute("size", EcorePackage.Literals.ELONG_OBJECT);
+		ratio = attribute("ratio", EcorePackage.Literals.EDOUBLE);
+		flag = attribute("flag", EcorePackage.Literals.EBOOLEAN);
+		colorAttribute = attribute("color", color);
+		created = attribute("created", EcorePackage.Literals.EDATE);
+		tags = attribute("tags", EcorePackage.Literals.ESTRING);
+		tags.setUpperBound(-1);
+		tags.setUnique(false);
+		children = reference("children", true, -1);
+		next = reference("next", false, 1);
+		friends = reference("friends", false, -1);
+		friendOf = reference("friendOf", false, -1);
+		friends.setEOpposite(friendOf);
+		friendOf.setEOpposite(friends);
+	}
+
+	private EAttribute attribute(String attributeName, EClassifier type) {
+		EAttribute attribute = EcoreFactory.eINSTANCE.createEAttribute();
+		attribute.setName(attributeName);
+		attribute.setEType(type);
+		node.getEStructuralFeatures().add(attribute);
+		return attribute;
+	}
+
+	private EReference reference(String referenceName, boolean containment, int upperBound) {
+		EReference reference = EcoreFactory.eINSTANCE.createEReference();
+		reference.setName(referenceName);
+		reference.setEType(node);
+		reference.setContainment(containment);
+		reference.setUpperBound(upperBound);
+		node.getEStructuralFeatures().add(reference);
+		return reference;
+	}
+
+	private ResourceSet createResourceSet() {
+		ResourceSet resourceSet = new ResourceSetImpl();
+		resourceSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+		resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap()
+				.put(CompactBinaryResourceImpl.FILE_EXTENSION, new CompactBinaryResourceFactoryImpl());
+		return resourceSet;
+	}
+
+	private URI uri(String fileName) {
+		return URI.createFileURI(new File(tempDir, fileName + "." + CompactBinaryResourceImpl.FILE_EXTENSION).getAbsolutePath());
+	}
+
+	@SuppressWarnings("unchecked")
+	private EList<EObject> list(EObject eObject, EReference reference) {
+		return (EList<EObject>) eObject.eGet(reference);
+	}
+
+	private EObject createNode(int index) {
+		EObject eObject = EcoreUtil.create(node);
+		eObject.eSet(name, "node" + index);
+		eObject.eSet(count, Integer.valueOf(index % 2 == 0 ? index : -index));
+		if (index % 3 == 0) {
+			eObject.eSet(size, Long.valueOf(Long.MAX_VALUE - index));
+		}
+		eObject.eSet(ratio, Double.valueOf(index / 7.0));
+		eObject.eSet(flag, Boolean.valueOf(index % 2 == 0));
+		eObject.eSet(colorAttribute, color.getELiterals().get(index % 3));
+		eObject.eSet(created, new Date(1_700_000_000_000L + index));
+		eObject.eSet(tags, List.of("shared", "tag" + index % 5, "shared"));
+		return eObject;
+	}
+
+	/* a root with children, grand children and references in both directions */
+	private Resource createResource(ResourceSet resourceSet, String fileName, int childCount) {
+		Resource resource = resourceSet.createResource(uri(fileName));
+		EObject root = createNode(0);
+		resource.getContents().add(root);
+		EObject previous = null;
+		for (int i = 1; i <= childCount; i++) {
+			EObject child = createNode(i);
+			list(root, children).add(child);
+			list(child, children).add(createNode(1000 + i));
+			if (previous != null) {
+				previous.eSet(next, child);
+				list(child, friends).add(previous);
+				list(child, friends).add(root);
+			}
+			previous = child;
+		}
+		resource.getContents().add(createNode(9999));
+		return resource;
+	}
+
+	@Test
+	public void testMappedFileRoundTrip() throws IOException {
+		Resource resource = createResource(createResourceSet(), "roundtrip", 50);
+		resource.save(null);
+
+		Resource loaded = createResourceSet().getResource(uri("roundtrip"), true);
+		assertEquals(2, loaded.getContents().size());
+		assertTrue(EcoreUtil.equals(resource.getContents(), loaded.getContents()));
+		EObject root = loaded.getContents().get(0);
+		EObject first = list(root, children).get(0);
+		assertSame(list(root, children).get(1), first.eGet(next));
+		// the order of both sides of a bidirectional reference is kept
+		assertEquals(list(resource.getContents().get(0), friendOf).size(), list(root, friendOf).size());
+		assertEquals(List.of(list(root, children).get(0), root), list(list(root, children).get(1), friends));
+		assertNull(root.eGet(size));
+		assertEquals(Long.valueOf(Long.MAX_VALUE - 3), list(root, children).get(2).eGet(size));
+		assertEquals(List.of("shared", "tag1", "shared"), first.eGet(tags));
+	}
+
+	@Test
+	public void testStreamRoundTrip() throws IOException {
+		Resource resource = createResource(createResourceSet(), "stream", 10);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		resource.save(out, null);
+
+		Resource loaded = createResourceSet().createResource(uri("stream"));
+		loaded.load(new ByteArrayInputStream(out.toByteArray()), null);
+		assertTrue(EcoreUtil.equals(resource.getContents(), loaded.getContents()));
+	}
+
+	@Test
+	public void testStreamWriter() throws IOException {
+		ResourceSet resourceSet = createResourceSet();
+		Resource resource = createResource(resourceSet, "source", 10);
+		try (CompactBinaryStreamWriter writer = CompactBinaryStreamWriter.open(resourceSet, uri("streamed"), null)) {
+			// every root is written on its own, references between them are kept
+			assertEquals(2, writer.writeAll(resource.getContents().iterator()));
+		}
+
+		Resource loaded = createResourceSet().getResource(uri("streamed"), true);
+		assertEquals(2, loaded.getContents().size());
+		assertTrue(EcoreUtil.equals(resource.getContents(), loaded.getContents()));
+		EObject root = loaded.getContents().get(0);
+		assertSame(list(root, children).get(1), list(root, children).get(0).eGet(next));
+	}
+
+	@Test
+	public void testStringTable() throws IOException {
+		ResourceSet resourceSet = createResourceSet();
+		Resource resource = resourceSet.createResource(uri("strings"));
+		for (int i = 0; i < 1000; i++) {
+			EObject eObject = EcoreUtil.create(node);
+			eObject.eSet(name, "a rather long name, that is repeated in every object");
+			resource.getContents().add(eObject);
+		}
+		resource.save(null);
+		// the name is stored once, every object needs a few bytes only
+		assertTrue(Files.size(Path.of(uri("strings").toFileString())) < 1000 * 16);
+	}
+
+	@Test
+	public void testStreamWriterMemoryIsBounded() throws IOException {
+		ResourceSet resourceSet = createResourceSet();
+		long limit = 4096;
+		// the string table, one segment of index entries and the initial segment directory
+		long bound = limit + CompactBinaryDocument.SEGMENT_SIZE * (long) CompactBinaryDocument.INDEX_ENTRY_LENGTH + 16 * Long.BYTES;
+		int rootCount = 3 * CompactBinaryDocument.SEGMENT_SIZE;
+		try (CompactBinaryStreamWriter writer = new CompactBinaryStreamWriter(
+				resourceSet.getURIConverter().createOutputStream(uri("bounded"), null), uri("bounded"), 0, limit)) {
+			for (int i = 0; i < rootCount; i++) {
+				// unique names and dates do not fit into the string table and are written inline
+				writer.write(createNode(i));
+				assertTrue(writer.getRetainedSize() <= bound);
+			}
+		}
+
+		Resource loaded = createResourceSet().getResource(uri("bounded"), true);
+		assertEquals(rootCount, loaded.getContents().size());
+		for (int i = 0; i < rootCount; i += 1000) {
+			assertTrue(EcoreUtil.equals(createNode(i), loaded.getContents().get(i)));
+		}
+		CompactBinaryDocument document = CompactBinaryDocument.open(Path.of(uri("bounded").toFileString()),
+				uri("bounded"), resourceSet.getPackageRegistry());
+		assertEquals(rootCount, document.getRootIds().length);
+		assertEquals("/" + (rootCount - 1), document.getURIFragment(rootCount - 1));
+	}
+
+	@Test
+	public void testChunkedContent() throws IOException {
+		ResourceSet resourceSet = createResourceSet();
+		Resource resource = createResource(resourceSet, "chunked", 20);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		resource.save(out, null);
+		byte[] bytes = out.toByteArray();
+
+		// chunks of 16 bytes, so numbers and strings span chunk boundaries
+		ByteBuffer[] chunks = new ByteBuffer[(bytes.length + 15) / 16];
+		for (int i = 0; i < chunks.length; i++) {
+			chunks[i] = ByteBuffer.wrap(bytes, i * 16, Math.min(16, bytes.length - i * 16));
+		}
+		CompactBinaryDocument document = new CompactBinaryDocument(chunks, 4, uri("chunked"), resourceSet.getPackageRegistry());
+		assertEquals(42, document.getObjectCount());
+		assertTrue(EcoreUtil.equals(resource.getContents(), document.decodeAll()));
+		EObject original = list(resource.getContents().get(0), children).get(1);
+		assertEquals(resource.getURIFragment(original), document.getURIFragment(3));
+	}
+
+	@Test
+	public void testExternalReferences() throws IOException {
+		ResourceSet resourceSet = createResourceSet();
+		Resource target = createResource(resourceSet, "target", 3);
+		Resource source = resourceSet.createResource(uri("source"));
+		EObject eObject = createNode(1);
+		eObject.eSet(next, list(target.getContents().get(0), children).get(2));
+		source.getContents().add(eObject);
+		target.save(null);
+		source.save(null);
+
+		ResourceSet other = createResourceSet();
+		EObject loaded = other.getResource(uri("source"), true).getContents().get(0);
+		EObject proxy = (EObject) loaded.eGet(next, false);
+		assertTrue(proxy.eIsProxy());
+		assertEquals(uri("target"), ((InternalEObject) proxy).eProxyURI().trimFragment());
+		EObject resolved = (EObject) loaded.eGet(next, true);
+		assertFalse(resolved.eIsProxy());
+		assertEquals("node3", resolved.eGet(name));
+	}
+
+	@Test
+	public void testPartialDecoding() throws IOException {
+		ResourceSet resourceSet = createResourceSet();
+		Resource resource = createResource(resourceSet, "partial", 20);
+		resource.save(null);
+
+		CompactBinaryDocument document = CompactBinaryDocument.open(Path.of(uri("partial").toFileString()),
+				uri("partial"), resourceSet.getPackageRegistry());
+		assertEquals(42, document.getObjectCount());
+		int[] roots = document.getRootIds();
+		assertEquals(2, roots.length);
+		assertEquals(0, roots[0]);
+		assertEquals(41, roots[1]);
+
+		// root, child 1 and grand child 1, then child 2
+		int child = 3;
+		assertEquals(0, document.getParentId(child));
+		assertEquals(5, document.getSubtreeEnd(child));
+		assertEquals(node, document.getEClass(child));
+		EObject original = list(resource.getContents().get(0), children).get(1);
+		assertEquals(resource.getURIFragment(original), document.getURIFragment(child));
+		assertSame(original, resource.getEObject(document.getURIFragment(child)));
+		assertSame(list(original, children).get(0), resource.getEObject(document.getURIFragment(child + 1)));
+
+		EObject decoded = document.decode(child);
+		assertEquals("node2", decoded.eGet(name));
+		assertEquals(1, list(decoded, children).size());
+		assertEquals("node1002", list(decoded, children).get(0).eGet(name));
+		// references leaving the subtree are proxies into the document
+		InternalEObject proxy = (InternalEObject) decoded.eGet(next, false);
+		assertTrue(proxy.eIsProxy());
+		assertSame(original.eGet(next), resource.getEObject(proxy.eProxyURI().fragment()));
+	}
+
+	@Test
+	public void testInvalidContent() {
+		assertThrows(IOException.class, () -> new CompactBinaryDocument(ByteBuffer.wrap(new byte[64]), null,
+				EPackage.Registry.INSTANCE));
+	}
+}
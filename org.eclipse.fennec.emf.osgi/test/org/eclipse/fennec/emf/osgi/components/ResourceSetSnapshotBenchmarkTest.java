@@ -0,0 +1,190 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.fennec.emf.osgi.Benchmark;
+import org.eclipse.fennec.emf.osgi.ResourceSetSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Benchmark of {@link ResourceSetSnapshotManager} snapshots under load.
+ * <p>
+ * A resource set of {@value #RESOURCE_COUNT} resources with {@value #OBJECT_COUNT} objects each is changed by
+ * a writer, while readers take and read snapshots. Measures the snapshot throughput, the frozen copies and the
+ * retained heap of open snapshots, compared to the heap of the shared resource set. Results are logged, not asserted.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+@Tag("perf")
+class ResourceSetSnapshotBenchmarkTest {
+
+	private static final int RESOURCE_COUNT = 200;
+	private static final int OBJECT_COUNT = 500;
+	private static final int READERS = 4;
+	private static final int OPEN_SNAPSHOTS = 20;
+	private static final long DURATION_MILLIS = 5_000;
+
+	private final Benchmark benchmark = new Benchmark(ResourceSetSnapshotBenchmarkTest.class, 0, 1);
+	private EClass node;
+	private EAttribute value;
+	private EReference next;
+
+	@BeforeEach
+	void before() {
+		EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setName("bench");
+		ePackage.setNsURI("http://test.org/bench");
+		ePackage.setNsPrefix("bench");
+		node = EcoreFactory.eINSTANCE.createEClass();
+		node.setName("Node");
+		ePackage.getEClassifiers().add(node);
+		value = EcoreFactory.eINSTANCE.createEAttribute();
+		value.setName("value");
+		value.setEType(EcorePackage.Literals.EINT);
+		node.getEStructuralFeatures().add(value);
+		next = EcoreFactory.eINSTANCE.createEReference();
+		next.setName("next");
+		next.setEType(node);
+		node.getEStructuralFeatures().add(next);
+	}
+
+	private ResourceSet createResourceSet() {
+		ResourceSet resourceSet = new ResourceSetImpl();
+		for (int r = 0; r < RESOURCE_COUNT; r++) {
+			Resource resource = new ResourceImpl(URI.createURI("bench://resource/" + r));
+			resourceSet.getResources().add(resource);
+			EObject last = null;
+			for (int i = 0; i < OBJECT_COUNT; i++) {
+				EObject eObject = EcoreUtil.create(node);
+				eObject.eSet(value, Integer.valueOf(i));
+				eObject.eSet(next, last);
+				resource.getContents().add(eObject);
+				last = eObject;
+			}
+		}
+		return resourceSet;
+	}
+
+	private void change(ResourceSet resourceSet) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		Resource resource = resourceSet.getResources().get(random.nextInt(RESOURCE_COUNT));
+		resource.getContents().get(random.nextInt(OBJECT_COUNT)).eSet(value, Integer.valueOf(random.nextInt()));
+	}
+
+	@Test
+	void snapshotsUnderLoad() throws Exception {
+		ResourceSet resourceSet = createResourceSet();
+		ResourceSetSnapshotManager manager = new ResourceSetSnapshotManager(resourceSet);
+		ExecutorService executor = Executors.newFixedThreadPool(READERS + 1);
+		AtomicBoolean running = new AtomicBoolean(true);
+		AtomicInteger snapshots = new AtomicInteger();
+		AtomicLong snapshotNanos = new AtomicLong();
+		AtomicInteger peakCopies = new AtomicInteger();
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			futures.add(executor.submit(() -> {
+				while (running.get()) {
+					manager.write(() -> change(resourceSet));
+				}
+			}));
+			for (int t = 0; t < READERS; t++) {
+				futures.add(executor.submit(() -> {
+					long sum = 0;
+					while (running.get()) {
+						long start = System.nanoTime();
+						try (ResourceSetSnapshot snapshot = manager.snapshot()) {
+							snapshotNanos.addAndGet(System.nanoTime() - start);
+							for (Resource resource : snapshot.getResources()) {
+								sum += (Integer) resource.getContents().get(0).eGet(value);
+							}
+							peakCopies.accumulateAndGet(manager.getFrozenCopyCount(), Math::max);
+						}
+						snapshots.incrementAndGet();
+					}
+					return sum;
+				}));
+			}
+			Thread.sleep(DURATION_MILLIS);
+			running.set(false);
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+			executor.awaitTermination(10, TimeUnit.SECONDS);
+		}
+		benchmark.report("%,d snapshots in %,d ms with %d readers and one writer, %,d writes", snapshots.get(),
+				DURATION_MILLIS, READERS, manager.getVersion());
+		benchmark.report("%,d us per snapshot, peak of %,d frozen copies for %,d resources",
+				snapshotNanos.get() / Math.max(1, snapshots.get()) / 1000, peakCopies.get(), RESOURCE_COUNT);
+		assertEquals(0, manager.getOpenSnapshotCount());
+		manager.close();
+	}
+
+	@Test
+	void retainedMemory() throws InterruptedException {
+		long empty = Benchmark.usedMemory();
+		ResourceSet resourceSet = createResourceSet();
+		long shared = Benchmark.usedMemory() - empty;
+		ResourceSetSnapshotManager manager = new ResourceSetSnapshotManager(resourceSet);
+		long tracked = Benchmark.usedMemory() - empty;
+
+		List<ResourceSetSnapshot> open = new ArrayList<>();
+		open.add(manager.snapshot());
+		long first = Benchmark.usedMemory() - empty - tracked;
+		for (int i = 1; i < OPEN_SNAPSHOTS; i++) {
+			// one change per snapshot, like a slow writer
+			manager.write(() -> change(resourceSet));
+			open.add(manager.snapshot());
+		}
+		long all = Benchmark.usedMemory() - empty - tracked;
+		benchmark.report("shared resource set %,d KB, change tracking %,d KB", shared / 1024, (tracked - shared) / 1024);
+		benchmark.report("first snapshot %,d KB, %d open snapshots %,d KB, %,d KB per further snapshot, %,d frozen copies",
+				first / 1024, open.size(), all / 1024, (all - first) / (OPEN_SNAPSHOTS - 1) / 1024, manager.getFrozenCopyCount());
+
+		open.forEach(ResourceSetSnapshot::close);
+		long released = Benchmark.usedMemory() - empty - tracked;
+		benchmark.report("after closing %,d KB, %,d frozen copies", released / 1024, manager.getFrozenCopyCount());
+		assertEquals(RESOURCE_COUNT, manager.getFrozenCopyCount());
+		manager.close();
+	}
+}
@@ -0,0 +1,227 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.fennec.emf.osgi.ResourceSetSnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link ResourceSetSnapshotManager}
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class ResourceSetSnapshotManagerTest {
+
+	private static final URI URI_A = URI.createURI("test://snapshot/a");
+	private static final URI URI_B = URI.createURI("test://snapshot/b");
+
+	private EClass node;
+	private EAttribute name;
+	private EReference next;
+	private ResourceSet resourceSet;
+	private ResourceSetSnapshotManager manager;
+	private EObject a;
+	private EObject b;
+
+	@BeforeEach
+	public void before() {
+		EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setName("snapshot");
+		ePackage.setNsURI("http://test.org/snapshot");
+		ePackage.setNsPrefix("snapshot");
+		node = EcoreFactory.eINSTANCE.createEClass();
+		node.setName("Node");
+		ePackage.getEClassifiers().add(node);
+		name = EcoreFactory.eINSTANCE.createEAttribute();
+		name.setName("name");
+		name.setEType(EcorePackage.Literals.ESTRING);
+		node.getEStructuralFeatures().add(name);
+		next = EcoreFactory.eINSTANCE.createEReference();
+		next.setName("next");
+		next.setEType(node);
+		node.getEStructuralFeatures().add(next);
+
+		resourceSet = new ResourceSetImpl();
+		a = createNode(URI_A, "a");
+		b = createNode(URI_B, "b");
+		a.eSet(next, b);
+		manager = new ResourceSetSnapshotManager(resourceSet);
+	}
+
+	@AfterEach
+	public void after() {
+		manager.close();
+	}
+
+	private EObject createNode(URI uri, String value) {
+		Resource resource = new ResourceImpl(uri);
+		resourceSet.getResources().add(resource);
+		EObject eObject = EcoreUtil.create(node);
+		eObject.eSet(name, value);
+		resource.getContents().add(eObject);
+		return eObject;
+	}
+
+	private EObject root(ResourceSetSnapshot snapshot, URI uri) {
+		return snapshot.getResource(uri).getContents().get(0);
+	}
+
+	@Test
+	public void testSnapshotIsolation() {
+		try (ResourceSetSnapshot first = manager.snapshot()) {
+			manager.write(() -> a.eSet(name, "changed"));
+			try (ResourceSetSnapshot second = manager.snapshot()) {
+				assertEquals(0, first.getVersion());
+				assertEquals(1, second.getVersion());
+				assertEquals("a", root(first, URI_A).eGet(name));
+				assertEquals("changed", root(second, URI_A).eGet(name));
+				assertNotSame(first.getResource(URI_A), second.getResource(URI_A));
+				// the unchanged resource is shared
+				assertSame(first.getResource(URI_B), second.getResource(URI_B));
+				assertSame(root(second, URI_B), root(second, URI_A).eGet(next));
+				assertSame(root(second, URI_B), second.getEObject(EcoreUtil.getURI(b)));
+				assertNotSame(b, root(second, URI_B));
+			}
+		}
+	}
+
+	@Test
+	public void testReferringCopiesAreReplaced() {
+		try (ResourceSetSnapshot first = manager.snapshot()) {
+			manager.write(() -> b.eSet(name, "changed"));
+			try (ResourceSetSnapshot second = manager.snapshot()) {
+				assertNotSame(first.getResource(URI_B), second.getResource(URI_B));
+				// a refers to b and is copied again
+				assertNotSame(first.getResource(URI_A), second.getResource(URI_A));
+				assertEquals("b", ((EObject) root(first, URI_A).eGet(next)).eGet(name));
+				assertEquals("changed", ((EObject) root(second, URI_A).eGet(next)).eGet(name));
+			}
+		}
+	}
+
+	@Test
+	public void testRelease() {
+		ResourceSetSnapshot first = manager.snapshot();
+		Resource oldCopy = first.getResource(URI_A);
+		assertEquals(2, manager.getFrozenCopyCount());
+		manager.write(() -> a.eSet(name, "changed"));
+		ResourceSetSnapshot second = manager.snapshot();
+		assertEquals(3, manager.getFrozenCopyCount());
+		assertEquals(2, manager.getOpenSnapshotCount());
+
+		first.close();
+		first.close();
+		assertTrue(first.isClosed());
+		assertFalse(oldCopy.isLoaded());
+		assertThrows(IllegalStateException.class, first::getResources);
+		assertEquals(2, manager.getFrozenCopyCount());
+		assertEquals(1, manager.getOpenSnapshotCount());
+		assertEquals("changed", root(second, URI_A).eGet(name));
+
+		second.close();
+		// the current copies are kept for the next snapshot
+		assertEquals(2, manager.getFrozenCopyCount());
+		manager.close();
+		assertEquals(0, manager.getFrozenCopyCount());
+		assertThrows(IllegalStateException.class, manager::snapshot);
+	}
+
+	@Test
+	public void testFrozenCopiesAreReadOnly() {
+		try (ResourceSetSnapshot first = manager.snapshot()) {
+			Resource frozen = first.getResource(URI_A);
+			EObject root = root(first, URI_A);
+			EObject target = (EObject) root.eGet(next);
+			assertThrows(UnsupportedOperationException.class, () -> root.eSet(name, "changed"));
+			assertEquals("a", root.eGet(name));
+			assertThrows(UnsupportedOperationException.class, () -> root.eUnset(next));
+			assertSame(target, root.eGet(next));
+
+			assertThrows(UnsupportedOperationException.class, () -> frozen.getContents().add(EcoreUtil.create(node)));
+			assertThrows(UnsupportedOperationException.class, () -> frozen.getContents().remove(root));
+			assertThrows(UnsupportedOperationException.class, () -> frozen.getContents().clear());
+			assertSame(root, frozen.getContents().get(0));
+			assertThrows(UnsupportedOperationException.class, () -> frozen.setURI(URI_B));
+			assertThrows(UnsupportedOperationException.class, frozen::unload);
+			assertTrue(frozen.isLoaded());
+
+			// the unchanged copy is shared and was not altered for the next snapshot
+			try (ResourceSetSnapshot second = manager.snapshot()) {
+				assertSame(root, root(second, URI_A));
+				assertEquals("a", root(second, URI_A).eGet(name));
+			}
+		}
+	}
+
+	@Test
+	public void testResourceSnapshot() {
+		try (ResourceSetSnapshot snapshot = manager.snapshot(a.eResource())) {
+			assertEquals(1, snapshot.getResources().size());
+			assertNull(snapshot.getResource(URI_B));
+			EObject target = (EObject) root(snapshot, URI_A).eGet(next);
+			assertTrue(target.eIsProxy());
+			assertEquals(EcoreUtil.getURI(b), EcoreUtil.getURI(target));
+		}
+	}
+
+	@Test
+	public void testRemovedResource() {
+		try (ResourceSetSnapshot first = manager.snapshot()) {
+			manager.write(() -> resourceSet.getResources().remove(b.eResource()));
+			try (ResourceSetSnapshot second = manager.snapshot()) {
+				assertEquals(2, first.getResources().size());
+				assertEquals(1, second.getResources().size());
+				assertNull(second.getResource(URI_B));
+				assertTrue(((EObject) root(second, URI_A).eGet(next)).eIsProxy());
+			}
+		}
+	}
+
+	@Test
+	public void testAddedResource() {
+		try (ResourceSetSnapshot first = manager.snapshot()) {
+			manager.write(() -> createNode(URI.createURI("test://snapshot/c"), "c").eSet(next, a));
+			try (ResourceSetSnapshot second = manager.snapshot()) {
+				assertEquals(3, second.getResources().size());
+				EObject c = second.getEObject(URI.createURI("test://snapshot/c#/"));
+				assertEquals("c", c.eGet(name));
+				assertSame(root(second, URI_A), c.eGet(next));
+				assertSame(first.getResource(URI_A), second.getResource(URI_A));
+			}
+		}
+	}
+}
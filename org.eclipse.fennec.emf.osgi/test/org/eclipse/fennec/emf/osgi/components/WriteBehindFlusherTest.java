@@ -0,0 +1,217 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.eclipse.fennec.emf.osgi.ResourceSetFactory;
+import org.eclipse.fennec.emf.osgi.WriteBehindMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the {@link WriteBehindFlusher} and the write behind mode of the {@link ResourceSetCacheComponent}
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class WriteBehindFlusherTest {
+
+	private EPackage ePackage;
+	private EClass node;
+	private EAttribute name;
+
+	@TempDir
+	File tempDir;
+
+	@BeforeEach
+	public void before() {
+		ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setName("flush");
+		ePackage.setNsURI("http://test.org/flush");
+		ePackage.setNsPrefix("flush");
+		node = EcoreFactory.eINSTANCE.createEClass();
+		node.setName("Node");
+		ePackage.getEClassifiers().add(node);
+		name = EcoreFactory.eINSTANCE.createEAttribute();
+		name.setName("name");
+		name.setEType(EcorePackage.Literals.ESTRING);
+		node.getEStructuralFeatures().add(name);
+	}
+
+	private ResourceSet createResourceSet() {
+		ResourceSet resourceSet = new ResourceSetImpl();
+		resourceSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+		resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", new XMIResourceFactoryImpl());
+		return resourceSet;
+	}
+
+	private URI uri(String fileName) {
+		return URI.createFileURI(new File(tempDir, fileName + ".xmi").getAbsolutePath());
+	}
+
+	private EObject createNode(ResourceSet resourceSet, String fileName) {
+		EObject eObject = EcoreUtil.create(node);
+		eObject.eSet(name, fileName);
+		resourceSet.createResource(uri(fileName)).getContents().add(eObject);
+		return eObject;
+	}
+
+	private String savedName(String fileName) {
+		Resource resource = createResourceSet().getResource(uri(fileName), true);
+		return (String) resource.getContents().get(0).eGet(name);
+	}
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long end = System.currentTimeMillis() + 5_000;
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.currentTimeMillis() < end, "Timeout");
+			Thread.sleep(10);
+		}
+	}
+
+	@Test
+	public void testCoalescedChanges() throws Exception {
+		ResourceSet resourceSet = createResourceSet();
+		WriteBehindFlusher flusher = new WriteBehindFlusher(resourceSet, Runnable::run, 200, 100);
+		try {
+			EObject eObject = createNode(resourceSet, "a");
+			for (int i = 0; i < 50; i++) {
+				eObject.eSet(name, "a" + i);
+			}
+			assertEquals(1, flusher.getQueueDepth());
+			await(() -> flusher.getSaveCount() == 1);
+			assertEquals(0, flusher.getQueueDepth());
+			assertEquals(1, flusher.getFlushCount());
+			assertEquals("a49", savedName("a"));
+			assertTrue(flusher.getMaxFlushLatency().compareTo(Duration.ZERO) > 0);
+			assertEquals(flusher.getMaxFlushLatency(), flusher.getAverageFlushLatency());
+		} finally {
+			flusher.close();
+		}
+	}
+
+	@Test
+	public void testBatchSize() throws Exception {
+		ResourceSet resourceSet = createResourceSet();
+		WriteBehindFlusher flusher = new WriteBehindFlusher(resourceSet, Runnable::run, 60_000, 3);
+		try {
+			createNode(resourceSet, "a");
+			createNode(resourceSet, "b");
+			assertEquals(2, flusher.getQueueDepth());
+			createNode(resourceSet, "c");
+			await(() -> flusher.getSaveCount() == 3);
+			assertEquals("c", savedName("c"));
+		} finally {
+			flusher.close();
+		}
+	}
+
+	@Test
+	public void testCloseFlushes() throws IOException {
+		ResourceSet resourceSet = createResourceSet();
+		WriteBehindFlusher flusher = new WriteBehindFlusher(resourceSet, Runnable::run, 60_000, 100);
+		createNode(resourceSet, "a").eSet(name, "changed");
+		assertEquals(1, flusher.getQueueDepth());
+		flusher.close();
+		assertEquals(0, flusher.getQueueDepth());
+		assertEquals(1, flusher.getSaveCount());
+		assertEquals("changed", savedName("a"));
+
+		// loading doesn't mark the resource
+		ResourceSet other = createResourceSet();
+		WriteBehindFlusher loading = new WriteBehindFlusher(other, Runnable::run, 60_000, 100);
+		other.getResource(uri("a"), true);
+		assertEquals(0, loading.getQueueDepth());
+		loading.close();
+	}
+
+	@Test
+	public void testFailedSaveStaysQueued() throws IOException {
+		ResourceSet resourceSet = createResourceSet();
+		WriteBehindFlusher flusher = new WriteBehindFlusher(resourceSet, Runnable::run, 60_000, 100);
+		EObject eObject = createNode(resourceSet, "a");
+		// a directory cannot be written as file
+		File directory = new File(tempDir, "directory.xmi");
+		assertTrue(directory.mkdir());
+		eObject.eResource().setURI(URI.createFileURI(directory.getAbsolutePath()));
+		assertEquals(0, flusher.flush());
+		assertEquals(1, flusher.getFailedSaveCount());
+		assertEquals(1, flusher.getQueueDepth());
+
+		eObject.eResource().setURI(uri("a"));
+		assertEquals(1, flusher.flush());
+		assertEquals(0, flusher.getQueueDepth());
+		flusher.close();
+	}
+
+	@Test
+	public void testCacheComponent() {
+		ResourceSetCacheConfig config = mock(ResourceSetCacheConfig.class);
+		when(config.writeBehind()).thenReturn(Boolean.TRUE);
+		when(config.writeBehind_delay()).thenReturn(Long.valueOf(60_000));
+		when(config.writeBehind_batchSize()).thenReturn(Integer.valueOf(100));
+		ResourceSetFactory factory = mock(ResourceSetFactory.class);
+		when(factory.createResourceSet()).thenReturn(createResourceSet());
+
+		ResourceSetCacheComponent cache = new ResourceSetCacheComponent();
+		cache.bindResourceSetFactory(factory);
+		cache.activate(config);
+		ResourceSet resourceSet = cache.getResourceSet();
+		WriteBehindMetrics metrics = cache.getWriteBehindMetrics();
+		assertNotNull(metrics);
+
+		cache.write(() -> createNode(resourceSet, "a"));
+		assertEquals(1, metrics.getQueueDepth());
+		assertEquals(1, cache.flush());
+		assertEquals("a", savedName("a"));
+
+		// changes outside of a writer race with the saves, they are counted
+		EObject outside = resourceSet.getResources().get(0).getContents().get(0);
+		assertEquals(0, metrics.getUnguardedChangeCount());
+		outside.eSet(name, "outside");
+		assertEquals("outside", outside.eGet(name));
+		assertEquals(1, metrics.getUnguardedChangeCount());
+		assertEquals(1, metrics.getQueueDepth());
+		assertEquals(1, cache.flush());
+		assertEquals("outside", savedName("a"));
+
+		cache.write(() -> createNode(resourceSet, "b"));
+		cache.deactivate();
+		assertEquals("b", savedName("b"));
+		assertNull(cache.getWriteBehindMetrics());
+	}
+}
@@ -0,0 +1,279 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.components.dynamic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.impl.DynamicEObjectImpl;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link CompactEObjectImpl} created by the {@link CompactEFactoryImpl}
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class CompactEObjectImplTest {
+
+	private static final int FLAG_COUNT = 70;
+
+	private EPackage ePackage;
+	private EClass item;
+	private EClass flags;
+
+	@BeforeEach
+	public void before() {
+		ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setName("compact");
+		ePackage.setNsURI("http://test.org/compact");
+		ePackage.setNsPrefix("compact");
+		item = createEClass("Item");
+		addAttribute(item, "count", EcorePackage.Literals.EINT);
+		addAttribute(item, "price", EcorePackage.Literals.EDOUBLE);
+		addAttribute(item, "active", EcorePackage.Literals.EBOOLEAN);
+		addAttribute(item, "weight", EcorePackage.Literals.EFLOAT);
+		addAttribute(item, "id", EcorePackage.Literals.ELONG);
+		addAttribute(item, "code", EcorePackage.Literals.ECHAR);
+		addAttribute(item, "small", EcorePackage.Literals.ESHORT);
+		addAttribute(item, "tiny", EcorePackage.Literals.EBYTE);
+		addAttribute(item, "name", EcorePackage.Literals.ESTRING);
+		addAttribute(item, "tags", EcorePackage.Literals.ESTRING).setUpperBound(-1);
+		addAttribute(item, "amount", EcorePackage.Literals.EINT).setUnsettable(true);
+		EAttribute deflt = addAttribute(item, "level", EcorePackage.Literals.EINT);
+		deflt.setDefaultValueLiteral("7");
+		EReference children = EcoreFactory.eINSTANCE.createEReference();
+		children.setName("children");
+		children.setEType(item);
+		children.setContainment(true);
+		children.setUpperBound(-1);
+		item.getEStructuralFeatures().add(children);
+
+		flags = createEClass("Flags");
+		for (int i = 0; i < FLAG_COUNT; i++) {
+			addAttribute(flags, "flag" + i, EcorePackage.Literals.EBOOLEAN);
+		}
+		CompactEFactoryImpl.install(ePackage);
+	}
+
+	private EClass createEClass(String name) {
+		EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+		eClass.setName(name);
+		ePackage.getEClassifiers().add(eClass);
+		return eClass;
+	}
+
+	private static EAttribute addAttribute(EClass eClass, String name, EClassifier type) {
+		EAttribute attribute = EcoreFactory.eINSTANCE.createEAttribute();
+		attribute.setName(name);
+		attribute.setEType(type);
+		eClass.getEStructuralFeatures().add(attribute);
+		return attribute;
+	}
+
+	private EObject create(EClass eClass) {
+		return EcoreUtil.create(eClass);
+	}
+
+	private void set(EObject eObject, String feature, Object value) {
+		eObject.eSet(eObject.eClass().getEStructuralFeature(feature), value);
+	}
+
+	private Object get(EObject eObject, String feature) {
+		return eObject.eGet(eObject.eClass().getEStructuralFeature(feature));
+	}
+
+	private boolean isSet(EObject eObject, String feature) {
+		return eObject.eIsSet(eObject.eClass().getEStructuralFeature(feature));
+	}
+
+	private void fill(EObject eObject) {
+		set(eObject, "count", 42);
+		set(eObject, "price", 9.99d);
+		set(eObject, "active", true);
+		set(eObject, "weight", -1.5f);
+		set(eObject, "id", Long.MAX_VALUE);
+		set(eObject, "code", 'x');
+		set(eObject, "small", (short) -3);
+		set(eObject, "tiny", (byte) 127);
+		set(eObject, "name", "test");
+		set(eObject, "tags", List.of("a", "b"));
+		set(eObject, "amount", 0);
+	}
+
+	@Test
+	public void testFactoryCreatesCompactObjects() {
+		EObject eObject = create(item);
+
+		CompactEObjectImpl compact = assertInstanceOf(CompactEObjectImpl.class, eObject);
+		assertSame(item, compact.eClass());
+		assertInstanceOf(CompactEFactoryImpl.class, ePackage.getEFactoryInstance());
+	}
+
+	@Test
+	public void testSubPackagesAreInstalled() {
+		EPackage sub = EcoreFactory.eINSTANCE.createEPackage();
+		sub.setName("sub");
+		ePackage.getESubpackages().add(sub);
+
+		CompactEFactoryImpl.install(ePackage);
+
+		assertInstanceOf(CompactEFactoryImpl.class, sub.getEFactoryInstance());
+	}
+
+	@Test
+	public void testValues() {
+		EObject eObject = create(item);
+		fill(eObject);
+
+		assertEquals(42, get(eObject, "count"));
+		assertEquals(9.99d, get(eObject, "price"));
+		assertEquals(true, get(eObject, "active"));
+		assertEquals(-1.5f, get(eObject, "weight"));
+		assertEquals(Long.MAX_VALUE, get(eObject, "id"));
+		assertEquals('x', get(eObject, "code"));
+		assertEquals((short) -3, get(eObject, "small"));
+		assertEquals((byte) 127, get(eObject, "tiny"));
+		assertEquals("test", get(eObject, "name"));
+		assertEquals(List.of("a", "b"), get(eObject, "tags"));
+		assertEquals(0, get(eObject, "amount"));
+	}
+
+	@Test
+	public void testDefaultsAndUnset() {
+		EObject eObject = create(item);
+
+		assertEquals(0, get(eObject, "count"));
+		assertEquals(0.0d, get(eObject, "price"));
+		assertEquals(false, get(eObject, "active"));
+		assertEquals(7, get(eObject, "level"));
+		assertFalse(isSet(eObject, "count"));
+		assertFalse(isSet(eObject, "amount"));
+
+		set(eObject, "count", 5);
+		set(eObject, "level", 3);
+		set(eObject, "active", true);
+		set(eObject, "amount", 0);
+		assertTrue(isSet(eObject, "count"));
+		assertTrue(isSet(eObject, "level"));
+		assertTrue(isSet(eObject, "active"));
+		assertTrue(isSet(eObject, "amount"));
+
+		eObject.eUnset(item.getEStructuralFeature("count"));
+		eObject.eUnset(item.getEStructuralFeature("level"));
+		eObject.eUnset(item.getEStructuralFeature("active"));
+		eObject.eUnset(item.getEStructuralFeature("amount"));
+		assertEquals(0, get(eObject, "count"));
+		assertEquals(7, get(eObject, "level"));
+		assertEquals(false, get(eObject, "active"));
+		assertFalse(isSet(eObject, "count"));
+		assertFalse(isSet(eObject, "level"));
+		assertFalse(isSet(eObject, "active"));
+		assertFalse(isSet(eObject, "amount"));
+	}
+
+	@Test
+	public void testBooleansSpanSeveralWords() {
+		EObject eObject = create(flags);
+		for (int i = 0; i < FLAG_COUNT; i += 3) {
+			set(eObject, "flag" + i, true);
+		}
+		for (int i = 0; i < FLAG_COUNT; i++) {
+			assertEquals(i % 3 == 0, get(eObject, "flag" + i), "flag" + i);
+		}
+		set(eObject, "flag66", false);
+		assertEquals(false, get(eObject, "flag66"));
+		assertEquals(true, get(eObject, "flag69"));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testContainment() {
+		EObject parent = create(item);
+		EObject child = create(item);
+
+		((EList<EObject>) get(parent, "children")).add(child);
+
+		assertSame(parent, child.eContainer());
+		assertSame(item.getEStructuralFeature("children"), child.eContainingFeature());
+		EcoreUtil.remove(child);
+		assertEquals(null, child.eContainer());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testBehavesLikeDynamicEObject() {
+		EObject compact = create(item);
+		EObject dynamic = new DynamicEObjectImpl(item);
+		for (EObject eObject : List.of(compact, dynamic)) {
+			fill(eObject);
+			((EList<EObject>) get(eObject, "children")).add(create(item));
+		}
+
+		assertTrue(EcoreUtil.equals(compact, dynamic));
+		EObject copy = EcoreUtil.copy(compact);
+		assertInstanceOf(CompactEObjectImpl.class, copy);
+		assertTrue(EcoreUtil.equals(compact, copy));
+		for (var feature : item.getEAllStructuralFeatures()) {
+			assertEquals(dynamic.eIsSet(feature), compact.eIsSet(feature), feature.getName());
+		}
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testXMIRoundTrip() throws IOException {
+		ResourceSet resourceSet = new ResourceSetImpl();
+		resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", new XMIResourceFactoryImpl());
+		resourceSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+		EObject root = create(item);
+		fill(root);
+		EObject child = create(item);
+		set(child, "count", 1);
+		((EList<EObject>) get(root, "children")).add(child);
+		Resource resource = resourceSet.createResource(URI.createURI("test.xmi"));
+		resource.getContents().add(root);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		resource.save(out, null);
+
+		Resource loaded = resourceSet.createResource(URI.createURI("loaded.xmi"));
+		loaded.load(new ByteArrayInputStream(out.toByteArray()), null);
+
+		EObject loadedRoot = loaded.getContents().get(0);
+		assertInstanceOf(CompactEObjectImpl.class, loadedRoot);
+		assertTrue(EcoreUtil.equals(root, loadedRoot));
+	}
+}
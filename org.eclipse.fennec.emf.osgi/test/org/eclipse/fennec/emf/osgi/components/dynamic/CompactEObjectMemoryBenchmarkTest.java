@@ -0,0 +1,134 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.components.dynamic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.impl.DynamicEObjectImpl;
+import org.eclipse.fennec.emf.osgi.Benchmark;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Memory benchmark of {@link CompactEObjectImpl} against {@link DynamicEObjectImpl}.
+ * <p>
+ * Creates {@value #OBJECT_COUNT} objects of an {@link EClass} with a typical mix of primitive, string and
+ * reference features, sets all values and measures the retained heap. Results are logged, not asserted.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+@Tag("perf")
+class CompactEObjectMemoryBenchmarkTest {
+
+	private static final int OBJECT_COUNT = 500_000;
+
+	private final Benchmark benchmark = new Benchmark(CompactEObjectMemoryBenchmarkTest.class, 0, 1);
+	private EClass measurement;
+	private final List<EAttribute> attributes = new ArrayList<>();
+	private EReference previous;
+
+	@BeforeEach
+	void before() {
+		EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setName("bench");
+		ePackage.setNsURI("http://test.org/bench");
+		ePackage.setNsPrefix("bench");
+		measurement = EcoreFactory.eINSTANCE.createEClass();
+		measurement.setName("Measurement");
+		ePackage.getEClassifiers().add(measurement);
+		addAttribute("id", EcorePackage.Literals.ELONG);
+		addAttribute("sensor", EcorePackage.Literals.EINT);
+		addAttribute("sequence", EcorePackage.Literals.EINT);
+		addAttribute("value", EcorePackage.Literals.EDOUBLE);
+		addAttribute("minimum", EcorePackage.Literals.EDOUBLE);
+		addAttribute("maximum", EcorePackage.Literals.EDOUBLE);
+		addAttribute("quality", EcorePackage.Literals.EFLOAT);
+		addAttribute("valid", EcorePackage.Literals.EBOOLEAN);
+		addAttribute("calibrated", EcorePackage.Literals.EBOOLEAN);
+		addAttribute("alarm", EcorePackage.Literals.EBOOLEAN);
+		addAttribute("unit", EcorePackage.Literals.ESTRING);
+		previous = EcoreFactory.eINSTANCE.createEReference();
+		previous.setName("previous");
+		previous.setEType(measurement);
+		measurement.getEStructuralFeatures().add(previous);
+		CompactEFactoryImpl.install(ePackage);
+	}
+
+	private void addAttribute(String name, EClassifier type) {
+		EAttribute attribute = EcoreFactory.eINSTANCE.createEAttribute();
+		attribute.setName(name);
+		attribute.setEType(type);
+		measurement.getEStructuralFeatures().add(attribute);
+		attributes.add(attribute);
+	}
+
+	private List<EObject> createObjects(Function<EClass, EObject> factory) {
+		List<EObject> result = new ArrayList<>(OBJECT_COUNT);
+		EObject last = null;
+		for (int i = 0; i < OBJECT_COUNT; i++) {
+			EObject eObject = factory.apply(measurement);
+			// values outside of the boxing caches, like real measurements
+			eObject.eSet(attributes.get(0), Long.valueOf(1_000_000L + i));
+			eObject.eSet(attributes.get(1), Integer.valueOf(1000 + i % 500));
+			eObject.eSet(attributes.get(2), Integer.valueOf(i));
+			eObject.eSet(attributes.get(3), Double.valueOf(i * 0.5d));
+			eObject.eSet(attributes.get(4), Double.valueOf(i * 0.25d));
+			eObject.eSet(attributes.get(5), Double.valueOf(i * 0.75d));
+			eObject.eSet(attributes.get(6), Float.valueOf(i * 0.1f));
+			eObject.eSet(attributes.get(7), Boolean.TRUE);
+			eObject.eSet(attributes.get(8), Boolean.valueOf(i % 2 == 0));
+			eObject.eSet(attributes.get(9), Boolean.FALSE);
+			eObject.eSet(attributes.get(10), "Celsius");
+			eObject.eSet(previous, last);
+			result.add(eObject);
+			last = eObject;
+		}
+		return result;
+	}
+
+	private long measure(String name, Function<EClass, EObject> factory) throws InterruptedException {
+		long before = Benchmark.usedMemory();
+		List<EObject> objects = createObjects(factory);
+		long after = Benchmark.usedMemory();
+		long bytesPerObject = (after - before) / OBJECT_COUNT;
+		benchmark.report("%-20s %,d objects, %,d bytes/object", name, objects.size(), bytesPerObject);
+		// keep the objects reachable until measured
+		assertEquals(OBJECT_COUNT, objects.size());
+		return bytesPerObject;
+	}
+
+	@Test
+	void compareMemory() throws InterruptedException {
+		// warm up the class loading and the layout cache
+		createObjects(DynamicEObjectImpl::new);
+		createObjects(c -> c.getEPackage().getEFactoryInstance().create(c));
+
+		long dynamic = measure("DynamicEObjectImpl", DynamicEObjectImpl::new);
+		long compact = measure("CompactEObjectImpl", c -> c.getEPackage().getEFactoryInstance().create(c));
+		benchmark.report("Compact objects use %.1f%% of the memory", 100.0d * compact / Math.max(1, dynamic));
+	}
+}
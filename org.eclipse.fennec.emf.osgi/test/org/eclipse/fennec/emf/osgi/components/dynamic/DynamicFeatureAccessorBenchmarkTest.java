@@ -0,0 +1,111 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.components.dynamic;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.fennec.emf.osgi.Benchmark;
+import org.eclipse.fennec.emf.osgi.FeatureAccessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Benchmark of the {@link DynamicFeatureAccessor} against reflective access of dynamic objects.
+ * <p>
+ * Sums an <code>int</code> and a <code>double</code> attribute over {@value #OBJECT_COUNT} objects. Results are
+ * logged, not asserted.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+@Tag("perf")
+class DynamicFeatureAccessorBenchmarkTest {
+
+	private static final int OBJECT_COUNT = 200_000;
+	private static final int WARMUP_ROUNDS = 10;
+	private static final int ROUNDS = 20;
+
+	private final Benchmark benchmark = new Benchmark(DynamicFeatureAccessorBenchmarkTest.class, WARMUP_ROUNDS, ROUNDS);
+	private final List<EObject> objects = new ArrayList<>(OBJECT_COUNT);
+	private EAttribute count;
+	private EAttribute value;
+	private long sink;
+
+	@BeforeEach
+	void before() {
+		EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setName("bench");
+		ePackage.setNsURI("http://test.org/bench");
+		ePackage.setNsPrefix("bench");
+		EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+		eClass.setName("Sample");
+		ePackage.getEClassifiers().add(eClass);
+		for (String filler : List.of("a", "b", "c", "d")) {
+			addAttribute(eClass, filler, EcorePackage.Literals.ESTRING);
+		}
+		count = addAttribute(eClass, "count", EcorePackage.Literals.EINT);
+		value = addAttribute(eClass, "value", EcorePackage.Literals.EDOUBLE);
+		CompactEFactoryImpl.install(ePackage);
+		for (int i = 0; i < OBJECT_COUNT; i++) {
+			EObject eObject = EcoreUtil.create(eClass);
+			eObject.eSet(count, i);
+			eObject.eSet(value, i * 0.5d);
+			objects.add(eObject);
+		}
+	}
+
+	private static EAttribute addAttribute(EClass eClass, String name, EClassifier type) {
+		EAttribute attribute = EcoreFactory.eINSTANCE.createEAttribute();
+		attribute.setName(name);
+		attribute.setEType(type);
+		eClass.getEStructuralFeatures().add(attribute);
+		return attribute;
+	}
+
+	private double measure(String name, ToLongFunction<EObject> reader) throws Exception {
+		double nanosPerObject = (double) benchmark.average(() -> run(reader)) / OBJECT_COUNT;
+		benchmark.report("%-12s %.2f ns/object", name, nanosPerObject);
+		return nanosPerObject;
+	}
+
+	private void run(ToLongFunction<EObject> reader) {
+		for (EObject eObject : objects) {
+			sink += reader.applyAsLong(eObject);
+		}
+	}
+
+	@Test
+	void compareAccess() throws Exception {
+		FeatureAccessorRegistryComponent registry = new FeatureAccessorRegistryComponent();
+		FeatureAccessor countAccessor = registry.getAccessor(count);
+		FeatureAccessor valueAccessor = registry.getAccessor(value);
+
+		double reflective = measure("eGet", o -> ((Integer) o.eGet(count)).intValue() + (long) ((Double) o.eGet(value)).doubleValue());
+		double accessor = measure("accessor", o -> countAccessor.getInt(o) + (long) valueAccessor.getDouble(o));
+		benchmark.report("Accessors take %.1f%% of the reflective time", 100.0d * accessor / reflective);
+		assertTrue(sink != 0);
+	}
+}
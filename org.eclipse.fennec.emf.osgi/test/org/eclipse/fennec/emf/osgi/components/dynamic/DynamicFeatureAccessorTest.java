@@ -0,0 +1,228 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.components.dynamic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.impl.DynamicEObjectImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.fennec.emf.osgi.FeatureAccessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link DynamicFeatureAccessor} and the {@link FeatureAccessorRegistryComponent}
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class DynamicFeatureAccessorTest {
+
+	private FeatureAccessorRegistryComponent registry;
+	private EPackage ePackage;
+	private EClass named;
+	private EClass counted;
+	private EClass both;
+	private EAttribute name;
+	private EAttribute count;
+	private EAttribute total;
+	private EAttribute ratio;
+	private EAttribute active;
+	private EAttribute level;
+	private EReference next;
+
+	@BeforeEach
+	public void before() {
+		registry = new FeatureAccessorRegistryComponent();
+		ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setName("access");
+		ePackage.setNsURI("http://test.org/access");
+		ePackage.setNsPrefix("access");
+		named = createEClass("Named");
+		name = addAttribute(named, "name", EcorePackage.Literals.ESTRING);
+		counted = createEClass("Counted");
+		count = addAttribute(counted, "count", EcorePackage.Literals.EINT);
+		total = addAttribute(counted, "total", EcorePackage.Literals.ELONG);
+		ratio = addAttribute(counted, "ratio", EcorePackage.Literals.EDOUBLE);
+		active = addAttribute(counted, "active", EcorePackage.Literals.EBOOLEAN);
+		level = addAttribute(counted, "level", EcorePackage.Literals.EINT);
+		level.setDefaultValueLiteral("7");
+		next = EcoreFactory.eINSTANCE.createEReference();
+		next.setName("next");
+		next.setEType(counted);
+		counted.getEStructuralFeatures().add(next);
+		// the features of Counted have other IDs in Both
+		both = createEClass("Both");
+		both.getESuperTypes().add(named);
+		both.getESuperTypes().add(counted);
+		CompactEFactoryImpl.install(ePackage);
+	}
+
+	private EClass createEClass(String className) {
+		EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+		eClass.setName(className);
+		ePackage.getEClassifiers().add(eClass);
+		return eClass;
+	}
+
+	private static EAttribute addAttribute(EClass eClass, String featureName, EClassifier type) {
+		EAttribute attribute = EcoreFactory.eINSTANCE.createEAttribute();
+		attribute.setName(featureName);
+		attribute.setEType(type);
+		eClass.getEStructuralFeatures().add(attribute);
+		return attribute;
+	}
+
+	@Test
+	public void testRegistryCachesAccessors() {
+		FeatureAccessor accessor = registry.getAccessor(count);
+
+		assertSame(count, accessor.getFeature());
+		assertSame(accessor, registry.getAccessor(counted, "count"));
+		assertEquals(counted.getEAllStructuralFeatures().size(), registry.getAccessors(counted).size());
+		assertThrows(IllegalArgumentException.class, () -> registry.getAccessor(counted, "missing"));
+
+		registry.removeEPackage(ePackage);
+		assertNotSame(accessor, registry.getAccessor(count));
+	}
+
+	@Test
+	public void testAccessCompactAndDynamicObjects() {
+		List<EObject> objects = List.of(EcoreUtil.create(counted), new DynamicEObjectImpl(counted), EcoreUtil.create(both));
+		FeatureAccessor countAccessor = registry.getAccessor(count);
+		FeatureAccessor totalAccessor = registry.getAccessor(total);
+		FeatureAccessor ratioAccessor = registry.getAccessor(ratio);
+		FeatureAccessor activeAccessor = registry.getAccessor(active);
+		FeatureAccessor levelAccessor = registry.getAccessor(level);
+		FeatureAccessor nextAccessor = registry.getAccessor(next);
+		for (int round = 0; round < 2; round++) {
+			// alternating classes and storages must not confuse the cached binding
+			for (EObject eObject : objects) {
+				assertEquals(0, countAccessor.getInt(eObject));
+				assertEquals(7, levelAccessor.getInt(eObject));
+				assertEquals(7, levelAccessor.get(eObject));
+				assertFalse(countAccessor.isSet(eObject));
+
+				countAccessor.setInt(eObject, 42);
+				totalAccessor.setLong(eObject, Long.MIN_VALUE);
+				ratioAccessor.setDouble(eObject, 0.5d);
+				activeAccessor.setBoolean(eObject, true);
+				nextAccessor.set(eObject, eObject);
+
+				assertEquals(42, eObject.eGet(count));
+				assertEquals(Long.MIN_VALUE, eObject.eGet(total));
+				assertEquals(0.5d, eObject.eGet(ratio));
+				assertEquals(true, eObject.eGet(active));
+				assertSame(eObject, eObject.eGet(next));
+				assertEquals(42, countAccessor.getInt(eObject));
+				assertEquals(Long.MIN_VALUE, totalAccessor.getLong(eObject));
+				assertEquals(0.5d, ratioAccessor.getDouble(eObject));
+				assertTrue(activeAccessor.getBoolean(eObject));
+				assertEquals(42, countAccessor.get(eObject));
+				assertSame(eObject, nextAccessor.get(eObject));
+				assertTrue(countAccessor.isSet(eObject));
+
+				countAccessor.unset(eObject);
+				nextAccessor.unset(eObject);
+				assertEquals(0, eObject.eGet(count));
+				assertEquals(null, eObject.eGet(next));
+			}
+		}
+	}
+
+	@Test
+	public void testBindingsOfRemovedPackageAreDropped() {
+		EPackage subPackage = EcoreFactory.eINSTANCE.createEPackage();
+		subPackage.setName("sub");
+		subPackage.setNsURI("http://test.org/access/sub");
+		subPackage.setNsPrefix("sub");
+		EClass sub = EcoreFactory.eINSTANCE.createEClass();
+		sub.setName("Sub");
+		sub.getESuperTypes().add(named);
+		subPackage.getEClassifiers().add(sub);
+		FeatureAccessor accessor = registry.getAccessor(name);
+		EObject eObject = new DynamicEObjectImpl(sub);
+		accessor.set(eObject, "sub");
+
+		registry.removeEPackage(subPackage);
+
+		assertSame(accessor, registry.getAccessor(name));
+		assertEquals("sub", accessor.get(eObject));
+	}
+
+	@Test
+	public void testStringAttribute() {
+		EObject eObject = EcoreUtil.create(both);
+		FeatureAccessor accessor = registry.getAccessor(name);
+
+		assertEquals(null, accessor.get(eObject));
+		accessor.set(eObject, "test");
+		assertEquals("test", accessor.get(eObject));
+		assertEquals("test", eObject.eGet(name));
+	}
+
+	@Test
+	public void testNotificationsAreSent() {
+		EObject eObject = EcoreUtil.create(counted);
+		List<Notification> notifications = new ArrayList<>();
+		eObject.eAdapters().add(new AdapterImpl() {
+			@Override
+			public void notifyChanged(Notification msg) {
+				notifications.add(msg);
+			}
+		});
+
+		registry.getAccessor(count).setInt(eObject, 5);
+		registry.getAccessor(active).set(eObject, Boolean.TRUE);
+
+		assertEquals(2, notifications.size());
+		assertSame(count, notifications.get(0).getFeature());
+		assertEquals(5, notifications.get(0).getNewIntValue());
+		assertSame(active, notifications.get(1).getFeature());
+	}
+
+	@Test
+	public void testFeatureOfOtherClass() {
+		EObject eObject = EcoreUtil.create(named);
+		FeatureAccessor accessor = registry.getAccessor(count);
+
+		assertThrows(IllegalArgumentException.class, () -> accessor.get(eObject));
+	}
+
+	@Test
+	public void testGeneratedFeature() {
+		FeatureAccessor accessor = registry.getAccessor(EcorePackage.Literals.ENAMED_ELEMENT__NAME);
+
+		assertEquals("Counted", accessor.get(counted));
+		accessor.set(named, "Renamed");
+		assertEquals("Renamed", named.getName());
+	}
+}
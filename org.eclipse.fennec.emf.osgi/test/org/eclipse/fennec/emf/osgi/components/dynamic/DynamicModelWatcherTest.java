@@ -0,0 +1,105 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.components.dynamic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the file watching of the {@link DynamicPackageLoader}
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class DynamicModelWatcherTest {
+
+	private static final long DEBOUNCE = 300;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	public void testRejectsNull() {
+		Path file = directory.resolve("model.ecore");
+		assertThrows(NullPointerException.class, () -> new DynamicModelWatcher(null, DEBOUNCE, () -> {}));
+		assertThrows(NullPointerException.class, () -> new DynamicModelWatcher(file, DEBOUNCE, null));
+	}
+
+	@Test
+	public void testChangesAreDebounced() throws Exception {
+		Path file = directory.resolve("model.ecore");
+		Files.writeString(file, "v0", StandardCharsets.UTF_8);
+		AtomicInteger calls = new AtomicInteger();
+		Semaphore changed = new Semaphore(0);
+		try (DynamicModelWatcher watcher = new DynamicModelWatcher(file, DEBOUNCE, () -> {
+			calls.incrementAndGet();
+			changed.release();
+		})) {
+			for (int i = 1; i <= 5; i++) {
+				Files.writeString(file, "v" + i, StandardCharsets.UTF_8);
+				Thread.sleep(20);
+			}
+			assertTrue(changed.tryAcquire(10, TimeUnit.SECONDS));
+			// give a second, unexpected callback the chance to happen
+			Thread.sleep(DEBOUNCE * 3);
+			assertEquals(1, calls.get());
+		}
+	}
+
+	@Test
+	public void testReplacedFileIsDetected() throws Exception {
+		Path file = directory.resolve("model.ecore");
+		Path other = directory.resolve("other.ecore");
+		Files.writeString(file, "v0", StandardCharsets.UTF_8);
+		Semaphore changed = new Semaphore(0);
+		AtomicInteger calls = new AtomicInteger();
+		try (DynamicModelWatcher watcher = new DynamicModelWatcher(file, DEBOUNCE, () -> {
+			calls.incrementAndGet();
+			changed.release();
+		})) {
+			// other files in the directory are ignored
+			Files.writeString(other, "other", StandardCharsets.UTF_8);
+			Thread.sleep(DEBOUNCE * 3);
+			assertEquals(0, calls.get());
+
+			Path temp = directory.resolve("model.ecore.tmp");
+			Files.writeString(temp, "v1", StandardCharsets.UTF_8);
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			assertTrue(changed.tryAcquire(10, TimeUnit.SECONDS));
+		}
+	}
+
+	@Test
+	public void testNoCallbackAfterClose() throws Exception {
+		Path file = directory.resolve("model.ecore");
+		Files.writeString(file, "v0", StandardCharsets.UTF_8);
+		AtomicInteger calls = new AtomicInteger();
+		DynamicModelWatcher watcher = new DynamicModelWatcher(file, DEBOUNCE, calls::incrementAndGet);
+		Files.writeString(file, "v1", StandardCharsets.UTF_8);
+		watcher.close();
+		Thread.sleep(DEBOUNCE * 3);
+		assertEquals(0, calls.get());
+	}
+}
@@ -0,0 +1,158 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.components.dynamic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.impl.EcoreResourceFactoryImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the {@link EcoreDirectoryScanner}
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class EcoreDirectoryScannerTest {
+
+	@TempDir
+	Path directory;
+
+	@BeforeEach
+	public void before() throws IOException {
+		// ext.ecore references base.ecore with a relative href
+		EPackage base = createEPackage("base");
+		EClass animal = createEClass(base, "Animal");
+		EPackage ext = createEPackage("ext");
+		EClass dog = createEClass(ext, "Dog");
+		dog.getESuperTypes().add(animal);
+
+		ResourceSet resourceSet = createResourceSet();
+		Path sub = Files.createDirectories(directory.resolve("sub"));
+		save(resourceSet, base, directory.resolve("base.ecore"));
+		save(resourceSet, ext, sub.resolve("ext.ecore"));
+		Files.writeString(directory.resolve("readme.txt"), "not an ecore");
+	}
+
+	private static ResourceSet createResourceSet() {
+		ResourceSet resourceSet = new ResourceSetImpl();
+		resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("ecore", new EcoreResourceFactoryImpl());
+		return resourceSet;
+	}
+
+	private static EPackage createEPackage(String name) {
+		EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setName(name);
+		ePackage.setNsURI("http://test.org/" + name);
+		ePackage.setNsPrefix(name);
+		return ePackage;
+	}
+
+	private static EClass createEClass(EPackage ePackage, String name) {
+		EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+		eClass.setName(name);
+		ePackage.getEClassifiers().add(eClass);
+		return eClass;
+	}
+
+	private static void save(ResourceSet resourceSet, EPackage ePackage, Path file) throws IOException {
+		Resource resource = resourceSet.createResource(URI.createFileURI(file.toAbsolutePath().toString()));
+		resource.getContents().add(ePackage);
+		resource.save(null);
+	}
+
+	private static void assertResolved(List<EPackage> packages) {
+		assertEquals(List.of("http://test.org/base", "http://test.org/ext"), packages.stream().map(EPackage::getNsURI).toList());
+		EClass animal = (EClass) packages.get(0).getEClassifier("Animal");
+		EClass dog = (EClass) packages.get(1).getEClassifier("Dog");
+		EClass superType = dog.getESuperTypes().get(0);
+		assertFalse(superType.eIsProxy());
+		assertSame(animal, superType);
+		assertEquals(URI.createURI("http://test.org/ext"), dog.eResource().getURI());
+	}
+
+	@Test
+	public void testLoadDirectory() throws IOException {
+		ResourceSet resourceSet = createResourceSet();
+		List<EPackage> packages = EcoreDirectoryScanner.loadPackages(directory, "**.ecore", resourceSet, 2);
+
+		assertResolved(packages);
+		assertTrue(resourceSet.getResources().isEmpty());
+	}
+
+	@Test
+	public void testGlobFiltersFiles() throws IOException {
+		List<EPackage> packages = EcoreDirectoryScanner.loadPackages(directory, "*.ecore", createResourceSet(), 0);
+
+		assertEquals(1, packages.size());
+		assertEquals("base", packages.get(0).getName());
+	}
+
+	@Test
+	public void testLoadJar() throws IOException {
+		Path jar = directory.resolve("models.jar");
+		try (OutputStream out = Files.newOutputStream(jar); ZipOutputStream zip = new ZipOutputStream(out)) {
+			zip.putNextEntry(new ZipEntry("model/base.ecore"));
+			zip.write(Files.readAllBytes(directory.resolve("base.ecore")));
+			zip.closeEntry();
+			zip.putNextEntry(new ZipEntry("model/sub/ext.ecore"));
+			zip.write(Files.readAllBytes(directory.resolve("sub/ext.ecore")));
+			zip.closeEntry();
+		}
+
+		List<EPackage> packages = EcoreDirectoryScanner.loadPackages(jar, "model/**.ecore", createResourceSet(), 4);
+
+		assertResolved(packages);
+	}
+
+	@Test
+	public void testNoMatches() throws IOException {
+		assertTrue(EcoreDirectoryScanner.loadPackages(directory, "**.xcore", createResourceSet(), 0).isEmpty());
+	}
+
+	@Test
+	public void testInvalidLocation() {
+		Path missing = directory.resolve("missing");
+		assertThrows(IOException.class, () -> EcoreDirectoryScanner.loadPackages(missing, "**.ecore", createResourceSet(), 0));
+	}
+
+	@Test
+	public void testBrokenFileIsSkipped() throws IOException {
+		Files.writeString(directory.resolve("broken.ecore"), "<this is not xml");
+
+		List<EPackage> packages = EcoreDirectoryScanner.loadPackages(directory, "**.ecore", createResourceSet(), 0);
+
+		assertResolved(packages);
+	}
+}
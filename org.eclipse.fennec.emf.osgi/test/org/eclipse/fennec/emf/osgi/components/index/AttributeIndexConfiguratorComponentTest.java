@@ -0,0 +1,115 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.components.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+
+import org.eclipse.emf.ecore.EAnnotation;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.impl.EPackageRegistryImpl;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.fennec.emf.osgi.AttributeIndex;
+import org.eclipse.fennec.emf.osgi.AttributeIndex.Type;
+import org.eclipse.fennec.emf.osgi.AttributeIndexProvider;
+import org.eclipse.fennec.emf.osgi.components.index.AttributeIndexConfiguratorComponent.IndexDeclaration;
+import org.eclipse.fennec.emf.osgi.constants.EMFNamespaces;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the declarations of the {@link AttributeIndexConfiguratorComponent}
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class AttributeIndexConfiguratorComponentTest {
+
+	private static final String NS_URI = "http://test.org/person";
+
+	private EPackage ePackage;
+	private EClass person;
+	private EAttribute name;
+	private EAttribute email;
+
+	@BeforeEach
+	public void before() {
+		ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setName("person");
+		ePackage.setNsURI(NS_URI);
+		ePackage.setNsPrefix("person");
+		person = EcoreFactory.eINSTANCE.createEClass();
+		person.setName("Person");
+		ePackage.getEClassifiers().add(person);
+		name = EcoreFactory.eINSTANCE.createEAttribute();
+		name.setName("name");
+		name.setEType(EcorePackage.Literals.ESTRING);
+		email = EcoreFactory.eINSTANCE.createEAttribute();
+		email.setName("email");
+		email.setEType(EcorePackage.Literals.ESTRING);
+		person.getEStructuralFeatures().addAll(List.of(name, email));
+		EAnnotation annotation = EcoreFactory.eINSTANCE.createEAnnotation();
+		annotation.setSource(EMFNamespaces.EMF_INDEX_ANNOTATION_SOURCE);
+		annotation.getDetails().put(EMFNamespaces.EMF_INDEX_ANNOTATION_TYPE, "sorted");
+		name.getEAnnotations().add(annotation);
+	}
+
+	@Test
+	public void testAnnotatedIndexes() {
+		List<IndexDeclaration> declarations = AttributeIndexConfiguratorComponent.findAnnotatedIndexes(ePackage);
+		assertEquals(List.of(new IndexDeclaration(person, name, Type.SORTED)), declarations);
+	}
+
+	@Test
+	public void testParseDeclaration() {
+		EPackage.Registry registry = new EPackageRegistryImpl();
+		registry.put(NS_URI, ePackage);
+
+		assertEquals(new IndexDeclaration(person, email, Type.HASH), AttributeIndexConfiguratorComponent.parseDeclaration(NS_URI + "#Person.email", registry));
+		assertEquals(new IndexDeclaration(person, email, Type.SORTED), AttributeIndexConfiguratorComponent.parseDeclaration(NS_URI + "#Person.email:sorted", registry));
+		assertNull(AttributeIndexConfiguratorComponent.parseDeclaration(NS_URI + "#Person.email:btree", registry));
+		assertNull(AttributeIndexConfiguratorComponent.parseDeclaration(NS_URI + "#Person.age", registry));
+		assertNull(AttributeIndexConfiguratorComponent.parseDeclaration("http://test.org/unknown#Person.email", registry));
+		assertNull(AttributeIndexConfiguratorComponent.parseDeclaration("Person.email", registry));
+	}
+
+	@Test
+	public void testConfigureResourceSet() {
+		AttributeIndexConfiguratorComponent configurator = new AttributeIndexConfiguratorComponent();
+		configurator.addEPackage(ePackage);
+		ResourceSet resourceSet = new ResourceSetImpl();
+		resourceSet.getPackageRegistry().put(NS_URI, ePackage);
+		configurator.configureResourceSet(resourceSet);
+
+		AttributeIndexProvider provider = AttributeIndexProvider.getProvider(resourceSet);
+		assertNotNull(provider);
+		AttributeIndex index = provider.getIndex(name);
+		assertNotNull(index);
+		assertSame(Type.SORTED, index.getType());
+		assertNull(provider.getIndex(email));
+
+		configurator.removeEPackage(ePackage);
+		ResourceSet other = new ResourceSetImpl();
+		configurator.configureResourceSet(other);
+		assertNull(AttributeIndexProvider.getProvider(other));
+	}
+}
@@ -0,0 +1,371 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.FileURIHandlerImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the {@link ResourceJournal}
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class ResourceJournalTest {
+
+	private EPackage ePackage;
+	private EClass node;
+	private EAttribute name;
+	private EAttribute tags;
+	private EReference children;
+	private EReference link;
+	private EReference links;
+
+	@TempDir
+	File tempDir;
+
+	@BeforeEach
+	public void before() {
+		ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setName("journal");
+		ePackage.setNsURI("http://test.org/journal");
+		ePackage.setNsPrefix("journal");
+		node = EcoreFactory.eINSTANCE.createEClass();
+		node.setName("Node");
+		ePackage.getEClassifiers().add(node);
+		name = EcoreFactory.eINSTANCE.createEAttribute();
+		name.setName("name");
+		name.setEType(EcorePackage.Literals.ESTRING);
+		node.getEStructuralFeatures().add(name);
+		tags = EcoreFactory.eINSTANCE.createEAttribute();
+		tags.setName("tags");
+		tags.setEType(EcorePackage.Literals.EINT);
+		tags.setUpperBound(-1);
+		tags.setUnique(false);
+		node.getEStructuralFeatures().add(tags);
+		children = EcoreFactory.eINSTANCE.createEReference();
+		children.setName("children");
+		children.setEType(node);
+		children.setContainment(true);
+		children.setUpperBound(-1);
+		node.getEStructuralFeatures().add(children);
+		link = EcoreFactory.eINSTANCE.createEReference();
+		link.setName("link");
+		link.setEType(node);
+		node.getEStructuralFeatures().add(link);
+		links = EcoreFactory.eINSTANCE.createEReference();
+		links.setName("links");
+		links.setEType(node);
+		links.setUpperBound(-1);
+		node.getEStructuralFeatures().add(links);
+	}
+
+	private ResourceSet createResourceSet() {
+		ResourceSet resourceSet = new ResourceSetImpl();
+		resourceSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+		resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", new XMIResourceFactoryImpl());
+		return resourceSet;
+	}
+
+	private URI uri(String fileName) {
+		return URI.createFileURI(new File(tempDir, fileName + ".xmi").getAbsolutePath());
+	}
+
+	private EObject createNode(String nodeName, int childCount) {
+		EObject eObject = EcoreUtil.create(node);
+		eObject.eSet(name, nodeName);
+		for (int i = 0; i < childCount; i++) {
+			children(eObject).add(createNode(nodeName + "." + i, 0));
+		}
+		return eObject;
+	}
+
+	@SuppressWarnings("unchecked")
+	private EList<EObject> children(EObject eObject) {
+		return (EList<EObject>) eObject.eGet(children);
+	}
+
+	private ResourceJournal createJournal(String fileName, int childCount) throws IOException {
+		Resource resource = createResourceSet().createResource(uri(fileName));
+		resource.getContents().add(createNode("root", childCount));
+		ResourceJournal journal = new ResourceJournal(resource);
+		assertFalse(journal.save(null));
+		return journal;
+	}
+
+	private ResourceJournal loadJournal(String fileName) throws IOException {
+		ResourceJournal journal = new ResourceJournal(createResourceSet().createResource(uri(fileName)));
+		journal.load(null);
+		return journal;
+	}
+
+	private void assertReplayed(ResourceJournal journal, String fileName) throws IOException {
+		ResourceJournal loaded = loadJournal(fileName);
+		assertTrue(EcoreUtil.equals(journal.getResource().getContents(), loaded.getResource().getContents()));
+		loaded.close();
+	}
+
+	@Test
+	public void testAttributeChangesAreAppended() throws IOException {
+		ResourceJournal journal = createJournal("attributes", 1000);
+		long baseSize = Files.size(Path.of(uri("attributes").toFileString()));
+		EObject root = journal.getResource().getContents().get(0);
+		children(root).get(500).eSet(name, "changed");
+		children(root).get(10).eSet(tags, List.of(1, 2, 2));
+		children(root).get(11).eUnset(name);
+
+		assertTrue(journal.save(null));
+		assertTrue(journal.getJournalSize() > 0);
+		assertTrue(journal.getJournalSize() < baseSize / 100, "Journal of size " + journal.getJournalSize());
+		assertEquals(baseSize, Files.size(Path.of(uri("attributes").toFileString())));
+		assertTrue(journal.save(null));
+
+		ResourceJournal loaded = loadJournal("attributes");
+		EObject loadedRoot = loaded.getResource().getContents().get(0);
+		assertEquals("changed", children(loadedRoot).get(500).eGet(name));
+		assertEquals(List.of(1, 2, 2), children(loadedRoot).get(10).eGet(tags));
+		assertFalse(children(loadedRoot).get(11).eIsSet(name));
+		assertFalse(loaded.isFullSaveRequired());
+
+		// the loaded journal continues the journal
+		children(loadedRoot).get(0).eSet(name, "again");
+		assertTrue(loaded.save(null));
+		assertEquals("again", children(loadJournal("attributes").getResource().getContents().get(0)).get(0).eGet(name));
+	}
+
+	@Test
+	public void testStructuralChanges() throws IOException {
+		ResourceJournal journal = createJournal("structure", 5);
+		Resource resource = journal.getResource();
+		EObject root = resource.getContents().get(0);
+		EList<EObject> rootChildren = children(root);
+
+		EObject added = createNode("added", 3);
+		added.eSet(link, rootChildren.get(1));
+		children(added).get(0).eSet(link, added);
+		rootChildren.add(2, added);
+		rootChildren.remove(4);
+		rootChildren.move(0, 3);
+		resource.getContents().add(createNode("second", 2));
+		rootChildren.get(0).eSet(link, resource.getContents().get(1));
+		@SuppressWarnings("unchecked")
+		EList<EObject> rootLinks = (EList<EObject>) root.eGet(links);
+		rootLinks.addAll(List.of(rootChildren.get(2), added, children(added).get(2)));
+		rootChildren.removeAll(List.of(rootChildren.get(1), rootChildren.get(4)));
+		assertTrue(journal.save(null));
+
+		children(added).remove(0);
+		children(resource.getContents().get(1)).clear();
+		rootLinks.remove(0);
+		assertTrue(journal.save(null));
+		assertReplayed(journal, "structure");
+	}
+
+	@Test
+	public void testListChangesAreDeltas() throws IOException {
+		ResourceJournal journal = createJournal("lists", 200);
+		EObject root = journal.getResource().getContents().get(0);
+		EList<EObject> rootChildren = children(root);
+		@SuppressWarnings("unchecked")
+		EList<EObject> rootLinks = (EList<EObject>) root.eGet(links);
+		@SuppressWarnings("unchecked")
+		EList<Integer> rootTags = (EList<Integer>) root.eGet(tags);
+		rootLinks.addAll(rootChildren);
+		for (int i = 0; i < 200; i++) {
+			rootTags.add(Integer.valueOf(i % 10));
+		}
+		assertTrue(journal.save(null));
+		long size = journal.getJournalSize();
+
+		// the changes are recorded by position, not with all values of the lists
+		rootLinks.remove(7);
+		rootLinks.move(0, 10);
+		rootLinks.set(3, rootChildren.get(7));
+		rootLinks.add(150, journal.getResource().getContents().get(0));
+		rootLinks.removeAll(List.of(rootChildren.get(20), rootChildren.get(30)));
+		rootTags.add(0, Integer.valueOf(42));
+		rootTags.remove(100);
+		rootTags.move(5, 0);
+		assertTrue(journal.save(null));
+		assertTrue(journal.getJournalSize() - size < 200, "Journal grew by " + (journal.getJournalSize() - size));
+		assertReplayed(journal, "lists");
+
+		rootTags.clear();
+		assertTrue(journal.save(null));
+		assertReplayed(journal, "lists");
+	}
+
+	@Test
+	public void testUnknownBaseStampIsRefused() throws IOException {
+		ResourceSet resourceSet = createResourceSet();
+		// a URI handler, that doesn't know the time stamp and length of the base document
+		resourceSet.getURIConverter().getURIHandlers().add(0, new FileURIHandlerImpl() {
+			@Override
+			public Map<String, ?> getAttributes(URI uri, Map<?, ?> options) {
+				return Map.of();
+			}
+		});
+		Resource resource = resourceSet.createResource(uri("unknown"));
+		resource.getContents().add(createNode("root", 2));
+		ResourceJournal journal = new ResourceJournal(resource);
+		assertFalse(journal.save(null));
+		EObject root = resource.getContents().get(0);
+		children(root).get(0).eSet(name, "saved");
+		assertFalse(journal.save(null));
+		assertFalse(new File(journal.getJournalURI().toFileString()).exists());
+
+		Map<String, Object> options = Map.of(ResourceJournal.OPTION_ACCEPT_UNKNOWN_BASE_STAMP, Boolean.TRUE);
+		children(root).get(1).eSet(name, "journaled");
+		assertTrue(journal.save(options));
+		assertTrue(new File(journal.getJournalURI().toFileString()).exists());
+
+		// the journal of an unknown base is only replayed with the option
+		ResourceJournal refused = loadJournal("unknown");
+		EObject refusedRoot = refused.getResource().getContents().get(0);
+		assertEquals("saved", children(refusedRoot).get(0).eGet(name));
+		assertEquals("root.1", children(refusedRoot).get(1).eGet(name));
+		assertTrue(refused.isFullSaveRequired());
+		refused.close();
+
+		ResourceJournal accepted = new ResourceJournal(createResourceSet().createResource(uri("unknown")));
+		assertEquals(1, accepted.load(options));
+		assertEquals("journaled", children(accepted.getResource().getContents().get(0)).get(1).eGet(name));
+	}
+
+	@Test
+	public void testMovedObjectKeepsIdentity() throws IOException {
+		ResourceJournal journal = createJournal("move", 3);
+		EObject root = journal.getResource().getContents().get(0);
+		EObject moved = children(root).get(0);
+		children(moved).add(createNode("grandchild", 0));
+		EObject target = children(root).get(2);
+		root.eSet(link, children(moved).get(0));
+		assertTrue(journal.save(null));
+		long size = journal.getJournalSize();
+
+		// the move is recorded by position, not by content
+		children(target).add(children(moved).get(0));
+		assertTrue(journal.save(null));
+		assertTrue(journal.getJournalSize() - size < 40);
+
+		ResourceJournal loaded = loadJournal("move");
+		EObject loadedRoot = loaded.getResource().getContents().get(0);
+		EObject loadedTarget = children(loadedRoot).get(2);
+		assertEquals(1, children(loadedTarget).size());
+		assertSame(children(loadedTarget).get(0), loadedRoot.eGet(link));
+	}
+
+	@Test
+	public void testReaddRequiresFullSave() throws IOException {
+		ResourceJournal journal = createJournal("readd", 3);
+		EObject root = journal.getResource().getContents().get(0);
+		EObject removedChild = children(root).remove(0);
+		removedChild.eSet(name, "changed while removed");
+		children(root).add(removedChild);
+		assertTrue(journal.isFullSaveRequired());
+		assertFalse(journal.save(null));
+		assertEquals(0, journal.getJournalSize());
+		assertFalse(new File(journal.getJournalURI().toFileString()).exists());
+		assertReplayed(journal, "readd");
+	}
+
+	@Test
+	public void testCompaction() throws IOException {
+		Resource resource = createResourceSet().createResource(uri("compact"));
+		resource.getContents().add(createNode("root", 10));
+		ResourceJournal journal = new ResourceJournal(resource, 200);
+		journal.save(null);
+		EObject root = resource.getContents().get(0);
+		boolean compacted = false;
+		for (int i = 0; i < 20 && !compacted; i++) {
+			children(root).get(i % 10).eSet(name, "name" + i);
+			compacted = !journal.save(null);
+		}
+		assertTrue(compacted);
+		assertEquals(0, journal.getJournalSize());
+		assertReplayed(journal, "compact");
+	}
+
+	@Test
+	public void testIncompleteBatchIsIgnored() throws IOException {
+		ResourceJournal journal = createJournal("incomplete", 2);
+		EObject root = journal.getResource().getContents().get(0);
+		children(root).get(0).eSet(name, "first");
+		journal.save(null);
+		children(root).get(1).eSet(name, "second");
+		journal.save(null);
+
+		Path path = Path.of(journal.getJournalURI().toFileString());
+		byte[] bytes = Files.readAllBytes(path);
+		Files.write(path, Arrays.copyOf(bytes, bytes.length - 2));
+
+		ResourceJournal loaded = loadJournal("incomplete");
+		EObject loadedRoot = loaded.getResource().getContents().get(0);
+		assertEquals("first", children(loadedRoot).get(0).eGet(name));
+		assertEquals("root.1", children(loadedRoot).get(1).eGet(name));
+		assertTrue(loaded.isFullSaveRequired());
+		assertFalse(loaded.save(null));
+		assertFalse(Files.exists(path));
+	}
+
+	@Test
+	public void testStaleJournalIsIgnored() throws IOException {
+		ResourceJournal journal = createJournal("stale", 2);
+		Resource resource = journal.getResource();
+		EObject root = resource.getContents().get(0);
+		children(root).get(0).eSet(name, "journaled");
+		journal.save(null);
+		// saved without the journal
+		root.eSet(name, "saved with more content");
+		resource.save(null);
+
+		ResourceJournal loaded = loadJournal("stale");
+		EObject loadedRoot = loaded.getResource().getContents().get(0);
+		assertEquals("saved with more content", loadedRoot.eGet(name));
+		assertEquals("journaled", children(loadedRoot).get(0).eGet(name));
+		assertTrue(loaded.isFullSaveRequired());
+
+		// the journal detects the save as well
+		children(root).get(1).eSet(name, "changed");
+		assertFalse(journal.save(null));
+	}
+}
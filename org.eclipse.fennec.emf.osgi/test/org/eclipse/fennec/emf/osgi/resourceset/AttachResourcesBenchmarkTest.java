@@ -0,0 +1,79 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.resourceset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.fennec.emf.osgi.Benchmark;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Benchmark of {@link HughDataResourceSetImpl#attachResources(java.util.Collection)} against adding
+ * {@value #RESOURCE_COUNT} resources one by one and with <code>addAll</code>. Results are logged, not asserted.
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+@Tag("perf")
+class AttachResourcesBenchmarkTest {
+
+	private static final int RESOURCE_COUNT = 100_000;
+	private static final int ROUNDS = 3;
+
+	private final Benchmark benchmark = new Benchmark(AttachResourcesBenchmarkTest.class, 0, ROUNDS);
+
+	/** The untimed input of a round */
+	private record Input(HughDataResourceSetImpl resourceSet, List<Resource> resources) {
+	}
+
+	private static List<Resource> createResources() {
+		List<Resource> resources = new ArrayList<>(RESOURCE_COUNT);
+		for (int i = 0; i < RESOURCE_COUNT; i++) {
+			resources.add(new ResourceImpl(URI.createURI("test://bench/" + i)));
+		}
+		return resources;
+	}
+
+	private long measure(String name, boolean suppress, BiConsumer<HughDataResourceSetImpl, List<Resource>> adder)
+			throws Exception {
+		long best = benchmark.best(() -> {
+			HughDataResourceSetImpl resourceSet = new HughDataResourceSetImpl();
+			resourceSet.setSuppressNotification(suppress);
+			return new Input(resourceSet, createResources());
+		}, input -> adder.accept(input.resourceSet(), input.resources()));
+		benchmark.report("%-28s %8.1f ms", name, Benchmark.millis(best));
+		return best;
+	}
+
+	@Test
+	void compareBulkAdd() throws Exception {
+		for (boolean suppress : new boolean[] { false, true }) {
+			String mode = suppress ? " (suppressed)" : "";
+			long single = measure("add" + mode, suppress, (rs, resources) -> resources.forEach(rs.getResources()::add));
+			measure("addAll" + mode, suppress, (rs, resources) -> rs.getResources().addAll(resources));
+			long bulk = measure("attachResources" + mode, suppress, HughDataResourceSetImpl::attachResources);
+			benchmark.report("attachResources%s takes %.1f%% of the single add time", mode, 100.0d * bulk / single);
+		}
+		HughDataResourceSetImpl resourceSet = new HughDataResourceSetImpl();
+		resourceSet.attachResources(createResources());
+		assertEquals(RESOURCE_COUNT, resourceSet.getResources().size());
+	}
+}
@@ -0,0 +1,280 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.resourceset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.fennec.emf.osgi.AttributeIndex;
+import org.eclipse.fennec.emf.osgi.AttributeIndex.Type;
+import org.eclipse.fennec.emf.osgi.AttributeIndexProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link AttributeIndexSupport} with plain and {@link HughDataResourceSetImpl} resource sets
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class AttributeIndexTest {
+
+	private EClass person;
+	private EClass employee;
+	private EAttribute name;
+	private EAttribute age;
+	private EAttribute tags;
+
+	@BeforeEach
+	public void before() {
+		EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setName("index");
+		ePackage.setNsURI("http://test.org/index");
+		ePackage.setNsPrefix("index");
+		person = EcoreFactory.eINSTANCE.createEClass();
+		person.setName("Person");
+		name = addAttribute(person, "name", EcorePackage.Literals.ESTRING);
+		age = addAttribute(person, "age", EcorePackage.Literals.EINT);
+		tags = addAttribute(person, "tags", EcorePackage.Literals.ESTRING);
+		tags.setUpperBound(-1);
+		tags.setUnique(false);
+		employee = EcoreFactory.eINSTANCE.createEClass();
+		employee.setName("Employee");
+		employee.getESuperTypes().add(person);
+		ePackage.getEClassifiers().addAll(List.of(person, employee));
+	}
+
+	private static EAttribute addAttribute(EClass eClass, String name, EClassifier type) {
+		EAttribute attribute = EcoreFactory.eINSTANCE.createEAttribute();
+		attribute.setName(name);
+		attribute.setEType(type);
+		eClass.getEStructuralFeatures().add(attribute);
+		return attribute;
+	}
+
+	private EObject createPerson(EClass eClass, String personName, int personAge) {
+		EObject eObject = EcoreUtil.create(eClass);
+		eObject.eSet(name, personName);
+		eObject.eSet(age, personAge);
+		return eObject;
+	}
+
+	private static Resource addResource(ResourceSet resourceSet, EObject... contents) {
+		Resource resource = new ResourceImpl(URI.createURI("test://" + resourceSet.getResources().size()));
+		resource.getContents().addAll(List.of(contents));
+		resourceSet.getResources().add(resource);
+		return resource;
+	}
+
+	@Test
+	public void testHashIndex() {
+		ResourceSet resourceSet = new ResourceSetImpl();
+		EObject anna = createPerson(person, "Anna", 30);
+		EObject bob = createPerson(employee, "Bob", 40);
+		addResource(resourceSet, anna, bob);
+
+		AttributeIndexProvider provider = AttributeIndexSupport.install(resourceSet);
+		assertSame(provider, AttributeIndexProvider.getProvider(resourceSet));
+		AttributeIndex index = provider.addIndex(person, name, Type.HASH);
+		assertSame(index, provider.getIndex(name));
+
+		assertEquals(List.of(anna), index.find("Anna"));
+		assertEquals(List.of(bob), index.find("Bob"));
+		assertTrue(index.find("Carl").isEmpty());
+		assertThrows(UnsupportedOperationException.class, () -> index.findRange("A", "C"));
+		assertThrows(UnsupportedOperationException.class, () -> index.findPrefix("A"));
+
+		bob.eSet(name, "Anna");
+		assertEquals(Set.of(anna, bob), Set.copyOf(index.find("Anna")));
+		assertEquals(2, index.size());
+		assertEquals(1, index.getKeyCount());
+
+		EObject carl = createPerson(person, "Carl", 50);
+		addResource(resourceSet, carl);
+		assertEquals(List.of(carl), index.find("Carl"));
+
+		EcoreUtil.remove(anna);
+		assertEquals(List.of(bob), index.find("Anna"));
+		assertTrue(index.getEstimatedMemory() > 0);
+		assertTrue(index.getEstimatedBytesPerEntry() > 0);
+	}
+
+	@Test
+	public void testSortedIndex() {
+		ResourceSet resourceSet = new ResourceSetImpl();
+		EObject anna = createPerson(person, "Anna", 30);
+		EObject andy = createPerson(person, "Andy", 20);
+		EObject bob = createPerson(employee, "Bob", 40);
+		addResource(resourceSet, anna, andy, bob);
+
+		AttributeIndexProvider provider = AttributeIndexSupport.install(resourceSet);
+		AttributeIndex ages = provider.addIndex(person, age, Type.SORTED);
+		AttributeIndex names = provider.addIndex(person, name, Type.SORTED);
+
+		assertEquals(List.of(andy, anna), ages.findRange(20, 40));
+		assertEquals(List.of(anna, bob), ages.findRange(25, true, null, false));
+		assertEquals(List.of(andy, anna), names.findPrefix("An"));
+		assertTrue(names.findPrefix("C").isEmpty());
+		assertThrows(UnsupportedOperationException.class, () -> ages.findPrefix("2"));
+
+		andy.eSet(age, 45);
+		assertEquals(List.of(bob, andy), ages.findRange(40, null));
+	}
+
+	@Test
+	public void testManyValuedAttribute() {
+		ResourceSet resourceSet = new ResourceSetImpl();
+		EObject anna = createPerson(person, "Anna", 30);
+		addResource(resourceSet, anna);
+		AttributeIndex index = AttributeIndexSupport.install(resourceSet).addIndex(person, tags, Type.HASH);
+
+		@SuppressWarnings("unchecked")
+		EList<String> values = (EList<String>) anna.eGet(tags);
+		values.addAll(List.of("a", "b", "a"));
+		assertEquals(List.of(anna), index.find("a"));
+		assertEquals(List.of(anna), index.find("b"));
+
+		values.remove(0);
+		assertEquals(List.of(anna), index.find("a"));
+		values.remove("a");
+		assertTrue(index.find("a").isEmpty());
+	}
+
+	@Test
+	public void testReplaceAndRemoveIndex() {
+		ResourceSet resourceSet = new ResourceSetImpl();
+		Resource resource = addResource(resourceSet, createPerson(person, "Anna", 30));
+		AttributeIndexProvider provider = AttributeIndexSupport.install(resourceSet);
+
+		AttributeIndex hash = provider.addIndex(person, name, Type.HASH);
+		assertSame(hash, provider.addIndex(person, name, Type.HASH));
+		AttributeIndex sorted = provider.addIndex(person, name, Type.SORTED);
+		assertEquals(Type.SORTED, sorted.getType());
+		assertSame(sorted, provider.addIndex(person, name, Type.HASH));
+		assertEquals(1, provider.getIndexes().size());
+		assertEquals(1, sorted.find("Anna").size());
+
+		assertTrue(provider.removeIndex(sorted));
+		assertNull(provider.getIndex(person, name));
+		assertTrue(resource.getContents().get(0).eAdapters().isEmpty());
+		assertThrows(IllegalArgumentException.class, () -> provider.addIndex(employee, EcorePackage.Literals.ENAMED_ELEMENT__NAME, Type.HASH));
+	}
+
+	@Test
+	public void testUnrelatedResourcesAreNotObserved() {
+		EClass note = EcoreFactory.eINSTANCE.createEClass();
+		note.setName("Note");
+		addAttribute(note, "text", EcorePackage.Literals.ESTRING);
+		person.getEPackage().getEClassifiers().add(note);
+		ResourceSet resourceSet = new ResourceSetImpl();
+		AttributeIndex index = AttributeIndexSupport.install(resourceSet).addIndex(person, name, Type.HASH);
+		EObject unrelated = EcoreUtil.create(note);
+		Resource resource = addResource(resourceSet, unrelated);
+		assertFalse(isObserved(unrelated));
+
+		EObject anna = createPerson(employee, "Anna", 30);
+		resource.getContents().add(anna);
+		assertTrue(isObserved(unrelated));
+		assertEquals(List.of(anna), index.find("Anna"));
+	}
+
+	@Test
+	public void testSubTypesFromRegisteredPackages() {
+		EPackage folders = EcoreFactory.eINSTANCE.createEPackage();
+		folders.setName("folders");
+		folders.setNsURI("http://test.org/folders");
+		EClass item = EcoreFactory.eINSTANCE.createEClass();
+		item.setName("Item");
+		EClass folder = EcoreFactory.eINSTANCE.createEClass();
+		folder.setName("Folder");
+		EReference items = EcoreFactory.eINSTANCE.createEReference();
+		items.setName("items");
+		items.setEType(item);
+		items.setContainment(true);
+		items.setUpperBound(-1);
+		folder.getEStructuralFeatures().add(items);
+		folders.getEClassifiers().addAll(List.of(item, folder));
+		// a third package joins the item and person hierarchies
+		EPackage mixed = EcoreFactory.eINSTANCE.createEPackage();
+		mixed.setName("mixed");
+		mixed.setNsURI("http://test.org/mixed");
+		EClass personItem = EcoreFactory.eINSTANCE.createEClass();
+		personItem.setName("PersonItem");
+		personItem.getESuperTypes().addAll(List.of(item, person));
+		mixed.getEClassifiers().add(personItem);
+
+		ResourceSet resourceSet = new ResourceSetImpl();
+		AttributeIndex index = AttributeIndexSupport.install(resourceSet).addIndex(person, name, Type.HASH);
+		EObject before = EcoreUtil.create(folder);
+		addResource(resourceSet, before);
+		assertFalse(isObserved(before));
+
+		// registering the package invalidates the cached decision
+		resourceSet.getPackageRegistry().put(mixed.getNsURI(), mixed);
+		EObject after = EcoreUtil.create(folder);
+		EObject anna = createPerson(personItem, "Anna", 30);
+		childrenOf(after, items).add(anna);
+		addResource(resourceSet, after);
+		assertTrue(isObserved(after));
+		assertEquals(List.of(anna), index.find("Anna"));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static EList<EObject> childrenOf(EObject eObject, EReference reference) {
+		return (EList<EObject>) eObject.eGet(reference);
+	}
+
+	private static boolean isObserved(EObject eObject) {
+		return eObject.eAdapters().stream().anyMatch(IndexingContentAdapter.class::isInstance);
+	}
+
+	@Test
+	public void testHughDataResourceSet() {
+		HughDataResourceSetImpl resourceSet = new HughDataResourceSetImpl();
+		AttributeIndex index = AttributeIndexSupport.install(resourceSet).addIndex(person, name, Type.HASH);
+		resourceSet.setSuppressNotification(true);
+		EObject anna = createPerson(person, "Anna", 30);
+		addResource(resourceSet, anna);
+		// the queued resource is indexed on query
+		assertEquals(List.of(anna), index.find("Anna"));
+
+		anna.eSet(name, "Hanna");
+		assertTrue(index.find("Anna").isEmpty());
+		assertEquals(List.of(anna), index.find("Hanna"));
+
+		resourceSet.getResources().clear();
+		assertEquals(0, index.size());
+	}
+}
@@ -0,0 +1,245 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.resourceset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.fennec.emf.osgi.ResourceLocks;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link DefaultResourceLocks}
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class DefaultResourceLocksTest {
+
+	private ResourceLocks locks;
+	private Resource a;
+	private Resource b;
+
+	@BeforeEach
+	public void before() {
+		locks = new DefaultResourceLocks();
+		a = new ResourceImpl(URI.createURI("test://locks/a"));
+		b = new ResourceImpl(URI.createURI("test://locks/b"));
+	}
+
+	@Test
+	public void testReadWrite() {
+		assertSame(locks.getLock(a), locks.getLock(a));
+		assertNotEquals(locks.getLock(a), locks.getLock(b));
+		EObject eObject = EcoreFactory.eINSTANCE.createEObject();
+		assertTrue(locks.withWrite(a, () -> a.getContents().add(eObject)));
+		assertEquals(1, (int) locks.withRead(a, () -> a.getContents().size()));
+		assertEquals(1, (int) locks.withOptimisticRead(a, () -> a.getContents().size()));
+		assertFalse(locks.getLock(a).isReadLocked());
+		assertFalse(locks.getLock(a).isWriteLocked());
+	}
+
+	@Test
+	public void testWritersOfDifferentResources() throws Exception {
+		CountDownLatch locked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<?> writer = executor.submit(() -> locks.withWrite(a, () -> {
+				locked.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return null;
+			}));
+			assertTrue(locked.await(5, TimeUnit.SECONDS));
+			assertEquals(0, locks.getLock(a).tryWriteLock());
+			assertEquals(0, locks.getLock(a).tryReadLock());
+			assertEquals("b", locks.withWrite(b, () -> "b"));
+			release.countDown();
+			writer.get(5, TimeUnit.SECONDS);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testOptimisticReadRetries() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			String result = locks.withOptimisticRead(a, () -> {
+				if (calls.incrementAndGet() == 1) {
+					// a writer interferes with the first, unlocked read
+					try {
+						executor.submit(() -> locks.withWrite(a, () -> null)).get();
+					} catch (Exception e) {
+						throw new IllegalStateException(e);
+					}
+					throw new IndexOutOfBoundsException();
+				}
+				assertTrue(locks.getLock(a).isReadLocked());
+				return "read";
+			});
+			assertEquals("read", result);
+			assertEquals(2, calls.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testMultipleResourcesInGlobalOrder() throws Exception {
+		// create the locks in the order b, a
+		locks.getLock(b);
+		int threads = 4;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		AtomicInteger counter = new AtomicInteger();
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				List<Resource> resources = t % 2 == 0 ? List.of(a, b) : List.of(b, a, b);
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 10_000; i++) {
+						locks.withWrite(resources, counter::incrementAndGet);
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(threads * 10_000, counter.get());
+		assertNull(locks.withRead(List.of(a, b), () -> {
+			assertTrue(locks.getLock(a).isReadLocked());
+			assertTrue(locks.getLock(b).isReadLocked());
+			return null;
+		}));
+		assertFalse(locks.getLock(a).isReadLocked());
+		assertFalse(locks.getLock(b).isWriteLocked());
+	}
+
+	@Test
+	public void testSynchronizedResourceSetDetach() {
+		SynchronizedResourceSetImpl resourceSet = new SynchronizedResourceSetImpl();
+		Resource resource = new ResourceImpl(URI.createURI("test://locks/c"));
+		resourceSet.getResources().add(resource);
+		EObject eObject = EcoreFactory.eINSTANCE.createEObject();
+		resourceSet.getResourceLocks().withWrite(resource, () -> resource.getContents().add(eObject));
+
+		resourceSet.detachFromResource(eObject);
+		assertTrue(resource.getContents().isEmpty());
+		assertFalse(resourceSet.getResourceLocks().getLock(resource).isWriteLocked());
+	}
+
+	@Test
+	public void testReentryIsRejected() {
+		assertEquals("inner", locks.withWrite(a, () -> {
+			assertThrows(IllegalStateException.class, () -> locks.withRead(a, () -> null));
+			assertThrows(IllegalStateException.class, () -> locks.withWrite(List.of(b, a), () -> null));
+			assertFalse(locks.getLock(b).isWriteLocked());
+			return locks.withOptimisticRead(a, () -> "inner");
+		}));
+		assertFalse(locks.getLock(a).isWriteLocked());
+		assertEquals("again", locks.withRead(a, () -> "again"));
+	}
+
+	@Test
+	public void testNestedLocksAreRejected() throws Exception {
+		assertNull(locks.withWrite(a, () -> {
+			assertThrows(IllegalStateException.class, () -> locks.withWrite(b, () -> null));
+			assertThrows(IllegalStateException.class, () -> locks.withRead(b, () -> null));
+			assertThrows(IllegalStateException.class, () -> locks.withOptimisticRead(b, () -> null));
+			assertThrows(IllegalStateException.class, () -> locks.withRead(List.of(b), () -> null));
+			assertFalse(locks.getLock(b).isReadLocked());
+			assertFalse(locks.getLock(b).isWriteLocked());
+			return null;
+		}));
+
+		// two threads nesting in opposite order fail instead of deadlocking
+		CountDownLatch locked = new CountDownLatch(2);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (List<Resource> order : List.of(List.of(a, b), List.of(b, a))) {
+				results.add(executor.submit(() -> locks.withWrite(order.get(0), () -> {
+					locked.countDown();
+					try {
+						locked.await(5, TimeUnit.SECONDS);
+						locks.withWrite(order.get(1), () -> null);
+						return false;
+					} catch (IllegalStateException e) {
+						return true;
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return false;
+					}
+				})));
+			}
+			for (Future<Boolean> result : results) {
+				assertTrue(result.get(10, TimeUnit.SECONDS));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals("both", locks.withWrite(List.of(b, a), () -> "both"));
+	}
+
+	@Test
+	public void testSynchronizedResourceSetDemandLoadLocks() {
+		SynchronizedResourceSetImpl resourceSet = new SynchronizedResourceSetImpl();
+		AtomicBoolean writeLocked = new AtomicBoolean();
+		resourceSet.getResourceFactoryRegistry().getProtocolToFactoryMap().put("test", uri -> new ResourceImpl(uri) {
+			@Override
+			public void load(Map<?, ?> options) {
+				writeLocked.set(resourceSet.getResourceLocks().getLock(this).isWriteLocked());
+				setLoaded(true);
+			}
+		});
+		Resource loaded = resourceSet.getResource(URI.createURI("test://locks/d"), true);
+		assertTrue(loaded.isLoaded());
+		assertTrue(writeLocked.get());
+		assertFalse(resourceSet.getResourceLocks().getLock(loaded).isWriteLocked());
+
+		Resource unloaded = resourceSet.createResource(URI.createURI("test://locks/e"));
+		assertThrows(IllegalStateException.class, () -> resourceSet.getResourceLocks().withWrite(unloaded,
+				() -> resourceSet.getResource(unloaded.getURI(), true)));
+		assertFalse(unloaded.isLoaded());
+	}
+}
@@ -0,0 +1,246 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.resourceset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.fennec.emf.osgi.ExtentIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link ExtentIndex} of the {@link HughDataResourceSetImpl}
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class ExtentIndexTest {
+
+	private EClass node;
+	private EClass leaf;
+	private EClass other;
+	private EReference children;
+	private HughDataResourceSetImpl resourceSet;
+
+	@BeforeEach
+	public void before() {
+		EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setName("extent");
+		ePackage.setNsURI("http://test.org/extent");
+		ePackage.setNsPrefix("extent");
+		node = EcoreFactory.eINSTANCE.createEClass();
+		node.setName("Node");
+		children = EcoreFactory.eINSTANCE.createEReference();
+		children.setName("children");
+		children.setEType(node);
+		children.setContainment(true);
+		children.setUpperBound(-1);
+		node.getEStructuralFeatures().add(children);
+		leaf = EcoreFactory.eINSTANCE.createEClass();
+		leaf.setName("Leaf");
+		leaf.getESuperTypes().add(node);
+		other = EcoreFactory.eINSTANCE.createEClass();
+		other.setName("Other");
+		ePackage.getEClassifiers().addAll(List.of(node, leaf, other));
+		resourceSet = new HughDataResourceSetImpl();
+	}
+
+	private Resource createResource(String name, EObject... contents) {
+		Resource resource = new ResourceImpl(URI.createURI("test://" + name));
+		resource.getContents().addAll(List.of(contents));
+		return resource;
+	}
+
+	private static boolean isIndexed(Notifier notifier) {
+		return notifier.eAdapters().stream().anyMatch(IndexingContentAdapter.class::isInstance);
+	}
+
+	@SuppressWarnings("unchecked")
+	private EList<EObject> childrenOf(EObject parent) {
+		return (EList<EObject>) parent.eGet(children);
+	}
+
+	@Test
+	public void testDisabledByDefault() {
+		assertFalse(resourceSet.isUseExtentIndex());
+		assertNull(resourceSet.getExtentIndex());
+	}
+
+	@Test
+	public void testPopulateExistingContents() {
+		EObject root = EcoreUtil.create(node);
+		EObject child = EcoreUtil.create(leaf);
+		childrenOf(root).add(child);
+		resourceSet.getResources().add(createResource("a", root, EcoreUtil.create(other)));
+
+		resourceSet.setUseExtentIndex(true);
+		ExtentIndex index = resourceSet.getExtentIndex();
+		assertNotNull(index);
+
+		assertEquals(Set.of(root), Set.copyOf(index.getExtent(node, false)));
+		assertEquals(Set.of(root, child), Set.copyOf(index.getExtent(node)));
+		assertEquals(Set.of(child), Set.copyOf(index.getExtent(leaf)));
+		assertEquals(1, index.getExtent(other).size());
+		assertEquals(3, index.getExtent(EcorePackage.Literals.EOBJECT).size());
+		assertEquals(Set.of(node, leaf, other), index.getIndexedEClasses());
+	}
+
+	@Test
+	public void testIncrementalUpdates() {
+		resourceSet.setUseExtentIndex(true);
+		ExtentIndex index = resourceSet.getExtentIndex();
+		Collection<EObject> nodes = index.getExtent(node);
+		assertTrue(nodes.isEmpty());
+
+		EObject root = EcoreUtil.create(node);
+		Resource resource = createResource("a", root);
+		resourceSet.getResources().add(resource);
+		assertEquals(1, nodes.size());
+
+		EObject child = EcoreUtil.create(leaf);
+		childrenOf(root).add(child);
+		assertEquals(2, nodes.size());
+		assertTrue(nodes.contains(child));
+		assertFalse(index.getExtent(other).contains(child));
+
+		childrenOf(root).remove(child);
+		assertEquals(1, nodes.size());
+		assertTrue(index.getExtent(leaf).isEmpty());
+
+		resourceSet.getResources().remove(resource);
+		assertTrue(nodes.isEmpty());
+		// removed resources are not observed anymore
+		resource.getContents().add(EcoreUtil.create(node));
+		assertTrue(nodes.isEmpty());
+	}
+
+	@Test
+	public void testContainmentMove() {
+		resourceSet.setUseExtentIndex(true);
+		ExtentIndex index = resourceSet.getExtentIndex();
+		EObject first = EcoreUtil.create(node);
+		EObject second = EcoreUtil.create(node);
+		EObject child = EcoreUtil.create(leaf);
+		childrenOf(first).add(child);
+		resourceSet.getResources().add(createResource("a", first));
+		resourceSet.getResources().add(createResource("b", second));
+
+		childrenOf(second).add(child);
+		assertEquals(Set.of(child), Set.copyOf(index.getExtent(leaf)));
+		assertEquals(3, index.getExtent(node).size());
+	}
+
+	@Test
+	public void testSubTypeResolver() {
+		resourceSet.setUseExtentIndex(true);
+		ExtentIndex index = resourceSet.getExtentIndex();
+		resourceSet.getResources().add(createResource("a", EcoreUtil.create(node), EcoreUtil.create(leaf)));
+
+		index.setSubTypeResolver(eClass -> List.of());
+		assertEquals(1, index.getExtent(node).size());
+		index.setSubTypeResolver(eClass -> eClass == node ? List.of(leaf) : List.of());
+		assertEquals(2, index.getExtent(node).size());
+		index.setSubTypeResolver(null);
+		assertEquals(2, index.getExtent(node).size());
+	}
+
+	@Test
+	public void testBatchingWhileSuppressed() {
+		resourceSet.setUseExtentIndex(true);
+		ExtentIndexImpl index = (ExtentIndexImpl) resourceSet.getExtentIndex();
+		resourceSet.setSuppressNotification(true);
+		Resource first = createResource("a", EcoreUtil.create(node));
+		Resource second = createResource("b", EcoreUtil.create(node));
+		resourceSet.getResources().add(first);
+		resourceSet.getResources().add(second);
+		resourceSet.getResources().remove(second);
+		// queued, the adapter is not attached yet
+		assertFalse(isIndexed(first));
+
+		// a query applies the queued changes
+		assertEquals(1, index.getExtent(node).size());
+		assertFalse(isIndexed(second));
+
+		resourceSet.getResources().add(second);
+		resourceSet.setSuppressNotification(false);
+		assertTrue(isIndexed(second));
+		assertEquals(2, index.getExtent(node).size());
+
+		// changes within the contents are indexed directly, even while suppressed
+		resourceSet.setSuppressNotification(true);
+		childrenOf(first.getContents().get(0)).add(EcoreUtil.create(leaf));
+		assertEquals(1, index.getExtent(leaf).size());
+	}
+
+	@Test
+	public void testClear() {
+		resourceSet.setUseExtentIndex(true);
+		ExtentIndex index = resourceSet.getExtentIndex();
+		Collection<EObject> nodes = index.getExtent(node, false);
+		Resource resource = createResource("a", EcoreUtil.create(node), EcoreUtil.create(node));
+		resourceSet.getResources().add(resource);
+		assertEquals(2, nodes.size());
+
+		resourceSet.getResources().clear();
+		assertTrue(nodes.isEmpty());
+		// clearing does not walk the contents, the old adapter stays on the cleared resource, but does not report anymore
+		EObject first = resource.getContents().get(0);
+		assertTrue(isIndexed(resource));
+		assertTrue(isIndexed(first));
+		resource.getContents().add(EcoreUtil.create(node));
+		assertTrue(nodes.isEmpty());
+		// it drops off a notifier on its next notification
+		assertFalse(isIndexed(resource));
+		assertFalse(isIndexed(resource.getContents().get(2)));
+		assertTrue(isIndexed(first));
+		childrenOf(first).add(EcoreUtil.create(leaf));
+		assertTrue(nodes.isEmpty());
+		assertFalse(isIndexed(first));
+
+		resourceSet.getResources().add(createResource("b", EcoreUtil.create(node)));
+		assertEquals(1, nodes.size());
+	}
+
+	@Test
+	public void testDisable() {
+		resourceSet.setUseExtentIndex(true);
+		Resource resource = createResource("a", EcoreUtil.create(node));
+		resourceSet.getResources().add(resource);
+		assertTrue(isIndexed(resource));
+
+		resourceSet.setUseExtentIndex(false);
+		assertFalse(resourceSet.isUseExtentIndex());
+		assertFalse(isIndexed(resource));
+		assertFalse(isIndexed(resource.getContents().get(0)));
+	}
+}
@@ -0,0 +1,102 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.resourceset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the bulk attach of the {@link HughDataResourceSetImpl}
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class HughDataResourceSetImplTest {
+
+	private HughDataResourceSetImpl resourceSet;
+	private List<Notification> notifications;
+
+	@BeforeEach
+	public void before() {
+		resourceSet = new HughDataResourceSetImpl();
+		notifications = new ArrayList<>();
+		resourceSet.eAdapters().add(new AdapterImpl() {
+			@Override
+			public void notifyChanged(Notification msg) {
+				notifications.add(msg);
+			}
+		});
+	}
+
+	private static List<Resource> createResources(int count) {
+		List<Resource> resources = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			resources.add(new ResourceImpl(URI.createURI("test://bulk/" + i)));
+		}
+		return resources;
+	}
+
+	@Test
+	public void testAttachResources() {
+		List<Resource> resources = createResources(10);
+		Resource existing = resources.get(0);
+		resourceSet.getResources().add(existing);
+		notifications.clear();
+
+		List<Resource> batch = new ArrayList<>(resources);
+		batch.add(resources.get(3));
+		batch.add(null);
+		assertEquals(9, resourceSet.attachResources(batch));
+
+		assertEquals(resources, resourceSet.getResources());
+		assertEquals(1, notifications.size());
+		assertEquals(Notification.ADD_MANY, notifications.get(0).getEventType());
+		for (Resource resource : resources) {
+			assertSame(resourceSet, resource.getResourceSet());
+			assertSame(resource, resourceSet.getResource(resource.getURI(), false));
+		}
+		assertEquals(0, resourceSet.attachResources(resources));
+		assertThrows(NullPointerException.class, () -> resourceSet.attachResources(null));
+	}
+
+	@Test
+	public void testAttachResourcesSuppressed() {
+		resourceSet.setUseExtentIndex(true);
+		resourceSet.setSuppressNotification(true);
+		List<Resource> resources = createResources(3);
+		EObject eObject = EcoreFactory.eINSTANCE.createEObject();
+		resources.get(1).getContents().add(eObject);
+
+		assertEquals(3, resourceSet.attachResources(resources));
+		assertTrue(notifications.isEmpty());
+		assertEquals(3, resourceSet.getResources().size());
+		assertEquals(List.of(eObject), List.copyOf(resourceSet.getExtentIndex().getExtent(eObject.eClass())));
+		// duplicates are detected without the inverse resource set reference
+		assertEquals(0, resourceSet.attachResources(resources));
+	}
+}
@@ -0,0 +1,201 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.resourceset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.fennec.emf.osgi.InverseReferenceIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link InverseReferenceIndex} of the {@link HughDataResourceSetImpl}
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class InverseReferenceIndexTest {
+
+	private EClass node;
+	private EReference parent;
+	private EReference links;
+	private EReference children;
+	private HughDataResourceSetImpl resourceSet;
+
+	@BeforeEach
+	public void before() {
+		EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setName("graph");
+		ePackage.setNsURI("http://test.org/graph");
+		ePackage.setNsPrefix("graph");
+		node = EcoreFactory.eINSTANCE.createEClass();
+		node.setName("Node");
+		ePackage.getEClassifiers().add(node);
+		parent = addReference("parent", 1, false);
+		links = addReference("links", -1, false);
+		links.setUnique(false);
+		children = addReference("children", -1, true);
+		resourceSet = new HughDataResourceSetImpl();
+		resourceSet.setUseInverseReferenceIndex(true);
+	}
+
+	private EReference addReference(String name, int upperBound, boolean containment) {
+		EReference reference = EcoreFactory.eINSTANCE.createEReference();
+		reference.setName(name);
+		reference.setEType(node);
+		reference.setUpperBound(upperBound);
+		reference.setContainment(containment);
+		node.getEStructuralFeatures().add(reference);
+		return reference;
+	}
+
+	@SuppressWarnings("unchecked")
+	private EList<EObject> list(EObject eObject, EReference reference) {
+		return (EList<EObject>) eObject.eGet(reference);
+	}
+
+	private Resource addResource(EObject... contents) {
+		Resource resource = new ResourceImpl(URI.createURI("test://" + resourceSet.getResources().size()));
+		resource.getContents().addAll(List.of(contents));
+		resourceSet.getResources().add(resource);
+		return resource;
+	}
+
+	@Test
+	public void testPopulateAndQuery() {
+		resourceSet.setUseInverseReferenceIndex(false);
+		assertNull(resourceSet.getInverseReferenceIndex());
+		EObject target = EcoreUtil.create(node);
+		EObject first = EcoreUtil.create(node);
+		EObject second = EcoreUtil.create(node);
+		first.eSet(parent, target);
+		list(second, links).add(target);
+		list(target, children).add(EcoreUtil.create(node));
+		addResource(target, first, second);
+
+		resourceSet.setUseInverseReferenceIndex(true);
+		InverseReferenceIndex index = resourceSet.getInverseReferenceIndex();
+		assertEquals(Set.of(first, second), Set.copyOf(index.getReferencingObjects(target)));
+		assertEquals(2, index.getReferenceCount(target));
+		// containment references are not indexed
+		assertEquals(2, index.size());
+
+		Collection<EStructuralFeature.Setting> settings = index.getInverseReferences(target);
+		assertEquals(2, settings.size());
+		for (EStructuralFeature.Setting setting : settings) {
+			assertTrue(setting.getEObject() == first && setting.getEStructuralFeature() == parent
+					|| setting.getEObject() == second && setting.getEStructuralFeature() == links);
+		}
+	}
+
+	@Test
+	public void testIncrementalUpdates() {
+		InverseReferenceIndex index = resourceSet.getInverseReferenceIndex();
+		EObject target = EcoreUtil.create(node);
+		EObject other = EcoreUtil.create(node);
+		EObject source = EcoreUtil.create(node);
+		addResource(target, other, source);
+
+		source.eSet(parent, target);
+		assertEquals(List.of(source), List.copyOf(index.getReferencingObjects(target)));
+		source.eSet(parent, other);
+		assertTrue(index.getReferencingObjects(target).isEmpty());
+		assertEquals(1, index.getReferenceCount(other));
+		source.eUnset(parent);
+		assertEquals(0, index.size());
+
+		list(source, links).addAll(List.of(target, target, other));
+		assertEquals(2, index.getReferenceCount(target));
+		assertEquals(1, index.getReferencingObjects(target).size());
+		list(source, links).remove(target);
+		assertEquals(1, index.getReferenceCount(target));
+		list(source, links).clear();
+		assertEquals(0, index.size());
+	}
+
+	@Test
+	public void testSourceRemoved() {
+		InverseReferenceIndex index = resourceSet.getInverseReferenceIndex();
+		EObject target = EcoreUtil.create(node);
+		EObject container = EcoreUtil.create(node);
+		EObject source = EcoreUtil.create(node);
+		list(container, children).add(source);
+		source.eSet(parent, target);
+		Resource resource = addResource(container);
+		addResource(target);
+		assertEquals(1, index.getReferenceCount(target));
+
+		list(container, children).remove(source);
+		assertEquals(0, index.getReferenceCount(target));
+		list(container, children).add(source);
+		assertEquals(1, index.getReferenceCount(target));
+
+		resourceSet.getResources().remove(resource);
+		assertEquals(0, index.size());
+	}
+
+	@Test
+	public void testProxyResolve() {
+		InverseReferenceIndex index = resourceSet.getInverseReferenceIndex();
+		EObject target = EcoreUtil.create(node);
+		addResource(target);
+		EObject proxy = EcoreUtil.create(node);
+		((InternalEObject) proxy).eSetProxyURI(EcoreUtil.getURI(target));
+		EObject source = EcoreUtil.create(node);
+		source.eSet(parent, proxy);
+		addResource(source);
+		assertEquals(1, index.getReferenceCount(proxy));
+		assertEquals(0, index.getReferenceCount(target));
+
+		// resolving fires a RESOLVE notification
+		assertSame(target, source.eGet(parent, true));
+		assertEquals(0, index.getReferenceCount(proxy));
+		assertEquals(List.of(source), List.copyOf(index.getReferencingObjects(target)));
+	}
+
+	@Test
+	public void testBatchingAndClear() {
+		InverseReferenceIndex index = resourceSet.getInverseReferenceIndex();
+		EObject target = EcoreUtil.create(node);
+		EObject source = EcoreUtil.create(node);
+		source.eSet(parent, target);
+		resourceSet.setSuppressNotification(true);
+		addResource(target, source);
+		assertEquals(1, index.getReferenceCount(target));
+
+		resourceSet.getResources().clear();
+		assertEquals(0, index.size());
+		resourceSet.setSuppressNotification(false);
+		addResource(target, source);
+		assertEquals(1, index.size());
+	}
+}
@@ -0,0 +1,212 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.resourceset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.InternalEList;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the {@link ProxyPrefetchResolver}
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class ProxyPrefetchResolverTest {
+
+	private EPackage ePackage;
+	private EClass node;
+	private EReference next;
+	private EReference links;
+
+	@TempDir
+	File tempDir;
+
+	@BeforeEach
+	public void before() {
+		ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setName("graph");
+		ePackage.setNsURI("http://test.org/graph");
+		ePackage.setNsPrefix("graph");
+		node = EcoreFactory.eINSTANCE.createEClass();
+		node.setName("Node");
+		ePackage.getEClassifiers().add(node);
+		next = EcoreFactory.eINSTANCE.createEReference();
+		next.setName("next");
+		next.setEType(node);
+		node.getEStructuralFeatures().add(next);
+		links = EcoreFactory.eINSTANCE.createEReference();
+		links.setName("links");
+		links.setEType(node);
+		links.setUpperBound(-1);
+		node.getEStructuralFeatures().add(links);
+	}
+
+	private <T extends ResourceSet> T configure(T resourceSet) {
+		resourceSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+		resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", new XMIResourceFactoryImpl());
+		return resourceSet;
+	}
+
+	private URI uri(String name) {
+		return URI.createFileURI(new File(tempDir, name + ".xmi").getAbsolutePath());
+	}
+
+	/**
+	 * Saves a chain a -> b -> c -> d over the next reference, and links from a to c and d
+	 */
+	private void saveModel() throws IOException {
+		ResourceSet resourceSet = configure(new ResourceSetImpl());
+		EObject[] nodes = new EObject[4];
+		for (int i = 0; i < nodes.length; i++) {
+			nodes[i] = EcoreUtil.create(node);
+			resourceSet.createResource(uri(String.valueOf((char) ('a' + i)))).getContents().add(nodes[i]);
+		}
+		for (int i = 0; i < nodes.length - 1; i++) {
+			nodes[i].eSet(next, nodes[i + 1]);
+		}
+		list(nodes[0]).addAll(List.of(nodes[2], nodes[3]));
+		for (Resource resource : resourceSet.getResources()) {
+			resource.save(null);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private EList<EObject> list(EObject eObject) {
+		return (EList<EObject>) eObject.eGet(links);
+	}
+
+	private EObject root(ResourceSet resourceSet, String name) {
+		return resourceSet.getResource(uri(name), false).getContents().get(0);
+	}
+
+	private boolean isLoaded(ResourceSet resourceSet, String name) {
+		Resource resource = resourceSet.getResource(uri(name), false);
+		return resource != null && resource.isLoaded();
+	}
+
+	@Test
+	public void testCollectProxyURIs() throws IOException {
+		saveModel();
+		ResourceSet resourceSet = configure(new ResourceSetImpl());
+		Resource resource = resourceSet.getResource(uri("a"), true);
+
+		assertEquals(Set.of(uri("b"), uri("c"), uri("d")), ProxyPrefetchResolver.collectProxyURIs(resource));
+		assertEquals(1, resourceSet.getResources().size());
+	}
+
+	@Test
+	public void testResolveAllWithDepth() throws IOException {
+		saveModel();
+		ResourceSet resourceSet = configure(new ResourceSetImpl());
+		Resource resource = resourceSet.getResource(uri("b"), true);
+
+		int resolved = new ProxyPrefetchResolver(resourceSet, 1, 100, 4).resolveAll(resource);
+		assertEquals(1, resolved);
+		assertTrue(isLoaded(resourceSet, "c"));
+		assertFalse(isLoaded(resourceSet, "d"));
+		assertFalse(((EObject) root(resourceSet, "b").eGet(next, false)).eIsProxy());
+		assertTrue(((EObject) root(resourceSet, "c").eGet(next, false)).eIsProxy());
+
+		new ProxyPrefetchResolver(resourceSet).resolveAll(resourceSet.getResource(uri("c"), false));
+		assertTrue(isLoaded(resourceSet, "d"));
+		assertFalse(((EObject) root(resourceSet, "c").eGet(next, false)).eIsProxy());
+	}
+
+	@Test
+	public void testMaxResources() throws IOException {
+		saveModel();
+		ResourceSet resourceSet = configure(new ResourceSetImpl());
+		Resource resource = resourceSet.getResource(uri("a"), true);
+
+		List<Resource> loaded = new ProxyPrefetchResolver(resourceSet, 3, 2, 4).prefetch(List.of(resource));
+		assertEquals(2, loaded.size());
+		assertEquals(3, resourceSet.getResources().size());
+		// proxies are left untouched
+		assertTrue(((EObject) root(resourceSet, "a").eGet(next, false)).eIsProxy());
+	}
+
+	@Test
+	public void testLoadOption() throws IOException {
+		saveModel();
+		HughDataResourceSetImpl resourceSet = configure(new HughDataResourceSetImpl());
+		resourceSet.getLoadOptions().put(ProxyPrefetchResolver.OPTION_PREFETCH_PROXIES, Boolean.TRUE);
+		resourceSet.getResource(uri("a"), true);
+
+		assertEquals(4, resourceSet.getResources().size());
+		EObject root = root(resourceSet, "a");
+		assertFalse(((EObject) root.eGet(next, false)).eIsProxy());
+		((InternalEList<?>) root.eGet(links)).basicIterator().forEachRemaining(link -> assertFalse(((EObject) link).eIsProxy()));
+		assertFalse(((EObject) root(resourceSet, "c").eGet(next, false)).eIsProxy());
+	}
+
+	@Test
+	public void testPrefetchedResourcesAreDemandLoaded() throws IOException {
+		saveModel();
+		HughDataResourceSetImpl resourceSet = configure(new HughDataResourceSetImpl());
+		resourceSet.setUseIdIndex(true);
+		AtomicInteger reads = new AtomicInteger();
+		Executor executor = command -> {
+			reads.incrementAndGet();
+			command.run();
+		};
+		resourceSet.getLoadOptions().put(ProxyPrefetchResolver.OPTION_PREFETCH_PROXIES, Boolean.TRUE);
+		resourceSet.getLoadOptions().put(ProxyPrefetchResolver.OPTION_PREFETCH_EXECUTOR, executor);
+		resourceSet.getResource(uri("a"), true);
+
+		assertEquals(3, reads.get());
+		for (String name : List.of("a", "b", "c", "d")) {
+			assertTrue(resourceSet.getIdIndex().isIndexed(resourceSet.getResource(uri(name), false)));
+		}
+		assertFalse(((EObject) root(resourceSet, "c").eGet(next, false)).eIsProxy());
+	}
+
+	@Test
+	public void testUnreadableResource() throws IOException {
+		saveModel();
+		assertTrue(new File(tempDir, "c.xmi").delete());
+		SynchronizedResourceSetImpl resourceSet = configure(new SynchronizedResourceSetImpl());
+		Resource resource = resourceSet.getResource(uri("b"), true);
+
+		assertEquals(0, new ProxyPrefetchResolver(resourceSet).resolveAll(resource));
+		assertTrue(((EObject) root(resourceSet, "b").eGet(next, false)).eIsProxy());
+		assertNull(resourceSet.getResource(uri("c"), false));
+		assertNotNull(resourceSet.getResource(uri("b"), false));
+	}
+}
@@ -0,0 +1,255 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.resourceset;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the {@link ResourceSetIdIndex} of the {@link HughDataResourceSetImpl} and the {@link SynchronizedResourceSetImpl}
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class ResourceSetIdIndexTest {
+
+	private EPackage ePackage;
+	private EClass item;
+	private EClass plain;
+	private EAttribute id;
+	private HughDataResourceSetImpl resourceSet;
+
+	@TempDir
+	File tempDir;
+
+	@BeforeEach
+	public void before() {
+		ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setName("items");
+		ePackage.setNsURI("http://test.org/items");
+		ePackage.setNsPrefix("items");
+		item = EcoreFactory.eINSTANCE.createEClass();
+		item.setName("Item");
+		id = EcoreFactory.eINSTANCE.createEAttribute();
+		id.setName("id");
+		id.setEType(EcorePackage.Literals.ESTRING);
+		id.setID(true);
+		item.getEStructuralFeatures().add(id);
+		plain = EcoreFactory.eINSTANCE.createEClass();
+		plain.setName("Plain");
+		ePackage.getEClassifiers().add(item);
+		ePackage.getEClassifiers().add(plain);
+		resourceSet = new HughDataResourceSetImpl();
+		resourceSet.setUseIdIndex(true);
+	}
+
+	private EObject createItem(String value) {
+		EObject eObject = EcoreUtil.create(item);
+		eObject.eSet(id, value);
+		return eObject;
+	}
+
+	private Resource addResource(ResourceSet target, EObject... contents) {
+		Resource resource = new ResourceImpl(URI.createURI("test://" + target.getResources().size()));
+		resource.getContents().addAll(List.of(contents));
+		target.getResources().add(resource);
+		return resource;
+	}
+
+	@Test
+	public void testIntrinsicIds() {
+		EObject first = createItem("a");
+		EObject second = createItem("b");
+		Resource resource = addResource(resourceSet, first, second);
+		ResourceSetIdIndex index = resourceSet.getIdIndex();
+		assertTrue(resourceSet.isUseIdIndex());
+		assertFalse(index.isIndexed(resource));
+
+		assertSame(second, resourceSet.getEObject(resource.getURI().appendFragment("b"), false));
+		assertTrue(index.isIndexed(resource));
+		assertSame(first, resourceSet.getEObject(resource.getURI().appendFragment("a"), false));
+		assertNull(resourceSet.getEObject(resource.getURI().appendFragment("c"), false));
+		assertNull(resourceSet.getEObject(URI.createURI("test://unknown#a"), false));
+
+		resourceSet.setUseIdIndex(false);
+		assertNull(resourceSet.getIdIndex());
+		assertSame(first, resourceSet.getEObject(resource.getURI().appendFragment("a"), false));
+	}
+
+	@Test
+	public void testExtrinsicIds() {
+		XMIResourceImpl resource = new XMIResourceImpl(URI.createURI("test://extrinsic.xmi"));
+		EObject eObject = EcoreUtil.create(plain);
+		resource.getContents().add(eObject);
+		resource.setID(eObject, "x1");
+		resourceSet.getResources().add(resource);
+
+		assertSame(eObject, resourceSet.getEObject(resource.getURI().appendFragment("x1"), false));
+	}
+
+	@Test
+	public void testStaleEntries() {
+		EObject eObject = createItem("a");
+		Resource resource = addResource(resourceSet, eObject);
+		Resource other = addResource(resourceSet);
+		URI uri = resource.getURI().appendFragment("a");
+		assertSame(eObject, resourceSet.getEObject(uri, false));
+
+		eObject.eSet(id, "b");
+		assertNull(resourceSet.getEObject(uri, false));
+		assertSame(eObject, resourceSet.getEObject(resource.getURI().appendFragment("b"), false));
+
+		other.getContents().add(eObject);
+		assertNull(resourceSet.getEObject(resource.getURI().appendFragment("b"), false));
+		assertSame(eObject, resourceSet.getEObject(other.getURI().appendFragment("b"), false));
+	}
+
+	@Test
+	public void testPathFragments() {
+		EObject eObject = createItem("a");
+		Resource resource = addResource(resourceSet, eObject);
+
+		assertSame(eObject, resourceSet.getEObject(resource.getURI().appendFragment("/0"), false));
+		assertFalse(resourceSet.getIdIndex().isIndexed(resource));
+	}
+
+	@Test
+	public void testRemovedResources() {
+		Resource resource = addResource(resourceSet, createItem("a"));
+		ResourceSetIdIndex index = resourceSet.getIdIndex();
+		resourceSet.getEObject(resource.getURI().appendFragment("a"), false);
+		assertTrue(index.isIndexed(resource));
+
+		resourceSet.getResources().remove(resource);
+		assertFalse(index.isIndexed(resource));
+
+		resourceSet.getResources().add(resource);
+		resourceSet.getEObject(resource.getURI().appendFragment("a"), false);
+		resourceSet.getResources().clear();
+		assertFalse(index.isIndexed(resource));
+	}
+
+	@Test
+	public void testUnloadedResources() {
+		EObject eObject = createItem("a");
+		Resource resource = addResource(resourceSet, eObject);
+		ResourceSetIdIndex index = resourceSet.getIdIndex();
+		URI uri = resource.getURI().appendFragment("a");
+		assertSame(eObject, resourceSet.getEObject(uri, false));
+		assertTrue(index.isIndexed(resource));
+
+		resource.unload();
+		assertFalse(index.isIndexed(resource));
+		assertNull(resourceSet.getEObject(uri, false));
+
+		// unloaded without notification, dropped on the next lookup
+		EObject reloaded = createItem("a");
+		resource.getContents().add(reloaded);
+		assertSame(reloaded, resourceSet.getEObject(uri, false));
+		resource.eSetDeliver(false);
+		resource.unload();
+		resource.eSetDeliver(true);
+		assertTrue(index.isIndexed(resource));
+		assertNull(resourceSet.getEObject(uri, false));
+		assertFalse(index.isIndexed(resource));
+
+		resourceSet.getResources().remove(resource);
+		assertTrue(resource.eAdapters().isEmpty());
+	}
+
+	@Test
+	public void testIndexedOnLoad() throws IOException {
+		Resource saved = new XMIResourceImpl(URI.createFileURI(new File(tempDir, "items.xmi").getAbsolutePath()));
+		for (int i = 0; i < 10; i++) {
+			saved.getContents().add(createItem("item" + i));
+		}
+		saved.save(null);
+
+		SynchronizedResourceSetImpl synchronizedResourceSet = new SynchronizedResourceSetImpl();
+		synchronizedResourceSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+		synchronizedResourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", new XMIResourceFactoryImpl());
+		synchronizedResourceSet.setUseIdIndex(true);
+		EObject eObject = synchronizedResourceSet.getEObject(saved.getURI().appendFragment("item7"), true);
+
+		Resource loaded = synchronizedResourceSet.getResource(saved.getURI(), false);
+		assertTrue(synchronizedResourceSet.getIdIndex().isIndexed(loaded));
+		assertSame(loaded.getContents().get(7), eObject);
+
+		synchronizedResourceSet.getResources().remove(loaded);
+		assertFalse(synchronizedResourceSet.getIdIndex().isIndexed(loaded));
+	}
+
+	@Test
+	public void testConcurrentLookups() throws Exception {
+		SynchronizedResourceSetImpl synchronizedResourceSet = new SynchronizedResourceSetImpl();
+		synchronizedResourceSet.setUseIdIndex(true);
+		List<Resource> resources = new ArrayList<>();
+		for (int r = 0; r < 4; r++) {
+			Resource resource = addResource(synchronizedResourceSet);
+			for (int i = 0; i < 1000; i++) {
+				resource.getContents().add(createItem("r" + r + "i" + i));
+			}
+			resources.add(resource);
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				results.add(executor.submit(() -> {
+					for (int r = 0; r < resources.size(); r++) {
+						Resource resource = resources.get(r);
+						for (int i = 0; i < 1000; i++) {
+							EObject eObject = synchronizedResourceSet.getEObject(resource.getURI().appendFragment("r" + r + "i" + i), false);
+							if (eObject != resource.getContents().get(i)) {
+								return false;
+							}
+						}
+					}
+					return true;
+				}));
+			}
+			for (Future<Boolean> result : results) {
+				assertTrue(result.get());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,329 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.resourceset;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link ShardedHughDataResourceSetImpl}
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class ShardedHughDataResourceSetImplTest {
+
+	private ShardedHughDataResourceSetImpl resourceSet;
+	private AtomicInteger loadCount;
+
+	@BeforeEach
+	public void before() {
+		resourceSet = new ShardedHughDataResourceSetImpl(4);
+		loadCount = new AtomicInteger();
+		resourceSet.getResourceFactoryRegistry().getProtocolToFactoryMap().put("test", uri -> new ResourceImpl(uri) {
+			@Override
+			public void load(Map<?, ?> options) {
+				if (!isLoaded) {
+					loadCount.incrementAndGet();
+					setLoaded(true);
+				}
+			}
+		});
+	}
+
+	private static URI uri(int i) {
+		return URI.createURI("test://sharded/" + i);
+	}
+
+	@Test
+	public void testAddLookupRemove() {
+		List<Resource> resources = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			resources.add(resourceSet.createResource(uri(i)));
+		}
+		assertEquals(4, resourceSet.getShardCount());
+		assertEquals(100, resourceSet.getResources().size());
+		for (int i = 0; i < 100; i++) {
+			Resource resource = resources.get(i);
+			assertSame(resource, resourceSet.getResource(uri(i), false));
+			assertTrue(resourceSet.getResources().contains(resource));
+			assertSame(resource, resourceSet.getResources().get(resourceSet.getResources().indexOf(resource)));
+		}
+		assertNull(resourceSet.getResource(uri(100), false));
+
+		Resource removed = resources.get(42);
+		assertTrue(resourceSet.getResources().remove(removed));
+		assertNull(resourceSet.getResource(uri(42), false));
+		assertNull(removed.getResourceSet());
+		assertFalse(resourceSet.getResources().contains(removed));
+		assertEquals(99, resourceSet.getResources().size());
+	}
+
+	@Test
+	public void testUriChange() {
+		Resource resource = resourceSet.createResource(uri(1));
+		resource.setURI(uri(2));
+
+		assertNull(resourceSet.getResource(uri(1), false));
+		assertSame(resource, resourceSet.getResource(uri(2), false));
+		assertEquals(1, resourceSet.getResources().size());
+	}
+
+	@Test
+	public void testIterationAndClear() {
+		for (int i = 0; i < 50; i++) {
+			resourceSet.createResource(uri(i));
+		}
+		Set<URI> uris = new HashSet<>();
+		for (Iterator<Resource> iterator = resourceSet.getResources().iterator(); iterator.hasNext();) {
+			Resource resource = iterator.next();
+			uris.add(resource.getURI());
+			if (resource.getURI().equals(uri(7))) {
+				iterator.remove();
+			}
+		}
+		assertEquals(50, uris.size());
+		assertEquals(49, resourceSet.getResources().size());
+		assertNull(resourceSet.getResource(uri(7), false));
+
+		resourceSet.getResources().clear();
+		assertTrue(resourceSet.getResources().isEmpty());
+		assertNull(resourceSet.getResource(uri(8), false));
+		assertEquals(2, resourceSet.attachResources(List.of(new ResourceImpl(uri(8)), new ResourceImpl(uri(9)))));
+		assertEquals(uri(8), resourceSet.getResource(uri(8), false).getURI());
+	}
+
+	@Test
+	public void testConcurrentDemandLoad() throws Exception {
+		resourceSet.setSuppressNotification(true);
+		int threads = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<List<Resource>>> results = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				results.add(executor.submit(() -> {
+					start.await();
+					List<Resource> loaded = new ArrayList<>();
+					for (int i = 0; i < 500; i++) {
+						loaded.add(resourceSet.getResource(uri(i), true));
+					}
+					return loaded;
+				}));
+			}
+			start.countDown();
+			List<Resource> first = results.get(0).get();
+			for (Future<List<Resource>> result : results) {
+				List<Resource> loaded = result.get();
+				for (int i = 0; i < loaded.size(); i++) {
+					assertSame(first.get(i), loaded.get(i));
+					assertTrue(loaded.get(i).isLoaded());
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(500, resourceSet.getResources().size());
+		assertEquals(500, loadCount.get());
+	}
+
+	@Test
+	public void testDemandLoadLocks() {
+		AtomicBoolean writeLocked = new AtomicBoolean();
+		resourceSet.getResourceFactoryRegistry().getProtocolToFactoryMap().put("locked", uri -> new ResourceImpl(uri) {
+			@Override
+			public void load(Map<?, ?> options) {
+				writeLocked.set(resourceSet.getResourceLocks().getLock(this).isWriteLocked());
+				setLoaded(true);
+			}
+		});
+		Resource loaded = resourceSet.getResource(URI.createURI("locked://sharded/a"), true);
+		assertTrue(loaded.isLoaded());
+		assertTrue(writeLocked.get());
+		assertFalse(resourceSet.getResourceLocks().getLock(loaded).isWriteLocked());
+
+		Resource unloaded = resourceSet.createResource(URI.createURI("locked://sharded/b"));
+		assertThrows(IllegalStateException.class, () -> resourceSet.getResourceLocks().withWrite(unloaded,
+				() -> resourceSet.getResource(unloaded.getURI(), true)));
+		assertFalse(unloaded.isLoaded());
+	}
+
+	@Test
+	public void testConcurrentAddAndRemove() throws Exception {
+		List<Resource> resources = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			resources.add(new ResourceImpl(uri(i)));
+		}
+		int threads = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<Integer>> added = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				added.add(executor.submit(() -> {
+					start.await();
+					int count = 0;
+					for (Resource resource : resources) {
+						if (resourceSet.getResources().add(resource)) {
+							count++;
+						}
+					}
+					return count;
+				}));
+			}
+			start.countDown();
+			int total = 0;
+			for (Future<Integer> result : added) {
+				total += result.get();
+			}
+			assertEquals(200, total);
+			assertEquals(200, resourceSet.getResources().size());
+			assertEquals(200, new HashSet<>(resourceSet.getResources()).size());
+
+			List<Future<Integer>> removed = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				removed.add(executor.submit(() -> {
+					int count = 0;
+					for (Resource resource : resources) {
+						if (resourceSet.getResources().remove(resource)) {
+							count++;
+						}
+					}
+					return count;
+				}));
+			}
+			total = 0;
+			for (Future<Integer> result : removed) {
+				total += result.get();
+			}
+			assertEquals(200, total);
+			assertTrue(resourceSet.getResources().isEmpty());
+			assertNull(resources.get(0).getResourceSet());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testIndexedChangesIgnoreTheIndex() {
+		Resource first = resourceSet.createResource(uri(1));
+		Resource second = new ResourceImpl(uri(2));
+		resourceSet.getResources().add(0, second);
+		assertSame(resourceSet, second.getResourceSet());
+		assertSame(second, resourceSet.getResource(uri(2), false));
+		resourceSet.getResources().move(0, first);
+		resourceSet.getResources().move(0, 1);
+		assertEquals(2, resourceSet.getResources().size());
+		assertFalse(resourceSet.getResources().add(first));
+
+		Resource third = new ResourceImpl(uri(3));
+		int index = resourceSet.getResources().indexOf(first);
+		assertSame(first, resourceSet.getResources().set(index, third));
+		assertNull(first.getResourceSet());
+		assertSame(third, resourceSet.getResource(uri(3), false));
+		assertThrows(IllegalArgumentException.class, () -> resourceSet.getResources().set(resourceSet.getResources().indexOf(third), second));
+
+		assertTrue(resourceSet.getResources().addAll(0, List.of(first, new ResourceImpl(uri(4)))));
+		assertEquals(4, resourceSet.getResources().size());
+	}
+
+	@Test
+	public void testRemoveAllNotifiesOnce() {
+		List<Resource> resources = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			resources.add(resourceSet.createResource(uri(i)));
+		}
+		List<Notification> notifications = new ArrayList<>();
+		resourceSet.eAdapters().add(new AdapterImpl() {
+			@Override
+			public void notifyChanged(Notification notification) {
+				notifications.add(notification);
+			}
+		});
+		List<Resource> removed = resources.subList(5, 15);
+		int[] expectedPositions = removed.stream().mapToInt(resourceSet.getResources()::indexOf).sorted().toArray();
+
+		assertTrue(resourceSet.getResources().removeAll(removed));
+		assertEquals(1, notifications.size());
+		Notification notification = notifications.get(0);
+		assertEquals(Notification.REMOVE_MANY, notification.getEventType());
+		assertEquals(Set.copyOf(removed), Set.copyOf((List<?>) notification.getOldValue()));
+		assertArrayEquals(expectedPositions, (int[]) notification.getNewValue());
+		assertEquals(10, resourceSet.getResources().size());
+		removed.forEach(resource -> assertNull(resource.getResourceSet()));
+		assertNull(resourceSet.getResource(uri(5), false));
+
+		notifications.clear();
+		assertTrue(resourceSet.getResources().retainAll(resources.subList(0, 2)));
+		assertEquals(1, notifications.size());
+		assertEquals(2, resourceSet.getResources().size());
+	}
+
+	@Test
+	public void testDuplicateUris() {
+		Resource first = resourceSet.createResource(uri(1));
+		Resource second = new ResourceImpl(uri(1));
+		resourceSet.getResources().add(second);
+		assertSame(first, resourceSet.getResource(uri(1), false));
+
+		resourceSet.getResources().remove(first);
+		assertSame(second, resourceSet.getResource(uri(1), false));
+		second.setURI(uri(2));
+		assertNull(resourceSet.getResource(uri(1), false));
+		assertSame(second, resourceSet.getResource(uri(2), false));
+		assertTrue(resourceSet.getResources().contains(second));
+	}
+
+	@Test
+	public void testShardCountProperty() {
+		assertEquals(1, HughDataResourceSetFactory.getShardCount(Map.of()));
+		assertEquals(4, HughDataResourceSetFactory.getShardCount(Map.of(HughDataResourceSetFactory.PROP_SHARD_COUNT, "4")));
+		assertEquals(8, HughDataResourceSetFactory.getShardCount(Map.of(HughDataResourceSetFactory.PROP_SHARD_COUNT, 8)));
+		assertThrows(IllegalArgumentException.class, () -> HughDataResourceSetFactory.getShardCount(Map.of(HughDataResourceSetFactory.PROP_SHARD_COUNT, 0)));
+	}
+
+	@Test
+	public void testFactory() {
+		assertInstanceOf(ShardedHughDataResourceSetImpl.class, new HughDataResourceSetFactory(8).internalCreateResourceSet());
+		ShardedHughDataResourceSetImpl sharded = (ShardedHughDataResourceSetImpl) new HughDataResourceSetFactory(8).internalCreateResourceSet();
+		assertEquals(8, sharded.getShardCount());
+		assertFalse(new HughDataResourceSetFactory().internalCreateResourceSet() instanceof ShardedHughDataResourceSetImpl);
+	}
+}
@@ -0,0 +1,232 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.util.InternalEList;
+import org.eclipse.emf.ecore.xmi.impl.EcoreResourceFactoryImpl;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the {@link StreamingXMIReader}
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class StreamingXMIReaderTest {
+
+	private EPackage ePackage;
+	private EClass library;
+	private EClass book;
+	private EAttribute libraryName;
+	private EAttribute title;
+	private EAttribute tags;
+	private EReference books;
+	private EReference sequel;
+
+	@TempDir
+	File tempDir;
+
+	@BeforeEach
+	public void before() {
+		ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setName("library");
+		ePackage.setNsURI("http://test.org/library");
+		ePackage.setNsPrefix("library");
+		library = EcoreFactory.eINSTANCE.createEClass();
+		library.setName("Library");
+		book = EcoreFactory.eINSTANCE.createEClass();
+		book.setName("Book");
+		ePackage.getEClassifiers().add(library);
+		ePackage.getEClassifiers().add(book);
+		libraryName = attribute(library, "name");
+		title = attribute(book, "title");
+		tags = attribute(book, "tags");
+		tags.setUpperBound(-1);
+		books = EcoreFactory.eINSTANCE.createEReference();
+		books.setName("books");
+		books.setEType(book);
+		books.setContainment(true);
+		books.setUpperBound(-1);
+		library.getEStructuralFeatures().add(books);
+		sequel = EcoreFactory.eINSTANCE.createEReference();
+		sequel.setName("sequel");
+		sequel.setEType(book);
+		book.getEStructuralFeatures().add(sequel);
+	}
+
+	private EAttribute attribute(EClass eClass, String name) {
+		EAttribute attribute = EcoreFactory.eINSTANCE.createEAttribute();
+		attribute.setName(name);
+		attribute.setEType(EcorePackage.Literals.ESTRING);
+		eClass.getEStructuralFeatures().add(attribute);
+		return attribute;
+	}
+
+	private ResourceSet createResourceSet() {
+		ResourceSet resourceSet = new ResourceSetImpl();
+		resourceSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+		resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", new XMIResourceFactoryImpl());
+		resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("ecore", new EcoreResourceFactoryImpl());
+		return resourceSet;
+	}
+
+	@SuppressWarnings("unchecked")
+	private EList<EObject> books(EObject eObject) {
+		return (EList<EObject>) eObject.eGet(books);
+	}
+
+	/* two libraries, the books of the first one refer to their sequels */
+	private Resource saveLibraries(int bookCount) throws IOException {
+		Resource resource = createResourceSet().createResource(URI.createFileURI(new File(tempDir, "libraries.xmi").getAbsolutePath()));
+		for (int l = 0; l < 2; l++) {
+			EObject eObject = EcoreUtil.create(library);
+			eObject.eSet(libraryName, "library" + l);
+			resource.getContents().add(eObject);
+			for (int i = 0; i < bookCount; i++) {
+				EObject eBook = EcoreUtil.create(book);
+				eBook.eSet(title, "book" + l + "." + i);
+				eBook.eSet(tags, List.of("tag" + i, "common"));
+				books(eObject).add(eBook);
+				if (l == 0 && i > 0) {
+					books(eObject).get(i - 1).eSet(sequel, eBook);
+				}
+			}
+		}
+		resource.save(null);
+		return resource;
+	}
+
+	@Test
+	public void testReadContents() throws IOException {
+		Resource resource = saveLibraries(3);
+		List<EObject> objects = new ArrayList<>();
+		try (StreamingXMIReader reader = StreamingXMIReader.open(createResourceSet(), resource.getURI(), 0)) {
+			assertEquals(2, reader.read(objects::add));
+		}
+		assertEquals(2, objects.size());
+		assertEquals("library1", objects.get(1).eGet(libraryName));
+		EObject first = books(objects.get(0)).get(0);
+		assertEquals("book0.0", first.eGet(title));
+		assertEquals(List.of("tag0", "common"), first.eGet(tags));
+		assertNull(objects.get(0).eContainer());
+	}
+
+	@Test
+	public void testReadNestedObjects() throws IOException {
+		Resource resource = saveLibraries(1000);
+		int count = 0;
+		try (StreamingXMIReader reader = StreamingXMIReader.open(createResourceSet(), resource.getURI(), 1)) {
+			EObject previous = null;
+			while (reader.hasNext()) {
+				if (previous != null) {
+					// the returned objects are removed from their ancestors
+					assertNull(previous.eContainer());
+				}
+				EObject eBook = reader.next();
+				EObject container = eBook.eContainer();
+				assertEquals(count < 1000 ? "library0" : "library1", container.eGet(libraryName));
+				assertEquals(1, books(container).size());
+				assertEquals("book" + count / 1000 + "." + count % 1000, eBook.eGet(title));
+				previous = eBook;
+				count++;
+			}
+			assertEquals(2000, reader.getCount());
+		}
+		assertEquals(2000, count);
+	}
+
+	@Test
+	public void testReferencesAreProxies() throws IOException {
+		Resource resource = saveLibraries(3);
+		List<EObject> objects = new ArrayList<>();
+		try (StreamingXMIReader reader = StreamingXMIReader.open(createResourceSet(), resource.getURI(), 1)) {
+			reader.forEachRemaining(objects::add);
+		}
+		InternalEObject proxy = (InternalEObject) objects.get(0).eGet(sequel, false);
+		assertTrue(proxy.eIsProxy());
+		assertEquals(resource.getURI(), proxy.eProxyURI().trimFragment());
+		assertSame(books(resource.getContents().get(0)).get(1), resource.getEObject(proxy.eProxyURI().fragment()));
+
+		ResourceSet resourceSet = createResourceSet();
+		EObject resolved = EcoreUtil.resolve(proxy, resourceSet);
+		assertFalse(resolved.eIsProxy());
+		assertEquals("book0.1", resolved.eGet(title));
+	}
+
+	@Test
+	public void testReadEcore() throws IOException {
+		ResourceSet resourceSet = createResourceSet();
+		Resource resource = resourceSet.createResource(URI.createFileURI(new File(tempDir, "library.ecore").getAbsolutePath()));
+		EClass special = EcoreFactory.eINSTANCE.createEClass();
+		special.setName("SpecialBook");
+		special.getESuperTypes().add(book);
+		ePackage.getEClassifiers().add(special);
+		resource.getContents().add(ePackage);
+		resource.save(null);
+
+		List<EClassifier> classifiers = new ArrayList<>();
+		try (StreamingXMIReader reader = StreamingXMIReader.open(new ResourceSetImpl(), resource.getURI(), 1)) {
+			reader.read(eObject -> classifiers.add((EClassifier) eObject));
+		}
+		assertEquals(3, classifiers.size());
+		EClass readBook = (EClass) classifiers.get(1);
+		assertEquals("Book", readBook.getName());
+		EAttribute readTitle = (EAttribute) readBook.getEStructuralFeature("title");
+		URI typeURI = ((InternalEObject) readTitle.eGet(EcorePackage.Literals.ETYPED_ELEMENT__ETYPE, false)).eProxyURI();
+		assertEquals(EcoreUtil.getURI(EcorePackage.Literals.ESTRING), typeURI);
+		EObject superType = (EObject) ((InternalEList<?>) classifiers.get(2).eGet(EcorePackage.Literals.ECLASS__ESUPER_TYPES, false)).basicGet(0);
+		assertEquals(resource.getURI().appendFragment("//Book"), ((InternalEObject) superType).eProxyURI());
+	}
+
+	@Test
+	public void testUnknownFeature() throws IOException {
+		String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+				+ "<library:Library xmlns:library=\"http://test.org/library\" name=\"a\" unknown=\"b\"/>";
+		try (StreamingXMIReader reader = new StreamingXMIReader(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)),
+				URI.createURI("test.xmi"), createResourceSet().getPackageRegistry(), 0)) {
+			assertThrows(IOException.class, () -> reader.read(eObject -> {}));
+		}
+	}
+}
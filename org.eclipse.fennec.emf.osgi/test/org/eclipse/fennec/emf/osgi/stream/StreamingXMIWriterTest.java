@@ -0,0 +1,232 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.eclipse.fennec.emf.osgi.constants.EMFUriHandlerConstants;
+import org.eclipse.fennec.emf.osgi.urihandler.RestfulURIHandlerImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests the {@link StreamingXMIWriter}
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class StreamingXMIWriterTest {
+
+	private EPackage ePackage;
+	private EClass library;
+	private EClass book;
+	private EClass specialBook;
+	private EAttribute libraryName;
+	private EAttribute title;
+	private EAttribute tags;
+	private EReference books;
+	private EReference sequel;
+
+	@TempDir
+	File tempDir;
+
+	@BeforeEach
+	public void before() {
+		ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setName("library");
+		ePackage.setNsURI("http://test.org/library");
+		ePackage.setNsPrefix("library");
+		library = EcoreFactory.eINSTANCE.createEClass();
+		library.setName("Library");
+		book = EcoreFactory.eINSTANCE.createEClass();
+		book.setName("Book");
+		specialBook = EcoreFactory.eINSTANCE.createEClass();
+		specialBook.setName("SpecialBook");
+		specialBook.getESuperTypes().add(book);
+		ePackage.getEClassifiers().add(library);
+		ePackage.getEClassifiers().add(book);
+		ePackage.getEClassifiers().add(specialBook);
+		libraryName = attribute(library, "name");
+		title = attribute(book, "title");
+		tags = attribute(book, "tags");
+		tags.setUpperBound(-1);
+		books = EcoreFactory.eINSTANCE.createEReference();
+		books.setName("books");
+		books.setEType(book);
+		books.setContainment(true);
+		books.setUpperBound(-1);
+		library.getEStructuralFeatures().add(books);
+		sequel = EcoreFactory.eINSTANCE.createEReference();
+		sequel.setName("sequel");
+		sequel.setEType(book);
+		book.getEStructuralFeatures().add(sequel);
+	}
+
+	private EAttribute attribute(EClass eClass, String name) {
+		EAttribute attribute = EcoreFactory.eINSTANCE.createEAttribute();
+		attribute.setName(name);
+		attribute.setEType(EcorePackage.Literals.ESTRING);
+		eClass.getEStructuralFeatures().add(attribute);
+		return attribute;
+	}
+
+	private ResourceSet createResourceSet() {
+		ResourceSet resourceSet = new ResourceSetImpl();
+		resourceSet.getPackageRegistry().put(ePackage.getNsURI(), ePackage);
+		resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", new XMIResourceFactoryImpl());
+		return resourceSet;
+	}
+
+	private URI uri(String name) {
+		return URI.createFileURI(new File(tempDir, name + ".xmi").getAbsolutePath());
+	}
+
+	@SuppressWarnings("unchecked")
+	private EList<EObject> books(EObject eObject) {
+		return (EList<EObject>) eObject.eGet(books);
+	}
+
+	/* a library with books, that refer to their sequels, every third one a special book */
+	private EObject createLibrary(int index, int bookCount) {
+		EObject eObject = EcoreUtil.create(library);
+		eObject.eSet(libraryName, "library <" + index + "> & \"friends\"");
+		for (int i = 0; i < bookCount; i++) {
+			EObject eBook = EcoreUtil.create(i % 3 == 0 ? specialBook : book);
+			eBook.eSet(title, "book" + index + "." + i);
+			eBook.eSet(tags, List.of("tag" + i, "line\nbreak"));
+			books(eObject).add(eBook);
+			if (i > 0) {
+				books(eObject).get(i - 1).eSet(sequel, eBook);
+			}
+		}
+		return eObject;
+	}
+
+	@Test
+	public void testLoadWithXMIResource() throws IOException {
+		ResourceSet resourceSet = createResourceSet();
+		Resource other = resourceSet.createResource(uri("other"));
+		other.getContents().add(createLibrary(99, 2));
+		other.save(null);
+		List<EObject> libraries = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			libraries.add(createLibrary(i, 5));
+		}
+		// a reference into another document
+		books(libraries.get(0)).get(4).eSet(sequel, books(other.getContents().get(0)).get(1));
+
+		try (StreamingXMIWriter writer = StreamingXMIWriter.open(resourceSet, uri("streamed"), null)) {
+			assertEquals(3, writer.writeAll(libraries.stream()));
+		}
+
+		Resource loaded = createResourceSet().getResource(uri("streamed"), true);
+		assertEquals(3, loaded.getContents().size());
+		assertTrue(EcoreUtil.equals(libraries, loaded.getContents()));
+		EObject loadedBook = books(loaded.getContents().get(1)).get(0);
+		assertEquals(specialBook, loadedBook.eClass());
+		assertEquals(books(loaded.getContents().get(1)).get(1), loadedBook.eGet(sequel));
+		assertEquals(List.of("tag0", "line\nbreak"), loadedBook.eGet(tags));
+	}
+
+	@Test
+	public void testStreamThroughReader() throws IOException {
+		ResourceSet resourceSet = createResourceSet();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (StreamingXMIWriter writer = new StreamingXMIWriter(out, uri("streamed"), 1024, 10)) {
+			writer.writeAll(IntStream.range(0, 100).mapToObj(i -> createLibrary(i, 3)).iterator());
+		}
+		List<EObject> read = new ArrayList<>();
+		try (StreamingXMIReader reader = new StreamingXMIReader(new ByteArrayInputStream(out.toByteArray()), uri("streamed"),
+				resourceSet.getPackageRegistry(), 0)) {
+			reader.read(read::add);
+		}
+		assertEquals(100, read.size());
+		assertEquals("library <42> & \"friends\"", read.get(42).eGet(libraryName));
+		assertEquals(3, books(read.get(42)).size());
+	}
+
+	@Test
+	public void testDanglingReference() {
+		EObject eObject = createLibrary(0, 1);
+		books(eObject).get(0).eSet(sequel, EcoreUtil.create(book));
+		assertThrows(IOException.class, () -> {
+			try (StreamingXMIWriter writer = new StreamingXMIWriter(new ByteArrayOutputStream(), null)) {
+				writer.write(eObject);
+			}
+		});
+	}
+
+	@Test
+	public void testChunkedHttpUpload() throws IOException {
+		AtomicReference<String> transferEncoding = new AtomicReference<>();
+		AtomicReference<byte[]> body = new AtomicReference<>();
+		HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/", exchange -> {
+			transferEncoding.set(exchange.getRequestHeaders().getFirst("Transfer-Encoding"));
+			try (InputStream in = exchange.getRequestBody()) {
+				body.set(in.readAllBytes());
+			}
+			exchange.sendResponseHeaders(204, -1);
+			exchange.close();
+		});
+		server.start();
+		try {
+			ResourceSet resourceSet = createResourceSet();
+			resourceSet.getURIConverter().getURIHandlers().add(0, new RestfulURIHandlerImpl());
+			URI uri = URI.createURI("http://localhost:" + server.getAddress().getPort() + "/libraries.xmi");
+			try (StreamingXMIWriter writer = StreamingXMIWriter.open(resourceSet, uri, Map.of(EMFUriHandlerConstants.OPTION_HTTP_CHUNK_SIZE, 8192))) {
+				for (int i = 0; i < 500; i++) {
+					writer.write(createLibrary(i, 3));
+				}
+			}
+		} finally {
+			server.stop(0);
+		}
+		assertEquals("chunked", transferEncoding.get());
+		try (StreamingXMIReader reader = new StreamingXMIReader(new ByteArrayInputStream(body.get()), URI.createURI("libraries.xmi"),
+				createResourceSet().getPackageRegistry(), 0)) {
+			assertEquals(500, reader.read(eObject -> {}));
+		}
+	}
+}
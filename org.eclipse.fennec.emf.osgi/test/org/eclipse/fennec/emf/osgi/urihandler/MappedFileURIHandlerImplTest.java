@@ -0,0 +1,183 @@
+/********************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Data In Motion Consulting - initial implementation
+ ********************************************************************/
+package org.eclipse.fennec.emf.osgi.urihandler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.URIConverter;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.eclipse.fennec.emf.osgi.urihandler.MappedFileURIHandlerImpl.MappedInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the {@link MappedFileURIHandlerImpl}
+ *
+ * @author Mark Hoffmann
+ * @since 19.10.2026
+ */
+public class MappedFileURIHandlerImplTest {
+
+	@TempDir
+	File tempDir;
+
+	private final MappedFileURIHandlerImpl handler = new MappedFileURIHandlerImpl(64 * 1024, 8 * 1024, 4 * 1024);
+
+	private URI createFile(String name, int size) throws IOException {
+		byte[] content = new byte[size];
+		new Random(size).nextBytes(content);
+		File file = new File(tempDir, name);
+		Files.write(file.toPath(), content);
+		return URI.createFileURI(file.getAbsolutePath());
+	}
+
+	private byte[] read(URI uri, Class<?> expectedType) throws IOException {
+		try (InputStream in = handler.createInputStream(uri, null)) {
+			assertInstanceOf(expectedType, in);
+			return in.readAllBytes();
+		}
+	}
+
+	@Test
+	public void testReadByFileSize() throws IOException {
+		URI small = createFile("small.bin", 1000);
+		URI medium = createFile("medium.bin", 20_000);
+		URI large = createFile("large.bin", 100_000);
+
+		assertArrayEquals(Files.readAllBytes(Path.of(small.toFileString())), read(small, FileInputStream.class));
+		byte[] mediumContent = read(medium, InputStream.class);
+		assertArrayEquals(Files.readAllBytes(Path.of(medium.toFileString())), mediumContent);
+		assertArrayEquals(Files.readAllBytes(Path.of(large.toFileString())), read(large, MappedInputStream.class));
+		try (InputStream in = handler.createInputStream(medium, null)) {
+			assertFalse(in instanceof MappedInputStream);
+			assertFalse(in instanceof FileInputStream);
+			assertEquals(10_000, in.skip(10_000));
+			assertEquals(mediumContent[10_000] & 0xFF, in.read());
+			assertEquals(9_999, in.available());
+		}
+	}
+
+	@Test
+	public void testMappedInputStream() throws IOException {
+		URI large = createFile("large.bin", 100_000);
+		byte[] content = Files.readAllBytes(Path.of(large.toFileString()));
+		Map<Object, Object> response = new HashMap<>();
+		try (MappedInputStream in = (MappedInputStream) handler.createInputStream(large, Map.of(URIConverter.OPTION_RESPONSE, response))) {
+			assertEquals(100, in.skip(100));
+			assertTrue(in.markSupported());
+			in.mark(0);
+			assertEquals(content[100] & 0xFF, in.read());
+			in.reset();
+			ByteBuffer remaining = in.getByteBuffer();
+			assertEquals(content.length - 100, remaining.remaining());
+			assertEquals(content[100], remaining.get(0));
+			// the buffer does not advance the stream
+			assertEquals(content[100] & 0xFF, in.read());
+		}
+		assertNotNull(response.get(URIConverter.RESPONSE_TIME_STAMP_PROPERTY));
+	}
+
+	@Test
+	public void testAtomicWrite() throws IOException {
+		URI uri = URI.createFileURI(new File(tempDir, "sub/target.txt").getAbsolutePath());
+		Path path = Path.of(uri.toFileString());
+		try (OutputStream out = handler.createOutputStream(uri, null)) {
+			out.write("old".getBytes(StandardCharsets.UTF_8));
+		}
+		assertEquals("old", Files.readString(path));
+
+		byte[] content = new byte[50_000];
+		new Random(1).nextBytes(content);
+		Map<Object, Object> response = new HashMap<>();
+		OutputStream out = handler.createOutputStream(uri, Map.of(URIConverter.OPTION_RESPONSE, response));
+		out.write(content, 0, 10);
+		out.write(content[10]);
+		out.write(content, 11, content.length - 11);
+		out.flush();
+		// readers see the previous content until the stream is closed
+		assertEquals("old", Files.readString(path));
+		out.close();
+		assertArrayEquals(content, Files.readAllBytes(path));
+		assertNotNull(response.get(URIConverter.RESPONSE_TIME_STAMP_PROPERTY));
+		try (var files = Files.list(path.getParent())) {
+			assertEquals(1, files.count());
+		}
+	}
+
+	@Test
+	public void testMappingSurvivesReplacement() throws IOException {
+		URI large = createFile("large.bin", 100_000);
+		byte[] content = Files.readAllBytes(Path.of(large.toFileString()));
+		try (InputStream in = handler.createInputStream(large, null)) {
+			try (OutputStream out = handler.createOutputStream(large, null)) {
+				out.write(new byte[10]);
+			}
+			assertArrayEquals(content, in.readAllBytes());
+		}
+		assertEquals(10, Files.size(Path.of(large.toFileString())));
+	}
+
+	@Test
+	public void testResourceSet() throws IOException {
+		ResourceSet resourceSet = new ResourceSetImpl();
+		resourceSet.getURIConverter().getURIHandlers().add(0, new MappedFileURIHandlerImpl(0, 0, 1024));
+		resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", new XMIResourceFactoryImpl());
+		URI uri = URI.createFileURI(new File(tempDir, "model.xmi").getAbsolutePath());
+		Resource resource = resourceSet.createResource(uri);
+		EPackage ePackage = EcoreFactory.eINSTANCE.createEPackage();
+		ePackage.setName("test");
+		for (int i = 0; i < 100; i++) {
+			EClass eClass = EcoreFactory.eINSTANCE.createEClass();
+			eClass.setName("Class" + i);
+			ePackage.getEClassifiers().add(eClass);
+		}
+		resource.getContents().add(ePackage);
+		resource.save(null);
+		assertTrue(resourceSet.getURIConverter().exists(uri, null));
+
+		ResourceSet other = new ResourceSetImpl();
+		other.getURIConverter().getURIHandlers().add(0, new MappedFileURIHandlerImpl(0, 0, 1024));
+		other.getResourceFactoryRegistry().getExtensionToFactoryMap().put("xmi", new XMIResourceFactoryImpl());
+		Resource loaded = other.getResource(uri, true);
+		assertTrue(EcoreUtil.equals(resource.getContents(), loaded.getContents()));
+
+		resourceSet.getURIConverter().delete(uri, null);
+		assertFalse(resourceSet.getURIConverter().exists(uri, null));
+	}
+}